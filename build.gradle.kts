@@ -2,6 +2,7 @@ plugins {
 	java
 	id("org.springframework.boot") version "3.5.5"
 	id("io.spring.dependency-management") version "1.1.7"
+	id("me.champeau.jmh") version "0.7.3"
 }
 
 group = "click.dailyfeed"
@@ -34,6 +35,9 @@ dependencies {
 	implementation("org.springframework.kafka:spring-kafka")
 	implementation("org.springframework.boot:spring-boot-starter-data-redis")
 
+	// metrics
+	implementation("io.micrometer:micrometer-core")
+
 	// jackson for JSON serialization
 	implementation("com.fasterxml.jackson.core:jackson-databind")
 	implementation("com.fasterxml.jackson.datatype:jackson-datatype-jsr310")
@@ -46,8 +50,21 @@ dependencies {
 	testImplementation("org.springframework.boot:spring-boot-starter-test")
 	testImplementation("org.springframework.kafka:spring-kafka-test")
 	testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+	// jmh (embedded broker benchmark)
+	jmhImplementation("org.springframework.kafka:spring-kafka-test")
 }
 
 tasks.withType<Test> {
 	useJUnitPlatform()
-}
\ No newline at end of file
+}
+
+// ./gradlew jmh (src/jmh/java), 특정 benchmark 만: ./gradlew jmh -PjmhIncludes=MemberActivityEventCodecBenchmark
+jmh {
+	jmhVersion = "1.37"
+	warmupIterations = 2
+	iterations = 3
+	fork = 1
+	profilers = listOf("gc")
+	(project.findProperty("jmhIncludes") as String?)?.let { includes = listOf(it) }
+}
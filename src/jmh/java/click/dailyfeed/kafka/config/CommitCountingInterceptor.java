@@ -0,0 +1,34 @@
+package click.dailyfeed.kafka.config;
+
+import org.apache.kafka.clients.consumer.ConsumerInterceptor;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * benchmark 용 consumer interceptor: 성공한 offset commit 횟수를 센다 (commitSync / commitAsync 모두)
+ */
+public class CommitCountingInterceptor implements ConsumerInterceptor<Object, Object> {
+    static final AtomicLong COMMITS = new AtomicLong();
+
+    @Override
+    public ConsumerRecords<Object, Object> onConsume(ConsumerRecords<Object, Object> records) {
+        return records;
+    }
+
+    @Override
+    public void onCommit(Map<TopicPartition, OffsetAndMetadata> offsets) {
+        COMMITS.incrementAndGet();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+    }
+}
@@ -0,0 +1,90 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import org.apache.kafka.clients.producer.KafkaProducer;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * KafkaProducerProfile 별 embedded broker 발행 성능
+ * - throughput : RECORDS 건을 비동기로 보내고 flush 까지 (1 op = RECORDS 건, records/s = RECORDS / score(s))
+ * - latency    : 한 건을 보내고 ack 까지 기다리는 시간 분포 (linger.ms 가 그대로 지연에 더해진다)
+ * 단일 broker 라 acks=all 과 acks=1 의 차이(복제 대기)는 실제 클러스터보다 작게 나온다.
+ */
+@State(Scope.Benchmark)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class KafkaProducerProfileBenchmark {
+    private static final String TOPIC = "member-activity-profile-benchmark";
+    private static final int PARTITIONS = 6;
+    private static final int RECORDS = 20_000;
+
+    @Param({"THROUGHPUT", "LATENCY", "DURABLE"})
+    public KafkaProducerProfile profile;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private KafkaProducer<String, Object> producer;
+    private MemberActivityTransportDto.MemberActivityEvent[] events;
+    private long nextMemberId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> configs = KafkaTestUtils.producerProps(broker.getBrokersAsString());
+        configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MemberActivityEventSerializer.class);
+        profile.apply(configs);
+        producer = new KafkaProducer<>(configs);
+
+        events = new MemberActivityTransportDto.MemberActivityEvent[1024];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = MemberActivityTransportDto.MemberActivityEvent.builder()
+                    .memberActivityType(MemberActivityType.POST_READ)
+                    .memberId(1_000L + i)
+                    .postId(900_000L + i)
+                    .createdAt(LocalDateTime.of(2026, 10, 18, 12, 0))
+                    .build();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        producer.close();
+        broker.destroy();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    public void throughput() {
+        for (int i = 0; i < RECORDS; i++) {
+            producer.send(nextRecord());
+        }
+        producer.flush();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public RecordMetadata latency() throws ExecutionException, InterruptedException {
+        return producer.send(nextRecord()).get();
+    }
+
+    private ProducerRecord<String, Object> nextRecord() {
+        long memberId = nextMemberId++;
+        return new ProducerRecord<>(TOPIC, String.valueOf(memberId), events[(int) (memberId & (events.length - 1))]);
+    }
+}
@@ -0,0 +1,148 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * embedded broker 에서 RECORDS 건을 소비하는 데 걸리는 시간과 그동안의 offset commit 수
+ * - record   : memberActivityKafkaListenerContainerFactory (레코드마다 MANUAL_IMMEDIATE 동기 커밋)
+ * - batch    : memberActivityBatchKafkaListenerContainerFactory, poll 당 acknowledge 한 번
+ * - coalesce : 같은 batch factory 의 ack-count / ack-time 비동기 커밋 병합
+ * 컨테이너는 trial 동안 계속 떠 있고, 매 invocation 전에 멈춘 상태로 레코드를 발행한 뒤 resume 부터 전부 처리할 때까지를 잰다.
+ * records/s = RECORDS / score(s), commits 는 @AuxCounters 로 함께 보고된다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ListenerCommitModeBenchmark {
+    private static final String TOPIC = "member-activity-commit-benchmark";
+    private static final int PARTITIONS = 6;
+    private static final int RECORDS = 20_000;
+
+    @Param({"record", "batch", "coalesce"})
+    public String mode;
+
+    private EmbeddedKafkaKraftBroker broker;
+    private KafkaTemplate<String, Object> template;
+    private ConcurrentMessageListenerContainer<String, MemberActivityTransportDto.MemberActivityEvent> container;
+    private volatile CountDownLatch remaining;
+    private long nextMemberId;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Commits {
+        public long commits;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        broker = new EmbeddedKafkaKraftBroker(1, PARTITIONS, TOPIC);
+        broker.afterPropertiesSet();
+
+        Map<String, Object> producerProps = KafkaTestUtils.producerProps(broker.getBrokersAsString());
+        producerProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MemberActivityEventSerializer.class);
+        producerProps.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+        template = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProps));
+
+        KafkaConfig kafkaConfig = kafkaConfig();
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                "record".equals(mode)
+                        ? kafkaConfig.memberActivityKafkaListenerContainerFactory(null)
+                        : kafkaConfig.memberActivityBatchKafkaListenerContainerFactory();
+        ((DefaultKafkaConsumerFactory<String, ?>) factory.getConsumerFactory()).updateConfigs(Map.of(
+                ConsumerConfig.GROUP_ID_CONFIG, "commit-benchmark-" + mode,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.INTERCEPTOR_CLASSES_CONFIG, CommitCountingInterceptor.class.getName()
+        ));
+
+        container = factory.createContainer(TOPIC);
+        switch (mode) {
+            case "record" -> container.setupMessageListener(
+                    (AcknowledgingMessageListener<String, MemberActivityTransportDto.MemberActivityEvent>) (record, ack) -> {
+                        ack.acknowledge();
+                        remaining.countDown();
+                    });
+            case "batch" -> container.setupMessageListener(
+                    (BatchAcknowledgingMessageListener<String, MemberActivityTransportDto.MemberActivityEvent>) (records, ack) -> {
+                        ack.acknowledge();
+                        records.forEach(ignored -> remaining.countDown());
+                    });
+            default -> container.setupMessageListener(
+                    (BatchMessageListener<String, MemberActivityTransportDto.MemberActivityEvent>) records ->
+                            records.forEach(ignored -> remaining.countDown()));
+        }
+        remaining = new CountDownLatch(0);
+        container.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        container.stop();
+        template.destroy();
+        broker.destroy();
+    }
+
+    @Setup(Level.Invocation)
+    public void publishWhilePaused(Commits commits) throws InterruptedException {
+        container.pause();
+        while (!container.isContainerPaused()) {
+            Thread.sleep(10);
+        }
+        remaining = new CountDownLatch(RECORDS);
+        for (int i = 0; i < RECORDS; i++) {
+            long memberId = nextMemberId++;
+            template.send(TOPIC, String.valueOf(memberId), MemberActivityTransportDto.MemberActivityEvent.builder()
+                    .memberActivityType(MemberActivityType.POST_READ)
+                    .memberId(memberId)
+                    .postId(memberId % 10_000)
+                    .createdAt(LocalDateTime.of(2026, 10, 18, 12, 0))
+                    .build());
+        }
+        template.flush();
+        commits.commits = -CommitCountingInterceptor.COMMITS.get();
+    }
+
+    @Benchmark
+    public void consume(Commits commits) throws InterruptedException {
+        container.resume();
+        remaining.await();
+        commits.commits += CommitCountingInterceptor.COMMITS.get();
+    }
+
+    private KafkaConfig kafkaConfig() {
+        KafkaConfig config = new KafkaConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", broker.getBrokersAsString());
+        ReflectionTestUtils.setField(config, "kafkaUser", "");
+        ReflectionTestUtils.setField(config, "kafkaPassword", "");
+        ReflectionTestUtils.setField(config, "saslProtocol", "PLAINTEXT");
+        ReflectionTestUtils.setField(config, "saslMechanism", "PLAIN");
+        ReflectionTestUtils.setField(config, "memberActivityWireFormat", "json");
+        ReflectionTestUtils.setField(config, "batchCommitMode", "coalesce".equals(mode) ? "coalesce" : "batch");
+        ReflectionTestUtils.setField(config, "batchAckCount", 2000);
+        ReflectionTestUtils.setField(config, "batchAckTimeMs", 1000L);
+        return config;
+    }
+}
@@ -0,0 +1,85 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberActivityEvent 직렬화/역직렬화: 바이너리(v1) vs 기존 JSON 경로
+ * 직렬화 벤치마크는 만든 바이트 수를 @AuxCounters 로 남긴다. 레코드당 바이트 수는 jsonBytes(binaryBytes) / ops 이다.
+ * 처리량과 할당량(-prof gc)은 JMH 결과로 비교한다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberActivityEventCodecBenchmark {
+    private static final String TOPIC = "member-activity-20261018";
+
+    private MemberActivityEventSerializer jsonSerializer;
+    private MemberActivityEventSerializer binarySerializer;
+    private MemberActivityEventDeserializer deserializer;
+    private MemberActivityTransportDto.MemberActivityEvent event;
+    private RecordHeaders jsonHeaders;
+    private RecordHeaders binaryHeaders;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireBytes {
+        public long jsonBytes;
+        public long binaryBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = new MemberActivityEventSerializer();
+        jsonSerializer.configure(Map.of(MemberActivityEventSerializer.WIRE_FORMAT_CONFIG, "json"), false);
+        binarySerializer = new MemberActivityEventSerializer();
+        binarySerializer.configure(Map.of(MemberActivityEventSerializer.WIRE_FORMAT_CONFIG, "binary"), false);
+        deserializer = new MemberActivityEventDeserializer();
+        deserializer.configure(Map.of(JsonDeserializer.TRUSTED_PACKAGES, "click.dailyfeed.code.*"), false);
+
+        event = MemberActivityTransportDto.MemberActivityEvent.builder()
+                .memberActivityType(MemberActivityType.POST_READ)
+                .memberId(8_123_456L)
+                .postId(912_345_678L)
+                .createdAt(LocalDateTime.of(2026, 10, 18, 12, 30, 15))
+                .build();
+
+        jsonHeaders = new RecordHeaders();
+        jsonBytes = jsonSerializer.serialize(TOPIC, jsonHeaders, event);
+        binaryHeaders = new RecordHeaders();
+        binaryBytes = binarySerializer.serialize(TOPIC, binaryHeaders, event);
+    }
+
+    @Benchmark
+    public byte[] serializeJson(WireBytes wireBytes) {
+        byte[] bytes = jsonSerializer.serialize(TOPIC, new RecordHeaders(), event);
+        wireBytes.jsonBytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public byte[] serializeBinary(WireBytes wireBytes) {
+        byte[] bytes = binarySerializer.serialize(TOPIC, new RecordHeaders(), event);
+        wireBytes.binaryBytes += bytes.length;
+        return bytes;
+    }
+
+    @Benchmark
+    public Object deserializeJson() {
+        return deserializer.deserialize(TOPIC, jsonHeaders, jsonBytes);
+    }
+
+    @Benchmark
+    public Object deserializeBinary() {
+        return deserializer.deserialize(TOPIC, binaryHeaders, binaryBytes);
+    }
+}
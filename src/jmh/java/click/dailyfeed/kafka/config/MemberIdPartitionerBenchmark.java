@@ -0,0 +1,98 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MemberIdPartitioner.partition 비용: 기존 key murmur2 해시 대비, hot 판정(sketch) 과 skew 기록을 켰을 때
+ * sketch 와 skew 카운터는 producer 스레드 간에 공유되므로 -t 로 스레드 수를 늘려 경합도 함께 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberIdPartitionerBenchmark {
+    private static final String TOPIC = "member-activity-20261018";
+    private static final int EVENTS = 1 << 14;
+
+    @Param({"false", "true"})
+    public boolean hotSpread;
+
+    @Param({"false", "true"})
+    public boolean skewReport;
+
+    private Cluster cluster;
+    private MemberIdPartitioner partitioner;
+    private MemberActivityTransportDto.MemberActivityEvent[] events;
+    private String[] keys;
+    private byte[][] keyBytes;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Node node = new Node(0, "localhost", 9092);
+        List<PartitionInfo> infos = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            infos.add(new PartitionInfo(TOPIC, i, node, new Node[]{node}, new Node[]{node}));
+        }
+        cluster = new Cluster("benchmark", List.of(node), infos, Set.of(), Set.of());
+
+        Map<String, Object> configs = new HashMap<>();
+        // hot-spread 를 끄면 sketch 를 거치지 않는다
+        configs.put(MemberIdPartitioner.HOT_SPREAD_CONFIG, hotSpread ? 4 : 1);
+        configs.put(MemberIdPartitioner.HOT_THRESHOLD_CONFIG, 1000);
+        configs.put(MemberIdPartitioner.HOT_WINDOW_MS_CONFIG, 1000);
+        if (skewReport) {
+            configs.put(MemberIdPartitioner.SKEW_REPORT_CONFIG, new MemberIdPartitionSkewReport());
+        }
+        partitioner = new MemberIdPartitioner();
+        partitioner.configure(configs);
+
+        SplittableRandom random = new SplittableRandom(42);
+        events = new MemberActivityTransportDto.MemberActivityEvent[EVENTS];
+        keys = new String[EVENTS];
+        keyBytes = new byte[EVENTS][];
+        for (int i = 0; i < EVENTS; i++) {
+            long memberId = random.nextLong(1, 10_000_000);
+            events[i] = MemberActivityTransportDto.MemberActivityEvent.builder()
+                    .memberActivityType(MemberActivityType.POST_READ)
+                    .memberId(memberId)
+                    .postId(random.nextLong(1, 1_000_000))
+                    .build();
+            keys[i] = memberId + "_POST_READ";
+            keyBytes[i] = keys[i].getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public int memberIdPartitioner(Cursor cursor) {
+        int i = cursor.next++ & (EVENTS - 1);
+        return partitioner.partition(TOPIC, keys[i], keyBytes[i], events[i], null, cluster);
+    }
+
+    /**
+     * 기본 partitioner 의 key 해시 경로 (key 직렬화는 제외)
+     */
+    @Benchmark
+    public int keyMurmur2(Cursor cursor) {
+        int i = cursor.next++ & (EVENTS - 1);
+        return Utils.toPositive(Utils.murmur2(keyBytes[i])) % cluster.partitionCountForTopic(TOPIC);
+    }
+}
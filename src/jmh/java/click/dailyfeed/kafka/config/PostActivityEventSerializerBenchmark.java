@@ -0,0 +1,61 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.content.post.dto.PostDto;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostActivityEvent 직렬화: 현재 producer 경로(spring JsonSerializer) vs ObjectWriter.writeValueAsBytes vs 재사용 버퍼 + streaming
+ * 처리량과 op 당 할당량(-prof gc 의 gc.alloc.rate.norm)을 비교한다.
+ * 이벤트는 dailyfeed-code 의 DTO 필드를 몰라도 되도록 JSON 으로부터 만든다 (없는 필드는 무시).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PostActivityEventSerializerBenchmark {
+    private static final String TOPIC = "post-activity-20261018";
+
+    private JsonSerializer<Object> springJsonSerializer;
+    private PostActivityEventSerializer writerSerializer;
+    private PostActivityEventSerializer pooledSerializer;
+    private PostDto.PostActivityEvent event;
+
+    @Setup
+    public void setUp() throws Exception {
+        springJsonSerializer = new JsonSerializer<>();
+        writerSerializer = new PostActivityEventSerializer();
+        writerSerializer.configure(Map.of(PostActivityEventSerializer.POOLED_BUFFER_CONFIG, "false"), false);
+        pooledSerializer = new PostActivityEventSerializer();
+        pooledSerializer.configure(Map.of(PostActivityEventSerializer.POOLED_BUFFER_CONFIG, "true"), false);
+
+        ObjectMapper objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        event = objectMapper.readValue("""
+                {"postId": 912345678, "memberId": 8123456, "postActivityType": "CREATE",
+                 "createdAt": "2026-10-18T12:30:15", "updatedAt": "2026-10-18T12:30:15"}
+                """, PostDto.PostActivityEvent.class);
+    }
+
+    @Benchmark
+    public byte[] springJsonSerializer() {
+        return springJsonSerializer.serialize(TOPIC, new RecordHeaders(), event);
+    }
+
+    @Benchmark
+    public byte[] writeValueAsBytes() {
+        return writerSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] pooledBuffer() {
+        return pooledSerializer.serialize(TOPIC, event);
+    }
+}
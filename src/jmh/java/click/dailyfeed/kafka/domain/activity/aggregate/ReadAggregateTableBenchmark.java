@@ -0,0 +1,133 @@
+package click.dailyfeed.kafka.domain.activity.aggregate;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.kafka.config.MemberActivityEventSerializer;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 집계 테이블: add 처리량(인기 글에 몰린 분포, 모드별 key) 과 flush 시 forEach + clear 비용
+ * add 는 요청 스레드에서 stripe 잠금 안에 호출되므로 건당 비용이 작아야 한다.
+ * perEvent / aggregated 는 같은 EVENTS_PER_OP 건의 조회를 Kafka 로 내보낼 때의 record 수와 value 바이트 수를 @AuxCounters 로 남긴다.
+ * (records / ops, bytes / ops 가 조회 EVENTS_PER_OP 건당 값이다. aggregated 는 테이블이 가득 차 집계하지 못한 조회를 개별 record 로 센다)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ReadAggregateTableBenchmark {
+    private static final int KEYS = 1 << 16;
+    private static final int EVENTS_PER_OP = 10_000;
+    private static final String TOPIC = "member-activity-20261018";
+
+    @Param({"6250", "100000"})
+    public int maxEntries;
+
+    // PER_POST 는 firstKey 가 항상 0
+    @Param({"true", "false"})
+    public boolean perPost;
+
+    private ReadAggregateTable table;
+    private ReadAggregateTable filled;
+    private ReadAggregateTable windowTable;
+    private long[] memberIds;
+    private long[] postIds;
+    private MemberActivityTransportDto.MemberActivityEvent[] events;
+    private MemberActivityEventSerializer serializer;
+    private int cursor;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Emitted {
+        public long records;
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        memberIds = new long[KEYS];
+        postIds = new long[KEYS];
+        events = new MemberActivityTransportDto.MemberActivityEvent[KEYS];
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 18, 12, 0);
+        for (int i = 0; i < KEYS; i++) {
+            memberIds[i] = perPost ? 0 : random.nextLong(1, 1_000_000);
+            // 조회의 절반 가까이가 상위 1% 글에 몰리도록
+            postIds[i] = random.nextInt(2) == 0 ? random.nextLong(1, maxEntries / 100 + 2) : random.nextLong(1, maxEntries);
+            events[i] = MemberActivityTransportDto.MemberActivityEvent.builder()
+                    .memberActivityType(MemberActivityType.POST_READ)
+                    .memberId(perPost ? random.nextLong(1, 1_000_000) : memberIds[i])
+                    .postId(postIds[i])
+                    .createdAt(createdAt)
+                    .build();
+        }
+        table = new ReadAggregateTable(maxEntries);
+        filled = new ReadAggregateTable(maxEntries);
+        windowTable = new ReadAggregateTable(maxEntries);
+        for (int i = 0; i < KEYS; i++) {
+            filled.add(memberIds[i], postIds[i], 0, i);
+        }
+        serializer = new MemberActivityEventSerializer();
+        serializer.configure(Map.of(), false);
+    }
+
+    @Benchmark
+    public boolean add() {
+        int i = cursor++ & (KEYS - 1);
+        if (i == 0) {
+            table.clear();
+        }
+        return table.add(memberIds[i], postIds[i], 0, i);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void forEach(Blackhole blackhole) {
+        filled.forEach((firstKey, secondKey, window, count, firstAt, lastAt) -> blackhole.consume(count));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void clear() {
+        table.clear();
+    }
+
+    /**
+     * 기존 경로: 조회 한 건마다 MemberActivityEvent 한 record
+     */
+    @Benchmark
+    public void perEvent(Emitted emitted) {
+        for (int n = 0; n < EVENTS_PER_OP; n++) {
+            emit(emitted, events[cursor++ & (KEYS - 1)]);
+        }
+    }
+
+    /**
+     * 집계 경로: 한 window 의 조회를 테이블에 모은 뒤 key 마다 PostReadAggregateEvent 한 record
+     */
+    @Benchmark
+    public void aggregated(Emitted emitted) {
+        for (int n = 0; n < EVENTS_PER_OP; n++) {
+            int i = cursor++ & (KEYS - 1);
+            if (!windowTable.add(memberIds[i], postIds[i], 0, i)) {
+                emit(emitted, events[i]);
+            }
+        }
+        windowTable.forEach((firstKey, postId, windowStart, count, firstAt, lastAt) -> emit(emitted,
+                new PostReadAggregateEvent(perPost ? null : firstKey, postId, count, firstAt, lastAt)));
+        windowTable.clear();
+    }
+
+    private void emit(Emitted emitted, Object value) {
+        emitted.records++;
+        emitted.bytes += serializer.serialize(TOPIC, new RecordHeaders(), value).length;
+    }
+}
@@ -0,0 +1,87 @@
+package click.dailyfeed.kafka.domain.activity.counter;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 카운터 집계: ActivityCounterTable add 와 HashMap&lt;Long, long[]&gt; add 처리량 비교
+ * flush 는 인기 글에 몰린 분포로 한 flush 구간(EVENTS 건)을 모아 Redis 명령 수를 @AuxCounters 로 남긴다.
+ * (events / redisCommands 가 명령 하나가 대신하는 이벤트 수. 이벤트당 HINCRBY 1회였던 방식 대비,
+ * flush 당 (post, 타입) 마다 HINCRBY 2회 + post 마다 PEXPIREAT 1회 + 타입별 INCRBY/PEXPIREAT + HMSET)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ActivityCounterTableBenchmark {
+    private static final int EVENTS = 1 << 16;
+    private static final int TYPES = 8;
+
+    @Param({"10000", "1000000"})
+    public int posts;
+
+    private ActivityCounterTable table;
+    private ActivityCounterTable flushTable;
+    private Map<Long, long[]> map;
+    private long[] postIds;
+    private int[] types;
+    private int cursor;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Flushed {
+        public long events;
+        public long redisCommands;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        postIds = new long[EVENTS];
+        types = new int[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            // 이벤트의 절반 가까이가 상위 1% 글에 몰리도록
+            postIds[i] = random.nextInt(2) == 0 ? random.nextLong(1, posts / 100 + 2) : random.nextLong(1, posts);
+            types[i] = random.nextInt(TYPES);
+        }
+        table = new ActivityCounterTable(EVENTS, TYPES);
+        flushTable = new ActivityCounterTable(EVENTS, TYPES);
+        map = new HashMap<>();
+    }
+
+    @Benchmark
+    public boolean table() {
+        int i = cursor++ & (EVENTS - 1);
+        if (i == 0) {
+            table.clear();
+        }
+        return table.add(postIds[i], 0, types[i], 1);
+    }
+
+    @Benchmark
+    public long hashMap() {
+        int i = cursor++ & (EVENTS - 1);
+        if (i == 0) {
+            map.clear();
+        }
+        return ++map.computeIfAbsent(postIds[i], ignored -> new long[TYPES])[types[i]];
+    }
+
+    /**
+     * 한 flush 구간의 이벤트를 모은 뒤 flush 가 보낼 Redis 명령 수를 센다 (window 는 하나)
+     */
+    @Benchmark
+    public void flush(Flushed flushed) {
+        for (int i = 0; i < EVENTS; i++) {
+            flushTable.add(postIds[i], 0, types[i], 1);
+        }
+        long[] deltas = new long[1];
+        flushTable.forEach((postId, window, typeOrdinal, delta) -> deltas[0]++);
+        flushed.events += EVENTS;
+        flushed.redisCommands += deltas[0] * 2 + flushTable.size() + TYPES * 3L + 1;
+        flushTable.clear();
+    }
+}
@@ -0,0 +1,38 @@
+package click.dailyfeed.kafka.domain.activity.publisher;
+
+import click.dailyfeed.kafka.domain.kafka.service.KafkaSendLogger;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.SendResult;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 조회 이벤트 한 건 발행: 기존 MemberActivityKafkaPublisher (LocalDateTime.now + try/catch) vs MemberActivityKafkaAsyncPublisher (Clock millis + future)
+ * 비교 대상은 op 당 할당량이므로 -prof gc 의 gc.alloc.rate.norm 을 본다 (jmh 설정에 gc profiler 가 기본으로 켜져 있다).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberActivityAsyncPublishBenchmark {
+    private MemberActivityKafkaPublisher publisher;
+    private MemberActivityKafkaAsyncPublisher asyncPublisher;
+    private long postId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        PublisherBenchmarkSupport support = new PublisherBenchmarkSupport(KafkaSendLogger.Mode.SUMMARY);
+        publisher = support.publisher;
+        asyncPublisher = support.asyncPublisher;
+    }
+
+    @Benchmark
+    public void publisher() {
+        publisher.publishPostReadEvent(8_123_456L, ++postId);
+    }
+
+    @Benchmark
+    public CompletableFuture<SendResult<String, Object>> asyncPublisher() {
+        return asyncPublisher.publishPostReadEvent(8_123_456L, ++postId);
+    }
+}
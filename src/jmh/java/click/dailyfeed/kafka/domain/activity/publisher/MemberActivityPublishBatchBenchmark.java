@@ -0,0 +1,48 @@
+package click.dailyfeed.kafka.domain.activity.publisher;
+
+import click.dailyfeed.kafka.domain.kafka.service.KafkaSendLogger;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 피드 한 페이지(pageSize 건)의 조회 이벤트 발행: 건별 publishPostReadEvent vs publishBatch
+ * 1 op = 한 페이지이므로 records/ms 는 결과 × pageSize 로 환산한다.
+ * callback 로그는 SUMMARY 모드 기준이며, VERBOSE 모드에서는 건별 경로에만 레코드당 INFO 로그 한 줄이 더해진다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberActivityPublishBatchBenchmark {
+    @Param({"20", "50"})
+    public int pageSize;
+
+    private MemberActivityKafkaPublisher publisher;
+    private List<MemberActivityPublishRequest> requests;
+    private long[] postIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        publisher = new PublisherBenchmarkSupport(KafkaSendLogger.Mode.SUMMARY).publisher;
+        requests = new ArrayList<>(pageSize);
+        postIds = new long[pageSize];
+        for (int i = 0; i < pageSize; i++) {
+            postIds[i] = 900_000L + i;
+            requests.add(MemberActivityPublishRequest.postRead(8_123_456L, postIds[i]));
+        }
+    }
+
+    @Benchmark
+    public void oneAtATime() {
+        for (long postId : postIds) {
+            publisher.publishPostReadEvent(8_123_456L, postId);
+        }
+    }
+
+    @Benchmark
+    public MemberActivityBatchPublishResult batch() {
+        return publisher.publishBatch(requests).join();
+    }
+}
@@ -0,0 +1,121 @@
+package click.dailyfeed.kafka.domain.activity.publisher;
+
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.kafka.config.KafkaProducerProfile;
+import click.dailyfeed.kafka.config.KafkaProducerProfileTemplates;
+import click.dailyfeed.kafka.config.MemberActivityEventSerializer;
+import click.dailyfeed.kafka.domain.activity.aggregate.PostReadAggregator;
+import click.dailyfeed.kafka.domain.activity.outbox.MemberActivityOutbox;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import click.dailyfeed.kafka.domain.kafka.service.KafkaHelper;
+import click.dailyfeed.kafka.domain.kafka.service.KafkaSendLogger;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpool;
+import click.dailyfeed.kafka.domain.kafka.topic.DateBasedTopicResolver;
+import click.dailyfeed.kafka.domain.kafka.topic.DateBasedTopicRolloverCoordinator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.Callback;
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.clients.producer.Producer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+
+/**
+ * 발행 경로 benchmark 공용 구성
+ * broker 대신 send 즉시 완료되는 MockProducer 로 KafkaTemplate 을 만들고, publisher 를 스프링 없이 조립한다.
+ * 직렬화(MemberActivityEventSerializer, JSON), future/callback, metrics 기록은 실제 경로 그대로 거친다.
+ */
+final class PublisherBenchmarkSupport {
+    final Clock clock = Clock.tickMillis(ZoneId.systemDefault());
+    final KafkaHelper kafkaHelper;
+    final MemberActivityKafkaPublisher publisher;
+    final MemberActivityKafkaAsyncPublisher asyncPublisher;
+
+    PublisherBenchmarkSupport(KafkaSendLogger.Mode callbackLogMode) {
+        KafkaTemplate<String, Object> kafkaTemplate = mockTemplate();
+        Map<KafkaProducerProfile, KafkaTemplate<String, Object>> templates = new EnumMap<>(KafkaProducerProfile.class);
+        for (KafkaProducerProfile profile : KafkaProducerProfile.values()) {
+            templates.put(profile, mockTemplate());
+        }
+        KafkaProducerProfileTemplates profileTemplates = new KafkaProducerProfileTemplates(templates);
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", new SimpleMeterRegistry());
+        KafkaSupportMetrics metrics = new KafkaSupportMetrics(beanFactory.getBeanProvider(MeterRegistry.class));
+
+        DateBasedTopicResolver resolver = new DateBasedTopicResolver(clock, 300_000);
+        DateBasedTopicRolloverCoordinator rolloverCoordinator =
+                new DateBasedTopicRolloverCoordinator(kafkaTemplate, profileTemplates, null, resolver, clock, 60_000);
+        // SUMMARY 모드의 요약 로그 스케줄러는 시작하지 않는다 (카운터 증가 비용만 측정)
+        KafkaSendLogger sendLogger = new KafkaSendLogger(callbackLogMode, 60_000, 10_000);
+
+        this.kafkaHelper = new KafkaHelper(kafkaTemplate, clock, profileTemplates, metrics, sendLogger,
+                beanFactory.getBeanProvider(KafkaPublishSpool.class), rolloverCoordinator);
+
+        MemberActivityProducerProfileRouter router = new MemberActivityProducerProfileRouter(new MemberActivityType[0]);
+        this.publisher = new MemberActivityKafkaPublisher(kafkaHelper, resolver, null, new ObjectMapper(), router, metrics,
+                beanFactory.getBeanProvider(MemberActivityPublishQueue.class),
+                beanFactory.getBeanProvider(PostReadAggregator.class),
+                beanFactory.getBeanProvider(MemberActivityOutbox.class));
+        this.asyncPublisher = new MemberActivityKafkaAsyncPublisher(kafkaHelper, resolver, clock, router, metrics);
+    }
+
+    private static KafkaTemplate<String, Object> mockTemplate() {
+        MemberActivityEventSerializer valueSerializer = new MemberActivityEventSerializer();
+        valueSerializer.configure(Map.of(), false);
+        ReusableMockProducer producer = new ReusableMockProducer(valueSerializer);
+        return new KafkaTemplate<>(new ProducerFactory<>() {
+            @Override
+            public Producer<String, Object> createProducer() {
+                return producer;
+            }
+
+            @Override
+            public Map<String, Object> getConfigurationProperties() {
+                return Map.of();
+            }
+        });
+    }
+
+    /**
+     * KafkaTemplate 은 send 마다 producer 를 close 하므로 close 를 무시하고,
+     * MockProducer 가 보낸 레코드를 계속 쌓아두지 않도록 주기적으로 비운다.
+     */
+    private static final class ReusableMockProducer extends MockProducer<String, Object> {
+        private static final int CLEAR_EVERY = 4096;
+        private int sent;
+
+        ReusableMockProducer(MemberActivityEventSerializer valueSerializer) {
+            super(true, null, new StringSerializer(), valueSerializer);
+        }
+
+        @Override
+        public synchronized Future<RecordMetadata> send(ProducerRecord<String, Object> record, Callback callback) {
+            Future<RecordMetadata> future = super.send(record, callback);
+            if (++sent % CLEAR_EVERY == 0) {
+                clear();
+            }
+            return future;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void close(Duration timeout) {
+        }
+    }
+}
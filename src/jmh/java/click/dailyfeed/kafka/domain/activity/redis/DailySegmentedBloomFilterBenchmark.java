@@ -0,0 +1,69 @@
+package click.dailyfeed.kafka.domain.activity.redis;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * dedup key 조회 앞단의 bloom filter: 새 key 비율(newKeyPercent)에 따른 mightContain 처리량과 건너뛴 Redis 조회 수
+ * 새 key 는 filter 가 false 를 돌려주므로 Redis EXISTS 를 보내지 않는다. skippedLookups / ops 가 절약한 Redis 왕복 비율이다.
+ * negative 는 오늘 segment 이후 이전 segment 까지 모두 확인하는 경로이므로, consumer 스레드 여럿(@Threads)이 동시에 읽을 때 lock 경합이 없는지 본다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class DailySegmentedBloomFilterBenchmark {
+    private static final int KNOWN_KEYS = 1 << 16;
+    private static final Duration EXPIRE_IN = Duration.ofDays(1);
+
+    @Param({"10", "90"})
+    public int newKeyPercent;
+
+    private DailySegmentedBloomFilter bloomFilter;
+    private String[] knownKeys;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Lookups {
+        public long skippedLookups;
+        public long redisLookups;
+        private String[] newKeys;
+        private int cursor;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            newKeys = new String[KNOWN_KEYS];
+            String prefix = Thread.currentThread().getName();
+            for (int i = 0; i < newKeys.length; i++) {
+                newKeys[i] = "new-" + prefix + "-" + i;
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        bloomFilter = new DailySegmentedBloomFilter(Clock.system(ZoneId.systemDefault()), 5_000_000, 0.01, 2);
+        knownKeys = new String[KNOWN_KEYS];
+        for (int i = 0; i < knownKeys.length; i++) {
+            knownKeys[i] = "member-activity-" + i;
+            bloomFilter.put(knownKeys[i], EXPIRE_IN);
+        }
+    }
+
+    @Benchmark
+    public boolean mightContain(Lookups lookups) {
+        int index = lookups.cursor++ & (KNOWN_KEYS - 1);
+        String key = index % 100 < newKeyPercent ? lookups.newKeys[index] : knownKeys[index];
+        boolean mightContain = bloomFilter.mightContain(key);
+        if (mightContain) {
+            lookups.redisLookups++;
+        } else {
+            lookups.skippedLookups++;
+        }
+        return mightContain;
+    }
+}
@@ -0,0 +1,114 @@
+package click.dailyfeed.kafka.domain.activity.redis;
+
+import click.dailyfeed.code.domain.activity.factory.MemberActivityTransferDtoFactory;
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpool;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * consumer 가 DLQ 로 보내는 메시지 처리량: 건별 동기 RPUSH vs MemberActivityEventDLQBuffer (모아서 pipeline 한 번)
+ * 임베디드 Redis 가 없으므로 Redis 호출은 왕복 한 번당 rttMicros 만큼 멈추는 stub 으로 대신한다.
+ * 1 op = MESSAGES 건이 Redis 에 기록될 때까지이며, messages/ms = 결과 × MESSAGES. Redis 왕복 횟수는 @AuxCounters 로 보고된다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class MemberActivityEventDLQBufferBenchmark {
+    private static final int MESSAGES = 500;
+
+    @Param({"200", "1000"})
+    public long rttMicros;
+
+    private RoundTripCountingRedisService redisService;
+    private MemberActivityEventDLQBuffer buffer;
+    private MemberActivityTransportDto.MemberActivityMessage[] messages;
+    private final CompletableFuture<?>[] written = new CompletableFuture<?>[MESSAGES];
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class RoundTrips {
+        public long roundTrips;
+    }
+
+    /**
+     * RPUSH / pipeline 한 번을 왕복 한 번으로 보고 rttMicros 만큼 멈춘다
+     */
+    static final class RoundTripCountingRedisService extends MemberActivityEventDLQRedisService {
+        private final long rttNanos;
+        private final AtomicLong roundTrips = new AtomicLong();
+
+        RoundTripCountingRedisService(long rttMicros) {
+            super(null);
+            this.rttNanos = TimeUnit.MICROSECONDS.toNanos(rttMicros);
+        }
+
+        @Override
+        public void rPush(MemberActivityTransportDto.MemberActivityMessage message) {
+            roundTrip();
+        }
+
+        @Override
+        public void rPushList(List<MemberActivityTransportDto.MemberActivityMessage> messages) {
+            roundTrip();
+        }
+
+        private void roundTrip() {
+            roundTrips.incrementAndGet();
+            LockSupport.parkNanos(rttNanos);
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        redisService = new RoundTripCountingRedisService(rttMicros);
+        buffer = new MemberActivityEventDLQBuffer(redisService,
+                new StaticListableBeanFactory().getBeanProvider(KafkaPublishSpool.class),
+                10_000, MESSAGES, 1, 5, 200);
+        buffer.start();
+
+        messages = new MemberActivityTransportDto.MemberActivityMessage[MESSAGES];
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 18, 12, 0);
+        for (int i = 0; i < MESSAGES; i++) {
+            MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransportDto.MemberActivityEvent.builder()
+                    .memberActivityType(MemberActivityType.POST_READ)
+                    .memberId(1_000L + i)
+                    .postId(900_000L + i)
+                    .createdAt(createdAt)
+                    .build();
+            messages[i] = MemberActivityTransferDtoFactory.newMemberActivityMessage(event, MemberActivityType.POST_READ, createdAt);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        buffer.shutdown();
+    }
+
+    @Benchmark
+    public void directRPush(RoundTrips counters) {
+        long before = redisService.roundTrips.get();
+        for (MemberActivityTransportDto.MemberActivityMessage message : messages) {
+            redisService.rPush(message);
+        }
+        counters.roundTrips += redisService.roundTrips.get() - before;
+    }
+
+    @Benchmark
+    public void buffered(RoundTrips counters) {
+        long before = redisService.roundTrips.get();
+        for (int i = 0; i < MESSAGES; i++) {
+            written[i] = buffer.write(messages[i]);
+        }
+        CompletableFuture.allOf(written).join();
+        counters.roundTrips += redisService.roundTrips.get() - before;
+    }
+}
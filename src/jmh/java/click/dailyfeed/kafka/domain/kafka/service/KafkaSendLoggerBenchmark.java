@@ -0,0 +1,41 @@
+package click.dailyfeed.kafka.domain.kafka.service;
+
+import org.apache.kafka.common.errors.TimeoutException;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * send callback 한 번의 비용: VERBOSE (건마다 INFO / 스택트레이스 포함 ERROR) vs SUMMARY (카운터 증가, 실패는 종류별 rate limit)
+ * failure 는 broker 장애 상황처럼 같은 토픽/예외가 연속으로 실패하는 경우이다.
+ * producer I/O 스레드 여러 개가 동시에 callback 을 실행하는 상황을 @Threads 로 흉내 낸다.
+ * 로그 출력 비용은 jmh classpath 의 logback 기본 설정(console)을 기준으로 한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class KafkaSendLoggerBenchmark {
+    private static final String TOPIC = "member-activity-20261018";
+
+    @Param({"VERBOSE", "SUMMARY"})
+    public KafkaSendLogger.Mode mode;
+
+    @Param({"success", "failure"})
+    public String outcome;
+
+    private KafkaSendLogger sendLogger;
+    private Throwable throwable;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // 요약 로그 스케줄러는 시작하지 않는다 (callback 비용만 측정)
+        sendLogger = new KafkaSendLogger(mode, 60_000, 10_000);
+        throwable = "failure".equals(outcome) ? new TimeoutException("Expiring 1 record(s) for " + TOPIC + "-0") : null;
+    }
+
+    @Benchmark
+    public void onComplete() {
+        sendLogger.onComplete(TOPIC, "8123456", throwable);
+    }
+}
@@ -0,0 +1,69 @@
+package click.dailyfeed.kafka.domain.kafka.spool;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * spool segment append 처리량 (record 크기별, force 유무)
+ * segment 가 차면 새 segment 로 바꾸므로 측정값에는 파일 생성/매핑 비용이 일정 비율로 섞인다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SpoolSegmentBenchmark {
+    private static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    @Param({"256", "2048"})
+    public int recordBytes;
+
+    private Path directory;
+    private SpoolSegment segment;
+    private long sequence;
+    private byte[] body;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("spool-benchmark");
+        body = new byte[recordBytes];
+        for (int i = 0; i < body.length; i++) {
+            body[i] = (byte) i;
+        }
+        segment = SpoolSegment.create(directory, sequence++, SEGMENT_SIZE);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        segment.delete();
+        try (var files = Files.list(directory)) {
+            for (Path path : files.toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public boolean append() throws IOException {
+        return appendOrRoll();
+    }
+
+    @Benchmark
+    public boolean appendAndForce() throws IOException {
+        boolean appended = appendOrRoll();
+        segment.force();
+        return appended;
+    }
+
+    private boolean appendOrRoll() throws IOException {
+        if (segment.append(body)) {
+            return true;
+        }
+        segment.delete();
+        segment = SpoolSegment.create(directory, sequence++, SEGMENT_SIZE);
+        return segment.append(body);
+    }
+}
@@ -0,0 +1,51 @@
+package click.dailyfeed.kafka.domain.kafka.topic;
+
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 날짜 토픽명 조회: 매번 generateTopicName 으로 포맷팅하는 기존 경로 vs 오늘 날짜 캐시 (LocalDateTime / epoch millis)
+ * 캐시 경로는 토픽명 문자열을 새로 만들지 않으므로 할당량(-prof gc)도 함께 비교한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DateBasedTopicResolverBenchmark {
+    private DateBasedTopicResolver resolver;
+    private LocalDateTime now;
+    private long nowMillis;
+
+    @Setup
+    public void setUp() {
+        resolver = new DateBasedTopicResolver(Clock.tickMillis(ZoneId.systemDefault()), 300_000);
+        now = LocalDateTime.now();
+        nowMillis = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public String generateTopicName() {
+        return DateBasedTopicType.MEMBER_ACTIVITY.generateTopicName(now);
+    }
+
+    @Benchmark
+    public String resolveLocalDateTime() {
+        return resolver.resolveDateBasedTopicName(DateBasedTopicType.MEMBER_ACTIVITY, now);
+    }
+
+    @Benchmark
+    public String resolveEpochMillis() {
+        return resolver.resolve(DateBasedTopicType.MEMBER_ACTIVITY, nowMillis);
+    }
+
+    // 여러 프로듀서 스레드가 같은 캐시를 읽는 경우
+    @Benchmark
+    @Threads(4)
+    public String resolveEpochMillisContended() {
+        return resolver.resolve(DateBasedTopicType.MEMBER_ACTIVITY, nowMillis);
+    }
+}
@@ -1,28 +1,319 @@
 package click.dailyfeed.kafka.config;
 
+import click.dailyfeed.code.domain.activity.factory.MemberActivityTransferDtoFactory;
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.kafka.domain.activity.redis.MemberActivityEventDLQBuffer;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import click.dailyfeed.kafka.domain.kafka.topic.KafkaTopicRegistry;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.Counter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.consumer.Consumer;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.listener.CommonErrorHandler;
+import org.springframework.kafka.listener.ListenerExecutionFailedException;
 import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.converter.ConversionException;
 import org.springframework.kafka.support.serializer.DeserializationException;
+import org.springframework.messaging.converter.MessageConversionException;
+import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * record listener 용 에러 핸들러
+ * - 역직렬화 실패: 다시 읽어도 같으므로 skip
+ * - 영구 오류(변환/타입/인자 오류): 재시도 없이 바로 DLQ(MemberActivityEvent) 또는 retry 토픽으로 보낸다.
+ * - 일시 오류: 같은 offset 을 지수 backoff(+jitter) 로 max-attempts 번까지 다시 처리하고, 그래도 실패하면 소진된 것으로 본다.
+ * - 소진된 레코드는 retry-topic.enabled 가 꺼져 있으면(기본) 바로 DLQ 로 보낸다. (MemberActivityEvent 가 아니면 로그만 남기고 skip)
+ *   DLQ 기록이 route-timeout-ms 안에 확인되지 않으면 커밋하지 않고 다시 수신한다.
+ * - retry-topic.enabled 를 켜면 retry 토픽(날짜 토픽은 {prefix}retry-yyyyMMdd)으로 넘기고 커밋해 원래 파티션은 계속 흐르게 한다.
+ *   retry 토픽은 서비스가 *RetryKafkaListenerContainerFactory 와 CrossDayTopicSubscription.retryTopicPattern 으로 구독해
+ *   같은 listener 로 다시 처리해야 하며, retry 토픽에서도 retry-topic.max-attempts 번 실패한 레코드는 DLQ 로 보낸다.
+ * 예외 클래스/처리 방식별 건수는 dailyfeed.kafka.consumer.errors 로 노출한다.
+ */
 @Slf4j
+@Component
 public class CustomErrorHandler implements CommonErrorHandler {
+    public static final String RETRY_ATTEMPT_HEADER = "dailyfeed-retry-attempt";
+    public static final String RETRY_ORIGINAL_TOPIC_HEADER = "dailyfeed-retry-original-topic";
+    public static final String RETRY_EXCEPTION_HEADER = "dailyfeed-retry-exception";
+
+    private static final Pattern DATE_BASED_TOPIC = Pattern.compile("^(.*-)(\\d{8})$");
+    private static final String RETRY_SEGMENT = "retry-";
+    // rebalance 등으로 끝나지 않은 offset 이 쌓이지 않도록 추적 건수 상한
+    private static final int MAX_TRACKED_RECORDS = 10_000;
+
+    private static final List<Class<? extends Throwable>> PERSISTENT_EXCEPTIONS = List.of(
+            DeserializationException.class,
+            ConversionException.class,
+            MessageConversionException.class,
+            JsonProcessingException.class,
+            ClassCastException.class,
+            IllegalArgumentException.class,
+            NullPointerException.class
+    );
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaTopicRegistry kafkaTopicRegistry;
+    private final MemberActivityEventDLQBuffer memberActivityEventDLQBuffer;
+    private final KafkaSupportMetrics kafkaSupportMetrics;
+    private final Clock kafkaClock;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final long maxBackoffMs;
+    private final double multiplier;
+    private final double jitter;
+    private final boolean retryTopicEnabled;
+    private final int maxRetryTopicAttempts;
+    private final long routeTimeoutMs;
+
+    // topic-partition@offset → 지금까지 실패한 횟수
+    private final Map<String, Integer> attempts = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public CustomErrorHandler(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            KafkaTopicRegistry kafkaTopicRegistry,
+            MemberActivityEventDLQBuffer memberActivityEventDLQBuffer,
+            KafkaSupportMetrics kafkaSupportMetrics,
+            Clock kafkaClock,
+            @Value("${infrastructure.kafka.consumer.error.max-attempts:3}") int maxAttempts,
+            @Value("${infrastructure.kafka.consumer.error.initial-backoff-ms:200}") long initialBackoffMs,
+            @Value("${infrastructure.kafka.consumer.error.max-backoff-ms:5000}") long maxBackoffMs,
+            @Value("${infrastructure.kafka.consumer.error.multiplier:2.0}") double multiplier,
+            @Value("${infrastructure.kafka.consumer.error.jitter:0.2}") double jitter,
+            @Value("${infrastructure.kafka.consumer.error.retry-topic.enabled:false}") boolean retryTopicEnabled,
+            @Value("${infrastructure.kafka.consumer.error.retry-topic.max-attempts:3}") int maxRetryTopicAttempts,
+            @Value("${infrastructure.kafka.consumer.error.route-timeout-ms:10000}") long routeTimeoutMs
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaTopicRegistry = kafkaTopicRegistry;
+        this.memberActivityEventDLQBuffer = memberActivityEventDLQBuffer;
+        this.kafkaSupportMetrics = kafkaSupportMetrics;
+        this.kafkaClock = kafkaClock;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+        this.multiplier = multiplier;
+        this.jitter = jitter;
+        this.retryTopicEnabled = retryTopicEnabled;
+        this.maxRetryTopicAttempts = maxRetryTopicAttempts;
+        this.routeTimeoutMs = routeTimeoutMs;
+    }
 
     @Override
     public boolean handleOne(Exception thrownException, ConsumerRecord<?, ?> record, Consumer<?, ?> consumer, MessageListenerContainer container) {
+        Throwable cause = unwrap(thrownException);
+        String exceptionName = cause.getClass().getSimpleName();
+        String recordId = record.topic() + "-" + record.partition() + "@" + record.offset();
+
+        if (isCausedBy(thrownException, DeserializationException.class)) {
+            // Deserialization 에러는 skip
+            log.error("Skipping message due to deserialization error. topic: {}, partition: {}, offset: {}",
+                    record.topic(), record.partition(), record.offset(), cause);
+            attempts.remove(recordId);
+            count(exceptionName, "skip");
+            return true;
+        }
+
+        if (!isPersistent(thrownException)) {
+            if (attempts.size() > MAX_TRACKED_RECORDS) {
+                attempts.clear();
+            }
+            int attempt = attempts.merge(recordId, 1, Integer::sum);
+            if (attempt < maxAttempts) {
+                // 일시 오류: backoff 후 같은 offset 부터 다시 수신
+                long backoffMs = backoffMs(attempt);
+                log.warn("Retrying message from topic: {}, partition: {}, offset: {} in {}ms (attempt {}/{}): {}",
+                        record.topic(), record.partition(), record.offset(), backoffMs, attempt, maxAttempts, cause.toString());
+                count(exceptionName, "retry");
+                sleep(backoffMs);
+                return false;
+            }
+        }
+
         log.error("Error processing message from topic: {}, partition: {}, offset: {}",
                 record.topic(), record.partition(), record.offset(), thrownException);
+        if (route(record, cause, exceptionName)) {
+            attempts.remove(recordId);
+            return true;
+        }
 
-        if (thrownException instanceof DeserializationException) {
-            // Deserialization 에러는 skip
-            log.error("Skipping message due to deserialization error");
+        // retry 토픽/DLQ 로도 보내지 못하면 최대 backoff 뒤 다시 수신
+        count(exceptionName, "route-failed");
+        sleep(maxBackoffMs);
+        return false;
+    }
+
+    /**
+     * 소진된 레코드를 retry 토픽 또는 DLQ 로 보낸다. 보내지 못했으면 false
+     */
+    private boolean route(ConsumerRecord<?, ?> record, Throwable cause, String exceptionName) {
+        int retryTopicAttempt = retryTopicAttempt(record.headers());
+        boolean exhausted = !retryTopicEnabled || retryTopicAttempt >= maxRetryTopicAttempts || isPersistent(cause);
+
+        if (exhausted) {
+            if (record.value() instanceof MemberActivityTransportDto.MemberActivityEvent event) {
+                if (!offerToDLQ(event)) {
+                    return false;
+                }
+                count(exceptionName, "dlq");
+                return true;
+            }
+            if (!retryTopicEnabled || retryTopicAttempt > 0) {
+                // retry 토픽을 쓰지 않거나, 원래 토픽에서 한 번 retry 토픽으로 넘어온 레코드는 다시 보내지 않는다
+                log.error("Skipping message after {} retry topic attempts. topic: {}, partition: {}, offset: {}",
+                        retryTopicAttempt, record.topic(), record.partition(), record.offset());
+                count(exceptionName, "skip");
+                return true;
+            }
+        }
+
+        String retryTopic = retryTopicOf(record.topic());
+        try {
+            if (!kafkaTopicRegistry.exists(retryTopic)) {
+                kafkaTopicRegistry.ensureTopics(List.of(retryTopic)).get(routeTimeoutMs, TimeUnit.MILLISECONDS);
+            }
+            Headers headers = new RecordHeaders(record.headers().toArray());
+            headers.remove(RETRY_ATTEMPT_HEADER);
+            headers.add(RETRY_ATTEMPT_HEADER, String.valueOf(retryTopicAttempt + 1).getBytes(StandardCharsets.UTF_8));
+            if (headers.lastHeader(RETRY_ORIGINAL_TOPIC_HEADER) == null) {
+                headers.add(RETRY_ORIGINAL_TOPIC_HEADER, record.topic().getBytes(StandardCharsets.UTF_8));
+            }
+            headers.remove(RETRY_EXCEPTION_HEADER);
+            headers.add(RETRY_EXCEPTION_HEADER, cause.getClass().getName().getBytes(StandardCharsets.UTF_8));
+
+            String key = record.key() == null ? null : record.key().toString();
+            kafkaTemplate.send(new ProducerRecord<>(retryTopic, null, key, record.value(), headers))
+                    .get(routeTimeoutMs, TimeUnit.MILLISECONDS);
+            count(exceptionName, "retry-topic");
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (Exception e) {
+            log.error("Failed to forward message to retry topic: {}", retryTopic, e);
+            return false;
+        }
+    }
+
+    private boolean offerToDLQ(MemberActivityTransportDto.MemberActivityEvent event) {
+        LocalDateTime createdAt = event.getCreatedAt() != null ? event.getCreatedAt() : LocalDateTime.now(kafkaClock);
+        MemberActivityTransportDto.MemberActivityMessage message = MemberActivityTransferDtoFactory
+                .newMemberActivityMessage(event, event.getMemberActivityType(), createdAt);
+        // 커밋 전에 DLQ(Redis 또는 spool)에 실제로 기록되었는지 확인한다. 버퍼에만 들어간 채 죽으면 유실되므로
+        try {
+            memberActivityEventDLQBuffer.write(message).get(routeTimeoutMs, TimeUnit.MILLISECONDS);
             return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            log.error("Failed to write message to member activity DLQ, message will be redelivered: {}", e.toString());
+            return false;
         }
+    }
+
+    /**
+     * 날짜 토픽은 날짜 앞에 retry- 를 끼워 같은 날짜의 retry 토픽으로, 그 외에는 -retry 를 붙인다. 이미 retry 토픽이면 그대로
+     */
+    static String retryTopicOf(String topic) {
+        Matcher matcher = DATE_BASED_TOPIC.matcher(topic);
+        if (matcher.matches()) {
+            if (matcher.group(1).endsWith(RETRY_SEGMENT)) {
+                return topic;
+            }
+            return matcher.group(1) + RETRY_SEGMENT + matcher.group(2);
+        }
+        return topic.endsWith("-retry") ? topic : topic + "-retry";
+    }
+
+    private static int retryTopicAttempt(Headers headers) {
+        Header header = headers.lastHeader(RETRY_ATTEMPT_HEADER);
+        if (header == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(new String(header.value(), StandardCharsets.UTF_8).trim());
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * initial-backoff-ms × multiplier^(attempt-1), max-backoff-ms 로 제한하고 ±jitter 비율만큼 흔든다
+     */
+    private long backoffMs(int attempt) {
+        double backoff = Math.min(maxBackoffMs, initialBackoffMs * Math.pow(multiplier, attempt - 1));
+        double spread = backoff * jitter;
+        double offset = spread > 0 ? ThreadLocalRandom.current().nextDouble(-spread, spread) : 0;
+        return Math.max(0, Math.round(backoff + offset));
+    }
 
-        // 재시도 가능한 에러는 false 반환
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void count(String exceptionName, String action) {
+        counters.computeIfAbsent(exceptionName + '|' + action, ignored -> Counter.builder("dailyfeed.kafka.consumer.errors")
+                .description("listener 처리 실패 건수 (예외 클래스/처리 방식별)")
+                .tag("exception", exceptionName)
+                .tag("action", action)
+                .register(kafkaSupportMetrics.meterRegistry()))
+                .increment();
+    }
+
+    private static boolean isPersistent(Throwable throwable) {
+        for (Class<? extends Throwable> type : PERSISTENT_EXCEPTIONS) {
+            if (isCausedBy(throwable, type)) {
+                return true;
+            }
+        }
         return false;
     }
 
-}
\ No newline at end of file
+    private static boolean isCausedBy(Throwable throwable, Class<? extends Throwable> type) {
+        for (Throwable cause = throwable; cause != null; cause = cause.getCause()) {
+            if (type.isInstance(cause)) {
+                return true;
+            }
+            if (cause.getCause() == cause) {
+                break;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 컨테이너가 감싼 ListenerExecutionFailedException 을 벗겨 실제 원인을 꺼낸다
+     */
+    private static Throwable unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause instanceof ListenerExecutionFailedException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+}
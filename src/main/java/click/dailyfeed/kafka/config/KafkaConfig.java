@@ -2,6 +2,8 @@ package click.dailyfeed.kafka.config;
 
 import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
 import click.dailyfeed.code.domain.content.post.dto.PostDto;
+import click.dailyfeed.kafka.domain.activity.counter.MemberActivityCounterEngine;
+import click.dailyfeed.kafka.domain.kafka.consumer.CrossDayTopicSubscription;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.AdminClientConfig;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
@@ -9,15 +11,19 @@ import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
 import org.springframework.kafka.core.*;
 import org.springframework.kafka.listener.ContainerProperties;
 import org.springframework.kafka.support.serializer.ErrorHandlingDeserializer;
 import org.springframework.kafka.support.serializer.JsonDeserializer;
-import org.springframework.kafka.support.serializer.JsonSerializer;
 
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -39,6 +45,54 @@ public class KafkaConfig {
     @Value("${KAFKA_SASL_MECHANISM:PLAIN}")
     private String saslMechanism;
 
+    /// member activity 이벤트 전송 포맷 (json | binary), consumer 배포 완료 후 binary 로 전환
+    @Value("${infrastructure.kafka.member-activity.wire-format:json}")
+    private String memberActivityWireFormat;
+
+    /// PostActivityEvent 를 재사용 버퍼 serializer(PostActivityEventSerializer)로 직렬화
+    /// 날짜 표현이 숫자 배열에서 ISO-8601 문자열로 바뀌고 __TypeId__ 헤더가 빠지므로 consumer 확인 후 켠다
+    @Value("${infrastructure.kafka.post-activity.pooled-serializer:false}")
+    private boolean postActivityPooledSerializer;
+
+    /// batch listener 커밋 방식 (batch: poll 단위 수동 커밋 | coalesce: 건수/시간 기준으로 모아서 비동기 커밋)
+    @Value("${infrastructure.kafka.consumer.batch.commit-mode:batch}")
+    private String batchCommitMode;
+
+    @Value("${infrastructure.kafka.consumer.batch.ack-count:2000}")
+    private int batchAckCount;
+
+    @Value("${infrastructure.kafka.consumer.batch.ack-time-ms:1000}")
+    private long batchAckTimeMs;
+
+    /// memberId 기준 파티셔닝 (MemberIdPartitioner), 토픽의 key→파티션 배정이 바뀌므로 날짜 전환 시점에 맞춰 켠다
+    @Value("${infrastructure.kafka.producer.member-id-partitioner.enabled:false}")
+    private boolean memberIdPartitionerEnabled;
+
+    @Value("${infrastructure.kafka.producer.member-id-partitioner.hot-threshold:1000}")
+    private int memberIdPartitionerHotThreshold;
+
+    @Value("${infrastructure.kafka.producer.member-id-partitioner.hot-window-ms:1000}")
+    private long memberIdPartitionerHotWindowMs;
+
+    @Value("${infrastructure.kafka.producer.member-id-partitioner.hot-spread:4}")
+    private int memberIdPartitionerHotSpread;
+
+    @Value("${infrastructure.kafka.producer.member-id-partitioner.null-key-batch-records:100}")
+    private int memberIdPartitionerNullKeyBatchRecords;
+
+    /// 날짜 토픽 패턴 구독 consumer 의 metadata 갱신 주기 (새 날짜 토픽을 발견하는 최대 지연)
+    @Value("${infrastructure.kafka.consumer.cross-day.metadata-max-age-ms:5000}")
+    private int crossDayMetadataMaxAgeMs;
+
+    /// MemberActivityCounterEngine 의 consumer group
+    @Value("${infrastructure.kafka.activity-counter.group-id:member-activity-counter-group}")
+    private String activityCounterGroupId;
+
+    /// outbox relay 용 transactional producer 의 transactional.id prefix
+    /// pod 마다 다르고 재시작해도 같아야 이전 인스턴스의 미완료 트랜잭션이 fencing 되므로 기본값 없이 지정한다
+    @Value("${infrastructure.kafka.outbox.transaction-id-prefix:}")
+    private String outboxTransactionIdPrefix;
+
     /// consumers
     private Map<String, Object> getCommonConsumerProps() {
         Map<String, Object> props = new HashMap<>();
@@ -108,7 +162,7 @@ public class KafkaConfig {
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, PostDto.PostActivityEvent> postActivityKafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, PostDto.PostActivityEvent> postActivityKafkaListenerContainerFactory(CustomErrorHandler customErrorHandler) {
         ConcurrentKafkaListenerContainerFactory<String, PostDto.PostActivityEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(postActivityConsumerFactory());
@@ -117,7 +171,10 @@ public class KafkaConfig {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.getContainerProperties().setSyncCommits(true);
 
-        /// 에러 핸들링 (파티션 6개 기준)
+        /// 에러 핸들링 (일시 오류는 backoff 재시도, 소진/영구 오류는 retry 토픽 또는 DLQ 로 넘기고 커밋)
+        factory.setCommonErrorHandler(customErrorHandler);
+
+        /// 파티션 6개 기준
         factory.setConcurrency(3); // 동시 처리 스레드 수
         return factory;
     }
@@ -126,12 +183,14 @@ public class KafkaConfig {
     public ConsumerFactory<String, MemberActivityTransportDto.MemberActivityEvent> memberActivityConsumerFactory() {
         Map<String, Object> props = getCommonConsumerProps();
         props.put(ConsumerConfig.GROUP_ID_CONFIG, "member-activity-consumer-group");
+        // 헤더를 보고 JSON/바이너리 포맷을 골라 역직렬화
+        props.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, MemberActivityEventDeserializer.class);
         props.put(JsonDeserializer.VALUE_DEFAULT_TYPE, MemberActivityTransportDto.MemberActivityEvent.class.getName());
         return new DefaultKafkaConsumerFactory<>(props);
     }
 
     @Bean
-    public ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> memberActivityKafkaListenerContainerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> memberActivityKafkaListenerContainerFactory(CustomErrorHandler customErrorHandler) {
         ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
                 new ConcurrentKafkaListenerContainerFactory<>();
         factory.setConsumerFactory(memberActivityConsumerFactory());
@@ -140,20 +199,238 @@ public class KafkaConfig {
         factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
         factory.getContainerProperties().setSyncCommits(true);
 
-        /// 에러 핸들링 (파티션 6개 기준)
+        /// 에러 핸들링 (일시 오류는 backoff 재시도, 소진/영구 오류는 retry 토픽 또는 DLQ 로 넘기고 커밋)
+        factory.setCommonErrorHandler(customErrorHandler);
+
+        /// 파티션 6개 기준
         factory.setConcurrency(3); // 동시 처리 스레드 수
         return factory;
     }
 
-    /// producers ///
+    /// batch consumers
+    /**
+     * poll 단위로 List<ConsumerRecord> 를 전달하는 batch listener factory
+     * - batch 모드: listener 가 Acknowledgment.acknowledge() 를 한 번 호출하면 batch 전체를 한 번에 커밋
+     *   처리 도중 실패하면 Acknowledgment.nack(index, sleep) 으로 실패 index 이전까지만 커밋하고 그 지점부터 재수신
+     * - coalesce 모드: listener 는 Acknowledgment 를 받지 않고, 컨테이너가 ackCount/ackTime 기준으로 모아서 비동기 커밋
+     *   처리 도중 실패하면 BatchListenerFailedException(index) 을 던져 실패 index 이전까지만 커밋
+     */
     @Bean
-    public ProducerFactory<String, Object> producerFactory() {
+    public ConcurrentKafkaListenerContainerFactory<String, PostDto.PostActivityEvent> postActivityBatchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, PostDto.PostActivityEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(postActivityConsumerFactory());
+        configureBatchListener(factory);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> memberActivityBatchKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(memberActivityConsumerFactory());
+        configureBatchListener(factory);
+        return factory;
+    }
+
+    /**
+     * member activity 병렬 처리용 factory (KeyOrderedParallelProcessor 와 함께 사용)
+     * listener 는 Acknowledgment 대신 Consumer 를 받아, processor 가 파티션별 연속 완료 offset 까지만 직접 커밋한다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> memberActivityParallelKafkaListenerContainerFactory() {
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(memberActivityConsumerFactory());
+        factory.setBatchListener(true);
+
+        /// 컨테이너는 커밋하지 않음 (processor 가 commitSync)
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setSyncCommits(true);
+
+        /// poll 스레드 수 (실제 처리는 worker lane 에서 병렬로)
+        factory.setConcurrency(3);
+        return factory;
+    }
+
+    /// cross-day consumers
+    /**
+     * 날짜 기반 토픽을 prefix 패턴으로 구독하는 record listener factory (CrossDayTopicSubscription 참고)
+     * - 새 날짜 토픽은 consumer 의 metadata 갱신 때 패턴에 매칭되므로 metadata.max.age.ms 를 짧게 둔다.
+     * - group id 는 날짜별 토픽을 구독하던 factory 와 같아, 패턴 구독으로 옮겨도 커밋된 offset 을 이어받는다.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PostDto.PostActivityEvent> postActivityCrossDayKafkaListenerContainerFactory(
+            CustomErrorHandler customErrorHandler, CrossDayTopicSubscription crossDayTopicSubscription) {
+        ConcurrentKafkaListenerContainerFactory<String, PostDto.PostActivityEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(crossDayConsumerFactory(postActivityConsumerFactory()));
+        configureCrossDayListener(factory, customErrorHandler, crossDayTopicSubscription);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> memberActivityCrossDayKafkaListenerContainerFactory(
+            CustomErrorHandler customErrorHandler, CrossDayTopicSubscription crossDayTopicSubscription) {
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(crossDayConsumerFactory(memberActivityConsumerFactory()));
+        configureCrossDayListener(factory, customErrorHandler, crossDayTopicSubscription);
+        return factory;
+    }
+
+    /**
+     * CustomErrorHandler 의 retry 토픽({prefix}retry-yyyyMMdd)을 구독하는 record listener factory
+     * - CrossDayTopicSubscription.retryTopicPattern 으로 구독해, 원래 토픽과 같은 listener 메서드로 다시 처리한다.
+     * - 같은 CustomErrorHandler 를 쓰므로 retry 토픽에서도 backoff 재시도 후 실패하면 retry 토픽으로 돌아가고,
+     *   retry-topic.max-attempts 번을 넘기면 DLQ 로 간다.
+     * - 원래 토픽 구독과 assignment 가 섞이지 않도록 group id 에 -retry 를 붙인다. 날짜 gate 는 붙이지 않는다 (retry 는 순서와 무관)
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, PostDto.PostActivityEvent> postActivityRetryKafkaListenerContainerFactory(
+            CustomErrorHandler customErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, PostDto.PostActivityEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(retryConsumerFactory(postActivityConsumerFactory()));
+        configureRetryListener(factory, customErrorHandler);
+        return factory;
+    }
+
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> memberActivityRetryKafkaListenerContainerFactory(
+            CustomErrorHandler customErrorHandler) {
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(retryConsumerFactory(memberActivityConsumerFactory()));
+        configureRetryListener(factory, customErrorHandler);
+        return factory;
+    }
+
+    /**
+     * MemberActivityCounterEngine 전용 batch listener factory
+     * engine 이 Redis 스냅샷 기준으로 직접 seek/커밋하므로 컨테이너는 커밋하지 않고, 상태를 한 곳에 두기 위해 consumer 스레드는 1개다.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "infrastructure.kafka.activity-counter.enabled", havingValue = "true")
+    public ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> memberActivityCounterKafkaListenerContainerFactory(
+            MemberActivityCounterEngine memberActivityCounterEngine) {
+        Map<String, Object> props = new HashMap<>(crossDayConsumerFactory(memberActivityConsumerFactory()).getConfigurationProperties());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, activityCounterGroupId);
+
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(props));
+        factory.setBatchListener(true);
+
+        /// 컨테이너는 커밋하지 않음 (engine 이 Redis 반영 후 commitAsync)
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+        factory.getContainerProperties().setConsumerRebalanceListener(memberActivityCounterEngine);
+        factory.setConcurrency(1);
+        return factory;
+    }
+
+    private <V> ConsumerFactory<String, V> crossDayConsumerFactory(ConsumerFactory<String, V> consumerFactory) {
+        Map<String, Object> props = new HashMap<>(consumerFactory.getConfigurationProperties());
+        props.put(ConsumerConfig.METADATA_MAX_AGE_CONFIG, crossDayMetadataMaxAgeMs);
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    private <V> ConsumerFactory<String, V> retryConsumerFactory(ConsumerFactory<String, V> consumerFactory) {
+        Map<String, Object> props = new HashMap<>(crossDayConsumerFactory(consumerFactory).getConfigurationProperties());
+        props.put(ConsumerConfig.GROUP_ID_CONFIG, props.get(ConsumerConfig.GROUP_ID_CONFIG) + "-retry");
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    private void configureRetryListener(ConcurrentKafkaListenerContainerFactory<String, ?> factory, CustomErrorHandler customErrorHandler) {
+        /// At Least Once 설정
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.getContainerProperties().setSyncCommits(true);
+
+        /// 에러 핸들링 (retry 토픽 attempt 헤더로 횟수를 세어 소진되면 DLQ)
+        factory.setCommonErrorHandler(customErrorHandler);
+
+        /// retry 토픽은 유입이 적으므로 스레드 1개
+        factory.setConcurrency(1);
+    }
+
+    private <V> void configureCrossDayListener(ConcurrentKafkaListenerContainerFactory<String, V> factory,
+                                               CustomErrorHandler customErrorHandler,
+                                               CrossDayTopicSubscription crossDayTopicSubscription) {
+        /// At Least Once 설정
+        factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL_IMMEDIATE);
+        factory.getContainerProperties().setSyncCommits(true);
+
+        /// 에러 핸들링 (일시 오류는 backoff 재시도, 소진/영구 오류는 retry 토픽 또는 DLQ 로 넘기고 커밋)
+        factory.setCommonErrorHandler(customErrorHandler);
+
+        /// 만료 날짜 토픽 pause, 전날 토픽을 먼저 비운 뒤 오늘 토픽 소비
+        crossDayTopicSubscription.configure(factory);
+
+        /// 파티션 6개 기준
+        factory.setConcurrency(3); // 동시 처리 스레드 수
+    }
+
+    private void configureBatchListener(ConcurrentKafkaListenerContainerFactory<String, ?> factory) {
+        factory.setBatchListener(true);
+
+        if ("coalesce".equalsIgnoreCase(batchCommitMode)) {
+            /// 건수/시간 기준 커밋 병합
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.COUNT_TIME);
+            factory.getContainerProperties().setAckCount(batchAckCount);
+            factory.getContainerProperties().setAckTime(batchAckTimeMs);
+            factory.getContainerProperties().setSyncCommits(false);
+        } else {
+            /// At Least Once 설정 (poll 당 커밋 1회)
+            factory.getContainerProperties().setAckMode(ContainerProperties.AckMode.MANUAL);
+            factory.getContainerProperties().setSyncCommits(true);
+        }
+
+        /// 에러 핸들링 (파티션 6개 기준)
+        factory.setConcurrency(3); // 동시 처리 스레드 수
+    }
+
+    /// producers ///
+    private Map<String, Object> getCommonProducerProps() {
         Map<String, Object> configs = new HashMap<>();
 
         // 기본 설정
         configs.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configs.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configs.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MemberActivityEventSerializer.class);
+        configs.put(MemberActivityEventSerializer.WIRE_FORMAT_CONFIG, memberActivityWireFormat);
+        configs.put(MemberActivityEventSerializer.POST_ACTIVITY_POOLED_CONFIG, postActivityPooledSerializer);
+
+        // 재시도 설정
+        configs.put(ProducerConfig.RETRIES_CONFIG, 3);
+        configs.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, 100);
+
+        // 타임아웃 설정
+        configs.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 30000);
+        configs.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 60000);
+
+        // 파티셔닝
+        if (memberIdPartitionerEnabled) {
+            configs.put(ProducerConfig.PARTITIONER_CLASS_CONFIG, MemberIdPartitioner.class);
+            configs.put(MemberIdPartitioner.HOT_THRESHOLD_CONFIG, memberIdPartitionerHotThreshold);
+            configs.put(MemberIdPartitioner.HOT_WINDOW_MS_CONFIG, memberIdPartitionerHotWindowMs);
+            configs.put(MemberIdPartitioner.HOT_SPREAD_CONFIG, memberIdPartitionerHotSpread);
+            configs.put(MemberIdPartitioner.NULL_KEY_BATCH_RECORDS_CONFIG, memberIdPartitionerNullKeyBatchRecords);
+            configs.put(MemberIdPartitioner.SKEW_REPORT_CONFIG, memberIdPartitionSkewReport());
+        }
+
+        return configs;
+    }
+
+    /// producer 전체가 공유하는 파티션 배정 통계
+    @Bean
+    public MemberIdPartitionSkewReport memberIdPartitionSkewReport() {
+        return new MemberIdPartitionSkewReport();
+    }
+
+    @Primary
+    @Bean
+    public ProducerFactory<String, Object> producerFactory() {
+        Map<String, Object> configs = getCommonProducerProps();
 
         // ACK = 1 (리더 브로커만 확인)
         configs.put(ProducerConfig.ACKS_CONFIG, "1");
@@ -169,22 +446,107 @@ public class KafkaConfig {
         // 하나의 브로커 연결에서 응답을 기다리는 동안 전송할 수 있는 최대 요청 수
 //        configs.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
 
-        // 재시도 설정
-        configs.put(ProducerConfig.RETRIES_CONFIG, 3);
-        configs.put(ProducerConfig.RETRY_BACKOFF_MS_CONFIG, 100);
-
-        // 타임아웃 설정
-        configs.put(ProducerConfig.REQUEST_TIMEOUT_MS_CONFIG, 30000);
-        configs.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, 60000);
-
         return new DefaultKafkaProducerFactory<>(configs);
     }
 
+    @Primary
     @Bean
     public KafkaTemplate<String, Object> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 
+    /// producer profiles (KafkaProducerProfile)
+    @Bean
+    public ProducerFactory<String, Object> throughputProducerFactory() {
+        return profileProducerFactory(KafkaProducerProfile.THROUGHPUT);
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> latencyProducerFactory() {
+        return profileProducerFactory(KafkaProducerProfile.LATENCY);
+    }
+
+    @Bean
+    public ProducerFactory<String, Object> durableProducerFactory() {
+        return profileProducerFactory(KafkaProducerProfile.DURABLE);
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> throughputKafkaTemplate() {
+        return new KafkaTemplate<>(throughputProducerFactory());
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> latencyKafkaTemplate() {
+        return new KafkaTemplate<>(latencyProducerFactory());
+    }
+
+    @Bean
+    public KafkaTemplate<String, Object> durableKafkaTemplate() {
+        return new KafkaTemplate<>(durableProducerFactory());
+    }
+
+    @Bean
+    public KafkaProducerProfileTemplates kafkaProducerProfileTemplates() {
+        Map<KafkaProducerProfile, KafkaTemplate<String, Object>> templates = new EnumMap<>(KafkaProducerProfile.class);
+        templates.put(KafkaProducerProfile.THROUGHPUT, throughputKafkaTemplate());
+        templates.put(KafkaProducerProfile.LATENCY, latencyKafkaTemplate());
+        templates.put(KafkaProducerProfile.DURABLE, durableKafkaTemplate());
+        return new KafkaProducerProfileTemplates(templates);
+    }
+
+    private ProducerFactory<String, Object> profileProducerFactory(KafkaProducerProfile profile) {
+        Map<String, Object> configs = getCommonProducerProps();
+        profile.apply(configs);
+        configs.put(ProducerConfig.CLIENT_ID_CONFIG, "dailyfeed-" + profile.name().toLowerCase());
+        return new DefaultKafkaProducerFactory<>(configs);
+    }
+
+    /// outbox relay (MemberActivityOutboxRelay)
+    /// 멱등성 + 트랜잭션 producer. 큰 batch 로 모아 보내고, relay 가 batch 마다 하나의 트랜잭션으로 커밋한다
+    @Bean
+    @ConditionalOnProperty(name = "infrastructure.kafka.outbox.enabled", havingValue = "true")
+    public ProducerFactory<String, Object> outboxProducerFactory() {
+        if (outboxTransactionIdPrefix == null || outboxTransactionIdPrefix.isBlank()) {
+            throw new IllegalStateException("infrastructure.kafka.outbox.transaction-id-prefix must be set to a stable per-pod prefix when the outbox is enabled");
+        }
+        Map<String, Object> configs = getCommonProducerProps();
+        configs.put(ProducerConfig.ACKS_CONFIG, "all");
+        configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configs.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+        configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "snappy");
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, 50);
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, 262144); // 256KB
+        configs.put(ProducerConfig.CLIENT_ID_CONFIG, "dailyfeed-outbox");
+
+        DefaultKafkaProducerFactory<String, Object> producerFactory = new DefaultKafkaProducerFactory<>(configs);
+        producerFactory.setTransactionIdPrefix(outboxTransactionIdPrefix);
+        return producerFactory;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "infrastructure.kafka.outbox.enabled", havingValue = "true")
+    public KafkaTemplate<String, Object> outboxKafkaTemplate() {
+        return new KafkaTemplate<>(outboxProducerFactory());
+    }
+
+    /// 시작 시 마지막으로 커밋된 watermark 를 읽기 위한 consumer (assign 으로만 사용, 커밋하지 않음)
+    @Bean
+    @ConditionalOnProperty(name = "infrastructure.kafka.outbox.enabled", havingValue = "true")
+    public ConsumerFactory<String, String> outboxWatermarkConsumerFactory() {
+        Map<String, Object> props = getCommonConsumerProps();
+        props.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class);
+        props.remove(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS);
+        props.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        return new DefaultKafkaConsumerFactory<>(props);
+    }
+
+    /// 발행 시각 조회용 Clock (밀리초 단위, 시스템 타임존을 한 번만 조회해 고정)
+    @Bean
+    public Clock kafkaClock() {
+        return Clock.tickMillis(ZoneId.systemDefault());
+    }
+
     @Bean
     public AdminClient adminClient() {
         Map<String, Object> configs = new HashMap<>();
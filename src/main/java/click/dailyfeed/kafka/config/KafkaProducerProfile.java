@@ -0,0 +1,50 @@
+package click.dailyfeed.kafka.config;
+
+import org.apache.kafka.clients.producer.ProducerConfig;
+
+import java.util.Map;
+
+/**
+ * 이벤트 성격별 producer 설정 프로필
+ * - THROUGHPUT: 대량 조회 이벤트(POST_READ, COMMENT_READ)용. 큰 batch + 긴 linger + zstd
+ * - LATENCY: 소량 CUD/좋아요 이벤트용. 짧은 linger + 작은 batch + lz4
+ * - DURABLE: 유실되면 안 되는 이벤트용. acks=all + 멱등성
+ */
+public enum KafkaProducerProfile {
+    THROUGHPUT {
+        @Override
+        public void apply(Map<String, Object> configs) {
+            configs.put(ProducerConfig.ACKS_CONFIG, "1");
+            configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+            configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "zstd");
+            configs.put(ProducerConfig.LINGER_MS_CONFIG, 50);
+            configs.put(ProducerConfig.BATCH_SIZE_CONFIG, 262144); // 256KB
+        }
+    },
+    LATENCY {
+        @Override
+        public void apply(Map<String, Object> configs) {
+            configs.put(ProducerConfig.ACKS_CONFIG, "1");
+            configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, false);
+            configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+            configs.put(ProducerConfig.LINGER_MS_CONFIG, 2);
+            configs.put(ProducerConfig.BATCH_SIZE_CONFIG, 16384); // 16KB
+        }
+    },
+    DURABLE {
+        @Override
+        public void apply(Map<String, Object> configs) {
+            configs.put(ProducerConfig.ACKS_CONFIG, "all");
+            configs.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+            configs.put(ProducerConfig.MAX_IN_FLIGHT_REQUESTS_PER_CONNECTION, 5);
+            configs.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+            configs.put(ProducerConfig.LINGER_MS_CONFIG, 5);
+            configs.put(ProducerConfig.BATCH_SIZE_CONFIG, 32768); // 32KB
+        }
+    };
+
+    /**
+     * 공통 producer 설정 위에 프로필 설정을 덮어쓴다
+     */
+    public abstract void apply(Map<String, Object> configs);
+}
@@ -0,0 +1,37 @@
+package click.dailyfeed.kafka.config;
+
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 프로필별 KafkaTemplate 묶음
+ * replace 로 프로필의 template 을 통째로 바꿀 수 있다 (copy-on-write, 조회는 잠금 없음).
+ */
+public class KafkaProducerProfileTemplates {
+    private volatile EnumMap<KafkaProducerProfile, KafkaTemplate<String, Object>> templates;
+
+    public KafkaProducerProfileTemplates(Map<KafkaProducerProfile, KafkaTemplate<String, Object>> templates) {
+        this.templates = new EnumMap<>(templates);
+    }
+
+    public KafkaTemplate<String, Object> templateFor(KafkaProducerProfile profile) {
+        return templates.get(profile);
+    }
+
+    public Collection<KafkaTemplate<String, Object>> all() {
+        return templates.values();
+    }
+
+    /**
+     * profile 의 template 을 교체하고 이전 template 을 돌려준다. 이후의 templateFor 호출부터 새 template 이 쓰인다.
+     */
+    public synchronized KafkaTemplate<String, Object> replace(KafkaProducerProfile profile, KafkaTemplate<String, Object> template) {
+        EnumMap<KafkaProducerProfile, KafkaTemplate<String, Object>> next = new EnumMap<>(templates);
+        KafkaTemplate<String, Object> previous = next.put(profile, template);
+        templates = next;
+        return previous;
+    }
+}
@@ -0,0 +1,118 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * MemberActivityEvent 바이너리 포맷 (v1)
+ *
+ * <pre>
+ * [version:1byte][flags:1byte][type ordinal:varint][memberId:varlong][postId:varlong][commentId:varlong][createdAt:zigzag varlong]
+ * </pre>
+ * flags 의 각 비트는 해당 필드의 존재 여부(null 아님)를 나타내며, 없는 필드는 기록하지 않는다.
+ * createdAt 은 LocalDateTime 을 UTC 로 간주한 epoch millis 로 기록해 타임존과 무관하게 원래 값으로 복원된다.
+ * MemberActivityType 은 ordinal 로 기록하므로 enum 상수는 뒤에 추가만 해야 한다.
+ */
+public final class MemberActivityEventBinaryCodec {
+    public static final byte VERSION_1 = 1;
+
+    private static final int FLAG_MEMBER_ID = 1;
+    private static final int FLAG_POST_ID = 1 << 1;
+    private static final int FLAG_COMMENT_ID = 1 << 2;
+    private static final int FLAG_TYPE = 1 << 3;
+    private static final int FLAG_CREATED_AT = 1 << 4;
+
+    // version + flags + type(5) + long 4개(각 최대 10)
+    private static final int MAX_ENCODED_SIZE = 2 + 5 + 10 * 4;
+
+    private static final MemberActivityType[] TYPES = MemberActivityType.values();
+
+    private MemberActivityEventBinaryCodec() {
+    }
+
+    public static byte[] encode(MemberActivityTransportDto.MemberActivityEvent event) {
+        byte[] buffer = new byte[MAX_ENCODED_SIZE];
+        int flags = 0;
+        if (event.getMemberId() != null) flags |= FLAG_MEMBER_ID;
+        if (event.getPostId() != null) flags |= FLAG_POST_ID;
+        if (event.getCommentId() != null) flags |= FLAG_COMMENT_ID;
+        if (event.getMemberActivityType() != null) flags |= FLAG_TYPE;
+        if (event.getCreatedAt() != null) flags |= FLAG_CREATED_AT;
+
+        int position = 0;
+        buffer[position++] = VERSION_1;
+        buffer[position++] = (byte) flags;
+        if ((flags & FLAG_TYPE) != 0) position = writeVarLong(buffer, position, event.getMemberActivityType().ordinal());
+        if ((flags & FLAG_MEMBER_ID) != 0) position = writeVarLong(buffer, position, event.getMemberId());
+        if ((flags & FLAG_POST_ID) != 0) position = writeVarLong(buffer, position, event.getPostId());
+        if ((flags & FLAG_COMMENT_ID) != 0) position = writeVarLong(buffer, position, event.getCommentId());
+        if ((flags & FLAG_CREATED_AT) != 0) {
+            long epochMillis = event.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+            position = writeVarLong(buffer, position, (epochMillis << 1) ^ (epochMillis >> 63));
+        }
+        return Arrays.copyOf(buffer, position);
+    }
+
+    public static MemberActivityTransportDto.MemberActivityEvent decode(byte[] data) {
+        if (data.length < 2) {
+            throw new SerializationException("MemberActivityEvent binary payload is too short: " + data.length);
+        }
+        if (data[0] != VERSION_1) {
+            throw new SerializationException("Unsupported MemberActivityEvent binary version: " + data[0]);
+        }
+
+        int flags = data[1];
+        int[] position = {2};
+        MemberActivityTransportDto.MemberActivityEvent.MemberActivityEventBuilder builder =
+                MemberActivityTransportDto.MemberActivityEvent.builder();
+
+        if ((flags & FLAG_TYPE) != 0) {
+            int ordinal = (int) readVarLong(data, position);
+            if (ordinal < 0 || ordinal >= TYPES.length) {
+                throw new SerializationException("Unknown MemberActivityType ordinal: " + ordinal);
+            }
+            builder.memberActivityType(TYPES[ordinal]);
+        }
+        if ((flags & FLAG_MEMBER_ID) != 0) builder.memberId(readVarLong(data, position));
+        if ((flags & FLAG_POST_ID) != 0) builder.postId(readVarLong(data, position));
+        if ((flags & FLAG_COMMENT_ID) != 0) builder.commentId(readVarLong(data, position));
+        if ((flags & FLAG_CREATED_AT) != 0) {
+            long zigzag = readVarLong(data, position);
+            long epochMillis = (zigzag >>> 1) ^ -(zigzag & 1);
+            builder.createdAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZoneOffset.UTC));
+        }
+        return builder.build();
+    }
+
+    private static int writeVarLong(byte[] buffer, int position, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        buffer[position++] = (byte) value;
+        return position;
+    }
+
+    private static long readVarLong(byte[] data, int[] position) {
+        long value = 0;
+        int shift = 0;
+        while (shift < 64) {
+            if (position[0] >= data.length) {
+                throw new SerializationException("MemberActivityEvent binary payload is truncated");
+            }
+            byte b = data[position[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+        throw new SerializationException("Malformed varint in MemberActivityEvent binary payload");
+    }
+}
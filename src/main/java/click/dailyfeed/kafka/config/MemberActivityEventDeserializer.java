@@ -0,0 +1,46 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Deserializer;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * MemberActivityEvent Deserializer
+ * FORMAT_HEADER 가 binary 인 레코드는 바이너리 포맷으로, 헤더가 없거나 json 인 레코드는 기존 JsonDeserializer 로 읽는다.
+ */
+public class MemberActivityEventDeserializer implements Deserializer<MemberActivityTransportDto.MemberActivityEvent> {
+    private final JsonDeserializer<MemberActivityTransportDto.MemberActivityEvent> jsonDeserializer = new JsonDeserializer<>();
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonDeserializer.configure(configs, isKey);
+    }
+
+    @Override
+    public MemberActivityTransportDto.MemberActivityEvent deserialize(String topic, byte[] data) {
+        return jsonDeserializer.deserialize(topic, data);
+    }
+
+    @Override
+    public MemberActivityTransportDto.MemberActivityEvent deserialize(String topic, Headers headers, byte[] data) {
+        if (data == null) {
+            return null;
+        }
+
+        Header format = headers.lastHeader(MemberActivityEventSerializer.FORMAT_HEADER);
+        if (format != null && Arrays.equals(MemberActivityEventSerializer.FORMAT_BINARY_BYTES, format.value())) {
+            return MemberActivityEventBinaryCodec.decode(data);
+        }
+        return jsonDeserializer.deserialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonDeserializer.close();
+    }
+}
@@ -0,0 +1,77 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.content.post.dto.PostDto;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.serialization.Serializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * producer 공용 value Serializer
+ * MemberActivityEvent 는 설정(WIRE_FORMAT_CONFIG)에 따라 바이너리로, 그 외 타입은 기존처럼 JSON 으로 직렬화한다.
+ * 어떤 포맷으로 기록했는지는 FORMAT_HEADER 헤더로 남겨 JSON/바이너리 consumer 가 공존할 수 있게 한다.
+ * POST_ACTIVITY_POOLED_CONFIG 가 켜져 있으면 PostActivityEvent 는 PostActivityEventSerializer(재사용 버퍼 + streaming)로 직렬화한다.
+ * 이 경우 날짜가 숫자 배열 대신 ISO-8601 문자열로 기록되고 __TypeId__ 헤더가 붙지 않으므로, consumer 확인 후 켠다.
+ */
+public class MemberActivityEventSerializer implements Serializer<Object> {
+    public static final String WIRE_FORMAT_CONFIG = "dailyfeed.member-activity.wire-format";
+    public static final String POST_ACTIVITY_POOLED_CONFIG = "dailyfeed.post-activity.pooled-serializer";
+    public static final String FORMAT_HEADER = "dailyfeed-format";
+    public static final String FORMAT_JSON = "json";
+    public static final String FORMAT_BINARY = "binary";
+
+    static final byte[] FORMAT_JSON_BYTES = FORMAT_JSON.getBytes(StandardCharsets.UTF_8);
+    static final byte[] FORMAT_BINARY_BYTES = FORMAT_BINARY.getBytes(StandardCharsets.UTF_8);
+
+    private final JsonSerializer<Object> jsonSerializer = new JsonSerializer<>();
+    private final PostActivityEventSerializer postActivityEventSerializer = new PostActivityEventSerializer();
+    private boolean binary;
+    private boolean pooledPostActivity;
+
+    @Override
+    public void configure(Map<String, ?> configs, boolean isKey) {
+        jsonSerializer.configure(configs, isKey);
+        Object wireFormat = configs.get(WIRE_FORMAT_CONFIG);
+        this.binary = wireFormat != null && FORMAT_BINARY.equalsIgnoreCase(wireFormat.toString());
+        postActivityEventSerializer.configure(configs, isKey);
+        Object pooled = configs.get(POST_ACTIVITY_POOLED_CONFIG);
+        this.pooledPostActivity = pooled != null && Boolean.parseBoolean(pooled.toString());
+    }
+
+    @Override
+    public byte[] serialize(String topic, Object data) {
+        if (pooledPostActivity && data instanceof PostDto.PostActivityEvent postActivityEvent) {
+            return postActivityEventSerializer.serialize(topic, postActivityEvent);
+        }
+        return jsonSerializer.serialize(topic, data);
+    }
+
+    @Override
+    public byte[] serialize(String topic, Headers headers, Object data) {
+        if (pooledPostActivity && data instanceof PostDto.PostActivityEvent postActivityEvent) {
+            return postActivityEventSerializer.serialize(topic, postActivityEvent);
+        }
+        if (!(data instanceof MemberActivityTransportDto.MemberActivityEvent event)) {
+            return jsonSerializer.serialize(topic, headers, data);
+        }
+
+        if (binary) {
+            headers.remove(FORMAT_HEADER);
+            headers.add(FORMAT_HEADER, FORMAT_BINARY_BYTES);
+            return MemberActivityEventBinaryCodec.encode(event);
+        }
+
+        headers.remove(FORMAT_HEADER);
+        headers.add(FORMAT_HEADER, FORMAT_JSON_BYTES);
+        return jsonSerializer.serialize(topic, headers, data);
+    }
+
+    @Override
+    public void close() {
+        jsonSerializer.close();
+        postActivityEventSerializer.close();
+    }
+}
@@ -0,0 +1,93 @@
+package click.dailyfeed.kafka.config;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * MemberIdPartitioner 가 토픽/파티션별로 배정한 레코드 수
+ * 날짜 기반 토픽은 매일 새로 생기므로 최근 MAX_TOPICS 개 토픽만 유지한다.
+ * skew 는 (가장 많이 받은 파티션 건수 / 파티션 평균 건수) 로, 1 에 가까울수록 고르게 분산된 것이다.
+ */
+public class MemberIdPartitionSkewReport {
+    private static final int MAX_TOPICS = 16;
+
+    private final Map<String, AtomicLongArray> counts = new ConcurrentHashMap<>();
+    // 토픽이 추가된 순서 (오래된 토픽 정리용, counts 에 토픽을 추가/삭제할 때만 잠근다)
+    private final Deque<String> topicOrder = new ArrayDeque<>();
+    private final AtomicLong hotSpreads = new AtomicLong();
+
+    void record(String topic, int partition, int numPartitions) {
+        AtomicLongArray partitionCounts = counts.get(topic);
+        if (partitionCounts == null || partitionCounts.length() < numPartitions) {
+            // 처음 보는 토픽이거나 파티션이 늘어난 경우에만 잠금
+            synchronized (topicOrder) {
+                partitionCounts = counts.get(topic);
+                if (partitionCounts == null || partitionCounts.length() < numPartitions) {
+                    if (partitionCounts == null) {
+                        topicOrder.addLast(topic);
+                        while (topicOrder.size() > MAX_TOPICS) {
+                            counts.remove(topicOrder.pollFirst());
+                        }
+                    }
+                    partitionCounts = new AtomicLongArray(numPartitions);
+                    counts.put(topic, partitionCounts);
+                }
+            }
+        }
+        partitionCounts.incrementAndGet(partition);
+    }
+
+    void recordHotSpread() {
+        hotSpreads.incrementAndGet();
+    }
+
+    public long getHotSpreads() {
+        return hotSpreads.get();
+    }
+
+    /**
+     * 토픽별 파티션 배정 건수 복사본
+     */
+    public Map<String, long[]> snapshot() {
+        Map<String, long[]> snapshot = new LinkedHashMap<>();
+        counts.forEach((topic, partitionCounts) -> {
+            long[] values = new long[partitionCounts.length()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = partitionCounts.get(i);
+            }
+            snapshot.put(topic, values);
+        });
+        return snapshot;
+    }
+
+    public double skew(String topic) {
+        AtomicLongArray partitionCounts = counts.get(topic);
+        if (partitionCounts == null) {
+            return 0;
+        }
+        long total = 0;
+        long max = 0;
+        for (int i = 0; i < partitionCounts.length(); i++) {
+            long count = partitionCounts.get(i);
+            total += count;
+            max = Math.max(max, count);
+        }
+        return total == 0 ? 0 : (double) max * partitionCounts.length() / total;
+    }
+
+    /**
+     * 추적 중인 토픽 중 가장 큰 skew
+     */
+    public double maxSkew() {
+        double maxSkew = 0;
+        for (String topic : counts.keySet()) {
+            maxSkew = Math.max(maxSkew, skew(topic));
+        }
+        return maxSkew;
+    }
+}
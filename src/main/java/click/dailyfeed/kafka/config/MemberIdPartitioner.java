@@ -0,0 +1,131 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import org.apache.kafka.clients.producer.Partitioner;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.utils.Utils;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MemberActivityEvent 를 memberId 기준으로 파티션에 배정하는 Partitioner
+ * - 문자열 key 를 파싱/해시하지 않고 이벤트의 memberId 로 바로 파티션을 정하므로, 한 회원의 모든 활동 타입이 같은 파티션에 모인다.
+ * - hot-window-ms 동안 hot-threshold 건을 넘게 발행한 회원은 기본 파티션부터 hot-spread 개 파티션에 돌아가며 나눠 보낸다.
+ *   (이 경우 해당 회원의 레코드 간 순서는 보장되지 않는다)
+ * - MemberActivityEvent 가 아닌 값은 기본 partitioner 와 같이 key 의 murmur2 해시를 사용한다.
+ * - key 도 memberId 도 없는 레코드는 토픽별로 null-key-batch-records 건씩 한 파티션에 모아 보내고 다음 파티션으로 넘어간다.
+ *   (건마다 임의 파티션을 고르면 batch 가 파티션 수만큼 잘게 쪼개지므로, 기본 partitioner 의 sticky 배정처럼 묶어 보낸다)
+ */
+public class MemberIdPartitioner implements Partitioner {
+    public static final String HOT_THRESHOLD_CONFIG = "dailyfeed.partitioner.hot-threshold";
+    public static final String HOT_WINDOW_MS_CONFIG = "dailyfeed.partitioner.hot-window-ms";
+    public static final String HOT_SPREAD_CONFIG = "dailyfeed.partitioner.hot-spread";
+    public static final String SKEW_REPORT_CONFIG = "dailyfeed.partitioner.skew-report";
+    public static final String NULL_KEY_BATCH_RECORDS_CONFIG = "dailyfeed.partitioner.null-key-batch-records";
+
+    // 회원별 발행 건수를 근사하는 count-min sketch (2 x SKETCH_WIDTH)
+    private static final int SKETCH_WIDTH = 4096;
+
+    // window 가 바뀌면 0 으로 채우지 않고 새 배열로 바꾼다 (send 스레드에서 8192 칸을 하나씩 쓰지 않도록)
+    private volatile AtomicIntegerArray sketch = new AtomicIntegerArray(SKETCH_WIDTH * 2);
+    private final AtomicLong sketchWindow = new AtomicLong();
+    private final AtomicLong spreadSequence = new AtomicLong();
+    private final Map<String, AtomicLong> nullKeySequences = new ConcurrentHashMap<>();
+
+    private int hotThreshold = 1000;
+    private long hotWindowMs = 1000;
+    private int hotSpread = 4;
+    private int nullKeyBatchRecords = 100;
+    private MemberIdPartitionSkewReport skewReport;
+
+    @Override
+    public void configure(Map<String, ?> configs) {
+        Object hotThreshold = configs.get(HOT_THRESHOLD_CONFIG);
+        if (hotThreshold != null) {
+            this.hotThreshold = Integer.parseInt(hotThreshold.toString());
+        }
+        Object hotWindowMs = configs.get(HOT_WINDOW_MS_CONFIG);
+        if (hotWindowMs != null) {
+            this.hotWindowMs = Long.parseLong(hotWindowMs.toString());
+        }
+        Object hotSpread = configs.get(HOT_SPREAD_CONFIG);
+        if (hotSpread != null) {
+            this.hotSpread = Integer.parseInt(hotSpread.toString());
+        }
+        Object nullKeyBatchRecords = configs.get(NULL_KEY_BATCH_RECORDS_CONFIG);
+        if (nullKeyBatchRecords != null) {
+            this.nullKeyBatchRecords = Math.max(1, Integer.parseInt(nullKeyBatchRecords.toString()));
+        }
+        if (configs.get(SKEW_REPORT_CONFIG) instanceof MemberIdPartitionSkewReport report) {
+            this.skewReport = report;
+        }
+    }
+
+    @Override
+    public int partition(String topic, Object key, byte[] keyBytes, Object value, byte[] valueBytes, Cluster cluster) {
+        Integer partitionCount = cluster.partitionCountForTopic(topic);
+        int numPartitions = partitionCount != null ? partitionCount : cluster.partitionsForTopic(topic).size();
+
+        int partition;
+        if (value instanceof MemberActivityTransportDto.MemberActivityEvent event && event.getMemberId() != null) {
+            partition = partitionOf(event.getMemberId(), numPartitions);
+        } else if (keyBytes != null) {
+            partition = Utils.toPositive(Utils.murmur2(keyBytes)) % numPartitions;
+        } else {
+            partition = nullKeyPartitionOf(topic, numPartitions);
+        }
+
+        if (skewReport != null) {
+            skewReport.record(topic, partition, numPartitions);
+        }
+        return partition;
+    }
+
+    private int partitionOf(long memberId, int numPartitions) {
+        long hash = mix(memberId);
+        int base = (int) Math.floorMod(hash, (long) numPartitions);
+        if (hotSpread <= 1 || numPartitions <= 1 || !recordAndCheckHot(hash)) {
+            return base;
+        }
+
+        if (skewReport != null) {
+            skewReport.recordHotSpread();
+        }
+        int offset = (int) (spreadSequence.getAndIncrement() % Math.min(hotSpread, numPartitions));
+        return (base + offset) % numPartitions;
+    }
+
+    private int nullKeyPartitionOf(String topic, int numPartitions) {
+        long sequence = nullKeySequences.computeIfAbsent(topic, ignored -> new AtomicLong()).getAndIncrement();
+        return (int) ((sequence / nullKeyBatchRecords) % numPartitions);
+    }
+
+    /**
+     * 현재 window 의 발행 건수를 올리고 hot-threshold 를 넘었는지 확인
+     */
+    private boolean recordAndCheckHot(long hash) {
+        long window = System.currentTimeMillis() / hotWindowMs;
+        long current = sketchWindow.get();
+        if (window != current && sketchWindow.compareAndSet(current, window)) {
+            // 새 window 시작. 교체 직전 이전 배열에 올라간 몇 건의 카운트가 사라지는 것은 허용한다
+            sketch = new AtomicIntegerArray(SKETCH_WIDTH * 2);
+        }
+
+        AtomicIntegerArray sketch = this.sketch;
+        int first = sketch.incrementAndGet((int) (hash & (SKETCH_WIDTH - 1)));
+        int second = sketch.incrementAndGet(SKETCH_WIDTH + (int) ((hash >>> 32) & (SKETCH_WIDTH - 1)));
+        return Math.min(first, second) > hotThreshold;
+    }
+
+    private static long mix(long memberId) {
+        long hash = memberId * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 31);
+    }
+
+    @Override
+    public void close() {
+    }
+}
@@ -1,25 +1,51 @@
 package click.dailyfeed.kafka.config;
 
 import click.dailyfeed.code.domain.content.post.dto.PostDto;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.apache.kafka.common.serialization.Serializer;
 
+import java.io.OutputStream;
+import java.util.Arrays;
 import java.util.Map;
 
+/**
+ * PostActivityEvent JSON Serializer
+ * 기본(pooled-buffer=true)은 스레드별로 재사용하는 버퍼에 streaming JsonGenerator 로 기록하고, 정확한 크기의 배열만 복사해 돌려준다.
+ * 필드명은 writerFor 로 고정한 bean serializer 가 미리 인코딩해 둔 값을 쓰므로 호출마다 reflection 조회를 하지 않는다.
+ * MemberActivityEventSerializer 가 post-activity.pooled-serializer 설정이 켜져 있으면 PostActivityEvent 를 이 serializer 로 넘긴다.
+ */
 public class PostActivityEventSerializer implements Serializer<PostDto.PostActivityEvent> {
+    public static final String POOLED_BUFFER_CONFIG = "dailyfeed.post-activity.serializer.pooled-buffer";
+
+    // 스레드별 버퍼가 이 크기를 넘게 커지면 재사용하지 않고 버린다
+    private static final int MAX_RETAINED_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_BUFFER_SIZE = 512;
+
     private final ObjectMapper objectMapper;
+    // 루트 타입을 고정해 serializer(필드명 SerializedString 포함)를 미리 찾아둔다
+    private final ObjectWriter objectWriter;
+    private final ThreadLocal<ReusableOutputStream> buffers =
+            ThreadLocal.withInitial(() -> new ReusableOutputStream(INITIAL_BUFFER_SIZE));
+    private boolean pooledBuffer = true;
 
     public PostActivityEventSerializer() {
         this.objectMapper = new ObjectMapper();
         this.objectMapper.registerModule(new JavaTimeModule());
         this.objectMapper.disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        this.objectWriter = objectMapper.writerFor(PostDto.PostActivityEvent.class);
     }
 
     @Override
     public void configure(Map<String, ?> configs, boolean isKey) {
-        // 필요시 설정
+        Object pooled = configs.get(POOLED_BUFFER_CONFIG);
+        if (pooled != null) {
+            this.pooledBuffer = Boolean.parseBoolean(pooled.toString());
+        }
     }
 
     @Override
@@ -29,14 +55,73 @@ public class PostActivityEventSerializer implements Serializer<PostDto.PostActiv
         }
 
         try {
-            return objectMapper.writeValueAsBytes(data);
+            if (!pooledBuffer) {
+                return objectWriter.writeValueAsBytes(data);
+            }
+            return serializePooled(data);
         } catch (Exception e) {
             throw new RuntimeException("Error serializing PostActivityEvent", e);
         }
     }
 
+    private byte[] serializePooled(PostDto.PostActivityEvent data) throws Exception {
+        ReusableOutputStream buffer = buffers.get();
+        buffer.reset();
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(buffer, JsonEncoding.UTF8)) {
+            objectWriter.writeValue(generator, data);
+        }
+        byte[] result = buffer.toByteArray();
+        if (buffer.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+            buffers.remove();
+        }
+        return result;
+    }
+
     @Override
     public void close() {
-        // 리소스 정리 필요시
+        buffers.remove();
+    }
+
+    /**
+     * 동기화하지 않는 ByteArrayOutputStream (스레드별로만 쓰인다)
+     */
+    private static final class ReusableOutputStream extends OutputStream {
+        private byte[] buf;
+        private int count;
+
+        private ReusableOutputStream(int size) {
+            this.buf = new byte[size];
+        }
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            buf[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(count + len);
+            System.arraycopy(b, off, buf, count, len);
+            count += len;
+        }
+
+        private void ensureCapacity(int minCapacity) {
+            if (minCapacity > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length << 1, minCapacity));
+            }
+        }
+
+        private void reset() {
+            count = 0;
+        }
+
+        private byte[] toByteArray() {
+            return Arrays.copyOf(buf, count);
+        }
+
+        private int capacity() {
+            return buf.length;
+        }
     }
 }
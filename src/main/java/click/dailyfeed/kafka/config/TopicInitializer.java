@@ -1,39 +1,28 @@
 package click.dailyfeed.kafka.config;
 
-import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import click.dailyfeed.kafka.domain.kafka.topic.KafkaTopicRegistry;
 import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.apache.kafka.clients.admin.AdminClient;
-import org.apache.kafka.clients.admin.CreateTopicsResult;
-import org.apache.kafka.clients.admin.ListTopicsResult;
-import org.apache.kafka.clients.admin.NewTopic;
-import org.apache.kafka.common.config.TopicConfig;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
-import org.springframework.kafka.config.TopicBuilder;
-import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.util.Arrays;
-import java.util.Map;
-import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class TopicInitializer {
-    private final KafkaAdmin kafkaAdmin;
-    private static final int PARTITIONS = 6;
-    private static final int REPLICATION_FACTOR = 2;
+    private final KafkaTopicRegistry kafkaTopicRegistry;
+    private static final long INITIALIZE_TIMEOUT_SECONDS = 60;
 
 
     @PostConstruct
     public void initializeTopics() {
-        createTodayTopicIfNotExists();
-        createTomorrowTopicIfNotExists(); // 23시 이후 대비
+        // 오늘 + 내일(23시 이후 대비) 토픽을 createTopics 한 번으로 생성
+        createTopicsIfNotExists(LocalDate.now());
     }
 
     @EventListener(ApplicationReadyEvent.class)
@@ -42,52 +31,15 @@ public class TopicInitializer {
         initializeTopics();
     }
 
-    private void createTodayTopicIfNotExists() {
-        String today = LocalDate.now().format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        createTopic(today);
-    }
-
-    private void createTomorrowTopicIfNotExists() {
-        String tomorrow = LocalDate.now().plusDays(1)
-                .format(DateTimeFormatter.ofPattern("yyyyMMdd"));
-        createTopic(tomorrow);
-    }
-
-    private void createTopic(String dateStr){
-        Arrays
-                .stream(DateBasedTopicType.values())
-                .forEach(topicType -> {
-                    createTopicIfNotExists(topicType.getTopicPrefix() + dateStr);
-                });
-    }
-
-    private AdminClient getAdminClient() {
-        Map<String, Object> configs = kafkaAdmin.getConfigurationProperties();
-        return AdminClient.create(configs);
-    }
-
-    private void createTopicIfNotExists(String topicName) {
-        try (AdminClient adminClient = getAdminClient()) {
-            // 토픽 존재 여부 확인
-            ListTopicsResult listTopics = adminClient.listTopics();
-            Set<String> existingTopics = listTopics.names().get();
-
-            if (!existingTopics.contains(topicName)) {
-                NewTopic newTopic = TopicBuilder.name(topicName)
-                        .partitions(PARTITIONS)
-                        .replicas(REPLICATION_FACTOR)
-                        .config(TopicConfig.CLEANUP_POLICY_CONFIG, "delete")
-                        .config(TopicConfig.RETENTION_MS_CONFIG, "604800000")
-                        .build();
-
-                CreateTopicsResult result = adminClient.createTopics(Arrays.asList(newTopic));
-                result.all().get(); // 완료 대기
-                log.info("Created topic: {}", topicName);
-            } else {
-                log.info("Topic already exists: {}", topicName);
-            }
+    private void createTopicsIfNotExists(LocalDate date) {
+        try {
+            kafkaTopicRegistry.ensureDailyTopics(date).get(INITIALIZE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            log.info("Date based topics are ready for {} and the following day", date);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Topic creation interrupted", e);
         } catch (Exception e) {
-            log.error("Failed to create topic: {}", topicName, e);
+            log.error("Failed to create date based topics for {}", date, e);
             throw new RuntimeException("Topic creation failed", e);
         }
     }
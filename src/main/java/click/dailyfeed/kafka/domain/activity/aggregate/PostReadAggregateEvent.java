@@ -0,0 +1,18 @@
+package click.dailyfeed.kafka.domain.activity.aggregate;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 집계 구간 동안 모인 POST_READ 이벤트 요약
+ * PER_POST 모드에서는 memberId 가 null 이다. 시각은 epoch millis.
+ */
+@Getter
+@RequiredArgsConstructor
+public class PostReadAggregateEvent {
+    private final Long memberId;
+    private final Long postId;
+    private final long readCount;
+    private final long firstReadAt;
+    private final long lastReadAt;
+}
@@ -0,0 +1,331 @@
+package click.dailyfeed.kafka.domain.activity.aggregate;
+
+import click.dailyfeed.kafka.config.KafkaProducerProfile;
+import click.dailyfeed.kafka.domain.activity.table.LongKeyTable;
+import click.dailyfeed.kafka.domain.kafka.service.KafkaHelper;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpool;
+import click.dailyfeed.kafka.domain.kafka.topic.KafkaTopicRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * POST_READ 이벤트를 발행 전에 메모리에서 집계
+ * - PER_POST        : (postId, window) 별 조회 수
+ * - PER_MEMBER_POST : (memberId, postId, window) 별 조회 수와 최초/최종 조회 시각
+ * window 는 조회 시각이 속한 window-ms 구간의 시작 시각이다. 다시 넣은 집계가 다른 구간의 조회와 섞이지 않도록 key 에 포함한다.
+ * window-ms 마다, 또는 테이블이 max-entries 에 도달하면 PostReadAggregateEvent 로 묶어 topic-prefix + yyyyMMdd 토픽에 발행한다.
+ * 토픽 날짜는 flush 시각이 아니라 집계의 window 시작 시각으로 정한다 (자정 직후 flush 된 전날 집계는 전날 토픽으로).
+ * 발행에 실패한 집계는 spool 이 켜져 있으면 spool 에 기록하고, 아니면 현재 테이블에 다시 합쳐 다음 flush 에 재발행한다.
+ * 테이블이 가득 차 집계하지 못한 조회는 add 가 false 를 돌려주므로 호출 측에서 원래대로 개별 발행한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "infrastructure.kafka.read-aggregation.enabled", havingValue = "true")
+public class PostReadAggregator {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    public enum Mode {
+        PER_POST, PER_MEMBER_POST
+    }
+
+    // 요청 스레드 간 경합을 줄이기 위해 postId 기준으로 나눈 테이블. 집계(active)와 발행(spare)용을 번갈아 쓴다
+    private static final class Stripe {
+        private ReadAggregateTable active;
+        private ReadAggregateTable spare;
+
+        private Stripe(int maxEntries) {
+            this.active = new ReadAggregateTable(maxEntries);
+            this.spare = new ReadAggregateTable(maxEntries);
+        }
+    }
+
+    private final KafkaHelper kafkaHelper;
+    private final KafkaTopicRegistry kafkaTopicRegistry;
+    private final ObjectProvider<KafkaPublishSpool> kafkaPublishSpool;
+    private final Clock kafkaClock;
+    private final Mode mode;
+    private final long windowMs;
+    private final String topicPrefix;
+    private final long operationTimeoutSeconds;
+    private final Stripe[] stripes;
+
+    private final Object flushLock = new Object();
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+    private final LongAdder aggregatedReads = new LongAdder();
+    private final LongAdder overflowReads = new LongAdder();
+    private final AtomicLong publishedAggregates = new AtomicLong();
+    private final AtomicLong requeuedAggregates = new AtomicLong();
+    private final AtomicLong spooledAggregates = new AtomicLong();
+    private final AtomicLong failedAggregates = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "post-read-aggregator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public PostReadAggregator(
+            KafkaHelper kafkaHelper,
+            KafkaTopicRegistry kafkaTopicRegistry,
+            ObjectProvider<KafkaPublishSpool> kafkaPublishSpool,
+            Clock kafkaClock,
+            @Value("${infrastructure.kafka.read-aggregation.mode:PER_POST}") Mode mode,
+            @Value("${infrastructure.kafka.read-aggregation.window-ms:10000}") long windowMs,
+            @Value("${infrastructure.kafka.read-aggregation.max-entries:100000}") int maxEntries,
+            @Value("${infrastructure.kafka.read-aggregation.stripes:16}") int stripes,
+            @Value("${infrastructure.kafka.read-aggregation.topic-prefix:member-activity-post-read-aggregate-}") String topicPrefix,
+            @Value("${infrastructure.kafka.default.producer.operation-timeout-seconds:30}") long operationTimeoutSeconds
+    ) {
+        this.kafkaHelper = kafkaHelper;
+        this.kafkaTopicRegistry = kafkaTopicRegistry;
+        this.kafkaPublishSpool = kafkaPublishSpool;
+        this.kafkaClock = kafkaClock;
+        this.mode = mode;
+        this.windowMs = windowMs;
+        this.topicPrefix = topicPrefix;
+        this.operationTimeoutSeconds = operationTimeoutSeconds;
+        this.stripes = new Stripe[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new Stripe(Math.max(1, maxEntries / stripes));
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        // window 경계에 맞춰 flush
+        long initialDelay = windowMs - (kafkaHelper.currentEpochMillis() % windowMs);
+        scheduler.scheduleAtFixedRate(this::flush, initialDelay, windowMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        // 남은 집계를 발행한다. producer 는 이 bean 보다 나중에 닫히므로 close 시점에 함께 전송된다
+        // (이후의 발행 실패는 spool 이 없으면 다시 넣을 곳이 없어 failed 로 센다)
+        flush();
+    }
+
+    /**
+     * 조회 이벤트 한 건을 집계. 테이블이 가득 차 집계하지 못했으면 false
+     */
+    public boolean add(Long memberId, Long postId, long epochMillis) {
+        if (memberId == null || postId == null) {
+            return false;
+        }
+
+        Stripe stripe = stripeOf(postId);
+        boolean added;
+        boolean full;
+        synchronized (stripe) {
+            added = stripe.active.add(mode == Mode.PER_POST ? 0 : memberId, postId, windowStart(epochMillis), epochMillis);
+            full = stripe.active.isFull();
+        }
+
+        if (full) {
+            requestFlush();
+        }
+        if (added) {
+            aggregatedReads.increment();
+        } else {
+            overflowReads.increment();
+        }
+        return added;
+    }
+
+    public long getAggregatedReads() {
+        return aggregatedReads.sum();
+    }
+
+    public long getOverflowReads() {
+        return overflowReads.sum();
+    }
+
+    public long getPublishedAggregates() {
+        return publishedAggregates.get();
+    }
+
+    public long getRequeuedAggregates() {
+        return requeuedAggregates.get();
+    }
+
+    public long getSpooledAggregates() {
+        return spooledAggregates.get();
+    }
+
+    public long getFailedAggregates() {
+        return failedAggregates.get();
+    }
+
+    public int pendingEntries() {
+        int pending = 0;
+        for (Stripe stripe : stripes) {
+            synchronized (stripe) {
+                pending += stripe.active.size();
+            }
+        }
+        return pending;
+    }
+
+    private void requestFlush() {
+        if (flushRequested.compareAndSet(false, true)) {
+            try {
+                scheduler.execute(this::flush);
+            } catch (Exception e) {
+                // 종료 중이면 shutdown 의 flush 가 처리한다
+                flushRequested.set(false);
+            }
+        }
+    }
+
+    private void flush() {
+        synchronized (flushLock) {
+            flushRequested.set(false);
+            try {
+                // 이번 flush 에서 쓰는 window 시작 날짜별 토픽
+                Map<LocalDate, String> topics = new HashMap<>();
+                List<CompletableFuture<?>> futures = new ArrayList<>();
+                long reads = 0;
+                for (Stripe stripe : stripes) {
+                    ReadAggregateTable table;
+                    synchronized (stripe) {
+                        table = stripe.active;
+                        stripe.active = stripe.spare;
+                        stripe.spare = table;
+                    }
+                    reads += publish(table, topics, futures);
+                    table.clear();
+                }
+
+                if (futures.isEmpty()) {
+                    return;
+                }
+                int aggregates = futures.size();
+                long aggregatedReadCount = reads;
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+                        .whenComplete((ignored, throwable) -> {
+                            if (throwable != null) {
+                                log.warn("Some post read aggregates failed to publish to topics: {}: {}", topics.values(), throwable.getMessage());
+                            } else {
+                                log.debug("Flushed {} reads as {} aggregates to topics: {}", aggregatedReadCount, aggregates, topics.values());
+                            }
+                        });
+            } catch (Exception e) {
+                log.error("Failed to flush post read aggregates", e);
+            }
+        }
+    }
+
+    private long publish(ReadAggregateTable table, Map<LocalDate, String> topics, List<CompletableFuture<?>> futures) {
+        long[] reads = new long[1];
+        table.forEach((firstKey, postId, windowStart, count, firstAt, lastAt) -> {
+            PostReadAggregateEvent event = new PostReadAggregateEvent(
+                    mode == Mode.PER_POST ? null : firstKey, postId, count, firstAt, lastAt);
+            reads[0] += count;
+
+            String topicName;
+            try {
+                topicName = topicOf(windowStart, topics);
+            } catch (Exception e) {
+                if (e instanceof InterruptedException) {
+                    Thread.currentThread().interrupt();
+                }
+                log.warn("Failed to prepare post read aggregate topic for {}: {}", Instant.ofEpochMilli(firstAt), e.getMessage());
+                requeue(firstKey, windowStart, event);
+                futures.add(CompletableFuture.failedFuture(e));
+                return;
+            }
+
+            futures.add(kafkaHelper.sendAsync(KafkaProducerProfile.THROUGHPUT, topicName, String.valueOf(postId), event)
+                    .whenComplete((result, throwable) -> {
+                        if (throwable != null) {
+                            onPublishFailed(topicName, firstKey, windowStart, event);
+                        } else {
+                            publishedAggregates.incrementAndGet();
+                        }
+                    }));
+        });
+        return reads[0];
+    }
+
+    /**
+     * window 시작 날짜 토픽. 이번 flush 에서 처음 보는 날짜면 토픽이 있는지 확인하고 없으면 만든다
+     */
+    private String topicOf(long windowStart, Map<LocalDate, String> topics) throws Exception {
+        LocalDate date = Instant.ofEpochMilli(windowStart).atZone(kafkaClock.getZone()).toLocalDate();
+        String topicName = topics.get(date);
+        if (topicName == null) {
+            topicName = topicPrefix + date.format(DATE_FORMATTER);
+            if (!kafkaTopicRegistry.exists(topicName)) {
+                kafkaTopicRegistry.ensureTopics(List.of(topicName)).get(operationTimeoutSeconds, TimeUnit.SECONDS);
+            }
+            topics.put(date, topicName);
+        }
+        return topicName;
+    }
+
+    /**
+     * producer I/O 스레드에서 호출될 수 있으므로 디스크 기록은 spool writer 에 넘긴다
+     */
+    private void onPublishFailed(String topicName, long firstKey, long windowStart, PostReadAggregateEvent event) {
+        KafkaPublishSpool spool = kafkaPublishSpool.getIfAvailable();
+        if (spool == null) {
+            requeue(firstKey, windowStart, event);
+            return;
+        }
+        spool.appendAsync(topicName, String.valueOf(event.getPostId()), event).whenComplete((appended, throwable) -> {
+            if (Boolean.TRUE.equals(appended)) {
+                spooledAggregates.incrementAndGet();
+            } else {
+                requeue(firstKey, windowStart, event);
+            }
+        });
+    }
+
+    /**
+     * 발행하지 못한 집계를 현재 테이블의 같은 window key 에 다시 합친다. 종료 중이거나 테이블이 가득 차 있으면 버린다
+     */
+    private void requeue(long firstKey, long windowStart, PostReadAggregateEvent event) {
+        boolean merged = false;
+        if (!scheduler.isShutdown()) {
+            Stripe stripe = stripeOf(event.getPostId());
+            synchronized (stripe) {
+                merged = stripe.active.merge(firstKey, event.getPostId(), windowStart, event.getReadCount(), event.getFirstReadAt(), event.getLastReadAt());
+            }
+        }
+        if (merged) {
+            requeuedAggregates.incrementAndGet();
+        } else {
+            failedAggregates.incrementAndGet();
+            log.warn("Dropped post read aggregate postId: {}, reads: {}", event.getPostId(), event.getReadCount());
+        }
+    }
+
+    private long windowStart(long epochMillis) {
+        return epochMillis - Math.floorMod(epochMillis, windowMs);
+    }
+
+    private Stripe stripeOf(long postId) {
+        return stripes[(int) Math.floorMod(LongKeyTable.mix(0, postId, 0), (long) stripes.length)];
+    }
+}
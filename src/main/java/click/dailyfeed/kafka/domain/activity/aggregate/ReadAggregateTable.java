@@ -0,0 +1,80 @@
+package click.dailyfeed.kafka.domain.activity.aggregate;
+
+import click.dailyfeed.kafka.domain.activity.table.LongKeyTable;
+
+import java.util.Arrays;
+
+/**
+ * (long, long, window) key 별 조회 수/최초/최종 조회 시각을 담는 테이블 (key 는 LongKeyTable 로 찾는다)
+ * window 는 호출 측이 정한 집계 구간의 시작 시각이며, 구간이 다른 조회는 같은 (firstKey, secondKey) 여도 따로 센다.
+ * 박싱 없이 primitive 배열만 사용하며, 생성 시 정한 maxEntries 를 넘으면 더 받지 않는다(메모리 상한).
+ * 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+final class ReadAggregateTable {
+
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long firstKey, long secondKey, long window, long count, long firstAt, long lastAt);
+    }
+
+    private final LongKeyTable keys;
+    // 0 이면 새로 잡은 slot
+    private final long[] counts;
+    private final long[] firstAts;
+    private final long[] lastAts;
+
+    ReadAggregateTable(int maxEntries) {
+        this.keys = new LongKeyTable(maxEntries);
+        this.counts = new long[keys.capacity()];
+        this.firstAts = new long[keys.capacity()];
+        this.lastAts = new long[keys.capacity()];
+    }
+
+    /**
+     * key 의 조회 수를 1 올린다. 새 key 인데 maxEntries 에 도달해 있으면 false
+     */
+    boolean add(long firstKey, long secondKey, long window, long at) {
+        return merge(firstKey, secondKey, window, 1, at, at);
+    }
+
+    /**
+     * 이미 집계된 조회 수와 구간을 key 에 합친다 (발행 실패한 집계를 다시 넣을 때 사용). 새 key 인데 maxEntries 에 도달해 있으면 false
+     */
+    boolean merge(long firstKey, long secondKey, long window, long count, long firstAt, long lastAt) {
+        int slot = keys.slotOf(firstKey, secondKey, window);
+        if (slot == LongKeyTable.FULL) {
+            return false;
+        }
+        if (counts[slot] == 0) {
+            firstAts[slot] = firstAt;
+            lastAts[slot] = lastAt;
+        } else {
+            if (firstAt < firstAts[slot]) {
+                firstAts[slot] = firstAt;
+            }
+            if (lastAt > lastAts[slot]) {
+                lastAts[slot] = lastAt;
+            }
+        }
+        counts[slot] += count;
+        return true;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    boolean isFull() {
+        return keys.isFull();
+    }
+
+    void forEach(EntryConsumer consumer) {
+        keys.forEach((slot, firstKey, secondKey, window) ->
+                consumer.accept(firstKey, secondKey, window, counts[slot], firstAts[slot], lastAts[slot]));
+    }
+
+    void clear() {
+        keys.clear();
+        Arrays.fill(counts, 0);
+    }
+}
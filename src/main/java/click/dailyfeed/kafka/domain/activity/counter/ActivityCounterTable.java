@@ -0,0 +1,68 @@
+package click.dailyfeed.kafka.domain.activity.counter;
+
+import click.dailyfeed.kafka.domain.activity.table.LongKeyTable;
+
+import java.util.Arrays;
+
+/**
+ * (postId, window) 별로 MemberActivityType 마다 증가분(delta)을 담는 테이블
+ * key 는 LongKeyTable 로 찾고, slot 하나에 활동 타입 수만큼의 long 칸을 연속으로 둔다.
+ * window 는 호출 측이 정한 시간 구간 번호이며, 구간을 쓰지 않으면 0 으로 둔다.
+ * 생성 시 정한 maxEntries(key 수)를 넘으면 더 받지 않는다. 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+final class ActivityCounterTable {
+
+    @FunctionalInterface
+    interface DeltaConsumer {
+        void accept(long postId, long window, int typeOrdinal, long delta);
+    }
+
+    private final LongKeyTable keys;
+    private final long[] deltas;
+    private final int types;
+
+    ActivityCounterTable(int maxEntries, int types) {
+        this.keys = new LongKeyTable(maxEntries);
+        this.deltas = new long[keys.capacity() * types];
+        this.types = types;
+    }
+
+    /**
+     * (postId, window) 의 typeOrdinal 카운터를 delta 만큼 올린다. 새 key 인데 maxEntries 에 도달해 있으면 false
+     */
+    boolean add(long postId, long window, int typeOrdinal, long delta) {
+        int slot = keys.slotOf(0, postId, window);
+        if (slot == LongKeyTable.FULL) {
+            return false;
+        }
+        deltas[slot * types + typeOrdinal] += delta;
+        return true;
+    }
+
+    int size() {
+        return keys.size();
+    }
+
+    boolean isFull() {
+        return keys.isFull();
+    }
+
+    /**
+     * 0 이 아닌 delta 만 전달 (같은 key 의 타입들은 연달아 전달된다)
+     */
+    void forEach(DeltaConsumer consumer) {
+        keys.forEach((slot, ignored, postId, window) -> {
+            int base = slot * types;
+            for (int type = 0; type < types; type++) {
+                if (deltas[base + type] != 0) {
+                    consumer.accept(postId, window, type, deltas[base + type]);
+                }
+            }
+        });
+    }
+
+    void clear() {
+        keys.clear();
+        Arrays.fill(deltas, 0);
+    }
+}
@@ -0,0 +1,456 @@
+package click.dailyfeed.kafka.domain.activity.counter;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * member activity 토픽을 소비해 게시글별/활동 타입별 카운터를 Redis 에 반영
+ * - 레코드마다 Redis 를 호출하지 않고, flush 구간 동안의 증가분을 (postId, window) 별로 ActivityCounterTable 에 모은다.
+ *   window 는 레코드 timestamp 기준 window-ms 구간이다.
+ * - flush-interval-ms 가 지나거나 max-entries 개 key 가 쌓이면 MULTI/EXEC 로 감싼 pipeline 한 번으로
+ *   {prefix}post:{postId} 에 HINCRBY (field = 활동 타입), {prefix}total:{활동 타입} 에 INCRBY 하고,
+ *   window 별 {prefix}post:{postId}:{yyyyMMddHHmm} / {prefix}total:{활동 타입}:{yyyyMMddHHmm} 에도 더한 뒤
+ *   window 가 끝나고 window-retention-ms 가 지나면 사라지도록 같은 트랜잭션에서 PEXPIREAT 을 건다.
+ *   같은 트랜잭션에서 {prefix}offsets:{group} 에 파티션별 다음 offset 을 스냅샷으로 기록한다.
+ * - 파티션을 할당받으면 Redis 의 offset 스냅샷으로 seek 하므로, 재시작/rebalance 후 이미 반영한 레코드를 다시 세지 않는다.
+ *   Kafka offset 커밋은 스냅샷을 따라가는 보조 수단이다. offset-retention-days 보다 오래된 날짜 토픽의 스냅샷 field 는 이때 지운다.
+ * - flush 가 실패하면 되감기 전에 스냅샷을 다시 읽는다. 응답만 받지 못하고 EXEC 는 반영된 경우 그 offset 부터 이어간다.
+ *   주기 flush(스케줄러 스레드)가 실패하면 같은 증가분을 다시 보내지 않고(EXEC 가 반영됐다면 두 번 세어진다),
+ *   consumer 만 seek 할 수 있으므로 다음 레코드가 들어올 때 consumer 스레드에서 되감는다. 그때까지 flush 하지 않는다.
+ * - 상태를 한 곳에서 관리하기 위해 memberActivityCounterKafkaListenerContainerFactory 는 consumer 스레드 1개로 동작한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "infrastructure.kafka.activity-counter.enabled", havingValue = "true")
+public class MemberActivityCounterEngine implements ConsumerAwareRebalanceListener {
+    private static final MemberActivityType[] TYPES = MemberActivityType.values();
+    private static final DateTimeFormatter WINDOW_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMddHHmm");
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern TRAILING_DATE = Pattern.compile("(\\d{8})$");
+    private static final int SNAPSHOT_READ_ATTEMPTS = 3;
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final Clock kafkaClock;
+    private final String keyPrefix;
+    private final String offsetsKey;
+    private final long flushIntervalMs;
+    private final long windowMs;
+    private final long windowRetentionMs;
+    private final int offsetRetentionDays;
+
+    private final byte[][] typeFields = new byte[TYPES.length][];
+    private final byte[][] totalKeys = new byte[TYPES.length][];
+
+    // 아래는 this 로 잠금
+    private final ActivityCounterTable table;
+    // flush 되지 않은 레코드까지 포함한 파티션별 다음 offset
+    private final Map<TopicPartition, Long> pendingOffsets = new HashMap<>();
+    // Redis 에 반영(스냅샷)된 파티션별 다음 offset
+    private final Map<TopicPartition, Long> flushedOffsets = new HashMap<>();
+    private long lastFlushAt = System.currentTimeMillis();
+    // 주기 flush 가 실패해 consumer 스레드에서 되감아야 하는 상태
+    private boolean rewindPending;
+
+    private final AtomicLong countedEvents = new AtomicLong();
+    private final AtomicLong redisCommands = new AtomicLong();
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong failedFlushes = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-activity-counter");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MemberActivityCounterEngine(
+            StringRedisTemplate stringRedisTemplate,
+            Clock kafkaClock,
+            @Value("${infrastructure.kafka.activity-counter.key-prefix:activity:counter:}") String keyPrefix,
+            @Value("${infrastructure.kafka.activity-counter.group-id:member-activity-counter-group}") String groupId,
+            @Value("${infrastructure.kafka.activity-counter.flush-interval-ms:1000}") long flushIntervalMs,
+            @Value("${infrastructure.kafka.activity-counter.max-entries:50000}") int maxEntries,
+            @Value("${infrastructure.kafka.activity-counter.window-ms:3600000}") long windowMs,
+            @Value("${infrastructure.kafka.activity-counter.window-retention-ms:86400000}") long windowRetentionMs,
+            @Value("${infrastructure.kafka.activity-counter.offset-retention-days:${infrastructure.kafka.topic-lifecycle.retention-days:7}}") int offsetRetentionDays
+    ) {
+        if (windowMs <= 0) {
+            throw new IllegalStateException("infrastructure.kafka.activity-counter.window-ms must be positive");
+        }
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.kafkaClock = kafkaClock;
+        this.keyPrefix = keyPrefix;
+        this.offsetsKey = keyPrefix + "offsets:" + groupId;
+        this.flushIntervalMs = flushIntervalMs;
+        this.windowMs = windowMs;
+        this.windowRetentionMs = windowRetentionMs;
+        this.offsetRetentionDays = offsetRetentionDays;
+        this.table = new ActivityCounterTable(maxEntries, TYPES.length);
+        for (MemberActivityType type : TYPES) {
+            typeFields[type.ordinal()] = bytes(type.name());
+            totalKeys[type.ordinal()] = bytes(keyPrefix + "total:" + type.name());
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        // 레코드가 끊겨도 모아둔 증가분이 flush-interval-ms 안에 반영되도록
+        scheduler.scheduleWithFixedDelay(this::flushIfDue, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        synchronized (this) {
+            if (rewindPending) {
+                // 반영 여부를 모르는 증가분은 보내지 않는다. 다음 담당 consumer 가 스냅샷부터 다시 센다
+                log.warn("Dropping {} activity counters pending rewind on shutdown", table.size());
+                return;
+            }
+            flush();
+        }
+    }
+
+    @KafkaListener(
+            id = "member-activity-counter",
+            topicPattern = "#{T(click.dailyfeed.kafka.domain.kafka.consumer.CrossDayTopicSubscription).topicPattern('MEMBER_ACTIVITY')}",
+            containerFactory = "memberActivityCounterKafkaListenerContainerFactory"
+    )
+    public void onMessages(List<ConsumerRecord<String, MemberActivityTransportDto.MemberActivityEvent>> records, Consumer<?, ?> consumer) {
+        synchronized (this) {
+            if (rewindPending) {
+                // 이번 레코드도 스냅샷 위치부터 다시 받는다
+                rewind(consumer);
+                return;
+            }
+            for (ConsumerRecord<String, MemberActivityTransportDto.MemberActivityEvent> record : records) {
+                MemberActivityTransportDto.MemberActivityEvent event = record.value();
+                if (event != null && event.getPostId() != null && event.getMemberActivityType() != null) {
+                    long window = windowOf(record.timestamp());
+                    if (!table.add(event.getPostId(), window, event.getMemberActivityType().ordinal(), 1)) {
+                        // 테이블이 가득 차면 지금까지를 반영하고 이어서 센다
+                        if (!flushOrRewind(consumer)) {
+                            return;
+                        }
+                        table.add(event.getPostId(), window, event.getMemberActivityType().ordinal(), 1);
+                    }
+                    countedEvents.incrementAndGet();
+                }
+                pendingOffsets.put(new TopicPartition(record.topic(), record.partition()), record.offset() + 1);
+            }
+
+            if ((table.isFull() || System.currentTimeMillis() - lastFlushAt >= flushIntervalMs) && !flushOrRewind(consumer)) {
+                return;
+            }
+            commitFlushed(consumer);
+        }
+    }
+
+    /// rebalance
+    @Override
+    public void onPartitionsRevokedBeforeCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        synchronized (this) {
+            // 넘겨주기 전에 반영해 새 담당 consumer 가 스냅샷부터 이어가게 한다
+            flushOrRewind(consumer);
+            commitFlushed(consumer);
+            pendingOffsets.keySet().removeAll(partitions);
+            flushedOffsets.keySet().removeAll(partitions);
+        }
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        synchronized (this) {
+            // 잃은 파티션의 증가분만 골라낼 수 없으므로 모두 버리고 남은 파티션은 스냅샷부터 다시 센다
+            flushedOffsets.keySet().removeAll(partitions);
+            rewind(consumer);
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        List<TopicPartition> assigned = new ArrayList<>(partitions);
+        List<Object> fields = new ArrayList<>(assigned.size());
+        assigned.forEach(partition -> fields.add(offsetField(partition)));
+        List<Object> snapshot = stringRedisTemplate.opsForHash().multiGet(offsetsKey, fields);
+
+        synchronized (this) {
+            for (int i = 0; i < assigned.size(); i++) {
+                TopicPartition partition = assigned.get(i);
+                long position = consumer.position(partition);
+                Object stored = snapshot.get(i);
+                if (stored != null && Long.parseLong(stored.toString()) > position) {
+                    // 커밋보다 스냅샷이 앞서 있으면(반영 후 커밋 전에 종료) 스냅샷부터
+                    position = Long.parseLong(stored.toString());
+                    consumer.seek(partition, position);
+                }
+                flushedOffsets.put(partition, position);
+            }
+        }
+        pruneOffsets(consumer.assignment());
+    }
+
+    public long getCountedEvents() {
+        return countedEvents.get();
+    }
+
+    public long getRedisCommands() {
+        return redisCommands.get();
+    }
+
+    public long getFlushes() {
+        return flushes.get();
+    }
+
+    public long getFailedFlushes() {
+        return failedFlushes.get();
+    }
+
+    public synchronized int pendingEntries() {
+        return table.size();
+    }
+
+    synchronized void flushIfDue() {
+        if (!rewindPending && System.currentTimeMillis() - lastFlushAt >= flushIntervalMs && !flush()) {
+            rewindPending = true;
+        }
+    }
+
+    /**
+     * consumer 스레드에서 flush. 실패하면(또는 주기 flush 가 실패해 있었으면) 모아둔 증가분을 버리고 마지막 스냅샷 offset 으로 되돌려 다시 센다
+     */
+    private boolean flushOrRewind(Consumer<?, ?> consumer) {
+        if (!rewindPending && flush()) {
+            return true;
+        }
+        rewind(consumer);
+        return false;
+    }
+
+    private void rewind(Consumer<?, ?> consumer) {
+        rewindPending = false;
+        table.clear();
+        pendingOffsets.clear();
+        reconcileFlushedOffsets(consumer.assignment());
+        for (TopicPartition partition : consumer.assignment()) {
+            Long offset = flushedOffsets.get(partition);
+            if (offset != null) {
+                consumer.seek(partition, offset);
+            }
+        }
+    }
+
+    /**
+     * 모아둔 증가분과 offset 스냅샷을 한 트랜잭션으로 Redis 에 기록 (this 잠금 상태에서 호출)
+     */
+    private boolean flush() {
+        lastFlushAt = System.currentTimeMillis();
+        if (table.size() == 0 && pendingOffsets.isEmpty()) {
+            return true;
+        }
+
+        long[] totals = new long[TYPES.length];
+        Map<Long, long[]> windowTotals = new HashMap<>();
+        Map<Long, String> windowSuffixes = new HashMap<>();
+        Map<byte[], byte[]> offsets = new HashMap<>();
+        pendingOffsets.forEach((partition, offset) -> offsets.put(bytes(offsetField(partition)), bytes(Long.toString(offset))));
+        try {
+            AtomicLong commands = new AtomicLong();
+            stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                connection.multi();
+                // forEach 는 같은 key 의 타입들을 연달아 넘기므로 key 가 바뀔 때만 만료를 건다 (key 가 생긴 뒤에 걸어야 한다)
+                long[] previous = {Long.MIN_VALUE, Long.MIN_VALUE};
+                byte[][] windowKey = new byte[1][];
+                table.forEach((postId, window, typeOrdinal, delta) -> {
+                    connection.hashCommands().hIncrBy(bytes(keyPrefix + "post:" + postId), typeFields[typeOrdinal], delta);
+                    boolean newWindowKey = postId != previous[0] || window != previous[1];
+                    if (newWindowKey) {
+                        previous[0] = postId;
+                        previous[1] = window;
+                        windowKey[0] = bytes(keyPrefix + "post:" + postId + ":" + windowSuffixes.computeIfAbsent(window, this::windowSuffix));
+                    }
+                    connection.hashCommands().hIncrBy(windowKey[0], typeFields[typeOrdinal], delta);
+                    if (newWindowKey) {
+                        connection.keyCommands().pExpireAt(windowKey[0], expireAt(window));
+                        commands.incrementAndGet();
+                    }
+                    totals[typeOrdinal] += delta;
+                    windowTotals.computeIfAbsent(window, ignored -> new long[TYPES.length])[typeOrdinal] += delta;
+                    commands.addAndGet(2);
+                });
+                for (int type = 0; type < totals.length; type++) {
+                    if (totals[type] != 0) {
+                        connection.stringCommands().incrBy(totalKeys[type], totals[type]);
+                        commands.incrementAndGet();
+                    }
+                }
+                windowTotals.forEach((window, windowTypeTotals) -> {
+                    for (int type = 0; type < windowTypeTotals.length; type++) {
+                        if (windowTypeTotals[type] != 0) {
+                            byte[] key = bytes(keyPrefix + "total:" + TYPES[type].name() + ":" + windowSuffixes.computeIfAbsent(window, this::windowSuffix));
+                            connection.stringCommands().incrBy(key, windowTypeTotals[type]);
+                            connection.keyCommands().pExpireAt(key, expireAt(window));
+                            commands.addAndGet(2);
+                        }
+                    }
+                });
+                if (!offsets.isEmpty()) {
+                    connection.hashCommands().hMSet(bytes(offsetsKey), offsets);
+                }
+                connection.exec();
+                return null;
+            });
+
+            redisCommands.addAndGet(commands.get() + (offsets.isEmpty() ? 0 : 1));
+            flushes.incrementAndGet();
+            flushedOffsets.putAll(pendingOffsets);
+            pendingOffsets.clear();
+            table.clear();
+            return true;
+        } catch (Exception e) {
+            failedFlushes.incrementAndGet();
+            log.error("Failed to flush {} activity counters to Redis", table.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 실패로 끝난 flush 의 EXEC 가 실제로는 반영됐을 수 있으므로(응답 timeout 등) 스냅샷을 다시 읽어,
+     * 알고 있는 위치보다 앞선 offset 이 있으면 그 위치를 반영된 것으로 본다. (MULTI/EXEC 라 offset 과 카운터는 함께 반영된다)
+     */
+    private void reconcileFlushedOffsets(Collection<TopicPartition> partitions) {
+        if (partitions.isEmpty()) {
+            return;
+        }
+        List<TopicPartition> assigned = new ArrayList<>(partitions);
+        List<Object> fields = new ArrayList<>(assigned.size());
+        assigned.forEach(partition -> fields.add(offsetField(partition)));
+
+        for (int attempt = 1; attempt <= SNAPSHOT_READ_ATTEMPTS; attempt++) {
+            try {
+                List<Object> snapshot = stringRedisTemplate.opsForHash().multiGet(offsetsKey, fields);
+                for (int i = 0; i < assigned.size(); i++) {
+                    Object stored = snapshot.get(i);
+                    TopicPartition partition = assigned.get(i);
+                    if (stored != null && Long.parseLong(stored.toString()) > flushedOffsets.getOrDefault(partition, -1L)) {
+                        log.info("Activity counter flush for {} was applied despite the error, resuming from {}", partition, stored);
+                        flushedOffsets.put(partition, Long.parseLong(stored.toString()));
+                    }
+                }
+                return;
+            } catch (Exception e) {
+                if (attempt == SNAPSHOT_READ_ATTEMPTS) {
+                    // 반영 여부를 알 수 없으면 마지막으로 확인된 위치로 되돌린다 (반영됐다면 그 구간은 두 번 세어진다)
+                    log.warn("Could not re-read activity counter snapshot, rewinding to last confirmed offsets: {}", e.getMessage());
+                    return;
+                }
+                try {
+                    Thread.sleep(100L * attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * offset-retention-days 보다 오래된 날짜 토픽의 스냅샷 field 삭제 (할당된 파티션은 남긴다)
+     */
+    private void pruneOffsets(Set<TopicPartition> assignment) {
+        try {
+            Set<String> assignedFields = new HashSet<>();
+            assignment.forEach(partition -> assignedFields.add(offsetField(partition)));
+            String cutoff = LocalDate.now(kafkaClock).minusDays(offsetRetentionDays).format(DATE_FORMATTER);
+
+            List<Object> expired = new ArrayList<>();
+            for (Object field : stringRedisTemplate.opsForHash().keys(offsetsKey)) {
+                String name = field.toString();
+                int separator = name.lastIndexOf(':');
+                Matcher matcher = TRAILING_DATE.matcher(separator > 0 ? name.substring(0, separator) : name);
+                if (matcher.find() && matcher.group(1).compareTo(cutoff) < 0 && !assignedFields.contains(name)) {
+                    expired.add(name);
+                }
+            }
+            if (!expired.isEmpty()) {
+                stringRedisTemplate.opsForHash().delete(offsetsKey, expired.toArray());
+                log.info("Pruned {} activity counter offset fields older than {}", expired.size(), cutoff);
+            }
+        } catch (Exception e) {
+            log.warn("Failed to prune activity counter offsets: {}", e.getMessage());
+        }
+    }
+
+    private long windowOf(long timestamp) {
+        return Math.floorDiv(timestamp >= 0 ? timestamp : kafkaClock.millis(), windowMs);
+    }
+
+    private String windowSuffix(long window) {
+        return Instant.ofEpochMilli(window * windowMs).atZone(kafkaClock.getZone()).format(WINDOW_FORMATTER);
+    }
+
+    private long expireAt(long window) {
+        return (window + 1) * windowMs + windowRetentionMs;
+    }
+
+    private void commitFlushed(Consumer<?, ?> consumer) {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        for (TopicPartition partition : consumer.assignment()) {
+            Long offset = flushedOffsets.get(partition);
+            if (offset != null) {
+                commits.put(partition, new OffsetAndMetadata(offset));
+            }
+        }
+        if (!commits.isEmpty()) {
+            consumer.commitAsync(commits, (committed, exception) -> {
+                if (exception != null) {
+                    // Redis 스냅샷이 기준이므로 다음 커밋에서 따라잡는다
+                    log.debug("Activity counter offset commit failed: {}", exception.getMessage());
+                }
+            });
+        }
+    }
+
+    private static String offsetField(TopicPartition partition) {
+        return partition.topic() + ":" + partition.partition();
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+}
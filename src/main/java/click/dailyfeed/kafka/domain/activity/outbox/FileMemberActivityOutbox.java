@@ -0,0 +1,392 @@
+package click.dailyfeed.kafka.domain.activity.outbox;
+
+import click.dailyfeed.kafka.domain.kafka.record.KafkaRecordCodec;
+import click.dailyfeed.kafka.domain.kafka.record.RecordFrames;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+
+/**
+ * 로컬 디스크의 append-only 로그에 기록하는 MemberActivityOutbox (기본 store)
+ * - 항목은 segment 파일(outbox-{첫 sequence}.log)에 RecordFrames 형식으로 기록한다. body 는 [sequence long] 뒤에 KafkaRecordCodec 형식.
+ * - fsync 가 켜져 있으면 group commit 한다: 요청 스레드는 기록만 하고, flusher 스레드가 그동안 쌓인 기록을 한 번의 force 로 내린 뒤 대기 중인 append 를 깨운다.
+ *   force 가 끝난 항목만 relay 가 읽을 수 있게 목록에 올린다.
+ * - fsync-timeout-ms 안에 force 되지 않으면 append 는 false (호출 측은 outbox 없이 보낸다). 이 항목은 목록에 올리지 않지만
+ *   디스크에는 남아 있을 수 있어, 재시작 후 복구되면 한 번 더 발행된다 (at-least-once).
+ * - 읽기는 메모리의 항목 목록으로 하고, 디스크 로그는 재시작 시 복구에만 쓴다.
+ * - truncate 된 sequence 만 담은 닫힌 segment 는 삭제한다.
+ * - 재시작 시 모든 segment 를 읽어 항목과 다음 sequence 를 복구한다. 마지막 segment 끝의 깨진 record(쓰는 도중 죽은 경우)는 잘라낸다.
+ * directory 는 재시작 후에도 유지되는 경로여야 하므로 기본값 없이 반드시 지정한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${infrastructure.kafka.outbox.enabled:false} and '${infrastructure.kafka.outbox.store:file}' == 'file'")
+public class FileMemberActivityOutbox implements MemberActivityOutbox {
+    private static final String SEGMENT_PREFIX = "outbox-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final int SEQUENCE_BYTES = 8;
+
+    // 디스크의 segment 파일 하나 (쓰는 중인 마지막 segment 만 channel 을 열어둔다)
+    private static final class Segment {
+        private final Path path;
+        private FileChannel channel;
+        private long lastSequence;
+        private long size;
+
+        private Segment(Path path, FileChannel channel, long lastSequence, long size) {
+            this.path = path;
+            this.channel = channel;
+            this.lastSequence = lastSequence;
+            this.size = size;
+        }
+    }
+
+    // 기록했지만 아직 force 되지 않은 항목
+    private record PendingEntry(Entry entry, CompletableFuture<Void> durable) {
+    }
+
+    private final KafkaRecordCodec kafkaRecordCodec;
+    private final Path directory;
+    private final int capacity;
+    private final long segmentSizeBytes;
+    private final boolean fsync;
+    private final long fsyncTimeoutMs;
+
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private List<PendingEntry> pending = new ArrayList<>();
+    private long nextSequence = 1;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public FileMemberActivityOutbox(
+            KafkaRecordCodec kafkaRecordCodec,
+            @Value("${infrastructure.kafka.outbox.file.directory:}") String directory,
+            @Value("${infrastructure.kafka.outbox.file.capacity:100000}") int capacity,
+            @Value("${infrastructure.kafka.outbox.file.segment-size-bytes:67108864}") long segmentSizeBytes,
+            @Value("${infrastructure.kafka.outbox.file.fsync:true}") boolean fsync,
+            @Value("${infrastructure.kafka.outbox.file.fsync-timeout-ms:5000}") long fsyncTimeoutMs
+    ) throws IOException {
+        if (directory == null || directory.isBlank()) {
+            throw new IllegalStateException("infrastructure.kafka.outbox.file.directory must be set to a persistent path when the file outbox is enabled");
+        }
+        this.kafkaRecordCodec = kafkaRecordCodec;
+        this.directory = Paths.get(directory);
+        this.capacity = capacity;
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.fsync = fsync;
+        this.fsyncTimeoutMs = fsyncTimeoutMs;
+
+        Files.createDirectories(this.directory);
+        recover();
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!fsync) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::flushLoop, "member-activity-outbox-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void close() throws InterruptedException {
+        // 대기 중인 기록을 내리고 flusher 를 멈춘 뒤 segment 를 닫는다
+        synchronized (this) {
+            running = false;
+            notifyAll();
+        }
+        if (flusher != null) {
+            flusher.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        synchronized (this) {
+            Segment active = segments.peekLast();
+            if (active != null && active.channel != null) {
+                try {
+                    active.channel.force(false);
+                    active.channel.close();
+                } catch (IOException e) {
+                    log.warn("Failed to close outbox segment {}: {}", active.path, e.getMessage());
+                }
+                active.channel = null;
+            }
+        }
+    }
+
+    /**
+     * 디스크에 기록(fsync 가 켜져 있으면 force 까지)한 뒤 true. 용량을 넘었거나 기록에 실패하면 false (호출 측은 outbox 없이 보낸다)
+     */
+    @Override
+    public boolean append(String topicName, String key, Object payload) {
+        byte[] body;
+        try {
+            body = kafkaRecordCodec.encode(SEQUENCE_BYTES, topicName, key, payload);
+        } catch (IOException e) {
+            log.error("Failed to encode outbox entry, topic: {}, key: {}", topicName, key, e);
+            return false;
+        }
+
+        PendingEntry pendingEntry;
+        synchronized (this) {
+            if (entries.size() + pending.size() >= capacity) {
+                return false;
+            }
+
+            long sequence = nextSequence;
+            ByteBuffer.wrap(body).putLong(0, sequence);
+            // flusher 가 없으면(시작 전, 종료 후) 직접 force 한다. 종료 중이라도 남은 대기 항목이 있으면 순서를 지키도록 flusher 에 맡긴다
+            boolean groupCommit = fsync && (running || !pending.isEmpty());
+            try {
+                write(sequence, body, fsync && !groupCommit);
+            } catch (IOException e) {
+                log.error("Failed to append to outbox in {}, topic: {}, key: {}", directory, topicName, key, e);
+                return false;
+            }
+            nextSequence++;
+
+            Entry entry = new Entry(sequence, topicName, key, payload);
+            if (!groupCommit) {
+                entries.addLast(entry);
+                return true;
+            }
+            pendingEntry = new PendingEntry(entry, new CompletableFuture<>());
+            pending.add(pendingEntry);
+            notifyAll();
+        }
+
+        try {
+            pendingEntry.durable().get(fsyncTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Outbox entry {} was not flushed in time, topic: {}, key: {}: {}",
+                    pendingEntry.entry().sequence(), topicName, key, e.getMessage());
+        }
+        // flusher 보다 먼저 실패로 끝내면 목록에 올라가지 않는다. 그 사이 flusher 가 정상 완료했으면 이미 목록에 있다
+        if (pendingEntry.durable().completeExceptionally(new TimeoutException("outbox flush timed out"))) {
+            return false;
+        }
+        return !pendingEntry.durable().isCompletedExceptionally();
+    }
+
+    @Override
+    public synchronized List<Entry> readAfter(long watermark, int maxEntries) {
+        List<Entry> batch = new ArrayList<>(Math.min(maxEntries, entries.size()));
+        for (Entry entry : entries) {
+            if (batch.size() >= maxEntries) {
+                break;
+            }
+            if (entry.sequence() > watermark) {
+                batch.add(entry);
+            }
+        }
+        return batch;
+    }
+
+    @Override
+    public synchronized void truncateThrough(long watermark) {
+        while (!entries.isEmpty() && entries.peekFirst().sequence() <= watermark) {
+            entries.pollFirst();
+        }
+        // 쓰는 중인 segment 는 남겨둔다 (roll 될 때 다음 truncate 에서 지운다)
+        while (segments.size() > 1 && segments.peekFirst().lastSequence <= watermark) {
+            Segment segment = segments.pollFirst();
+            try {
+                Files.deleteIfExists(segment.path);
+            } catch (IOException e) {
+                log.warn("Failed to delete outbox segment {}: {}", segment.path, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public synchronized void ensureSequenceAbove(long sequence) {
+        nextSequence = Math.max(nextSequence, sequence + 1);
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    synchronized int segmentCount() {
+        return segments.size();
+    }
+
+    /// group commit
+    private void flushLoop() {
+        while (true) {
+            List<PendingEntry> batch;
+            FileChannel channel;
+            synchronized (this) {
+                while (pending.isEmpty() && running) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        running = false;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new ArrayList<>();
+                Segment active = segments.peekLast();
+                channel = active != null ? active.channel : null;
+            }
+
+            // 이전 segment 에 쓰인 항목은 roll 할 때 force 되었으므로, 지금 쓰고 있는 segment 만 내리면 된다
+            IOException failure = null;
+            try {
+                if (channel != null) {
+                    channel.force(false);
+                }
+            } catch (ClosedChannelException e) {
+                // 그 사이 roll 또는 close 가 force 하고 닫았다
+            } catch (IOException e) {
+                failure = e;
+                log.error("Failed to flush outbox segment in {}, {} entries are not durable", directory, batch.size(), e);
+            }
+
+            synchronized (this) {
+                for (PendingEntry pendingEntry : batch) {
+                    if (failure != null) {
+                        pendingEntry.durable().completeExceptionally(failure);
+                    } else if (pendingEntry.durable().complete(null)) {
+                        entries.addLast(pendingEntry.entry());
+                    }
+                }
+            }
+        }
+    }
+
+    /// 디스크 기록 (lock 안에서 호출)
+    private void write(long sequence, byte[] body, boolean force) throws IOException {
+        ByteBuffer record = RecordFrames.frame(body);
+
+        Segment active = segments.peekLast();
+        if (active == null || active.channel == null || (active.size > 0 && active.size + record.remaining() > segmentSizeBytes)) {
+            active = roll(sequence);
+        }
+        long position = active.size;
+        try {
+            while (record.hasRemaining()) {
+                active.channel.write(record, position + record.position());
+            }
+            if (force) {
+                active.channel.force(false);
+            }
+        } catch (IOException e) {
+            // 일부만 쓰였을 수 있으므로 기록 전 위치로 되돌린다
+            active.channel.truncate(position);
+            throw e;
+        }
+        active.size = position + record.limit();
+        active.lastSequence = sequence;
+    }
+
+    private Segment roll(long firstSequence) throws IOException {
+        Segment previous = segments.peekLast();
+        if (previous != null && previous.channel != null) {
+            previous.channel.force(false);
+            previous.channel.close();
+            previous.channel = null;
+        }
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        Segment segment = new Segment(path, channel, firstSequence - 1, channel.size());
+        segments.addLast(segment);
+        return segment;
+    }
+
+    /// 복구
+    private void recover() throws IOException {
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(FileMemberActivityOutbox::isSegmentFile).sorted().toList();
+        }
+
+        for (int i = 0; i < paths.size(); i++) {
+            boolean last = i == paths.size() - 1;
+            Path path = paths.get(i);
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE, StandardOpenOption.READ);
+            long validSize = readSegment(path, channel);
+            if (validSize < channel.size()) {
+                log.warn("Truncating torn outbox record at {} in {}", validSize, path);
+                channel.truncate(validSize);
+            }
+            if (!last) {
+                channel.close();
+                channel = null;
+            }
+            segments.addLast(new Segment(path, channel, nextSequence - 1, validSize));
+        }
+        if (!entries.isEmpty()) {
+            log.info("Recovered {} outbox entries from {} segments in {}", entries.size(), paths.size(), directory);
+        }
+    }
+
+    /**
+     * segment 의 record 를 entries 에 추가하고 마지막으로 온전한 record 의 끝 위치를 돌려준다
+     */
+    private long readSegment(Path path, FileChannel channel) throws IOException {
+        ByteBuffer content = ByteBuffer.allocate((int) channel.size());
+        while (content.hasRemaining() && channel.read(content, content.position()) >= 0) {
+            // 파일 끝까지 읽는다
+        }
+        content.flip();
+
+        RecordFrames.Reader reader = new RecordFrames.Reader(content);
+        byte[] body;
+        while ((body = reader.next()) != null) {
+            if (body.length < SEQUENCE_BYTES) {
+                log.error("Skipping outbox record without sequence in {}", path);
+                continue;
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(body);
+            long sequence = buffer.getLong();
+            nextSequence = Math.max(nextSequence, sequence + 1);
+            try {
+                KafkaRecordCodec.StoredRecord record = kafkaRecordCodec.decode(buffer);
+                entries.addLast(new Entry(sequence, record.topicName(), record.key(), record.payload()));
+            } catch (IOException | ClassNotFoundException e) {
+                // 복원할 수 없는 항목은 재시도해도 같으므로 건너뛴다
+                log.error("Skipping undecodable outbox entry {} in {}", sequence, path, e);
+            }
+        }
+        return reader.position();
+    }
+
+    private static boolean isSegmentFile(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+    }
+}
@@ -0,0 +1,69 @@
+package click.dailyfeed.kafka.domain.activity.outbox;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 프로세스 메모리에 두는 MemberActivityOutbox
+ * 로컬 개발이나 테스트용으로, infrastructure.kafka.outbox.store=memory 로 명시했을 때만 등록된다.
+ * 프로세스가 죽으면 아직 발행되지 않은 항목은 사라지므로 운영에서는 기본 store(FileMemberActivityOutbox)를 쓴다.
+ */
+@Component
+@ConditionalOnExpression("${infrastructure.kafka.outbox.enabled:false} and '${infrastructure.kafka.outbox.store:file}' == 'memory'")
+public class InMemoryMemberActivityOutbox implements MemberActivityOutbox {
+    private final int capacity;
+    private final Deque<Entry> entries = new ArrayDeque<>();
+    private long nextSequence = 1;
+
+    public InMemoryMemberActivityOutbox(
+            @Value("${infrastructure.kafka.outbox.in-memory.capacity:100000}") int capacity
+    ) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized boolean append(String topicName, String key, Object payload) {
+        if (entries.size() >= capacity) {
+            return false;
+        }
+        entries.addLast(new Entry(nextSequence++, topicName, key, payload));
+        return true;
+    }
+
+    @Override
+    public synchronized List<Entry> readAfter(long watermark, int maxEntries) {
+        List<Entry> batch = new ArrayList<>(Math.min(maxEntries, entries.size()));
+        for (Entry entry : entries) {
+            if (batch.size() >= maxEntries) {
+                break;
+            }
+            if (entry.sequence() > watermark) {
+                batch.add(entry);
+            }
+        }
+        return batch;
+    }
+
+    @Override
+    public synchronized void truncateThrough(long watermark) {
+        while (!entries.isEmpty() && entries.peekFirst().sequence() <= watermark) {
+            entries.pollFirst();
+        }
+    }
+
+    @Override
+    public synchronized void ensureSequenceAbove(long sequence) {
+        nextSequence = Math.max(nextSequence, sequence + 1);
+    }
+
+    @Override
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,36 @@
+package click.dailyfeed.kafka.domain.activity.outbox;
+
+import java.util.List;
+
+/**
+ * 발행할 이벤트를 먼저 기록해두는 outbox
+ * 각 항목은 단조 증가하는 sequence 를 가지며, MemberActivityOutboxRelay 가 sequence 순서대로 읽어 Kafka 트랜잭션으로 발행한다.
+ * 발행이 커밋된 sequence(watermark) 까지는 truncate 로 정리한다.
+ */
+public interface MemberActivityOutbox {
+
+    record Entry(long sequence, String topicName, String key, Object payload) {
+    }
+
+    /**
+     * outbox 에 추가. 용량을 넘으면 false
+     */
+    boolean append(String topicName, String key, Object payload);
+
+    /**
+     * sequence 가 watermark 보다 큰 항목을 오래된 순서로 최대 maxEntries 개
+     */
+    List<Entry> readAfter(long watermark, int maxEntries);
+
+    /**
+     * sequence 가 watermark 이하인 항목 삭제
+     */
+    void truncateThrough(long watermark);
+
+    /**
+     * 이후 추가되는 항목의 sequence 가 주어진 값보다 크도록 보장 (재시작 후 복구한 watermark 와 겹치지 않게)
+     */
+    void ensureSequenceAbove(long sequence);
+
+    int size();
+}
@@ -0,0 +1,193 @@
+package click.dailyfeed.kafka.domain.activity.outbox;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MemberActivityOutbox 를 Kafka 트랜잭션으로 발행하는 relay
+ * - outbox 에서 batch-size 개씩 읽어 하나의 트랜잭션으로 전송하고, 같은 트랜잭션 안에서 watermark 토픽에 마지막 sequence 를 기록한다.
+ *   트랜잭션이 커밋되어야 이벤트와 watermark 가 함께 보이므로(read_committed), 중간에 죽어도 중복/유실 없이 watermark 부터 이어간다.
+ * - backlog 가 batch-size 이상이면 연속으로, 그보다 적으면 transaction-interval-ms 마다 트랜잭션을 연다.
+ * - 시작 시 watermark 토픽(compact)에서 이 relay-id 의 마지막 watermark 를 읽어 복구한다.
+ *   operation-timeout-seconds 안에 토픽 끝까지 읽지 못하면 일부만 읽은 watermark 로 시작하지 않고 시작을 실패시킨다.
+ *   relay-id 는 재시작해도 같은 outbox 를 이어받는 안정적인 값이어야 하므로(StatefulSet 의 pod 이름 등) 기본값 없이 반드시 지정한다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "infrastructure.kafka.outbox.enabled", havingValue = "true")
+public class MemberActivityOutboxRelay {
+    private final MemberActivityOutbox memberActivityOutbox;
+    private final KafkaTemplate<String, Object> outboxKafkaTemplate;
+    private final ConsumerFactory<String, String> outboxWatermarkConsumerFactory;
+    private final AdminClient adminClient;
+    private final String relayId;
+    private final String watermarkTopic;
+    private final short replicationFactor;
+    private final int batchSize;
+    private final long transactionIntervalMs;
+    private final long operationTimeoutSeconds;
+
+    private volatile long watermark;
+    private final AtomicLong relayed = new AtomicLong();
+    private final AtomicLong failedTransactions = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-activity-outbox-relay");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MemberActivityOutboxRelay(
+            MemberActivityOutbox memberActivityOutbox,
+            @Qualifier("outboxKafkaTemplate") KafkaTemplate<String, Object> outboxKafkaTemplate,
+            @Qualifier("outboxWatermarkConsumerFactory") ConsumerFactory<String, String> outboxWatermarkConsumerFactory,
+            AdminClient adminClient,
+            @Value("${infrastructure.kafka.outbox.relay-id:}") String relayId,
+            @Value("${infrastructure.kafka.outbox.watermark-topic:member-activity-outbox-watermark}") String watermarkTopic,
+            @Value("${infrastructure.kafka.default.producer.replication-factor:2}") short replicationFactor,
+            @Value("${infrastructure.kafka.outbox.batch-size:2000}") int batchSize,
+            @Value("${infrastructure.kafka.outbox.transaction-interval-ms:100}") long transactionIntervalMs,
+            @Value("${infrastructure.kafka.default.producer.operation-timeout-seconds:30}") long operationTimeoutSeconds
+    ) {
+        if (relayId == null || relayId.isBlank()) {
+            throw new IllegalStateException("infrastructure.kafka.outbox.relay-id must be set to a stable id when the outbox is enabled");
+        }
+        this.memberActivityOutbox = memberActivityOutbox;
+        this.outboxKafkaTemplate = outboxKafkaTemplate;
+        this.outboxWatermarkConsumerFactory = outboxWatermarkConsumerFactory;
+        this.adminClient = adminClient;
+        this.relayId = relayId;
+        this.watermarkTopic = watermarkTopic;
+        this.replicationFactor = replicationFactor;
+        this.batchSize = batchSize;
+        this.transactionIntervalMs = transactionIntervalMs;
+        this.operationTimeoutSeconds = operationTimeoutSeconds;
+    }
+
+    @PostConstruct
+    public void start() throws Exception {
+        createWatermarkTopic();
+        watermark = recoverWatermark();
+        memberActivityOutbox.ensureSequenceAbove(watermark);
+        // 복구한 outbox 에 이미 발행이 커밋된 항목이 남아 있으면 정리
+        memberActivityOutbox.truncateThrough(watermark);
+        log.info("Outbox relay {} starting from watermark {}", relayId, watermark);
+        scheduler.scheduleWithFixedDelay(this::relay, transactionIntervalMs, transactionIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        scheduler.shutdown();
+        if (scheduler.awaitTermination(operationTimeoutSeconds, TimeUnit.SECONDS)) {
+            // 남은 항목을 마지막으로 발행
+            relay();
+        }
+    }
+
+    public long getWatermark() {
+        return watermark;
+    }
+
+    public long getRelayed() {
+        return relayed.get();
+    }
+
+    public long getFailedTransactions() {
+        return failedTransactions.get();
+    }
+
+    void relay() {
+        try {
+            List<MemberActivityOutbox.Entry> batch;
+            do {
+                batch = memberActivityOutbox.readAfter(watermark, batchSize);
+                if (batch.isEmpty()) {
+                    return;
+                }
+                commit(batch);
+            } while (batch.size() >= batchSize && !Thread.currentThread().isInterrupted());
+        } catch (Exception e) {
+            failedTransactions.incrementAndGet();
+            log.warn("Outbox relay transaction aborted at watermark {}: {}", watermark, e.getMessage());
+        }
+    }
+
+    private void commit(List<MemberActivityOutbox.Entry> batch) {
+        long last = batch.get(batch.size() - 1).sequence();
+        outboxKafkaTemplate.executeInTransaction(operations -> {
+            for (MemberActivityOutbox.Entry entry : batch) {
+                operations.send(entry.topicName(), entry.key(), entry.payload());
+            }
+            operations.send(watermarkTopic, relayId, last);
+            return null;
+        });
+
+        watermark = last;
+        memberActivityOutbox.truncateThrough(last);
+        relayed.addAndGet(batch.size());
+    }
+
+    private void createWatermarkTopic() throws Exception {
+        NewTopic topic = new NewTopic(watermarkTopic, 1, replicationFactor)
+                .configs(Map.of(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT));
+        try {
+            adminClient.createTopics(List.of(topic)).all().get(operationTimeoutSeconds, TimeUnit.SECONDS);
+            log.info("Created outbox watermark topic: {}", watermarkTopic);
+        } catch (ExecutionException e) {
+            if (!(e.getCause() instanceof TopicExistsException)) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * watermark 토픽을 끝까지 읽어 이 relay-id 의 마지막 커밋된 값을 찾는다 (compact 토픽이라 크지 않다)
+     */
+    private long recoverWatermark() {
+        TopicPartition partition = new TopicPartition(watermarkTopic, 0);
+        try (Consumer<String, String> consumer = outboxWatermarkConsumerFactory.createConsumer()) {
+            consumer.assign(List.of(partition));
+            consumer.seekToBeginning(List.of(partition));
+            long endOffset = consumer.endOffsets(List.of(partition)).get(partition);
+
+            long recovered = 0;
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(operationTimeoutSeconds);
+            while (consumer.position(partition) < endOffset) {
+                if (System.nanoTime() >= deadline) {
+                    // 끝까지 읽지 못한 watermark 로 시작하면 이미 발행한 항목을 다시 보내므로 시작을 실패시켜 재시도하게 한다
+                    throw new IllegalStateException("Timed out reading outbox watermark of " + relayId + " from " + watermarkTopic
+                            + " at offset " + consumer.position(partition) + " of " + endOffset);
+                }
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(500))) {
+                    if (relayId.equals(record.key()) && record.value() != null) {
+                        recovered = Long.parseLong(record.value().trim());
+                    }
+                }
+            }
+            return recovered;
+        }
+    }
+}
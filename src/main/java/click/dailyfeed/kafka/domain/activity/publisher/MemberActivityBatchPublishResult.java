@@ -0,0 +1,39 @@
+package click.dailyfeed.kafka.domain.activity.publisher;
+
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * publishBatch 의 집계 결과
+ * 전체 요청 수와 실패한 레코드 목록(레코드별 원인 포함)을 담는다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class MemberActivityBatchPublishResult {
+    private final int requested;
+    private final List<Failure> failures;
+
+    public static MemberActivityBatchPublishResult empty() {
+        return new MemberActivityBatchPublishResult(0, List.of());
+    }
+
+    public int getSucceeded() {
+        return requested - failures.size();
+    }
+
+    public boolean hasFailures() {
+        return !failures.isEmpty();
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class Failure {
+        private final int index;
+        private final String key;
+        private final MemberActivityType memberActivityType;
+        private final Throwable cause;
+    }
+}
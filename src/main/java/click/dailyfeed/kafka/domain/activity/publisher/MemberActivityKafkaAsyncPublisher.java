@@ -0,0 +1,142 @@
+package click.dailyfeed.kafka.domain.activity.publisher;
+
+import click.dailyfeed.code.domain.activity.factory.MemberActivityTransferDtoFactory;
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.code.global.kafka.exception.KafkaMessageKeyCreationException;
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import click.dailyfeed.kafka.domain.kafka.service.KafkaHelper;
+import click.dailyfeed.kafka.domain.kafka.topic.DateBasedTopicResolver;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * MemberActivityKafkaPublisher 의 비동기 버전
+ * 발행 시각은 주입받은 Clock(밀리초)에서 읽고, 브로커 실패는 예외 대신 반환된 future 로 전달한다.
+ * Clock 의 타임존 규칙은 생성 시 한 번만 조회하고, 현재 offset 은 다음 offset 전환 시각까지 캐시해 발행마다 타임존을 조회하지 않는다.
+ */
+@Component
+public class MemberActivityKafkaAsyncPublisher {
+    private final KafkaHelper kafkaHelper;
+    private final DateBasedTopicResolver dateBasedTopicResolver;
+    private final Clock kafkaClock;
+    private final MemberActivityProducerProfileRouter memberActivityProducerProfileRouter;
+    private final KafkaSupportMetrics kafkaSupportMetrics;
+    private final ZoneRules zoneRules;
+    // offset 이 유효한 구간 (DST 가 없는 타임존은 사실상 한 번만 계산된다)
+    private volatile OffsetPeriod offsetPeriod = new OffsetPeriod(ZoneOffset.UTC, 0, 0);
+
+    private record OffsetPeriod(ZoneOffset offset, long fromMillis, long untilMillis) {
+    }
+
+    public MemberActivityKafkaAsyncPublisher(KafkaHelper kafkaHelper,
+                                             DateBasedTopicResolver dateBasedTopicResolver,
+                                             Clock kafkaClock,
+                                             MemberActivityProducerProfileRouter memberActivityProducerProfileRouter,
+                                             KafkaSupportMetrics kafkaSupportMetrics) {
+        this.kafkaHelper = kafkaHelper;
+        this.dateBasedTopicResolver = dateBasedTopicResolver;
+        this.kafkaClock = kafkaClock;
+        this.memberActivityProducerProfileRouter = memberActivityProducerProfileRouter;
+        this.kafkaSupportMetrics = kafkaSupportMetrics;
+        this.zoneRules = kafkaClock.getZone().getRules();
+    }
+
+    /// post
+    public CompletableFuture<SendResult<String, Object>> publishPostReadEvent(Long memberId, Long postId){
+        long epochMillis = kafkaClock.millis();
+        LocalDateTime now = toLocalDateTime(epochMillis);
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransferDtoFactory
+                .newPostMemberActivityTransportDto(memberId, postId, MemberActivityType.POST_READ, now);
+        return publish(event, MemberActivityType.POST_READ, epochMillis, now);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> publishPostCUDEvent(Long memberId, Long postId, MemberActivityType activityType){
+        long epochMillis = kafkaClock.millis();
+        LocalDateTime now = toLocalDateTime(epochMillis);
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransferDtoFactory
+                .newPostMemberActivityTransportDto(memberId, postId, activityType, now);
+        return publish(event, activityType, epochMillis, now);
+    }
+
+    /// comment
+    public CompletableFuture<SendResult<String, Object>> publishCommentReadEvent(Long memberId, Long postId, Long commentId){
+        long epochMillis = kafkaClock.millis();
+        LocalDateTime now = toLocalDateTime(epochMillis);
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransferDtoFactory
+                .newCommentMemberActivityTransportDto(memberId, postId, commentId, MemberActivityType.COMMENT_READ, now);
+        return publish(event, MemberActivityType.COMMENT_READ, epochMillis, now);
+    }
+
+    public CompletableFuture<SendResult<String, Object>> publishCommentCUDEvent(Long memberId, Long postId, Long commentId, MemberActivityType activityType){
+        long epochMillis = kafkaClock.millis();
+        LocalDateTime now = toLocalDateTime(epochMillis);
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransferDtoFactory
+                .newCommentMemberActivityTransportDto(memberId, postId, commentId, activityType, now);
+        return publish(event, activityType, epochMillis, now);
+    }
+
+    /// post (like)
+    public CompletableFuture<SendResult<String, Object>> publishPostLikeEvent(Long memberId, Long postId, MemberActivityType activityType){
+        long epochMillis = kafkaClock.millis();
+        LocalDateTime now = toLocalDateTime(epochMillis);
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransferDtoFactory
+                .newPostLikeMemberActivityTransportDto(memberId, postId, activityType, now);
+        return publish(event, activityType, epochMillis, now);
+    }
+
+    /// comment (like)
+    public CompletableFuture<SendResult<String, Object>> publishCommentLikeEvent(Long memberId, Long postId, Long commentId, MemberActivityType activityType){
+        long epochMillis = kafkaClock.millis();
+        LocalDateTime now = toLocalDateTime(epochMillis);
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransferDtoFactory
+                .newCommentLikeMemberActivityTransportDto(memberId, postId, commentId, activityType, now);
+        return publish(event, activityType, epochMillis, now);
+    }
+
+    private CompletableFuture<SendResult<String, Object>> publish(
+            MemberActivityTransportDto.MemberActivityEvent event, MemberActivityType activityType, long epochMillis, LocalDateTime now){
+        MemberActivityTransportDto.MemberActivityMessage message = MemberActivityTransferDtoFactory
+                .newMemberActivityMessage(event, activityType, now);
+
+        if (message.getKey() == null){
+            return CompletableFuture.failedFuture(new KafkaMessageKeyCreationException());
+        }
+
+        String topicName = dateBasedTopicResolver.resolve(DateBasedTopicType.MEMBER_ACTIVITY, epochMillis);
+        long startedAt = kafkaSupportMetrics.publishStarted();
+        return kafkaHelper.sendAsync(memberActivityProducerProfileRouter.profileOf(activityType), topicName, message.getKey(), message.getEvent())
+                .whenComplete((result, throwable) -> kafkaSupportMetrics.publishCompleted(
+                        DateBasedTopicType.MEMBER_ACTIVITY, activityType, startedAt, throwable));
+    }
+
+    private LocalDateTime toLocalDateTime(long epochMillis){
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(epochMillis, 1000), (int) Math.floorMod(epochMillis, 1000) * 1_000_000, offsetAt(epochMillis));
+    }
+
+    private ZoneOffset offsetAt(long epochMillis){
+        OffsetPeriod period = offsetPeriod;
+        if (epochMillis >= period.fromMillis() && epochMillis < period.untilMillis()) {
+            return period.offset();
+        }
+        // 구간 시작은 조회한 시각으로 둔다 (시각은 앞으로만 가므로 이전 시각 조회는 드물다)
+        Instant instant = Instant.ofEpochMilli(epochMillis);
+        ZoneOffsetTransition next = zoneRules.nextTransition(instant);
+        period = new OffsetPeriod(
+                zoneRules.getOffset(instant),
+                epochMillis,
+                next == null ? Long.MAX_VALUE : next.getInstant().toEpochMilli());
+        offsetPeriod = period;
+        return period.offset();
+    }
+}
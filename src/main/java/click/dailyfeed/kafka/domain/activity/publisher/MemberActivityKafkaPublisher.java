@@ -6,15 +6,25 @@ import click.dailyfeed.code.domain.activity.type.MemberActivityType;
 import click.dailyfeed.code.global.kafka.exception.KafkaMessageKeyCreationException;
 import click.dailyfeed.code.global.kafka.exception.KafkaNetworkErrorException;
 import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import click.dailyfeed.kafka.config.KafkaProducerProfile;
+import click.dailyfeed.kafka.domain.activity.aggregate.PostReadAggregator;
+import click.dailyfeed.kafka.domain.activity.outbox.MemberActivityOutbox;
 import click.dailyfeed.kafka.domain.activity.redis.MemberActivityEventDLQRedisService;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
 import click.dailyfeed.kafka.domain.kafka.service.KafkaHelper;
 import click.dailyfeed.kafka.domain.kafka.topic.DateBasedTopicResolver;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RequiredArgsConstructor
@@ -24,9 +34,20 @@ public class MemberActivityKafkaPublisher {
     private final DateBasedTopicResolver dateBasedTopicResolver;
     private final MemberActivityEventDLQRedisService memberActivityEventDLQRedisService;
     private final ObjectMapper objectMapper;
+    private final MemberActivityProducerProfileRouter memberActivityProducerProfileRouter;
+    private final KafkaSupportMetrics kafkaSupportMetrics;
+    private final ObjectProvider<MemberActivityPublishQueue> memberActivityPublishQueue;
+    private final ObjectProvider<PostReadAggregator> postReadAggregator;
+    private final ObjectProvider<MemberActivityOutbox> memberActivityOutbox;
 
     /// post
     public void publishPostReadEvent(Long memberId, Long postId){
+        PostReadAggregator aggregator = postReadAggregator.getIfAvailable();
+        if (aggregator != null && aggregator.add(memberId, postId, kafkaHelper.currentEpochMillis())) {
+            // 집계 후 PostReadAggregateEvent 로 발행된다
+            return;
+        }
+
         LocalDateTime now = kafkaHelper.currentDateTime();
         String topicName = dateBasedTopicResolver.resolveDateBasedTopicName(DateBasedTopicType.MEMBER_ACTIVITY, now);
 
@@ -41,7 +62,7 @@ public class MemberActivityKafkaPublisher {
         }
 
         try{
-            kafkaHelper.send(topicName, message.getKey(), message.getEvent());
+            send(MemberActivityType.POST_READ, topicName, message);
         }
         catch (Exception e){
             throw new KafkaNetworkErrorException();
@@ -63,7 +84,7 @@ public class MemberActivityKafkaPublisher {
         }
 
         try{
-            kafkaHelper.send(topicName, message.getKey(), message.getEvent());
+            send(activityType, topicName, message);
         }
         catch (Exception e){
             throw new KafkaNetworkErrorException();
@@ -86,7 +107,7 @@ public class MemberActivityKafkaPublisher {
         }
 
         try{
-            kafkaHelper.send(topicName, message.getKey(), message.getEvent());
+            send(MemberActivityType.COMMENT_READ, topicName, message);
         }
         catch (Exception e){
             throw new KafkaNetworkErrorException();
@@ -108,7 +129,7 @@ public class MemberActivityKafkaPublisher {
         }
 
         try{
-            kafkaHelper.send(topicName, message.getKey(), message.getEvent());
+            send(activityType, topicName, message);
         }
         catch (Exception e){
             throw new KafkaNetworkErrorException();
@@ -131,7 +152,7 @@ public class MemberActivityKafkaPublisher {
         }
 
         try{
-            kafkaHelper.send(topicName, message.getKey(), message.getEvent());
+            send(activityType, topicName, message);
         }
         catch (Exception e){
             throw new KafkaNetworkErrorException();
@@ -154,12 +175,109 @@ public class MemberActivityKafkaPublisher {
         }
 
         try{
-            kafkaHelper.send(topicName, message.getKey(), message.getEvent());
+            send(activityType, topicName, message);
         }
         catch (Exception e){
             throw new KafkaNetworkErrorException();
         }
     }
 
+    /// batch
+    /**
+     * 여러 건의 활동 이벤트를 하나의 그룹으로 발행
+     * 날짜 기반 토픽은 한 번만 계산하고, 레코드를 연달아 producer 에 밀어넣어 같은 batch 로 묶이도록 한다.
+     * 레코드별 로그/예외 대신 집계된 결과 future 하나를 돌려준다.
+     */
+    public CompletableFuture<MemberActivityBatchPublishResult> publishBatch(Collection<MemberActivityPublishRequest> requests){
+        if (requests == null || requests.isEmpty()){
+            return CompletableFuture.completedFuture(MemberActivityBatchPublishResult.empty());
+        }
+
+        LocalDateTime now = kafkaHelper.currentDateTime();
+        String topicName = dateBasedTopicResolver.resolveDateBasedTopicName(DateBasedTopicType.MEMBER_ACTIVITY, now);
+
+        List<MemberActivityBatchPublishResult.Failure> failures = Collections.synchronizedList(new ArrayList<>());
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[requests.size()];
+
+        int index = 0;
+        for (MemberActivityPublishRequest request : requests) {
+            final int current = index++;
+            MemberActivityTransportDto.MemberActivityMessage message = newMemberActivityMessage(request, now);
+
+            if (message.getKey() == null){
+                failures.add(new MemberActivityBatchPublishResult.Failure(
+                        current, null, request.getMemberActivityType(), new KafkaMessageKeyCreationException()));
+                futures[current] = CompletableFuture.completedFuture(null);
+                continue;
+            }
+
+            KafkaProducerProfile profile = memberActivityProducerProfileRouter.profileOf(request.getMemberActivityType());
+            long startedAt = kafkaSupportMetrics.publishStarted();
+            futures[current] = kafkaHelper.sendAsync(profile, topicName, message.getKey(), message.getEvent())
+                    .whenComplete((result, throwable) -> {
+                        kafkaSupportMetrics.publishCompleted(
+                                DateBasedTopicType.MEMBER_ACTIVITY, request.getMemberActivityType(), startedAt, throwable);
+                        if (throwable != null) {
+                            failures.add(new MemberActivityBatchPublishResult.Failure(
+                                    current, message.getKey(), request.getMemberActivityType(), throwable));
+                        }
+                    });
+        }
+
+        final int requested = futures.length;
+        return CompletableFuture.allOf(futures)
+                .handle((ignored, throwable) -> {
+                    MemberActivityBatchPublishResult result =
+                            new MemberActivityBatchPublishResult(requested, List.copyOf(failures));
+                    if (result.hasFailures()) {
+                        log.warn("Batch publish to topic: {} finished with failures, requested: {}, failed: {}",
+                                topicName, requested, result.getFailures().size());
+                    } else {
+                        log.info("Batch publish to topic: {} succeeded, requested: {}", topicName, requested);
+                    }
+                    return result;
+                });
+    }
+
+    private void send(MemberActivityType activityType, String topicName, MemberActivityTransportDto.MemberActivityMessage message){
+        MemberActivityOutbox outbox = memberActivityOutbox.getIfAvailable();
+        if (outbox != null && outbox.append(topicName, message.getKey(), message.getEvent())) {
+            // outbox 모드: MemberActivityOutboxRelay 가 트랜잭션으로 발행한다 (outbox 가 가득 차면 아래 경로로 보낸다)
+            return;
+        }
+
+        MemberActivityPublishQueue publishQueue = memberActivityPublishQueue.getIfAvailable();
+        if (publishQueue != null) {
+            // 큐가 켜져 있으면 요청 스레드는 블로킹 없이 반환 (큐가 가득 차면 조회 이벤트는 버리고 나머지는 DLQ 로 넘긴다)
+            publishQueue.offer(activityType, topicName, message);
+            return;
+        }
+
+        long startedAt = kafkaSupportMetrics.publishStarted();
+        try {
+            kafkaHelper.send(memberActivityProducerProfileRouter.profileOf(activityType), topicName, message.getKey(), message.getEvent())
+                    .whenComplete((result, throwable) -> kafkaSupportMetrics.publishCompleted(
+                            DateBasedTopicType.MEMBER_ACTIVITY, activityType, startedAt, throwable));
+        } catch (RuntimeException e) {
+            kafkaSupportMetrics.publishCompleted(DateBasedTopicType.MEMBER_ACTIVITY, activityType, startedAt, e);
+            throw e;
+        }
+    }
+
+    private MemberActivityTransportDto.MemberActivityMessage newMemberActivityMessage(MemberActivityPublishRequest request, LocalDateTime now){
+        MemberActivityType activityType = request.getMemberActivityType();
+        MemberActivityTransportDto.MemberActivityEvent event = switch (request.getTarget()) {
+            case POST -> MemberActivityTransferDtoFactory
+                    .newPostMemberActivityTransportDto(request.getMemberId(), request.getPostId(), activityType, now);
+            case COMMENT -> MemberActivityTransferDtoFactory
+                    .newCommentMemberActivityTransportDto(request.getMemberId(), request.getPostId(), request.getCommentId(), activityType, now);
+            case POST_LIKE -> MemberActivityTransferDtoFactory
+                    .newPostLikeMemberActivityTransportDto(request.getMemberId(), request.getPostId(), activityType, now);
+            case COMMENT_LIKE -> MemberActivityTransferDtoFactory
+                    .newCommentLikeMemberActivityTransportDto(request.getMemberId(), request.getPostId(), request.getCommentId(), activityType, now);
+        };
+        return MemberActivityTransferDtoFactory.newMemberActivityMessage(event, activityType, now);
+    }
+
     /// member
 }
@@ -0,0 +1,35 @@
+package click.dailyfeed.kafka.domain.activity.publisher;
+
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.kafka.config.KafkaProducerProfile;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+
+/**
+ * MemberActivityType 별 producer 프로필 결정
+ * 기본값: 조회 이벤트 → THROUGHPUT, 그 외(CUD, 좋아요) → LATENCY
+ * infrastructure.kafka.producer.durable-types 에 나열한 타입은 DURABLE
+ */
+@Component
+public class MemberActivityProducerProfileRouter {
+    private final EnumMap<MemberActivityType, KafkaProducerProfile> profiles = new EnumMap<>(MemberActivityType.class);
+
+    public MemberActivityProducerProfileRouter(
+            @Value("${infrastructure.kafka.producer.durable-types:}") MemberActivityType[] durableTypes
+    ) {
+        for (MemberActivityType memberActivityType : MemberActivityType.values()) {
+            profiles.put(memberActivityType, KafkaProducerProfile.LATENCY);
+        }
+        profiles.put(MemberActivityType.POST_READ, KafkaProducerProfile.THROUGHPUT);
+        profiles.put(MemberActivityType.COMMENT_READ, KafkaProducerProfile.THROUGHPUT);
+        for (MemberActivityType durableType : durableTypes) {
+            profiles.put(durableType, KafkaProducerProfile.DURABLE);
+        }
+    }
+
+    public KafkaProducerProfile profileOf(MemberActivityType memberActivityType) {
+        return profiles.get(memberActivityType);
+    }
+}
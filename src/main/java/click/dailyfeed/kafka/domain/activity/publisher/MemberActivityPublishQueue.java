@@ -0,0 +1,268 @@
+package click.dailyfeed.kafka.domain.activity.publisher;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import click.dailyfeed.kafka.domain.activity.redis.MemberActivityEventDLQBuffer;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import click.dailyfeed.kafka.domain.kafka.service.KafkaHelper;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpool;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpooledException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MemberActivityKafkaPublisher 와 KafkaHelper 사이의 bounded 발행 큐
+ * 요청 스레드는 큐에 넣고 즉시 반환하며, producer buffer 가 가득 찼을 때의 send 블로킹(max.block.ms)은 drainer 스레드만 겪는다.
+ * - HIGH(CUD, 좋아요) 가 LOW(조회) 보다 항상 먼저 전송된다.
+ * - LOW 큐가 sample-threshold 이상 차면 sample-rate 비율만 받고, 가득 차면 버린다(shed).
+ * - HIGH 큐가 가득 차거나 전송에 실패한 이벤트는 MemberActivityEventDLQBuffer 로 넘긴다(spill). DLQ buffer 도 가득 차 있으면 로컬 spool 에 남긴다.
+ * - 종료 시 drainer 가 shutdown-timeout-ms 까지 남은 이벤트를 계속 보내고, 기한이 지나면 인터럽트해 막혀 있는 send 를 끊는다.
+ *   남은 이벤트의 spill/shed 도 drainer 스레드가 마지막에 직접 하므로 전송과 spill 이 동시에 일어나 순서가 바뀌거나 두 번 spill 되지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "infrastructure.kafka.publish-queue.enabled", havingValue = "true")
+public class MemberActivityPublishQueue {
+    public enum Priority {
+        HIGH, LOW
+    }
+
+    private record Entry(MemberActivityType activityType, String topicName, MemberActivityTransportDto.MemberActivityMessage message) {
+    }
+
+    private final KafkaHelper kafkaHelper;
+    private final MemberActivityProducerProfileRouter memberActivityProducerProfileRouter;
+    private final MemberActivityEventDLQBuffer memberActivityEventDLQBuffer;
+    private final ObjectProvider<KafkaPublishSpool> kafkaPublishSpool;
+    private final KafkaSupportMetrics kafkaSupportMetrics;
+
+    private final EnumSet<MemberActivityType> lowPriorityTypes = EnumSet.noneOf(MemberActivityType.class);
+    private final BlockingQueue<Entry> highQueue;
+    private final BlockingQueue<Entry> lowQueue;
+    private final int lowSampleThreshold;
+    private final double sampleRate;
+    private final long shutdownTimeoutMs;
+    // 두 큐에 들어있는 전체 건수. drainer 는 여기서 permit 을 얻은 뒤 HIGH 부터 꺼낸다
+    private final Semaphore available = new Semaphore(0);
+
+    private final EnumMap<MemberActivityType, AtomicLong> shed = new EnumMap<>(MemberActivityType.class);
+    private final EnumMap<MemberActivityType, AtomicLong> spilled = new EnumMap<>(MemberActivityType.class);
+    private final AtomicLong lost = new AtomicLong();
+
+    private volatile boolean running;
+    // running == false 이후 drainer 가 전송을 계속할 수 있는 기한 (System.nanoTime 기준)
+    private volatile long shutdownDeadlineNanos;
+    private Thread drainer;
+
+    public MemberActivityPublishQueue(
+            KafkaHelper kafkaHelper,
+            MemberActivityProducerProfileRouter memberActivityProducerProfileRouter,
+            MemberActivityEventDLQBuffer memberActivityEventDLQBuffer,
+            ObjectProvider<KafkaPublishSpool> kafkaPublishSpool,
+            KafkaSupportMetrics kafkaSupportMetrics,
+            @Value("${infrastructure.kafka.publish-queue.high-capacity:20000}") int highCapacity,
+            @Value("${infrastructure.kafka.publish-queue.low-capacity:10000}") int lowCapacity,
+            @Value("${infrastructure.kafka.publish-queue.low-priority-types:POST_READ,COMMENT_READ}") MemberActivityType[] lowPriorityTypes,
+            @Value("${infrastructure.kafka.publish-queue.sample-threshold:0.5}") double sampleThreshold,
+            @Value("${infrastructure.kafka.publish-queue.sample-rate:0.1}") double sampleRate,
+            @Value("${infrastructure.kafka.publish-queue.shutdown-timeout-ms:10000}") long shutdownTimeoutMs
+    ) {
+        this.kafkaHelper = kafkaHelper;
+        this.memberActivityProducerProfileRouter = memberActivityProducerProfileRouter;
+        this.memberActivityEventDLQBuffer = memberActivityEventDLQBuffer;
+        this.kafkaPublishSpool = kafkaPublishSpool;
+        this.kafkaSupportMetrics = kafkaSupportMetrics;
+        this.highQueue = new ArrayBlockingQueue<>(highCapacity);
+        this.lowQueue = new ArrayBlockingQueue<>(lowCapacity);
+        this.lowSampleThreshold = (int) (lowCapacity * sampleThreshold);
+        this.sampleRate = sampleRate;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        for (MemberActivityType lowPriorityType : lowPriorityTypes) {
+            this.lowPriorityTypes.add(lowPriorityType);
+        }
+        for (MemberActivityType activityType : MemberActivityType.values()) {
+            shed.put(activityType, new AtomicLong());
+            spilled.put(activityType, new AtomicLong());
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainer = new Thread(this::drainLoop, "member-activity-publish-queue");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    public Priority priorityOf(MemberActivityType activityType) {
+        return lowPriorityTypes.contains(activityType) ? Priority.LOW : Priority.HIGH;
+    }
+
+    /**
+     * 블로킹 없이 발행 큐에 추가
+     * @return 큐에 들어갔으면 true, 버려지거나(LOW) DLQ 로 넘어갔으면(HIGH) false
+     */
+    public boolean offer(MemberActivityType activityType, String topicName, MemberActivityTransportDto.MemberActivityMessage message) {
+        Entry entry = new Entry(activityType, topicName, message);
+
+        if (priorityOf(activityType) == Priority.LOW) {
+            boolean underPressure = lowQueue.size() >= lowSampleThreshold;
+            if ((underPressure && ThreadLocalRandom.current().nextDouble() >= sampleRate) || !lowQueue.offer(entry)) {
+                shed.get(activityType).incrementAndGet();
+                return false;
+            }
+        } else if (!highQueue.offer(entry)) {
+            spill(entry);
+            return false;
+        }
+
+        available.release();
+        return true;
+    }
+
+    public int depth(Priority priority) {
+        return priority == Priority.HIGH ? highQueue.size() : lowQueue.size();
+    }
+
+    public long getShed(MemberActivityType activityType) {
+        return shed.get(activityType).get();
+    }
+
+    public long getSpilled(MemberActivityType activityType) {
+        return spilled.get(activityType).get();
+    }
+
+    /**
+     * DLQ buffer 와 spool 모두에 넘기지 못해 잃은 HIGH 이벤트 수
+     */
+    public long getLost() {
+        return lost.get();
+    }
+
+    private void drainLoop() {
+        while (running || (available.availablePermits() > 0 && System.nanoTime() - shutdownDeadlineNanos < 0)) {
+            try {
+                if (!available.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+                    continue;
+                }
+                Entry entry = highQueue.poll();
+                if (entry == null) {
+                    entry = lowQueue.poll();
+                }
+                if (entry != null) {
+                    send(entry);
+                }
+            } catch (InterruptedException e) {
+                // shutdown 기한이 지나 인터럽트됨
+                break;
+            }
+        }
+        Thread.interrupted();
+        drainRemaining();
+    }
+
+    private void send(Entry entry) {
+        MemberActivityType activityType = entry.activityType();
+        long startedAt = kafkaSupportMetrics.publishStarted();
+        try {
+            // producer buffer 가 가득 차면 여기서 max.block.ms 까지 대기하고, 그동안 큐가 차오르며 shed/spill 이 동작한다
+            kafkaHelper.send(memberActivityProducerProfileRouter.profileOf(activityType),
+                            entry.topicName(), entry.message().getKey(), entry.message().getEvent())
+                    .whenComplete((result, throwable) -> {
+                        kafkaSupportMetrics.publishCompleted(DateBasedTopicType.MEMBER_ACTIVITY, activityType, startedAt, throwable);
+                        if (throwable != null && !isSpooled(throwable)) {
+                            onSendFailure(entry);
+                        }
+                    });
+        } catch (Exception e) {
+            kafkaSupportMetrics.publishCompleted(DateBasedTopicType.MEMBER_ACTIVITY, activityType, startedAt, e);
+            onSendFailure(entry);
+        }
+    }
+
+    private static boolean isSpooled(Throwable throwable) {
+        // KafkaHelper 가 로컬 spool 에 남긴 레코드는 spool 이 재전송하므로 DLQ 로 다시 넘기지 않는다
+        Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+        return cause instanceof KafkaPublishSpooledException;
+    }
+
+    private void onSendFailure(Entry entry) {
+        if (priorityOf(entry.activityType()) == Priority.HIGH) {
+            spill(entry);
+        } else {
+            shed.get(entry.activityType()).incrementAndGet();
+        }
+    }
+
+    private void spill(Entry entry) {
+        spilled.get(entry.activityType()).incrementAndGet();
+        if (memberActivityEventDLQBuffer.offer(entry.message())) {
+            return;
+        }
+        // DLQ buffer 가 가득 차면 원래 토픽으로 재전송되도록 로컬 spool 에 남긴다
+        KafkaPublishSpool spool = kafkaPublishSpool.getIfAvailable();
+        if (spool != null && spool.append(entry.topicName(), entry.message().getKey(), entry.message().getEvent())) {
+            return;
+        }
+        lost.incrementAndGet();
+        log.warn("DLQ buffer is full and spool is unavailable, dropped member activity event key: {}, type: {}",
+                entry.message().getKey(), entry.activityType());
+    }
+
+    /**
+     * 기한까지 남은 이벤트를 drainer 가 계속 보내게 하고, 기한이 지나면 인터럽트해 막혀 있는 send(max.block.ms 대기)를 끊는다.
+     * 남은 이벤트는 drainer 가 종료 직전에 처리하므로 여기서는 drainer 가 끝나기를 기다리기만 한다.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        shutdownDeadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(shutdownTimeoutMs);
+        running = false;
+        if (drainer == null) {
+            drainRemaining();
+            return;
+        }
+        drainer.join(Math.max(1, shutdownTimeoutMs));
+        if (drainer.isAlive()) {
+            drainer.interrupt();
+            drainer.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        if (drainer.isAlive()) {
+            log.warn("Publish queue drainer did not stop, {} high and {} low priority events left in queue",
+                    highQueue.size(), lowQueue.size());
+        }
+    }
+
+    /**
+     * 전송하지 못한 HIGH 이벤트는 DLQ 로, LOW 이벤트는 버린다 (drainer 스레드 또는 drainer 가 없을 때 shutdown 에서만 호출)
+     */
+    private void drainRemaining() {
+        List<Entry> remaining = new ArrayList<>();
+        highQueue.drainTo(remaining);
+        remaining.forEach(this::spill);
+        List<Entry> droppedLow = new ArrayList<>();
+        lowQueue.drainTo(droppedLow);
+        droppedLow.forEach(entry -> shed.get(entry.activityType()).incrementAndGet());
+        if (!droppedLow.isEmpty() || !remaining.isEmpty()) {
+            log.info("Publish queue shut down, spilled {} high priority events, dropped {} low priority events",
+                    remaining.size(), droppedLow.size());
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package click.dailyfeed.kafka.domain.activity.publisher;
+
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 배치 발행(publishBatch)용 요청 단위
+ * 어떤 팩토리 메서드로 MemberActivityEvent 를 만들지는 target 으로 결정된다.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class MemberActivityPublishRequest {
+    private final Target target;
+    private final Long memberId;
+    private final Long postId;
+    private final Long commentId;
+    private final MemberActivityType memberActivityType;
+
+    public enum Target {
+        POST, COMMENT, POST_LIKE, COMMENT_LIKE
+    }
+
+    /// post
+    public static MemberActivityPublishRequest postRead(Long memberId, Long postId) {
+        return new MemberActivityPublishRequest(Target.POST, memberId, postId, null, MemberActivityType.POST_READ);
+    }
+
+    public static MemberActivityPublishRequest postCUD(Long memberId, Long postId, MemberActivityType activityType) {
+        return new MemberActivityPublishRequest(Target.POST, memberId, postId, null, activityType);
+    }
+
+    /// comment
+    public static MemberActivityPublishRequest commentRead(Long memberId, Long postId, Long commentId) {
+        return new MemberActivityPublishRequest(Target.COMMENT, memberId, postId, commentId, MemberActivityType.COMMENT_READ);
+    }
+
+    public static MemberActivityPublishRequest commentCUD(Long memberId, Long postId, Long commentId, MemberActivityType activityType) {
+        return new MemberActivityPublishRequest(Target.COMMENT, memberId, postId, commentId, activityType);
+    }
+
+    /// like
+    public static MemberActivityPublishRequest postLike(Long memberId, Long postId, MemberActivityType activityType) {
+        return new MemberActivityPublishRequest(Target.POST_LIKE, memberId, postId, null, activityType);
+    }
+
+    public static MemberActivityPublishRequest commentLike(Long memberId, Long postId, Long commentId, MemberActivityType activityType) {
+        return new MemberActivityPublishRequest(Target.COMMENT_LIKE, memberId, postId, commentId, activityType);
+    }
+}
@@ -0,0 +1,197 @@
+package click.dailyfeed.kafka.domain.activity.redis;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 날짜별 segment 로 나눈 Bloom filter (날짜 기반 토픽과 같은 단위)
+ * mightContain 이 false 면 "한 번도 기록된 적 없는 key" 이므로 Redis 조회를 건너뛸 수 있다.
+ * 시작 시점에는 비어 있으므로, KafkaMessageKeyMemberActivityRedisService 가 Redis 의 기존 key 를 SCAN 해 채운 뒤에만 negative 를 사용한다.
+ * segment 는 하루 단위로 새로 만들고, addAndExpireIn 에서 받은 TTL 중 가장 긴 값이 지나면 폐기한다.
+ * 살아있는 segment 목록은 rotate 때만 새 배열로 교체(copy-on-rotate)하므로 조회는 lock 없이 volatile 배열 하나만 읽는다.
+ *
+ * 주의: 로컬 filter 는 시작 시 SCAN 한 key 와 이후 이 인스턴스가 기록한 key 만 알고 있다.
+ * 같은 key 를 다른 인스턴스가 기록할 수 있는 구성(리밸런싱 직후 등)에서는 중복을 놓칠 수 있으므로 기본값은 비활성화이다.
+ */
+@Component
+@ConditionalOnProperty(name = "infrastructure.kafka.dedup.bloom.enabled", havingValue = "true")
+public class DailySegmentedBloomFilter {
+    private static final long DAY_MILLIS = TimeUnit.DAYS.toMillis(1);
+
+    private final Clock kafkaClock;
+    private final long bitsPerSegment;
+    private final int hashFunctions;
+    private final Object rotateLock = new Object();
+    private final AtomicLong retentionMillis;
+    // 오래된 것부터 오늘 순서. 교체만 하고 배열 내용은 바꾸지 않는다
+    private volatile Segment[] segments = new Segment[0];
+    private volatile Segment current;
+
+    public DailySegmentedBloomFilter(
+            Clock kafkaClock,
+            @Value("${infrastructure.kafka.dedup.bloom.expected-insertions-per-day:5000000}") long expectedInsertions,
+            @Value("${infrastructure.kafka.dedup.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${infrastructure.kafka.dedup.bloom.retention-days:2}") int retentionDays
+    ) {
+        this.kafkaClock = kafkaClock;
+        // m = -n ln p / (ln 2)^2, k = m/n ln 2
+        long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitsPerSegment = Math.max(64, (bits + 63) / 64 * 64);
+        this.hashFunctions = Math.max(1, (int) Math.round((double) bitsPerSegment / expectedInsertions * Math.log(2)));
+        this.retentionMillis = new AtomicLong(retentionDays * DAY_MILLIS);
+        this.current = rotate(kafkaClock.millis());
+    }
+
+    public boolean mightContain(String key) {
+        long now = kafkaClock.millis();
+        Segment today = currentSegment(now);
+        long hash = hash(key);
+        if (today.mightContain(hash)) {
+            return true;
+        }
+        for (Segment segment : segments) {
+            if (segment != today && segment.mightContain(hash)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public void put(String key, Duration expireIn) {
+        long now = kafkaClock.millis();
+        retentionMillis.accumulateAndGet(expireIn.toMillis(), Math::max);
+        currentSegment(now).put(hash(key));
+    }
+
+    /**
+     * 살아있는 segment 전체에 대한 예상 false positive 비율 (1 - Π(1 - p_segment))
+     */
+    public double expectedFalsePositiveRate() {
+        double probabilityAllMiss = 1.0;
+        for (Segment segment : segments) {
+            probabilityAllMiss *= 1.0 - segment.expectedFalsePositiveRate();
+        }
+        return 1.0 - probabilityAllMiss;
+    }
+
+    public long memoryBytes() {
+        return segments.length * (bitsPerSegment / 8);
+    }
+
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    private Segment currentSegment(long now) {
+        Segment segment = current;
+        if (now < segment.endMillis && now >= segment.startMillis) {
+            return segment;
+        }
+        return rotate(now);
+    }
+
+    private Segment rotate(long now) {
+        synchronized (rotateLock) {
+            Segment segment = current;
+            if (segment != null && now < segment.endMillis && now >= segment.startMillis) {
+                return segment;
+            }
+            LocalDate date = Instant.ofEpochMilli(now).atZone(kafkaClock.getZone()).toLocalDate();
+            long startMillis = date.atStartOfDay(kafkaClock.getZone()).toInstant().toEpochMilli();
+            long endMillis = date.plusDays(1).atStartOfDay(kafkaClock.getZone()).toInstant().toEpochMilli();
+            Segment next = new Segment(startMillis, endMillis, bitsPerSegment, hashFunctions);
+            // 마지막 기록 시점 + TTL 이 지난 segment 는 폐기
+            Segment[] previous = segments;
+            long retention = retentionMillis.get();
+            int first = 0;
+            while (first < previous.length && previous[first].endMillis + retention <= now) {
+                first++;
+            }
+            Segment[] live = Arrays.copyOfRange(previous, first, previous.length + 1);
+            live[live.length - 1] = next;
+            segments = live;
+            current = next;
+            return next;
+        }
+    }
+
+    /**
+     * FNV-1a 64bit + fmix64. 문자열을 byte[] 로 변환하지 않고 char 단위로 계산한다.
+     */
+    private static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static final class Segment {
+        private final long startMillis;
+        private final long endMillis;
+        private final long bitCount;
+        private final int hashFunctions;
+        private final AtomicLongArray words;
+        private final AtomicLong bitsSet = new AtomicLong();
+
+        private Segment(long startMillis, long endMillis, long bitCount, int hashFunctions) {
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.bitCount = bitCount;
+            this.hashFunctions = hashFunctions;
+            this.words = new AtomicLongArray((int) (bitCount / 64));
+        }
+
+        private boolean mightContain(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void put(long hash) {
+            int h1 = (int) hash;
+            int h2 = (int) (hash >>> 32);
+            for (int i = 1; i <= hashFunctions; i++) {
+                long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+                int index = (int) (bit >>> 6);
+                long mask = 1L << bit;
+                long word;
+                do {
+                    word = words.get(index);
+                    if ((word & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(index, word, word | mask));
+                if ((word & mask) == 0) {
+                    bitsSet.incrementAndGet();
+                }
+            }
+        }
+
+        private double expectedFalsePositiveRate() {
+            return Math.pow((double) bitsSet.get() / bitCount, hashFunctions);
+        }
+    }
+}
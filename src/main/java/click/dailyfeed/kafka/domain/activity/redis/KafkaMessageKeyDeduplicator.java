@@ -0,0 +1,184 @@
+package click.dailyfeed.kafka.domain.activity.redis;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Kafka 메시지 key 중복 체크를 batch 단위로 처리
+ * - 최근 처리한 key 는 로컬 near-cache(크기 제한 + TTL)에서 바로 중복으로 판정
+ * - 나머지는 SET NX EX 를 pipeline 한 번으로 보내 "확인 + 기록" 을 동시에 처리
+ * 결과 BitSet 에서 i 번째 비트가 켜져 있으면 messageKeys.get(i) 는 이미 처리된(중복) key 이다.
+ * checkAndMark 는 처리 전에 key 를 기록하므로, 처리에 실패해 재전달을 기다리는 레코드의 key 는 release 로 지워야 한다.
+ * (지우지 않으면 재전달된 레코드가 중복으로 판정되어 버려진다)
+ */
+@Component
+public class KafkaMessageKeyDeduplicator {
+    private final RedisTemplate<String, String> redisTemplate;
+    private final KafkaMessageKeyMemberActivityRedisService kafkaMessageKeyMemberActivityRedisService;
+    private final NearCache nearCache;
+    // 검사한 key 수와 그중 중복으로 판정한 수 (batch 내 중복 + near-cache + Redis SET NX false)
+    private final LongAdder checked = new LongAdder();
+    private final LongAdder duplicateCount = new LongAdder();
+    private final LongAdder redisDuplicates = new LongAdder();
+
+    public KafkaMessageKeyDeduplicator(
+            @Qualifier("kafkaMessageKeyMemberActivityRedisTemplate") RedisTemplate<String, String> redisTemplate,
+            KafkaMessageKeyMemberActivityRedisService kafkaMessageKeyMemberActivityRedisService,
+            @Value("${infrastructure.kafka.dedup.near-cache.max-size:100000}") int nearCacheMaxSize,
+            @Value("${infrastructure.kafka.dedup.near-cache.ttl-seconds:600}") long nearCacheTtlSeconds
+    ) {
+        this.redisTemplate = redisTemplate;
+        this.kafkaMessageKeyMemberActivityRedisService = kafkaMessageKeyMemberActivityRedisService;
+        this.nearCache = new NearCache(nearCacheMaxSize, Duration.ofSeconds(nearCacheTtlSeconds).toMillis());
+    }
+
+    @SuppressWarnings("unchecked")
+    public BitSet checkAndMark(List<String> messageKeys, Duration expireIn) {
+        BitSet duplicates = new BitSet(messageKeys.size());
+        if (messageKeys.isEmpty()) {
+            return duplicates;
+        }
+
+        long now = System.currentTimeMillis();
+        List<Integer> pending = new ArrayList<>(messageKeys.size());
+        Set<String> seenInBatch = new HashSet<>();
+        for (int i = 0; i < messageKeys.size(); i++) {
+            String messageKey = messageKeys.get(i);
+            if (!seenInBatch.add(messageKey) || nearCache.contains(messageKey, now)) {
+                duplicates.set(i);
+            } else {
+                pending.add(i);
+            }
+        }
+
+        checked.add(messageKeys.size());
+        if (pending.isEmpty()) {
+            duplicateCount.add(duplicates.cardinality());
+            return duplicates;
+        }
+
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        RedisSerializer<String> valueSerializer = (RedisSerializer<String>) redisTemplate.getValueSerializer();
+        Expiration expiration = Expiration.from(expireIn);
+
+        List<Object> results = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int index : pending) {
+                String messageKey = messageKeys.get(index);
+                connection.stringCommands().set(
+                        keySerializer.serialize(kafkaMessageKeyMemberActivityRedisService.redisKey(messageKey)),
+                        valueSerializer.serialize(messageKey),
+                        expiration,
+                        RedisStringCommands.SetOption.ifAbsent()
+                );
+            }
+            return null;
+        });
+
+        for (int i = 0; i < pending.size(); i++) {
+            int index = pending.get(i);
+            // SET NX 가 false 면 이미 다른 곳에서 기록한 key
+            if (Boolean.FALSE.equals(results.get(i))) {
+                duplicates.set(index);
+                redisDuplicates.increment();
+            }
+            nearCache.put(messageKeys.get(index), now);
+        }
+        duplicateCount.add(duplicates.cardinality());
+        return duplicates;
+    }
+
+    /**
+     * 처리에 실패한 레코드의 key 를 Redis 와 near-cache 에서 지운다 (pipeline 한 번)
+     */
+    @SuppressWarnings("unchecked")
+    public void release(Collection<String> messageKeys) {
+        if (messageKeys.isEmpty()) {
+            return;
+        }
+        messageKeys.forEach(nearCache::invalidate);
+
+        RedisSerializer<String> keySerializer = (RedisSerializer<String>) redisTemplate.getKeySerializer();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String messageKey : messageKeys) {
+                connection.keyCommands().del(keySerializer.serialize(kafkaMessageKeyMemberActivityRedisService.redisKey(messageKey)));
+            }
+            return null;
+        });
+    }
+
+    public long getChecked() {
+        return checked.sum();
+    }
+
+    /**
+     * 중복으로 판정한 전체 key 수 (near-cache, Redis, batch 내 중복 포함)
+     */
+    public long getDuplicates() {
+        return duplicateCount.sum();
+    }
+
+    public long getRedisDuplicates() {
+        return redisDuplicates.sum();
+    }
+
+    public long getNearCacheHits() {
+        return nearCache.hits;
+    }
+
+    public long getNearCacheMisses() {
+        return nearCache.misses;
+    }
+
+    /**
+     * 접근 순서 기준 LRU + TTL. 동시 접근이 많지 않은 consumer 스레드 기준이라 단순 동기화로 충분하다.
+     */
+    private static final class NearCache {
+        private final long ttlMillis;
+        private final LinkedHashMap<String, Long> expiresAt;
+        private volatile long hits;
+        private volatile long misses;
+
+        private NearCache(int maxSize, long ttlMillis) {
+            this.ttlMillis = ttlMillis;
+            this.expiresAt = new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                    return size() > maxSize;
+                }
+            };
+        }
+
+        private synchronized boolean contains(String key, long now) {
+            Long expiry = expiresAt.get(key);
+            if (expiry == null) {
+                misses++;
+                return false;
+            }
+            if (expiry <= now) {
+                expiresAt.remove(key);
+                misses++;
+                return false;
+            }
+            hits++;
+            return true;
+        }
+
+        private synchronized void put(String key, long now) {
+            expiresAt.put(key, now + ttlMillis);
+        }
+
+        private synchronized void invalidate(String key) {
+            expiresAt.remove(key);
+        }
+    }
+}
@@ -2,28 +2,96 @@ package click.dailyfeed.kafka.domain.activity.redis;
 
 import click.dailyfeed.code.global.cache.RedisKeyPrefix;
 import click.dailyfeed.code.global.redis.RedisKeyExistPredicate;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.core.Cursor;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
 
+@Slf4j
 @Service
 public class KafkaMessageKeyMemberActivityRedisService {
+    private static final int WARMUP_SCAN_COUNT = 1000;
+
     private final RedisTemplate<String, String> redisTemplate;
+    private final String kafkaKeyPrefix = RedisKeyPrefix.MEMBER_ACTIVITY_KAFKA_KEY.getKeyPrefix();
+    // infrastructure.kafka.dedup.bloom.enabled=true 일 때만 존재
+    private final DailySegmentedBloomFilter bloomFilter;
+    private final LongAdder skippedLookups = new LongAdder();
+    // 시작 전에 Redis 에 기록된 key 를 bloom filter 에 모두 넣기 전까지는 negative 를 믿지 않는다
+    private volatile boolean bloomWarm;
+    private Thread warmupThread;
 
     public KafkaMessageKeyMemberActivityRedisService(
-            @Qualifier("kafkaMessageKeyMemberActivityRedisTemplate") RedisTemplate<String, String> redisTemplate
+            @Qualifier("kafkaMessageKeyMemberActivityRedisTemplate") RedisTemplate<String, String> redisTemplate,
+            ObjectProvider<DailySegmentedBloomFilter> bloomFilter
     ) {
         this.redisTemplate = redisTemplate;
+        this.bloomFilter = bloomFilter.getIfAvailable();
+    }
+
+    @PostConstruct
+    public void startBloomWarmup() {
+        if (bloomFilter == null) {
+            return;
+        }
+        warmupThread = new Thread(this::warmUpBloomFilter, "kafka-dedup-bloom-warmup");
+        warmupThread.setDaemon(true);
+        warmupThread.start();
+    }
+
+    @PreDestroy
+    public void stopBloomWarmup() {
+        if (warmupThread != null) {
+            warmupThread.interrupt();
+        }
+    }
+
+    /**
+     * 이미 Redis 에 있는 message key 를 SCAN 해 bloom filter 에 넣는다.
+     * 실패하면 warm 상태가 되지 않으므로 checkExist 는 계속 Redis 를 조회한다.
+     */
+    private void warmUpBloomFilter() {
+        long startedAt = System.currentTimeMillis();
+        long loaded = 0;
+        ScanOptions options = ScanOptions.scanOptions().match(kafkaKeyPrefix + "*").count(WARMUP_SCAN_COUNT).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                // TTL 은 이후 addAndExpireIn 에서 받은 값으로 관리되므로 retention 은 건드리지 않는다
+                bloomFilter.put(cursor.next().substring(kafkaKeyPrefix.length()), Duration.ZERO);
+                loaded++;
+            }
+            bloomWarm = true;
+            log.info("Loaded {} message keys into dedup bloom filter in {} ms", loaded, System.currentTimeMillis() - startedAt);
+        } catch (Exception e) {
+            log.warn("Dedup bloom filter warmup failed after {} keys, negatives stay unused: {}", loaded, e.getMessage());
+        }
     }
 
     public void addAndExpireIn(String messageKey, Duration expireIn) {
         String redisKey = redisKey(messageKey);
         redisTemplate.opsForValue().set(redisKey, messageKey, expireIn);
+        if (bloomFilter != null) {
+            bloomFilter.put(messageKey, expireIn);
+        }
     }
 
     public RedisKeyExistPredicate checkExist(String messageKey){
+        if (bloomWarm && !bloomFilter.mightContain(messageKey)) {
+            // 한 번도 기록된 적 없는 key 는 Redis 조회 생략 (warmup 이 끝난 뒤에만)
+            skippedLookups.increment();
+            return RedisKeyExistPredicate.NOT_EXIST;
+        }
         String redisKey = redisKey(messageKey);
         if(redisTemplate.hasKey(redisKey)){
             return RedisKeyExistPredicate.EXIST;
@@ -31,10 +99,18 @@ public class KafkaMessageKeyMemberActivityRedisService {
         return RedisKeyExistPredicate.NOT_EXIST;
     }
 
+    /**
+     * Bloom filter 덕분에 생략한 Redis 조회 수
+     */
+    public long getSkippedLookups() {
+        return skippedLookups.sum();
+    }
+
+    public boolean isBloomWarm() {
+        return bloomWarm;
+    }
+
     public String redisKey(String messageKey){
-        String kafkaKeyPrefix = RedisKeyPrefix.MEMBER_ACTIVITY_KAFKA_KEY.getKeyPrefix();
-        return new StringBuffer().append(kafkaKeyPrefix)
-                .append(messageKey)
-                .toString();
+        return kafkaKeyPrefix + messageKey;
     }
 }
@@ -0,0 +1,261 @@
+package click.dailyfeed.kafka.domain.activity.redis;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpool;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MemberActivityEventDLQRedisService 앞단의 비동기 버퍼
+ * 요청 스레드는 offer 만 하고 즉시 반환하며(Redis 대기 없음), 백그라운드 스레드가 모아서 pipeline 으로 한 번에 기록한다.
+ * - 버퍼가 가득 차면 받지 않고(offer false) dropped 카운트만 올린다. 받은 메시지는 버리지 않는다.
+ * - Redis 기록에 실패하면 같은 batch 를 backoff 하며 flush-max-attempts 번까지 다시 시도하고,
+ *   그래도 실패하면 로컬 spool(KafkaPublishSpool)에 남긴다. spool 이 없거나 실패하면 Redis 가 돌아올 때까지 계속 재시도한다.
+ *   (그동안 버퍼가 차오르며 offer 가 false 를 돌려주므로 호출 측이 자체 경로로 처리한다)
+ * - 종료 시점까지 어디에도 기록하지 못한 메시지만 failed 로 센다.
+ * - write 는 실제로 기록(Redis 또는 spool)된 뒤 완료되는 future 를 돌려준다. (커밋 전에 기록을 확인해야 하는 consumer 용)
+ */
+@Slf4j
+@Component
+public class MemberActivityEventDLQBuffer {
+    private static final long MAX_BACKOFF_MS = 5_000;
+
+    private record Pending(MemberActivityTransportDto.MemberActivityMessage message, CompletableFuture<Void> written) {
+    }
+
+    private final MemberActivityEventDLQRedisService memberActivityEventDLQRedisService;
+    private final ObjectProvider<KafkaPublishSpool> kafkaPublishSpool;
+    private final BlockingQueue<Pending> queue;
+    private final int maxBatchSize;
+    private final long lingerMs;
+    private final int flushMaxAttempts;
+    private final long flushBackoffMs;
+
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile boolean running;
+    private Thread drainer;
+
+    public MemberActivityEventDLQBuffer(
+            MemberActivityEventDLQRedisService memberActivityEventDLQRedisService,
+            ObjectProvider<KafkaPublishSpool> kafkaPublishSpool,
+            @Value("${infrastructure.kafka.dlq.buffer.capacity:10000}") int capacity,
+            @Value("${infrastructure.kafka.dlq.buffer.max-batch-size:500}") int maxBatchSize,
+            @Value("${infrastructure.kafka.dlq.buffer.linger-ms:50}") long lingerMs,
+            @Value("${infrastructure.kafka.dlq.buffer.flush-max-attempts:5}") int flushMaxAttempts,
+            @Value("${infrastructure.kafka.dlq.buffer.flush-backoff-ms:200}") long flushBackoffMs
+    ) {
+        this.memberActivityEventDLQRedisService = memberActivityEventDLQRedisService;
+        this.kafkaPublishSpool = kafkaPublishSpool;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.maxBatchSize = maxBatchSize;
+        this.lingerMs = lingerMs;
+        this.flushMaxAttempts = Math.max(1, flushMaxAttempts);
+        this.flushBackoffMs = Math.max(1, flushBackoffMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainer = new Thread(this::drainLoop, "member-activity-dlq-buffer");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * 블로킹 없이 버퍼에 추가. 버퍼가 가득 차 있으면 false
+     */
+    public boolean offer(MemberActivityTransportDto.MemberActivityMessage message) {
+        return enqueue(new Pending(message, null));
+    }
+
+    /**
+     * 블로킹 없이 버퍼에 추가하고, Redis 또는 spool 에 기록되면 완료되는 future 를 돌려준다.
+     * 버퍼가 가득 차 있거나 종료 시점까지 기록하지 못하면 예외로 완료된다.
+     */
+    public CompletableFuture<Void> write(MemberActivityTransportDto.MemberActivityMessage message) {
+        CompletableFuture<Void> written = new CompletableFuture<>();
+        if (!enqueue(new Pending(message, written))) {
+            written.completeExceptionally(new IllegalStateException("Member activity DLQ buffer is full"));
+        }
+        return written;
+    }
+
+    private boolean enqueue(Pending pending) {
+        if (queue.offer(pending)) {
+            return true;
+        }
+        dropped.incrementAndGet();
+        return false;
+    }
+
+    public int size() {
+        return queue.size();
+    }
+
+    public long getDropped() {
+        return dropped.get();
+    }
+
+    public long getRetried() {
+        return retried.get();
+    }
+
+    public long getSpooled() {
+        return spooled.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(lingerMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                // linger 동안 더 모아서 한 번에 기록
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(lingerMs);
+                while (batch.size() < maxBatchSize) {
+                    queue.drainTo(batch, maxBatchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatchSize || remaining <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            // 인터럽트되어도 이미 꺼낸 batch 는 기록한다
+            flush(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * batch 를 Redis 에 기록. 실패하면 backoff 하며 재시도하고, flush-max-attempts 번 실패할 때마다 spool 에 넘겨본다.
+     * 종료 중(running == false)에는 실패하면 바로 spool 로 넘기고, spool 까지 실패한 메시지만 failed 로 센다.
+     */
+    private void flush(List<Pending> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        long backoffMs = flushBackoffMs;
+        for (int attempt = 1; ; attempt++) {
+            try {
+                memberActivityEventDLQRedisService.rPushList(batch.stream().map(Pending::message).toList());
+                batch.forEach(pending -> complete(pending, null));
+                return;
+            } catch (Exception e) {
+                if (attempt == 1) {
+                    log.warn("Failed to write {} messages to member activity DLQ, retrying: {}", batch.size(), e.getMessage());
+                }
+                retried.addAndGet(batch.size());
+                boolean stopping = !running;
+                if (stopping || attempt % flushMaxAttempts == 0) {
+                    spool(batch);
+                    if (batch.isEmpty()) {
+                        return;
+                    }
+                }
+                if (stopping) {
+                    failed.addAndGet(batch.size());
+                    log.error("Lost {} member activity DLQ messages on shutdown, Redis and spool both failed", batch.size(), e);
+                    batch.forEach(pending -> complete(pending, e));
+                    batch.clear();
+                    return;
+                }
+            }
+            sleep(backoffMs);
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    /**
+     * spool 에 기록된 메시지는 batch 에서 제거한다. spool 이 replay 할 때 원래 날짜 토픽으로 재발행된다.
+     */
+    private void spool(List<Pending> batch) {
+        KafkaPublishSpool spool = kafkaPublishSpool.getIfAvailable();
+        if (spool == null) {
+            return;
+        }
+        batch.removeIf(pending -> {
+            MemberActivityTransportDto.MemberActivityEvent event = pending.message().getEvent();
+            LocalDateTime createdAt = event.getCreatedAt() == null ? LocalDateTime.now() : event.getCreatedAt();
+            if (!spool.append(DateBasedTopicType.MEMBER_ACTIVITY.generateTopicName(createdAt), pending.message().getKey(), event)) {
+                return false;
+            }
+            spooled.incrementAndGet();
+            complete(pending, null);
+            return true;
+        });
+        if (!batch.isEmpty()) {
+            log.warn("Could not spool {} member activity DLQ messages, keeping them for retry", batch.size());
+        }
+    }
+
+    private static void complete(Pending pending, Throwable throwable) {
+        if (pending.written() == null) {
+            return;
+        }
+        if (throwable == null) {
+            pending.written().complete(null);
+        } else {
+            pending.written().completeExceptionally(throwable);
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            // shutdown 이 깨운 경우: 다음 실패에서 바로 spool 로 넘긴다
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        if (drainer != null) {
+            drainer.join(TimeUnit.SECONDS.toMillis(10));
+            if (drainer.isAlive()) {
+                // backoff 대기 중이면 깨워서 spool 시도 후 끝내게 한다
+                drainer.interrupt();
+                drainer.join(TimeUnit.SECONDS.toMillis(10));
+            }
+        }
+        // drainer 가 끝난 뒤에도 남은 잔여분은 현재 스레드에서 기록
+        List<Pending> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+    }
+}
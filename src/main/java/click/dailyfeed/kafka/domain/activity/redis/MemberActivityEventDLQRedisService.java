@@ -4,24 +4,46 @@ import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto
 import click.dailyfeed.code.domain.activity.type.MemberActivityType;
 import click.dailyfeed.code.global.cache.RedisKeyPrefix;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisListCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.util.*;
 
+@Slf4j
 @RequiredArgsConstructor
 @Service
 public class MemberActivityEventDLQRedisService {
     @Qualifier("memberActivityTransportDtoRedisTemplate")
     private final RedisTemplate<String, MemberActivityTransportDto.MemberActivityMessage> redisTemplate;
 
+    // MemberActivityType 별 DLQ key 는 고정값이므로 미리 만들어 둔다
+    private final Map<MemberActivityType, String> deadLetterKeys = initDeadLetterKeys("");
+    // 재처리 중인 메시지를 옮겨두는 in-flight 리스트 key (MemberActivityDLQReplayer 리더 한 곳에서만 사용)
+    private final Map<MemberActivityType, String> inFlightKeys = initDeadLetterKeys(":inflight");
+
+    private static Map<MemberActivityType, String> initDeadLetterKeys(String suffix) {
+        Map<MemberActivityType, String> keys = new EnumMap<>(MemberActivityType.class);
+        for (MemberActivityType memberActivityType : MemberActivityType.values()) {
+            keys.put(memberActivityType, RedisKeyPrefix.MEMBER_ACTIVITY_KAFKA_DLQ.getKeyPrefix() + memberActivityType.name() + suffix);
+        }
+        return keys;
+    }
 
     public String deadLetterKey(MemberActivityType memberActivityType) {
-        return new StringBuffer()
-                .append(RedisKeyPrefix.MEMBER_ACTIVITY_KAFKA_DLQ.getKeyPrefix())
-                .append(memberActivityType.name())
-                .toString();
+        return deadLetterKeys.get(memberActivityType);
+    }
+
+    public String inFlightKey(MemberActivityType memberActivityType) {
+        return inFlightKeys.get(memberActivityType);
     }
 
     public void rPush(MemberActivityTransportDto.MemberActivityMessage message) {
@@ -29,10 +51,35 @@ public class MemberActivityEventDLQRedisService {
         redisTemplate.opsForList().rightPush(key, message);
     }
 
+    /**
+     * DLQ key 별로 묶어 key 당 RPUSH 한 번, 전체는 pipeline 한 번으로 전송
+     */
     public void rPushList(List<MemberActivityTransportDto.MemberActivityMessage> messages) {
-        messages.stream().forEach(message -> {
+        if (messages == null || messages.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<MemberActivityTransportDto.MemberActivityMessage>> groupedByKey = new LinkedHashMap<>();
+        for (MemberActivityTransportDto.MemberActivityMessage message : messages) {
             String deadLetterKey = deadLetterKey(message.getEvent().getMemberActivityType());
-            redisTemplate.opsForList().rightPush(deadLetterKey, message);
+            groupedByKey.computeIfAbsent(deadLetterKey, key -> new ArrayList<>()).add(message);
+        }
+
+        if (groupedByKey.size() == 1) {
+            Map.Entry<String, List<MemberActivityTransportDto.MemberActivityMessage>> entry = groupedByKey.entrySet().iterator().next();
+            redisTemplate.opsForList().rightPushAll(entry.getKey(), entry.getValue());
+            return;
+        }
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <K, V> Object execute(RedisOperations<K, V> operations) throws DataAccessException {
+                RedisOperations<String, MemberActivityTransportDto.MemberActivityMessage> listOperations =
+                        (RedisOperations<String, MemberActivityTransportDto.MemberActivityMessage>) operations;
+                groupedByKey.forEach((key, values) -> listOperations.opsForList().rightPushAll(key, values));
+                return null;
+            }
         });
     }
 
@@ -45,6 +92,105 @@ public class MemberActivityEventDLQRedisService {
         return redisTemplate.opsForList().leftPop(key, size);
     }
 
+    /// replay (at-least-once)
+    /**
+     * in-flight 리스트로 옮긴 원소. raw 는 Redis 에 저장된 그대로의 bytes 로, ack/requeue 는 이 값으로 한다.
+     * (message 를 다시 직렬화하면 필드 순서/타입 정보 차이로 원래 bytes 와 달라져 LREM 이 지우지 못할 수 있다)
+     */
+    public record InFlightMessage(byte[] raw, MemberActivityTransportDto.MemberActivityMessage message) {
+    }
+
+    /**
+     * DLQ 앞쪽에서 최대 size 개를 in-flight 리스트 뒤쪽으로 LMOVE (pipeline 한 번)
+     * 전송이 확인되기 전까지 메시지는 in-flight 리스트에 남아 있으므로, 도중에 프로세스가 죽어도 유실되지 않는다.
+     * 역직렬화할 수 없는 원소는 in-flight 에 남겨 두고 건너뛴다 (다음 리더 전환 때 DLQ 로 복구된다).
+     */
+    public List<InFlightMessage> moveToInFlight(MemberActivityType memberActivityType, int size) {
+        byte[] deadLetterKey = rawKey(deadLetterKey(memberActivityType));
+        byte[] inFlightKey = rawKey(inFlightKey(memberActivityType));
+
+        List<Object> moved = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < size; i++) {
+                connection.listCommands().lMove(
+                        deadLetterKey, inFlightKey, RedisListCommands.Direction.LEFT, RedisListCommands.Direction.RIGHT);
+            }
+            return null;
+        }, RedisSerializer.byteArray());
+
+        List<InFlightMessage> messages = new ArrayList<>(moved.size());
+        for (Object element : moved) {
+            if (!(element instanceof byte[] raw)) {
+                continue;
+            }
+            try {
+                MemberActivityTransportDto.MemberActivityMessage message = valueSerializer().deserialize(raw);
+                if (message != null) {
+                    messages.add(new InFlightMessage(raw, message));
+                }
+            } catch (SerializationException e) {
+                log.warn("Skipping undecodable in-flight DLQ message for {}: {}", memberActivityType, e.getMessage());
+            }
+        }
+        return messages;
+    }
+
+    /**
+     * 전송이 확인된 메시지를 in-flight 리스트에서 제거 (읽어온 원래 bytes 로 LREM)
+     */
+    public void ackInFlight(MemberActivityType memberActivityType, List<InFlightMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        byte[] inFlightKey = rawKey(inFlightKey(memberActivityType));
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            messages.forEach(message -> connection.listCommands().lRem(inFlightKey, 1, message.raw()));
+            return null;
+        });
+    }
+
+    /**
+     * 전송에 실패한 메시지를 DLQ 뒤쪽으로 되돌린 뒤 in-flight 에서 제거
+     * 되돌리기를 먼저 하므로 중간에 실패해도 유실 대신 중복이 생긴다.
+     */
+    public void requeueInFlight(MemberActivityType memberActivityType, List<InFlightMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        byte[] deadLetterKey = rawKey(deadLetterKey(memberActivityType));
+        byte[][] raws = messages.stream().map(InFlightMessage::raw).toArray(byte[][]::new);
+        redisTemplate.execute((RedisCallback<Long>) connection -> connection.listCommands().rPush(deadLetterKey, raws));
+        ackInFlight(memberActivityType, messages);
+    }
+
+    @SuppressWarnings("unchecked")
+    private byte[] rawKey(String key) {
+        return ((RedisSerializer<String>) redisTemplate.getKeySerializer()).serialize(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private RedisSerializer<MemberActivityTransportDto.MemberActivityMessage> valueSerializer() {
+        return (RedisSerializer<MemberActivityTransportDto.MemberActivityMessage>) redisTemplate.getValueSerializer();
+    }
+
+    /**
+     * in-flight 리스트에 남아 있는 메시지(이전 재처리 도중 중단된 것)를 전부 DLQ 앞쪽으로 복구
+     */
+    public long restoreInFlight(MemberActivityType memberActivityType) {
+        String deadLetterKey = deadLetterKey(memberActivityType);
+        String inFlightKey = inFlightKey(memberActivityType);
+        long restored = 0;
+        while (redisTemplate.opsForList().move(
+                inFlightKey, RedisListCommands.Direction.RIGHT, deadLetterKey, RedisListCommands.Direction.LEFT) != null) {
+            restored++;
+        }
+        return restored;
+    }
+
+    public long size(MemberActivityType memberActivityType) {
+        Long size = redisTemplate.opsForList().size(deadLetterKey(memberActivityType));
+        return size == null ? 0 : size;
+    }
+
     public void evictAll(MemberActivityTransportDto.MemberActivityMessage memberActivityEvent) {
         redisTemplate.delete(deadLetterKey(memberActivityEvent.getEvent().getMemberActivityType()));
     }
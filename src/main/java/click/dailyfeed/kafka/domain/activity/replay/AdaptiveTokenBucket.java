@@ -0,0 +1,72 @@
+package click.dailyfeed.kafka.domain.activity.replay;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 초당 rate 개의 토큰을 채우는 token bucket
+ * 전송 결과에 따라 rate 를 조정한다 (AIMD: 정상이면 조금씩 증가, 지연/에러가 늘면 절반으로 감소).
+ * 단일 재처리 스레드에서 사용하는 것을 전제로 한다.
+ */
+class AdaptiveTokenBucket {
+    private final double minRate;
+    private final double maxRate;
+    private final double increaseStep;
+
+    private double rate;
+    private double tokens;
+    private long lastRefillNanos;
+
+    AdaptiveTokenBucket(double initialRate, double minRate, double maxRate) {
+        if (minRate <= 0 || maxRate < minRate) {
+            throw new IllegalArgumentException("Token bucket rates must satisfy 0 < minRate <= maxRate: " + minRate + ", " + maxRate);
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.increaseStep = Math.max(1, maxRate / 20);
+        this.rate = Math.min(Math.max(initialRate, minRate), maxRate);
+        this.tokens = capacity();
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * permits 개(버킷 용량을 넘으면 용량만큼)의 토큰이 모일 때까지 대기하고, 실제로 받은 개수를 돌려준다.
+     * rate 가 1 미만이면 용량은 1 이므로 1 개씩 1/rate 초마다 받는다.
+     */
+    int acquire(int permits) throws InterruptedException {
+        permits = Math.max(1, Math.min(permits, (int) capacity()));
+        refill();
+        while (tokens < permits) {
+            double missing = permits - tokens;
+            long waitNanos = (long) (missing / rate * TimeUnit.SECONDS.toNanos(1));
+            TimeUnit.NANOSECONDS.sleep(Math.max(waitNanos, TimeUnit.MILLISECONDS.toNanos(1)));
+            refill();
+        }
+        tokens -= permits;
+        return permits;
+    }
+
+    void onSuccess() {
+        rate = Math.min(maxRate, rate + increaseStep);
+    }
+
+    void onPressure() {
+        rate = Math.max(minRate, rate / 2);
+        tokens = Math.min(tokens, capacity());
+    }
+
+    double getRate() {
+        return rate;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        double elapsedSeconds = (now - lastRefillNanos) / (double) TimeUnit.SECONDS.toNanos(1);
+        // 최대 1초치(최소 1 개)만 쌓이도록 제한해 burst 를 막는다
+        tokens = Math.min(capacity(), tokens + elapsedSeconds * rate);
+        lastRefillNanos = now;
+    }
+
+    private double capacity() {
+        return Math.max(1, rate);
+    }
+}
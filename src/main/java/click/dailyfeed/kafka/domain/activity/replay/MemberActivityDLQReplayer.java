@@ -0,0 +1,243 @@
+package click.dailyfeed.kafka.domain.activity.replay;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import click.dailyfeed.kafka.domain.activity.redis.MemberActivityEventDLQRedisService;
+import click.dailyfeed.kafka.domain.kafka.lock.RedisLeaseLock;
+import click.dailyfeed.kafka.domain.kafka.service.KafkaHelper;
+import click.dailyfeed.kafka.domain.kafka.topic.DateBasedTopicLifecycleManager;
+import click.dailyfeed.kafka.domain.kafka.topic.DateBasedTopicResolver;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Redis DLQ 에 쌓인 member activity 메시지를 원래의 날짜 기반 토픽으로 재발행
+ * - MemberActivityType 별 DLQ 리스트를 chunk 단위로 in-flight 리스트에 LMOVE 한 뒤 전송하고, 전송이 확인된 것만 제거 (at-least-once)
+ * - 여러 pod 중 Redis lock 을 잡은 하나만 재발행한다. in-flight 리스트는 리더만 다루므로,
+ *   리더가 된 직후 남아 있는 메시지(이전 리더가 도중에 중단된 것)를 DLQ 로 복구한다
+ * - token bucket 으로 재발행 속도를 제한하고, 전송 지연이나 에러가 늘면 속도를 절반으로 줄인다
+ * - topic-lifecycle 보존 기간이 지나 만료된 날짜 토픽으로는 보내지 않고 버린다 (없는 토픽의 metadata 대기/자동 생성 방지)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "infrastructure.kafka.dlq.replay.enabled", havingValue = "true")
+public class MemberActivityDLQReplayer {
+    private final MemberActivityEventDLQRedisService memberActivityEventDLQRedisService;
+    private final KafkaHelper kafkaHelper;
+    private final DateBasedTopicResolver dateBasedTopicResolver;
+
+    private static final String LOCK_KEY = "kafka:dlq-replay:leader";
+
+    private final RedisLeaseLock leaseLock;
+    private final Clock kafkaClock;
+
+    private final int chunkSize;
+    private final long intervalMs;
+    private final long latencyThresholdMs;
+    private final long sendTimeoutMs;
+    // topic-lifecycle 이 만료 토픽을 정리하는 경우에만 보존 기간을 적용 (0 이면 적용하지 않음)
+    private final int retentionDays;
+    private final AdaptiveTokenBucket tokenBucket;
+
+    // scheduler 스레드에서만 변경
+    private boolean leader;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "member-activity-dlq-replayer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public MemberActivityDLQReplayer(
+            MemberActivityEventDLQRedisService memberActivityEventDLQRedisService,
+            KafkaHelper kafkaHelper,
+            DateBasedTopicResolver dateBasedTopicResolver,
+            StringRedisTemplate stringRedisTemplate,
+            Clock kafkaClock,
+            @Value("${infrastructure.kafka.dlq.replay.chunk-size:100}") int chunkSize,
+            @Value("${infrastructure.kafka.dlq.replay.interval-ms:5000}") long intervalMs,
+            @Value("${infrastructure.kafka.dlq.replay.initial-rate:200}") double initialRate,
+            @Value("${infrastructure.kafka.dlq.replay.min-rate:10}") double minRate,
+            @Value("${infrastructure.kafka.dlq.replay.max-rate:2000}") double maxRate,
+            @Value("${infrastructure.kafka.dlq.replay.latency-threshold-ms:500}") long latencyThresholdMs,
+            @Value("${infrastructure.kafka.dlq.replay.send-timeout-ms:30000}") long sendTimeoutMs,
+            @Value("${infrastructure.kafka.dlq.replay.lock-ttl-ms:60000}") long lockTtlMs,
+            @Value("${infrastructure.kafka.topic-lifecycle.enabled:false}") boolean topicLifecycleEnabled,
+            @Value("${infrastructure.kafka.topic-lifecycle.expired-action:DELETE}") DateBasedTopicLifecycleManager.ExpiredTopicAction expiredTopicAction,
+            @Value("${infrastructure.kafka.topic-lifecycle.retention-days:7}") int retentionDays
+    ) {
+        this.memberActivityEventDLQRedisService = memberActivityEventDLQRedisService;
+        this.kafkaHelper = kafkaHelper;
+        this.dateBasedTopicResolver = dateBasedTopicResolver;
+        this.kafkaClock = kafkaClock;
+        this.chunkSize = chunkSize;
+        this.intervalMs = intervalMs;
+        this.latencyThresholdMs = latencyThresholdMs;
+        this.sendTimeoutMs = sendTimeoutMs;
+        // 한 chunk 의 전송 대기보다 lock 이 먼저 만료되지 않도록 한다
+        this.leaseLock = new RedisLeaseLock(stringRedisTemplate, LOCK_KEY, Math.max(lockTtlMs, sendTimeoutMs * 2));
+        this.retentionDays = topicLifecycleEnabled && expiredTopicAction == DateBasedTopicLifecycleManager.ExpiredTopicAction.DELETE
+                ? retentionDays : 0;
+        this.tokenBucket = new AdaptiveTokenBucket(initialRate, minRate, maxRate);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::replayIfLeader, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        try {
+            leaseLock.release();
+        } catch (Exception e) {
+            log.warn("Failed to release DLQ replay lock: {}", e.getMessage());
+        }
+    }
+
+    private void replayIfLeader() {
+        try {
+            boolean wasLeader = leader;
+            leader = wasLeader ? leaseLock.renew() : leaseLock.tryAcquire();
+            if (!leader) {
+                if (wasLeader) {
+                    log.warn("Lost DLQ replay lock");
+                }
+                return;
+            }
+            if (!wasLeader) {
+                log.info("Acquired DLQ replay lock");
+                restoreInFlight();
+            }
+        } catch (Exception e) {
+            leader = false;
+            log.error("DLQ replay leader election failed", e);
+            return;
+        }
+        replayAll();
+    }
+
+    private void restoreInFlight() {
+        for (MemberActivityType memberActivityType : MemberActivityType.values()) {
+            try {
+                long restored = memberActivityEventDLQRedisService.restoreInFlight(memberActivityType);
+                if (restored > 0) {
+                    log.info("Restored {} in-flight DLQ messages for {}", restored, memberActivityType);
+                }
+            } catch (Exception e) {
+                log.error("Failed to restore in-flight DLQ messages for {}", memberActivityType, e);
+            }
+        }
+    }
+
+    private void replayAll() {
+        for (MemberActivityType memberActivityType : MemberActivityType.values()) {
+            if (!leader) {
+                return;
+            }
+            try {
+                replay(memberActivityType);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                tokenBucket.onPressure();
+                log.error("DLQ replay failed for {}", memberActivityType, e);
+            }
+        }
+    }
+
+    /**
+     * DLQ 가 비거나 전송 실패가 발생할 때까지 chunk 단위로 재발행
+     */
+    private void replay(MemberActivityType memberActivityType) throws InterruptedException {
+        while (!Thread.currentThread().isInterrupted()) {
+            if (!leaseLock.renew()) {
+                // lock 을 잃었으면 in-flight 는 새 리더가 복구하므로 여기서 멈춘다
+                leader = false;
+                log.warn("Lost DLQ replay lock while replaying {}", memberActivityType);
+                return;
+            }
+            int permits = tokenBucket.acquire(Math.max(1, Math.min(chunkSize, (int) tokenBucket.getRate())));
+
+            List<MemberActivityEventDLQRedisService.InFlightMessage> chunk =
+                    memberActivityEventDLQRedisService.moveToInFlight(memberActivityType, permits);
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            LocalDate cutoff = retentionDays > 0 ? LocalDate.now(kafkaClock).minusDays(retentionDays) : null;
+            long startedAt = System.nanoTime();
+            List<MemberActivityEventDLQRedisService.InFlightMessage> sending = new ArrayList<>(chunk.size());
+            List<MemberActivityEventDLQRedisService.InFlightMessage> expired = new ArrayList<>();
+            List<CompletableFuture<?>> futures = new ArrayList<>(chunk.size());
+            for (MemberActivityEventDLQRedisService.InFlightMessage inFlight : chunk) {
+                MemberActivityTransportDto.MemberActivityMessage message = inFlight.message();
+                LocalDateTime createdAt = message.getEvent().getCreatedAt();
+                if (cutoff != null && createdAt != null && createdAt.toLocalDate().isBefore(cutoff)) {
+                    expired.add(inFlight);
+                    continue;
+                }
+                sending.add(inFlight);
+                futures.add(kafkaHelper.sendAsync(resolveTopicName(message), message.getKey(), message.getEvent()));
+            }
+
+            List<MemberActivityEventDLQRedisService.InFlightMessage> sent = new ArrayList<>(chunk.size());
+            List<MemberActivityEventDLQRedisService.InFlightMessage> failed = new ArrayList<>();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sendTimeoutMs);
+            for (int i = 0; i < sending.size(); i++) {
+                try {
+                    futures.get(i).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                    sent.add(sending.get(i));
+                } catch (ExecutionException | TimeoutException e) {
+                    failed.add(sending.get(i));
+                }
+            }
+            if (!expired.isEmpty()) {
+                // 보존 기간이 지난 날짜의 토픽은 이미 삭제됐으므로 재발행하지 않는다
+                sent.addAll(expired);
+                log.warn("Dropped {} DLQ messages for {} older than {} (topic retention expired)",
+                        expired.size(), memberActivityType, cutoff);
+            }
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+
+            memberActivityEventDLQRedisService.ackInFlight(memberActivityType, sent);
+            memberActivityEventDLQRedisService.requeueInFlight(memberActivityType, failed);
+
+            if (!failed.isEmpty()) {
+                tokenBucket.onPressure();
+                log.warn("DLQ replay for {} stopped: {} of {} sends failed, rate lowered to {}/s",
+                        memberActivityType, failed.size(), chunk.size(), tokenBucket.getRate());
+                return;
+            }
+
+            if (elapsedMs > latencyThresholdMs) {
+                tokenBucket.onPressure();
+            } else {
+                tokenBucket.onSuccess();
+            }
+            log.info("Replayed {} DLQ messages for {} in {} ms", sending.size(), memberActivityType, elapsedMs);
+        }
+    }
+
+    private String resolveTopicName(MemberActivityTransportDto.MemberActivityMessage message) {
+        if (message.getEvent().getCreatedAt() == null) {
+            return dateBasedTopicResolver.resolve(DateBasedTopicType.MEMBER_ACTIVITY, kafkaHelper.currentEpochMillis());
+        }
+        return dateBasedTopicResolver.resolveDateBasedTopicName(DateBasedTopicType.MEMBER_ACTIVITY, message.getEvent().getCreatedAt());
+    }
+}
@@ -0,0 +1,102 @@
+package click.dailyfeed.kafka.domain.activity.table;
+
+import java.util.Arrays;
+
+/**
+ * (firstKey, secondKey, window) 세 long 을 key 로 쓰는 open addressing(linear probing) 해시 인덱스
+ * key 마다 slot 번호를 정해주고, 값은 호출 측이 slot 번호로 자기 primitive 배열(capacity 크기)에 담는다. 박싱 없이 배열만 사용한다.
+ * key 가 둘 이하인 테이블은 남는 자리를 0 으로 둔다. secondKey 의 Long.MIN_VALUE 는 빈 slot 표시라 key 로 쓸 수 없다.
+ * 생성 시 정한 maxEntries(key 수)를 넘으면 새 key 를 받지 않는다(메모리 상한). 스레드 안전하지 않으므로 호출 측에서 동기화한다.
+ */
+public final class LongKeyTable {
+    public static final int FULL = -1;
+
+    // secondKey(postId 등)로 쓰이지 않는 값을 빈 slot 표시로 사용
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    @FunctionalInterface
+    public interface SlotConsumer {
+        void accept(int slot, long firstKey, long secondKey, long window);
+    }
+
+    private final long[] firstKeys;
+    private final long[] secondKeys;
+    private final long[] windows;
+    private final int mask;
+    private final int maxEntries;
+    private int size;
+
+    public LongKeyTable(int maxEntries) {
+        // load factor 0.5 이하로 유지
+        int capacity = Integer.highestOneBit(Math.max(2, maxEntries) * 2 - 1) << 1;
+        this.firstKeys = new long[capacity];
+        this.secondKeys = new long[capacity];
+        this.windows = new long[capacity];
+        this.mask = capacity - 1;
+        this.maxEntries = maxEntries;
+        Arrays.fill(secondKeys, EMPTY);
+    }
+
+    /**
+     * 호출 측 값 배열의 크기 (slot 번호는 0 이상 capacity 미만)
+     */
+    public int capacity() {
+        return secondKeys.length;
+    }
+
+    /**
+     * key 의 slot. 없는 key 면 빈 slot 을 잡아 돌려주고, maxEntries 에 도달해 있으면 FULL
+     * 새로 잡은 slot 의 값은 호출 측이 clear 때 비워둔 초기값 그대로다.
+     */
+    public int slotOf(long firstKey, long secondKey, long window) {
+        int slot = (int) mix(firstKey, secondKey, window) & mask;
+        while (secondKeys[slot] != EMPTY) {
+            if (secondKeys[slot] == secondKey && firstKeys[slot] == firstKey && windows[slot] == window) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size >= maxEntries) {
+            return FULL;
+        }
+        firstKeys[slot] = firstKey;
+        secondKeys[slot] = secondKey;
+        windows[slot] = window;
+        size++;
+        return slot;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isFull() {
+        return size >= maxEntries;
+    }
+
+    /**
+     * 사용 중인 slot 을 slot 번호 순으로 전달
+     */
+    public void forEach(SlotConsumer consumer) {
+        for (int slot = 0; slot < secondKeys.length && size > 0; slot++) {
+            if (secondKeys[slot] != EMPTY) {
+                consumer.accept(slot, firstKeys[slot], secondKeys[slot], windows[slot]);
+            }
+        }
+    }
+
+    /**
+     * key 만 비운다. 값 배열은 호출 측이 비운다
+     */
+    public void clear() {
+        Arrays.fill(secondKeys, EMPTY);
+        size = 0;
+    }
+
+    public static long mix(long firstKey, long secondKey, long window) {
+        long hash = (firstKey * 0x9E3779B97F4A7C15L + secondKey) * 0x9E3779B97F4A7C15L + window;
+        hash = (hash ^ (hash >>> 32)) * 0xD6E8FEB86659FD93L;
+        return hash ^ (hash >>> 32);
+    }
+}
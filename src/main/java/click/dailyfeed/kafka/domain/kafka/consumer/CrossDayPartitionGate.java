@@ -0,0 +1,166 @@
+package click.dailyfeed.kafka.domain.kafka.consumer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.kafka.listener.ConsumerAwareRebalanceListener;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.listener.RecordInterceptor;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 컨테이너 하나의 날짜 토픽 파티션 pause/resume 을 결정
+ * - 만료(active-days 이전 날짜): 항상 pause
+ * - 이전 날짜(어제 등): 그대로 소비하며 lag 을 기록한다 (레코드 처리 후 / idle 이벤트 때 consumer.currentLag)
+ * - 오늘 이후 날짜: 이전 날짜 파티션 중 lag 이 0 이 아닌(모르는 경우 포함) 것이 있으면 pause, 모두 비면 resume
+ * pause/resume 은 컨테이너 API 로 요청만 하고, 실제 반영은 각 consumer 스레드의 다음 poll 에서 이루어진다.
+ */
+@Slf4j
+class CrossDayPartitionGate<V> implements RecordInterceptor<String, V>, ConsumerAwareRebalanceListener {
+    private static final long UNKNOWN_LAG = -1;
+
+    private final CrossDayTopicSubscription subscription;
+    private final MessageListenerContainer container;
+
+    private final Set<TopicPartition> assigned = ConcurrentHashMap.newKeySet();
+    // 이전 날짜 파티션의 마지막으로 확인한 lag
+    private final Map<TopicPartition, Long> olderLags = new ConcurrentHashMap<>();
+
+    // 아래는 evaluate 에서만 변경 (this 로 잠금)
+    private final Set<TopicPartition> paused = new HashSet<>();
+    private long holdStartedAt = -1;
+    // max-hold-ms 초과로 hold 를 푼 날짜 (같은 날에는 다시 hold 하지 않는다)
+    private LocalDate holdReleasedOn;
+
+    CrossDayPartitionGate(CrossDayTopicSubscription subscription, MessageListenerContainer container) {
+        this.subscription = subscription;
+        this.container = container;
+    }
+
+    /// rebalance
+    @Override
+    public void onPartitionsAssigned(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        assigned.addAll(partitions);
+        refreshLags(consumer);
+    }
+
+    @Override
+    public void onPartitionsRevokedAfterCommit(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        forget(partitions);
+    }
+
+    @Override
+    public void onPartitionsLost(Consumer<?, ?> consumer, Collection<TopicPartition> partitions) {
+        forget(partitions);
+    }
+
+    /// record
+    @Override
+    public ConsumerRecord<String, V> intercept(ConsumerRecord<String, V> record, Consumer<String, V> consumer) {
+        return record;
+    }
+
+    @Override
+    public void afterRecord(ConsumerRecord<String, V> record, Consumer<String, V> consumer) {
+        LocalDate date = subscription.dateOf(record.topic());
+        if (date == null || !isOlder(date, subscription.today())) {
+            return;
+        }
+        TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+        long lag = consumer.currentLag(partition).orElse(UNKNOWN_LAG);
+        Long previous = olderLags.put(partition, lag);
+        if (lag == 0 && (previous == null || previous != 0)) {
+            // 이전 날짜 파티션 하나를 다 비웠으면 바로 재평가
+            evaluate();
+        }
+    }
+
+    /**
+     * consumer 에 할당된 이전 날짜 파티션의 lag 갱신 (consumer 스레드에서만 호출)
+     */
+    void refreshLags(Consumer<?, ?> consumer) {
+        LocalDate today = subscription.today();
+        for (TopicPartition partition : consumer.assignment()) {
+            LocalDate date = subscription.dateOf(partition.topic());
+            if (date != null && isOlder(date, today)) {
+                olderLags.put(partition, consumer.currentLag(partition).orElse(UNKNOWN_LAG));
+            }
+        }
+        evaluate();
+    }
+
+    synchronized void evaluate() {
+        LocalDate today = subscription.today();
+        LocalDate oldestActive = today.minusDays(subscription.activeDays() - 1);
+
+        boolean olderPending = false;
+        for (TopicPartition partition : assigned) {
+            LocalDate date = subscription.dateOf(partition.topic());
+            if (date != null && isOlder(date, today)) {
+                Long lag = olderLags.get(partition);
+                if (lag == null || lag != 0) {
+                    olderPending = true;
+                    break;
+                }
+            }
+        }
+
+        boolean hold = olderPending && !today.equals(holdReleasedOn);
+        if (!hold) {
+            holdStartedAt = -1;
+        } else if (holdStartedAt < 0) {
+            holdStartedAt = subscription.currentMillis();
+        } else if (subscription.currentMillis() - holdStartedAt > subscription.maxHoldMs()) {
+            log.warn("Previous day partitions still have lag after {}ms, resuming {} topics", subscription.maxHoldMs(), today);
+            hold = false;
+            holdStartedAt = -1;
+            holdReleasedOn = today;
+        }
+
+        Set<TopicPartition> wanted = new HashSet<>();
+        for (TopicPartition partition : assigned) {
+            LocalDate date = subscription.dateOf(partition.topic());
+            if (date != null && (date.isBefore(oldestActive) || (hold && !date.isBefore(today)))) {
+                wanted.add(partition);
+            }
+        }
+
+        for (TopicPartition partition : wanted) {
+            if (paused.add(partition)) {
+                container.pausePartition(partition);
+                log.info("Paused {}", partition);
+            }
+        }
+        Iterator<TopicPartition> iterator = paused.iterator();
+        while (iterator.hasNext()) {
+            TopicPartition partition = iterator.next();
+            if (!wanted.contains(partition)) {
+                container.resumePartition(partition);
+                iterator.remove();
+                log.info("Resumed {}", partition);
+            }
+        }
+    }
+
+    synchronized int pausedCount() {
+        return paused.size();
+    }
+
+    private void forget(Collection<TopicPartition> partitions) {
+        assigned.removeAll(partitions);
+        olderLags.keySet().removeAll(partitions);
+        evaluate();
+    }
+
+    private boolean isOlder(LocalDate date, LocalDate today) {
+        return date.isBefore(today) && !date.isBefore(today.minusDays(subscription.activeDays() - 1));
+    }
+}
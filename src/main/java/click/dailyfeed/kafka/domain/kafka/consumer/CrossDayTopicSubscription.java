@@ -0,0 +1,188 @@
+package click.dailyfeed.kafka.domain.kafka.consumer;
+
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * 날짜 기반 토픽을 prefix 패턴으로 구독하는 listener 용 지원
+ * - topicPattern(DateBasedTopicType) 으로 {prefix}yyyyMMdd 토픽 전체를 구독하면 날짜가 바뀌어도 토픽명을 알 필요가 없다.
+ * - configure(factory) 로 설정한 컨테이너는 CrossDayPartitionGate 가 파티션을 날짜별로 나눠
+ *   active-days 보다 오래된 날짜 토픽은 pause 하고, 전날 토픽에 lag 이 남아 있으면 오늘 이후 토픽을 pause 해 전날부터 비운다.
+ *   (max-hold-ms 가 지나면 전날 lag 과 무관하게 오늘 토픽을 재개한다)
+ * - 새 날짜 토픽을 빨리 발견하도록 이 factory 의 consumer 는 짧은 metadata.max.age.ms 를 쓴다 (KafkaConfig).
+ * <pre>
+ * &#64;KafkaListener(topicPattern = "#{T(click.dailyfeed.kafka.domain.kafka.consumer.CrossDayTopicSubscription).topicPattern('MEMBER_ACTIVITY')}",
+ *                containerFactory = "memberActivityCrossDayKafkaListenerContainerFactory")
+ * </pre>
+ * CustomErrorHandler 의 retry 토픽을 켰다면 retryTopicPattern 을 retry listener factory 로 함께 구독해 같은 listener 로 다시 처리한다.
+ * <pre>
+ * &#64;KafkaListener(topicPattern = "#{T(click.dailyfeed.kafka.domain.kafka.consumer.CrossDayTopicSubscription).retryTopicPattern('MEMBER_ACTIVITY')}",
+ *                containerFactory = "memberActivityRetryKafkaListenerContainerFactory")
+ * </pre>
+ */
+@Slf4j
+@Component
+public class CrossDayTopicSubscription {
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern DATE_SUFFIX = Pattern.compile("\\d{8}$");
+
+    private final Clock kafkaClock;
+    private final int activeDays;
+    private final long maxHoldMs;
+    private final long checkIntervalMs;
+
+    // 컨테이너(부모) → gate
+    private final Map<MessageListenerContainer, CrossDayPartitionGate<?>> gates = new ConcurrentHashMap<>();
+    // 토픽명 → 날짜 (날짜 토픽이 아니면 Optional.empty)
+    private final Map<String, Optional<LocalDate>> topicDates = new ConcurrentHashMap<>();
+    private volatile LocalDate today;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-cross-day-subscription");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public CrossDayTopicSubscription(
+            Clock kafkaClock,
+            @Value("${infrastructure.kafka.consumer.cross-day.active-days:2}") int activeDays,
+            @Value("${infrastructure.kafka.consumer.cross-day.max-hold-ms:600000}") long maxHoldMs,
+            @Value("${infrastructure.kafka.consumer.cross-day.check-interval-ms:1000}") long checkIntervalMs
+    ) {
+        this.kafkaClock = kafkaClock;
+        this.activeDays = Math.max(1, activeDays);
+        this.maxHoldMs = maxHoldMs;
+        this.checkIntervalMs = checkIntervalMs;
+        this.today = LocalDate.now(kafkaClock);
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::tick, checkIntervalMs, checkIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * {prefix}yyyyMMdd 형태의 토픽 전체와 매칭되는 정규식 (retry 토픽 {prefix}retry-yyyyMMdd 는 포함하지 않는다)
+     */
+    public static String topicPattern(DateBasedTopicType topicType) {
+        return Pattern.quote(topicType.getTopicPrefix()) + "\\d{8}";
+    }
+
+    public static String topicPattern(String topicTypeName) {
+        return topicPattern(DateBasedTopicType.valueOf(topicTypeName));
+    }
+
+    /**
+     * CustomErrorHandler 가 소진된 레코드를 넘기는 {prefix}retry-yyyyMMdd 토픽 전체와 매칭되는 정규식
+     */
+    public static String retryTopicPattern(DateBasedTopicType topicType) {
+        return Pattern.quote(topicType.getTopicPrefix()) + "retry-\\d{8}";
+    }
+
+    public static String retryTopicPattern(String topicTypeName) {
+        return retryTopicPattern(DateBasedTopicType.valueOf(topicTypeName));
+    }
+
+    /**
+     * factory 가 만드는 컨테이너마다 CrossDayPartitionGate 를 rebalance listener / record interceptor 로 붙인다
+     * 레코드가 들어오지 않는 동안에도 lag 을 확인할 수 있도록 check-interval-ms 마다 idle 이벤트를 받는다.
+     */
+    public <V> void configure(ConcurrentKafkaListenerContainerFactory<String, V> factory) {
+        factory.setContainerCustomizer(container -> {
+            CrossDayPartitionGate<V> gate = new CrossDayPartitionGate<>(this, container);
+            container.getContainerProperties().setConsumerRebalanceListener(gate);
+            container.getContainerProperties().setIdleEventInterval(checkIntervalMs);
+            container.setRecordInterceptor(gate);
+            gates.put(container, gate);
+        });
+    }
+
+    /**
+     * idle 이벤트는 consumer 스레드에서 발행되므로 여기서 consumer 의 lag 을 읽는다
+     */
+    @EventListener
+    public void onIdle(ListenerContainerIdleEvent event) {
+        CrossDayPartitionGate<?> gate = gates.get(event.getContainer(MessageListenerContainer.class));
+        if (gate != null && event.getConsumer() != null) {
+            gate.refreshLags(event.getConsumer());
+        }
+    }
+
+    public int getPausedPartitions() {
+        int paused = 0;
+        for (CrossDayPartitionGate<?> gate : gates.values()) {
+            paused += gate.pausedCount();
+        }
+        return paused;
+    }
+
+    LocalDate today() {
+        return today;
+    }
+
+    int activeDays() {
+        return activeDays;
+    }
+
+    long maxHoldMs() {
+        return maxHoldMs;
+    }
+
+    long currentMillis() {
+        return kafkaClock.millis();
+    }
+
+    /**
+     * 토픽명 끝의 yyyyMMdd 를 날짜로. 날짜 토픽이 아니면 null
+     */
+    LocalDate dateOf(String topic) {
+        return topicDates.computeIfAbsent(topic, name -> {
+            if (!DATE_SUFFIX.matcher(name).find()) {
+                return Optional.empty();
+            }
+            try {
+                return Optional.of(LocalDate.parse(name.substring(name.length() - 8), DATE_FORMATTER));
+            } catch (DateTimeParseException e) {
+                return Optional.empty();
+            }
+        }).orElse(null);
+    }
+
+    private void tick() {
+        try {
+            LocalDate now = LocalDate.now(kafkaClock);
+            if (!now.equals(today)) {
+                log.info("Cross-day subscription moved to {}", now);
+                today = now;
+            }
+            gates.values().forEach(CrossDayPartitionGate::evaluate);
+        } catch (Exception e) {
+            log.warn("Cross-day subscription check failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package click.dailyfeed.kafka.domain.kafka.consumer;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 하나의 poll 결과를 메시지 key 기준으로 worker lane 에 나눠 병렬 처리
+ * - 같은 key 는 항상 같은 lane(단일 스레드)으로 가므로 key 단위 순서가 유지된다.
+ * - 파티션별로 "연속으로 처리 완료된 가장 높은 offset" 까지만 커밋하고, 그 다음 offset 으로 seek 해 나머지를 재수신한다.
+ * - 같은 batch 에서 어떤 key 의 처리가 실패하면 그 key 의 이후 레코드는 처리하지 않고 재수신 대상으로 남긴다.
+ * - batch 가 batch-timeout-ms 안에 끝나지 않으면 남은 task 를 취소하고 실행 중인 task 를 drain 한 뒤에 seek 한다.
+ *
+ * memberActivityParallelKafkaListenerContainerFactory 와 함께 사용한다.
+ * <pre>
+ * &#64;KafkaListener(topics = "...", containerFactory = "memberActivityParallelKafkaListenerContainerFactory")
+ * public void onMessages(List&lt;ConsumerRecord&lt;String, MemberActivityEvent&gt;&gt; records, Consumer&lt;?, ?&gt; consumer) {
+ *     keyOrderedParallelProcessor.process(records, consumer, record -&gt; handle(record.value()));
+ * }
+ * </pre>
+ */
+@Slf4j
+@Component
+public class KeyOrderedParallelProcessor {
+    private final ExecutorService[] lanes;
+    private final long batchTimeoutMs;
+    private final long drainTimeoutMs;
+    private final KafkaSupportMetrics kafkaSupportMetrics;
+
+    public KeyOrderedParallelProcessor(
+            KafkaSupportMetrics kafkaSupportMetrics,
+            @Value("${infrastructure.kafka.consumer.parallel.lanes:0}") int lanes,
+            @Value("${infrastructure.kafka.consumer.parallel.batch-timeout-ms:240000}") long batchTimeoutMs,
+            @Value("${infrastructure.kafka.consumer.parallel.drain-timeout-ms:20000}") long drainTimeoutMs
+    ) {
+        int laneCount = lanes > 0 ? lanes : Runtime.getRuntime().availableProcessors() * 2;
+        this.lanes = new ExecutorService[laneCount];
+        AtomicInteger sequence = new AtomicInteger();
+        for (int i = 0; i < laneCount; i++) {
+            this.lanes[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "kafka-parallel-lane-" + sequence.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        this.batchTimeoutMs = batchTimeoutMs;
+        this.drainTimeoutMs = drainTimeoutMs;
+        this.kafkaSupportMetrics = kafkaSupportMetrics;
+    }
+
+    @FunctionalInterface
+    public interface RecordHandler<K, V> {
+        void handle(ConsumerRecord<K, V> record) throws Exception;
+    }
+
+    /**
+     * batch 를 병렬 처리한 뒤 파티션별로 연속 완료 지점까지 커밋하고, 미완료 지점으로 seek 한다.
+     * listener(consumer) 스레드에서 호출해야 한다.
+     */
+    public <K, V> void process(List<ConsumerRecord<K, V>> records, Consumer<?, ?> consumer, RecordHandler<K, V> handler) {
+        if (records.isEmpty()) {
+            return;
+        }
+
+        int size = records.size();
+        AtomicIntegerArray completed = new AtomicIntegerArray(size);
+        AtomicReferenceArray<Thread> runners = new AtomicReferenceArray<>(size);
+        Set<Object> failedKeys = ConcurrentHashMap.newKeySet();
+        AtomicBoolean cancelled = new AtomicBoolean();
+        // 실행했든 건너뛰었든 lane 에서 task 가 끝나면 count down
+        CountDownLatch exited = new CountDownLatch(size);
+
+        for (int i = 0; i < size; i++) {
+            final int index = i;
+            ConsumerRecord<K, V> record = records.get(i);
+            Object orderingKey = orderingKey(record);
+            lanes[Math.floorMod(orderingKey.hashCode(), lanes.length)].execute(() -> {
+                // 이전 batch 의 drain 중 받은 interrupt 가 남아 있으면 지운다
+                Thread.interrupted();
+                try {
+                    if (cancelled.get() || failedKeys.contains(orderingKey)) {
+                        // batch 가 타임아웃으로 취소됐거나, 같은 key 의 앞선 레코드가 실패했으므로 순서 보장을 위해 건너뛴다
+                        return;
+                    }
+                    runners.set(index, Thread.currentThread());
+                    long startedAt = System.nanoTime();
+                    try {
+                        handler.handle(record);
+                        completed.set(index, 1);
+                        kafkaSupportMetrics.recordProcessing(activityTypeOf(record), System.nanoTime() - startedAt);
+                    } catch (Exception e) {
+                        failedKeys.add(orderingKey);
+                        log.error("Failed to process record topic: {}, partition: {}, offset: {}",
+                                record.topic(), record.partition(), record.offset(), e);
+                    } finally {
+                        runners.set(index, null);
+                    }
+                } finally {
+                    exited.countDown();
+                }
+            });
+        }
+
+        try {
+            if (!exited.await(batchTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Parallel batch did not finish within {} ms, cancelling queued records", batchTimeoutMs);
+                cancelAndDrain(cancelled, exited, runners);
+            }
+        } catch (InterruptedException e) {
+            cancelled.set(true);
+            Thread.currentThread().interrupt();
+        }
+
+        commitContiguous(records, completed, consumer);
+    }
+
+    /**
+     * seek 으로 재수신하기 전에 이 batch 의 task 가 lane 에서 더 실행되지 않도록 한다.
+     * 대기 중인 task 는 cancelled 를 보고 바로 끝나고, 실행 중인 task 는 drain-timeout-ms 동안 기다린 뒤 interrupt 한다.
+     * 그래도 끝나지 않은 task 의 레코드는 미완료로 보고 재수신되므로, 그 key 는 한 번 더 처리될 수 있다.
+     */
+    private void cancelAndDrain(AtomicBoolean cancelled, CountDownLatch exited,
+                                AtomicReferenceArray<Thread> runners) throws InterruptedException {
+        cancelled.set(true);
+        if (exited.await(drainTimeoutMs, TimeUnit.MILLISECONDS)) {
+            return;
+        }
+
+        for (int i = 0; i < runners.length(); i++) {
+            Thread runner = runners.get(i);
+            if (runner != null) {
+                runner.interrupt();
+            }
+        }
+        if (!exited.await(drainTimeoutMs, TimeUnit.MILLISECONDS)) {
+            log.error("{} parallel tasks still running after interrupt, their records will be redelivered", exited.getCount());
+        }
+    }
+
+    private <K, V> void commitContiguous(List<ConsumerRecord<K, V>> records, AtomicIntegerArray completed,
+                                         Consumer<?, ?> consumer) {
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        Map<TopicPartition, Long> seeks = new HashMap<>();
+
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<K, V> record = records.get(i);
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            if (seeks.containsKey(partition)) {
+                continue;
+            }
+            if (completed.get(i) == 1) {
+                commits.put(partition, new OffsetAndMetadata(record.offset() + 1));
+            } else {
+                seeks.put(partition, record.offset());
+            }
+        }
+
+        if (!commits.isEmpty()) {
+            long startedAt = System.nanoTime();
+            consumer.commitSync(commits);
+            kafkaSupportMetrics.recordCommit(System.nanoTime() - startedAt);
+        }
+        seeks.forEach(consumer::seek);
+        if (!seeks.isEmpty()) {
+            log.info("Re-seeking partitions with incomplete records: {}", seeks);
+        }
+    }
+
+    private MemberActivityType activityTypeOf(ConsumerRecord<?, ?> record) {
+        return record.value() instanceof MemberActivityTransportDto.MemberActivityEvent event ? event.getMemberActivityType() : null;
+    }
+
+    private Object orderingKey(ConsumerRecord<?, ?> record) {
+        // key 가 없는 레코드는 파티션 단위로 순서를 유지
+        return record.key() != null ? record.key() : new TopicPartition(record.topic(), record.partition());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+}
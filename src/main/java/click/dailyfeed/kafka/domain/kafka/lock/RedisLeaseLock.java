@@ -0,0 +1,61 @@
+package click.dailyfeed.kafka.domain.kafka.lock;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 여러 pod 중 하나만 작업하도록 하는 Redis lease lock (SET NX PX + 소유자 확인 후 갱신/해제)
+ * 값은 인스턴스마다 고유한 id 이며, 갱신/해제는 Lua 로 값이 자기 것일 때만 수행해 다른 인스턴스의 lock 을 건드리지 않는다.
+ * TTL 안에 renew 하지 못하면(프로세스 중단, GC 등) 만료되어 다른 인스턴스가 이어받는다.
+ */
+public class RedisLeaseLock {
+    private static final DefaultRedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('pexpire', KEYS[1], ARGV[2]) else return 0 end",
+            Long.class
+    );
+    private static final DefaultRedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('get', KEYS[1]) == ARGV[1] then return redis.call('del', KEYS[1]) else return 0 end",
+            Long.class
+    );
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final String key;
+    private final long ttlMs;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    public RedisLeaseLock(StringRedisTemplate stringRedisTemplate, String key, long ttlMs) {
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.key = key;
+        this.ttlMs = ttlMs;
+    }
+
+    /**
+     * lock 이 비어 있으면 잡는다
+     */
+    public boolean tryAcquire() {
+        return Boolean.TRUE.equals(stringRedisTemplate.opsForValue().setIfAbsent(key, instanceId, Duration.ofMillis(ttlMs)));
+    }
+
+    /**
+     * lock 이 아직 이 인스턴스 것이면 TTL 을 다시 늘린다. 이미 잃었으면 false
+     */
+    public boolean renew() {
+        Long renewed = stringRedisTemplate.execute(RENEW_SCRIPT, List.of(key), instanceId, String.valueOf(ttlMs));
+        return renewed != null && renewed == 1;
+    }
+
+    /**
+     * lock 이 이 인스턴스 것일 때만 해제
+     */
+    public void release() {
+        stringRedisTemplate.execute(RELEASE_SCRIPT, List.of(key), instanceId);
+    }
+
+    public String getKey() {
+        return key;
+    }
+}
@@ -0,0 +1,330 @@
+package click.dailyfeed.kafka.domain.kafka.metrics;
+
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.kafka.config.MemberIdPartitionSkewReport;
+import click.dailyfeed.kafka.domain.activity.aggregate.PostReadAggregator;
+import click.dailyfeed.kafka.domain.activity.counter.MemberActivityCounterEngine;
+import click.dailyfeed.kafka.domain.activity.outbox.MemberActivityOutbox;
+import click.dailyfeed.kafka.domain.activity.outbox.MemberActivityOutboxRelay;
+import click.dailyfeed.kafka.domain.activity.publisher.MemberActivityPublishQueue;
+import click.dailyfeed.kafka.domain.activity.redis.DailySegmentedBloomFilter;
+import click.dailyfeed.kafka.domain.activity.redis.KafkaMessageKeyDeduplicator;
+import click.dailyfeed.kafka.domain.activity.redis.KafkaMessageKeyMemberActivityRedisService;
+import click.dailyfeed.kafka.domain.activity.redis.MemberActivityEventDLQBuffer;
+import click.dailyfeed.kafka.domain.activity.redis.MemberActivityEventDLQRedisService;
+import click.dailyfeed.kafka.domain.kafka.consumer.CrossDayTopicSubscription;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpool;
+import click.dailyfeed.kafka.domain.kafka.topic.DateBasedTopicRolloverCoordinator;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationContext;
+import org.springframework.kafka.core.*;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 모듈 내 컴포넌트들의 상태를 Micrometer 에 연결
+ * - producer/consumer factory 에 Kafka client metric(consumer lag per topic-partition, commit latency, buffer 사용량 등) 바인딩
+ * - MemberActivityType 별 DLQ 깊이 (주기적으로 LLEN 조회한 값을 캐시)
+ * - dedup near-cache / bloom filter 적중률, DLQ buffer, 자정 rollover 지연
+ */
+@Slf4j
+@Component
+public class KafkaSupportMeterBinder implements SmartInitializingSingleton {
+    private final KafkaSupportMetrics kafkaSupportMetrics;
+    private final ApplicationContext applicationContext;
+    private final MemberActivityEventDLQRedisService memberActivityEventDLQRedisService;
+    private final ObjectProvider<MemberActivityEventDLQBuffer> memberActivityEventDLQBuffer;
+    private final ObjectProvider<KafkaMessageKeyDeduplicator> kafkaMessageKeyDeduplicator;
+    private final ObjectProvider<KafkaMessageKeyMemberActivityRedisService> kafkaMessageKeyMemberActivityRedisService;
+    private final ObjectProvider<DailySegmentedBloomFilter> dailySegmentedBloomFilter;
+    private final ObjectProvider<DateBasedTopicRolloverCoordinator> dateBasedTopicRolloverCoordinator;
+    private final ObjectProvider<MemberActivityPublishQueue> memberActivityPublishQueue;
+    private final ObjectProvider<KafkaPublishSpool> kafkaPublishSpool;
+    private final ObjectProvider<PostReadAggregator> postReadAggregator;
+    private final ObjectProvider<MemberIdPartitionSkewReport> memberIdPartitionSkewReport;
+    private final ObjectProvider<MemberActivityOutbox> memberActivityOutbox;
+    private final ObjectProvider<MemberActivityOutboxRelay> memberActivityOutboxRelay;
+    private final ObjectProvider<CrossDayTopicSubscription> crossDayTopicSubscription;
+    private final ObjectProvider<MemberActivityCounterEngine> memberActivityCounterEngine;
+    private final long dlqDepthRefreshMs;
+
+    private final EnumMap<MemberActivityType, AtomicLong> dlqDepths = new EnumMap<>(MemberActivityType.class);
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-support-meter-binder");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public KafkaSupportMeterBinder(
+            KafkaSupportMetrics kafkaSupportMetrics,
+            ApplicationContext applicationContext,
+            MemberActivityEventDLQRedisService memberActivityEventDLQRedisService,
+            ObjectProvider<MemberActivityEventDLQBuffer> memberActivityEventDLQBuffer,
+            ObjectProvider<KafkaMessageKeyDeduplicator> kafkaMessageKeyDeduplicator,
+            ObjectProvider<KafkaMessageKeyMemberActivityRedisService> kafkaMessageKeyMemberActivityRedisService,
+            ObjectProvider<DailySegmentedBloomFilter> dailySegmentedBloomFilter,
+            ObjectProvider<DateBasedTopicRolloverCoordinator> dateBasedTopicRolloverCoordinator,
+            ObjectProvider<MemberActivityPublishQueue> memberActivityPublishQueue,
+            ObjectProvider<KafkaPublishSpool> kafkaPublishSpool,
+            ObjectProvider<PostReadAggregator> postReadAggregator,
+            ObjectProvider<MemberIdPartitionSkewReport> memberIdPartitionSkewReport,
+            ObjectProvider<MemberActivityOutbox> memberActivityOutbox,
+            ObjectProvider<MemberActivityOutboxRelay> memberActivityOutboxRelay,
+            ObjectProvider<CrossDayTopicSubscription> crossDayTopicSubscription,
+            ObjectProvider<MemberActivityCounterEngine> memberActivityCounterEngine,
+            @Value("${infrastructure.kafka.metrics.dlq-depth-refresh-ms:30000}") long dlqDepthRefreshMs
+    ) {
+        this.kafkaSupportMetrics = kafkaSupportMetrics;
+        this.applicationContext = applicationContext;
+        this.memberActivityEventDLQRedisService = memberActivityEventDLQRedisService;
+        this.memberActivityEventDLQBuffer = memberActivityEventDLQBuffer;
+        this.kafkaMessageKeyDeduplicator = kafkaMessageKeyDeduplicator;
+        this.kafkaMessageKeyMemberActivityRedisService = kafkaMessageKeyMemberActivityRedisService;
+        this.dailySegmentedBloomFilter = dailySegmentedBloomFilter;
+        this.dateBasedTopicRolloverCoordinator = dateBasedTopicRolloverCoordinator;
+        this.memberActivityPublishQueue = memberActivityPublishQueue;
+        this.kafkaPublishSpool = kafkaPublishSpool;
+        this.postReadAggregator = postReadAggregator;
+        this.memberIdPartitionSkewReport = memberIdPartitionSkewReport;
+        this.memberActivityOutbox = memberActivityOutbox;
+        this.memberActivityOutboxRelay = memberActivityOutboxRelay;
+        this.crossDayTopicSubscription = crossDayTopicSubscription;
+        this.memberActivityCounterEngine = memberActivityCounterEngine;
+        this.dlqDepthRefreshMs = dlqDepthRefreshMs;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        MeterRegistry meterRegistry = kafkaSupportMetrics.meterRegistry();
+        bindKafkaClients(meterRegistry);
+        bindDeadLetterQueue(meterRegistry);
+        bindDeduplication(meterRegistry);
+        bindPublishQueue(meterRegistry);
+        bindSpool(meterRegistry);
+        bindReadAggregation(meterRegistry);
+        bindOutbox(meterRegistry);
+        bindActivityCounter(meterRegistry);
+        memberIdPartitionSkewReport.ifAvailable(report -> {
+            Gauge.builder("dailyfeed.kafka.partitioner.skew", report, MemberIdPartitionSkewReport::maxSkew)
+                    .description("max / mean 파티션 배정 건수 (추적 중인 토픽 중 최대)")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.partitioner.hot-spreads", report, MemberIdPartitionSkewReport::getHotSpreads)
+                    .register(meterRegistry);
+        });
+        crossDayTopicSubscription.ifAvailable(subscription ->
+                Gauge.builder("dailyfeed.kafka.consumer.cross-day.paused-partitions", subscription, CrossDayTopicSubscription::getPausedPartitions)
+                        .description("만료되었거나 전날 토픽을 비우는 동안 pause 한 날짜 토픽 파티션 수")
+                        .register(meterRegistry));
+        dateBasedTopicRolloverCoordinator.ifAvailable(coordinator -> {
+            Gauge.builder("dailyfeed.kafka.topic.rollover.warmup", coordinator, DateBasedTopicRolloverCoordinator::getLastWarmupMillis)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+            Gauge.builder("dailyfeed.kafka.topic.rollover.latency", coordinator, DateBasedTopicRolloverCoordinator::getLastRolloverLatencyMillis)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private void bindKafkaClients(MeterRegistry meterRegistry) {
+        // producer/consumer 는 첫 사용 시점에 생성되므로, 그 전에 listener 를 붙여두면 client metric 이 자동 등록된다
+        applicationContext.getBeansOfType(ProducerFactory.class).forEach((beanName, producerFactory) -> {
+            if (producerFactory instanceof DefaultKafkaProducerFactory defaultKafkaProducerFactory) {
+                defaultKafkaProducerFactory.addListener(
+                        new MicrometerProducerListener<>(meterRegistry, List.of(Tag.of("factory", beanName))));
+            }
+        });
+        applicationContext.getBeansOfType(ConsumerFactory.class).forEach((beanName, consumerFactory) -> {
+            if (consumerFactory instanceof DefaultKafkaConsumerFactory defaultKafkaConsumerFactory) {
+                defaultKafkaConsumerFactory.addListener(
+                        new MicrometerConsumerListener<>(meterRegistry, List.of(Tag.of("factory", beanName))));
+            }
+        });
+    }
+
+    private void bindDeadLetterQueue(MeterRegistry meterRegistry) {
+        for (MemberActivityType activityType : MemberActivityType.values()) {
+            AtomicLong depth = new AtomicLong();
+            dlqDepths.put(activityType, depth);
+            Gauge.builder("dailyfeed.kafka.dlq.depth", depth, AtomicLong::get)
+                    .tag("activity.type", activityType.name())
+                    .register(meterRegistry);
+        }
+        scheduler.scheduleWithFixedDelay(this::refreshDlqDepths, 0, dlqDepthRefreshMs, TimeUnit.MILLISECONDS);
+
+        memberActivityEventDLQBuffer.ifAvailable(buffer -> {
+            Gauge.builder("dailyfeed.kafka.dlq.buffer.size", buffer, MemberActivityEventDLQBuffer::size)
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.dlq.buffer.dropped", buffer, MemberActivityEventDLQBuffer::getDropped)
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.dlq.buffer.retried", buffer, MemberActivityEventDLQBuffer::getRetried)
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.dlq.buffer.spooled", buffer, MemberActivityEventDLQBuffer::getSpooled)
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.dlq.buffer.failed", buffer, MemberActivityEventDLQBuffer::getFailed)
+                    .register(meterRegistry);
+        });
+    }
+
+    private void refreshDlqDepths() {
+        dlqDepths.forEach((activityType, depth) -> {
+            try {
+                depth.set(memberActivityEventDLQRedisService.size(activityType));
+            } catch (Exception e) {
+                log.debug("Failed to read DLQ depth for {}: {}", activityType, e.getMessage());
+            }
+        });
+    }
+
+    private void bindPublishQueue(MeterRegistry meterRegistry) {
+        memberActivityPublishQueue.ifAvailable(publishQueue -> {
+            for (MemberActivityPublishQueue.Priority priority : MemberActivityPublishQueue.Priority.values()) {
+                Gauge.builder("dailyfeed.kafka.publish-queue.depth", publishQueue, queue -> queue.depth(priority))
+                        .tag("priority", priority.name())
+                        .register(meterRegistry);
+            }
+            for (MemberActivityType activityType : MemberActivityType.values()) {
+                FunctionCounter.builder("dailyfeed.kafka.publish-queue.shed", publishQueue, queue -> queue.getShed(activityType))
+                        .tag("activity.type", activityType.name())
+                        .register(meterRegistry);
+                FunctionCounter.builder("dailyfeed.kafka.publish-queue.spilled", publishQueue, queue -> queue.getSpilled(activityType))
+                        .tag("activity.type", activityType.name())
+                        .register(meterRegistry);
+            }
+            FunctionCounter.builder("dailyfeed.kafka.publish-queue.lost", publishQueue, MemberActivityPublishQueue::getLost)
+                    .register(meterRegistry);
+        });
+    }
+
+    private void bindSpool(MeterRegistry meterRegistry) {
+        kafkaPublishSpool.ifAvailable(spool -> {
+            Gauge.builder("dailyfeed.kafka.spool.segments", spool, KafkaPublishSpool::pendingSegments)
+                    .register(meterRegistry);
+            Gauge.builder("dailyfeed.kafka.spool.disk-usage", spool, KafkaPublishSpool::diskUsageBytes)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.spool.records", spool, KafkaPublishSpool::getSpooled)
+                    .tag("result", "spooled")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.spool.records", spool, KafkaPublishSpool::getReplayed)
+                    .tag("result", "replayed")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.spool.records", spool, KafkaPublishSpool::getRejected)
+                    .tag("result", "rejected")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.spool.records", spool, KafkaPublishSpool::getDiscarded)
+                    .tag("result", "discarded")
+                    .register(meterRegistry);
+        });
+    }
+
+    private void bindReadAggregation(MeterRegistry meterRegistry) {
+        postReadAggregator.ifAvailable(aggregator -> {
+            Gauge.builder("dailyfeed.kafka.read-aggregation.pending", aggregator, PostReadAggregator::pendingEntries)
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.read-aggregation.reads", aggregator, PostReadAggregator::getAggregatedReads)
+                    .tag("result", "aggregated")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.read-aggregation.reads", aggregator, PostReadAggregator::getOverflowReads)
+                    .tag("result", "overflow")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.read-aggregation.aggregates", aggregator, PostReadAggregator::getPublishedAggregates)
+                    .tag("result", "published")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.read-aggregation.aggregates", aggregator, PostReadAggregator::getRequeuedAggregates)
+                    .tag("result", "requeued")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.read-aggregation.aggregates", aggregator, PostReadAggregator::getSpooledAggregates)
+                    .tag("result", "spooled")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.read-aggregation.aggregates", aggregator, PostReadAggregator::getFailedAggregates)
+                    .tag("result", "failed")
+                    .register(meterRegistry);
+        });
+    }
+
+    private void bindOutbox(MeterRegistry meterRegistry) {
+        memberActivityOutbox.ifAvailable(outbox ->
+                Gauge.builder("dailyfeed.kafka.outbox.size", outbox, MemberActivityOutbox::size)
+                        .register(meterRegistry));
+        memberActivityOutboxRelay.ifAvailable(relay -> {
+            Gauge.builder("dailyfeed.kafka.outbox.watermark", relay, MemberActivityOutboxRelay::getWatermark)
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.outbox.relayed", relay, MemberActivityOutboxRelay::getRelayed)
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.outbox.failed-transactions", relay, MemberActivityOutboxRelay::getFailedTransactions)
+                    .register(meterRegistry);
+        });
+    }
+
+    private void bindActivityCounter(MeterRegistry meterRegistry) {
+        memberActivityCounterEngine.ifAvailable(engine -> {
+            Gauge.builder("dailyfeed.kafka.activity-counter.pending", engine, MemberActivityCounterEngine::pendingEntries)
+                    .description("flush 대기 중인 게시글 수")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.activity-counter.events", engine, MemberActivityCounterEngine::getCountedEvents)
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.activity-counter.redis-commands", engine, MemberActivityCounterEngine::getRedisCommands)
+                    .description("flush 로 보낸 HINCRBY/INCRBY/HMSET 수 (events 대비 비율이 batching 효과)")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.activity-counter.flushes", engine, MemberActivityCounterEngine::getFlushes)
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.activity-counter.failed-flushes", engine, MemberActivityCounterEngine::getFailedFlushes)
+                    .register(meterRegistry);
+        });
+    }
+
+    private void bindDeduplication(MeterRegistry meterRegistry) {
+        kafkaMessageKeyDeduplicator.ifAvailable(deduplicator -> {
+            FunctionCounter.builder("dailyfeed.kafka.dedup.near-cache", deduplicator, KafkaMessageKeyDeduplicator::getNearCacheHits)
+                    .tag("result", "hit")
+                    .register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.dedup.near-cache", deduplicator, KafkaMessageKeyDeduplicator::getNearCacheMisses)
+                    .tag("result", "miss")
+                    .register(meterRegistry);
+            Gauge.builder("dailyfeed.kafka.dedup.near-cache.hit-ratio", deduplicator, d -> {
+                long total = d.getNearCacheHits() + d.getNearCacheMisses();
+                return total == 0 ? 0 : (double) d.getNearCacheHits() / total;
+            }).description("near-cache 조회 중 적중 비율 (Redis 에서 판정한 중복은 포함하지 않음)").register(meterRegistry);
+            FunctionCounter.builder("dailyfeed.kafka.dedup.redis-duplicates", deduplicator, KafkaMessageKeyDeduplicator::getRedisDuplicates)
+                    .description("near-cache 에 없었지만 Redis SET NX 가 false 라 중복으로 판정한 key 수")
+                    .register(meterRegistry);
+            Gauge.builder("dailyfeed.kafka.dedup.hit-ratio", deduplicator, d -> {
+                long checked = d.getChecked();
+                return checked == 0 ? 0 : (double) d.getDuplicates() / checked;
+            }).description("검사한 key 중 중복으로 판정한 비율 (batch 내 중복 + near-cache + Redis)").register(meterRegistry);
+        });
+        kafkaMessageKeyMemberActivityRedisService.ifAvailable(service -> {
+            FunctionCounter.builder("dailyfeed.kafka.dedup.bloom.skipped-lookups", service, KafkaMessageKeyMemberActivityRedisService::getSkippedLookups)
+                    .register(meterRegistry);
+            Gauge.builder("dailyfeed.kafka.dedup.bloom.warm", service, s -> s.isBloomWarm() ? 1 : 0)
+                    .register(meterRegistry);
+        });
+        dailySegmentedBloomFilter.ifAvailable(bloomFilter -> {
+            Gauge.builder("dailyfeed.kafka.dedup.bloom.false-positive-rate", bloomFilter, DailySegmentedBloomFilter::expectedFalsePositiveRate)
+                    .register(meterRegistry);
+            Gauge.builder("dailyfeed.kafka.dedup.bloom.memory", bloomFilter, DailySegmentedBloomFilter::memoryBytes)
+                    .baseUnit("bytes")
+                    .register(meterRegistry);
+        });
+    }
+}
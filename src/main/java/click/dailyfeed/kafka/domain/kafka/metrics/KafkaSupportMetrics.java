@@ -0,0 +1,165 @@
+package click.dailyfeed.kafka.domain.kafka.metrics;
+
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import io.micrometer.core.instrument.*;
+import org.apache.kafka.clients.producer.BufferExhaustedException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * kafka support 모듈 공용 Micrometer meter
+ * 태그 조합(토픽 타입 × 활동 타입)별 meter 는 생성 시점에 모두 만들어 두고 EnumMap 으로 조회하므로,
+ * 발행/처리 경로에서는 Tag 배열이나 meter 조회용 객체를 만들지 않는다.
+ * MeterRegistry 빈이 없으면(actuator 미사용) 전역 registry 에 등록한다.
+ * 발행 지연의 percentile histogram 은 태그 없는 집계 timer(publish.latency.histogram) 하나에만 켠다.
+ * 태그별 timer 에도 켜면 bucket 시계열이 토픽 타입 × 활동 타입 배수로 늘어나므로, 태그별로는 count/sum/max 만 남긴다.
+ */
+@Component
+public class KafkaSupportMetrics {
+    private static final int MAX_CAUSE_DEPTH = 8;
+
+    private final MeterRegistry meterRegistry;
+
+    private final EnumMap<DateBasedTopicType, EnumMap<MemberActivityType, Timer>> publishTimers = new EnumMap<>(DateBasedTopicType.class);
+    private final EnumMap<DateBasedTopicType, EnumMap<MemberActivityType, Counter>> publishFailures = new EnumMap<>(DateBasedTopicType.class);
+    private final EnumMap<MemberActivityType, Timer> processingTimers = new EnumMap<>(MemberActivityType.class);
+    private final Timer untypedProcessingTimer;
+    private final Timer untypedPublishTimer;
+    private final Timer publishHistogram;
+    private final Counter untypedPublishFailures;
+    private final Counter bufferExhaustedErrors;
+    private final Counter timeoutErrors;
+    private final Counter otherErrors;
+    private final Timer commitTimer;
+    private final AtomicInteger inFlightSends = new AtomicInteger();
+
+    public KafkaSupportMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry.getIfAvailable(() -> Metrics.globalRegistry);
+
+        for (DateBasedTopicType topicType : DateBasedTopicType.values()) {
+            EnumMap<MemberActivityType, Timer> timers = new EnumMap<>(MemberActivityType.class);
+            EnumMap<MemberActivityType, Counter> failures = new EnumMap<>(MemberActivityType.class);
+            for (MemberActivityType activityType : MemberActivityType.values()) {
+                Tags tags = Tags.of("topic.type", topicType.name(), "activity.type", activityType.name());
+                timers.put(activityType, Timer.builder("dailyfeed.kafka.publish.latency")
+                        .description("broker ack 까지의 발행 지연")
+                        .tags(tags)
+                        .register(this.meterRegistry));
+                failures.put(activityType, Counter.builder("dailyfeed.kafka.publish.failures")
+                        .tags(tags)
+                        .register(this.meterRegistry));
+            }
+            publishTimers.put(topicType, timers);
+            publishFailures.put(topicType, failures);
+        }
+        // KafkaHelper.send / sendPlain 처럼 토픽/활동 타입을 모르는 발행
+        Tags untypedTags = Tags.of("topic.type", "none", "activity.type", "none");
+        this.untypedPublishTimer = Timer.builder("dailyfeed.kafka.publish.latency")
+                .description("broker ack 까지의 발행 지연")
+                .tags(untypedTags)
+                .register(this.meterRegistry);
+        this.publishHistogram = Timer.builder("dailyfeed.kafka.publish.latency.histogram")
+                .description("broker ack 까지의 발행 지연 (전체 발행 집계, percentile histogram)")
+                .publishPercentileHistogram()
+                .register(this.meterRegistry);
+        this.untypedPublishFailures = Counter.builder("dailyfeed.kafka.publish.failures")
+                .tags(untypedTags)
+                .register(this.meterRegistry);
+
+        for (MemberActivityType activityType : MemberActivityType.values()) {
+            processingTimers.put(activityType, Timer.builder("dailyfeed.kafka.consumer.processing")
+                    .tag("activity.type", activityType.name())
+                    .register(this.meterRegistry));
+        }
+        this.untypedProcessingTimer = Timer.builder("dailyfeed.kafka.consumer.processing")
+                .tag("activity.type", "none")
+                .register(this.meterRegistry);
+
+        this.commitTimer = Timer.builder("dailyfeed.kafka.consumer.commit")
+                .description("listener 가 직접 수행한 offset commit 지연")
+                .register(this.meterRegistry);
+        this.bufferExhaustedErrors = sendErrorCounter("buffer-exhausted");
+        this.timeoutErrors = sendErrorCounter("timeout");
+        this.otherErrors = sendErrorCounter("other");
+        Gauge.builder("dailyfeed.kafka.publish.in-flight", inFlightSends, AtomicInteger::get)
+                .register(this.meterRegistry);
+    }
+
+    private Counter sendErrorCounter(String reason) {
+        return Counter.builder("dailyfeed.kafka.producer.send.errors")
+                .description("실패한 send 수 (buffer-exhausted / metadata 대기, delivery 등 timeout / 그 외)")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    public MeterRegistry meterRegistry() {
+        return meterRegistry;
+    }
+
+    /// publish
+    /**
+     * send 직전에 호출하고, 반환값(시작 시각)을 publishCompleted 에 넘긴다.
+     */
+    public long publishStarted() {
+        inFlightSends.incrementAndGet();
+        return System.nanoTime();
+    }
+
+    /**
+     * send 실패 원인별 카운트는 KafkaHelper 가 recordSendError 로 남기므로 여기서는 발행 지연/실패 수만 기록한다.
+     */
+    public void publishCompleted(DateBasedTopicType topicType, MemberActivityType activityType, long startedAt, Throwable throwable) {
+        inFlightSends.decrementAndGet();
+        long elapsed = System.nanoTime() - startedAt;
+        publishTimers.get(topicType).get(activityType).record(elapsed, TimeUnit.NANOSECONDS);
+        publishHistogram.record(elapsed, TimeUnit.NANOSECONDS);
+        if (throwable != null) {
+            publishFailures.get(topicType).get(activityType).increment();
+        }
+    }
+
+    public void publishCompleted(long startedAt, Throwable throwable) {
+        inFlightSends.decrementAndGet();
+        long elapsed = System.nanoTime() - startedAt;
+        untypedPublishTimer.record(elapsed, TimeUnit.NANOSECONDS);
+        publishHistogram.record(elapsed, TimeUnit.NANOSECONDS);
+        if (throwable != null) {
+            untypedPublishFailures.increment();
+        }
+    }
+
+    /**
+     * send 실패를 원인별로 카운트. BufferExhaustedException 도 TimeoutException 의 하위 타입이므로 먼저 확인한다.
+     * (CompletionException, spring KafkaProducerException 등으로 감싸진 경우 cause 를 따라간다)
+     */
+    public void recordSendError(Throwable throwable) {
+        boolean timeout = false;
+        Throwable cause = throwable;
+        for (int depth = 0; cause != null && depth < MAX_CAUSE_DEPTH; depth++, cause = cause.getCause()) {
+            if (cause instanceof BufferExhaustedException) {
+                bufferExhaustedErrors.increment();
+                return;
+            }
+            if (cause instanceof TimeoutException) {
+                timeout = true;
+            }
+        }
+        (timeout ? timeoutErrors : otherErrors).increment();
+    }
+
+    /// consumer
+    public void recordProcessing(MemberActivityType activityType, long nanos) {
+        Timer timer = activityType == null ? untypedProcessingTimer : processingTimers.get(activityType);
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordCommit(long nanos) {
+        commitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+}
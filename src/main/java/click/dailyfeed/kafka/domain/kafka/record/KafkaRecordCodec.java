@@ -0,0 +1,126 @@
+package click.dailyfeed.kafka.domain.kafka.record;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 로컬 로그 파일(spool, outbox)에 남기는 Kafka 레코드의 body 형식: [topic][key][payload 클래스 이름][payload JSON]
+ * payload 는 ObjectMapper 로 JSON 직렬화해 클래스 이름과 함께 저장하고, 읽을 때 같은 타입으로 복원한다.
+ * 디스크에서 읽은 클래스 이름은 trusted-packages 에 속하거나 기본 값 타입(String, 숫자)일 때만 로딩한다.
+ * (파일이 변조되어도 임의의 클래스를 초기화하거나 역직렬화 대상으로 삼지 않도록)
+ */
+@Component
+public class KafkaRecordCodec {
+    private static final Set<String> TRUSTED_TYPES = Set.of(
+            String.class.getName(), Long.class.getName(), Integer.class.getName());
+
+    public record StoredRecord(String topicName, String key, Object payload) {
+    }
+
+    private final ObjectMapper objectMapper;
+    private final List<String> trustedPackages;
+    private final Map<String, Class<?>> payloadTypes = new ConcurrentHashMap<>();
+
+    public KafkaRecordCodec(
+            ObjectMapper objectMapper,
+            @Value("${infrastructure.kafka.record.trusted-packages:click.dailyfeed}") String[] trustedPackages
+    ) {
+        this.objectMapper = objectMapper;
+        this.trustedPackages = Arrays.stream(trustedPackages)
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .map(name -> name.endsWith(".") ? name : name + ".")
+                .toList();
+    }
+
+    /**
+     * body 앞에 prefixBytes 만큼 비워둔 배열을 돌려준다 (호출 측이 sequence 등 자체 header 를 채운다)
+     */
+    public byte[] encode(int prefixBytes, String topicName, String key, Object payload) throws IOException {
+        byte[] topicBytes = topicName.getBytes(StandardCharsets.UTF_8);
+        byte[] keyBytes = key != null ? key.getBytes(StandardCharsets.UTF_8) : null;
+        byte[] typeBytes = payload.getClass().getName().getBytes(StandardCharsets.UTF_8);
+        byte[] payloadBytes = objectMapper.writeValueAsBytes(payload);
+
+        ByteBuffer buffer = ByteBuffer.allocate(prefixBytes + 2 + topicBytes.length + 4 + (keyBytes != null ? keyBytes.length : 0)
+                + 2 + typeBytes.length + 4 + payloadBytes.length);
+        buffer.position(prefixBytes);
+        buffer.putShort((short) topicBytes.length).put(topicBytes);
+        buffer.putInt(keyBytes != null ? keyBytes.length : -1);
+        if (keyBytes != null) {
+            buffer.put(keyBytes);
+        }
+        buffer.putShort((short) typeBytes.length).put(typeBytes);
+        buffer.putInt(payloadBytes.length).put(payloadBytes);
+        return buffer.array();
+    }
+
+    public byte[] encode(String topicName, String key, Object payload) throws IOException {
+        return encode(0, topicName, key, payload);
+    }
+
+    /**
+     * buffer 의 현재 위치부터 읽는다. 신뢰하지 않는 payload 타입이면 InvalidClassException, 길이가 맞지 않는 body 면 IOException
+     */
+    public StoredRecord decode(ByteBuffer buffer) throws IOException, ClassNotFoundException {
+        String topicName;
+        String key;
+        String typeName;
+        byte[] payloadBytes;
+        try {
+            topicName = readString(buffer, buffer.getShort());
+            int keyLength = buffer.getInt();
+            key = keyLength >= 0 ? readString(buffer, keyLength) : null;
+            typeName = readString(buffer, buffer.getShort());
+            payloadBytes = new byte[buffer.getInt()];
+            buffer.get(payloadBytes);
+        } catch (BufferUnderflowException | NegativeArraySizeException e) {
+            throw new IOException("Malformed record body", e);
+        }
+
+        return new StoredRecord(topicName, key, objectMapper.readValue(payloadBytes, payloadType(typeName)));
+    }
+
+    private Class<?> payloadType(String typeName) throws InvalidClassException, ClassNotFoundException {
+        Class<?> payloadType = payloadTypes.get(typeName);
+        if (payloadType != null) {
+            return payloadType;
+        }
+        if (!isTrusted(typeName)) {
+            throw new InvalidClassException(typeName, "payload type is not in infrastructure.kafka.record.trusted-packages");
+        }
+        payloadType = Class.forName(typeName, false, KafkaRecordCodec.class.getClassLoader());
+        payloadTypes.put(typeName, payloadType);
+        return payloadType;
+    }
+
+    private boolean isTrusted(String typeName) {
+        if (TRUSTED_TYPES.contains(typeName)) {
+            return true;
+        }
+        for (String trustedPackage : trustedPackages) {
+            if (typeName.startsWith(trustedPackage)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,101 @@
+package click.dailyfeed.kafka.domain.kafka.record;
+
+import java.nio.ByteBuffer;
+import java.util.zip.CRC32C;
+
+/**
+ * 로컬 로그 파일(spool segment, outbox segment)의 record 형식: [body 길이 int][body CRC32C int][body]
+ * 길이가 0 이하이거나, 버퍼 끝을 넘거나, CRC 가 맞지 않는 record(쓰는 도중 프로세스가 죽은 경우)를 만나면 그 지점을 끝으로 본다.
+ */
+public final class RecordFrames {
+    public static final int HEADER_BYTES = 8;
+
+    private RecordFrames() {
+    }
+
+    public static int frameLength(byte[] body) {
+        return HEADER_BYTES + body.length;
+    }
+
+    /**
+     * target 의 position 에 record 를 쓴다 (target 의 position/limit 은 바꾸지 않는다)
+     * body 를 먼저 쓰고 길이를 마지막에 기록해, 쓰는 도중 죽어도 길이 0 또는 CRC 불일치로 걸러지게 한다.
+     */
+    public static void write(ByteBuffer target, int position, byte[] body) {
+        target.putInt(position + 4, checksum(body));
+        target.put(position + HEADER_BYTES, body);
+        target.putInt(position, body.length);
+    }
+
+    /**
+     * FileChannel 로 쓸 record 하나를 담은 버퍼 (읽기 준비된 상태)
+     */
+    public static ByteBuffer frame(byte[] body) {
+        ByteBuffer frame = ByteBuffer.allocate(frameLength(body));
+        write(frame, 0, body);
+        return frame;
+    }
+
+    /**
+     * source 의 position 에서 시작하는 온전한 record 의 body, 없으면 null (source.limit() 까지만 읽는다)
+     */
+    public static byte[] readAt(ByteBuffer source, int position) {
+        if (position + HEADER_BYTES > source.limit()) {
+            return null;
+        }
+        int length = source.getInt(position);
+        if (length <= 0 || length > source.limit() - position - HEADER_BYTES) {
+            return null;
+        }
+        byte[] body = new byte[length];
+        source.get(position + HEADER_BYTES, body);
+        if (checksum(body) != source.getInt(position + 4)) {
+            return null;
+        }
+        return body;
+    }
+
+    private static int checksum(byte[] body) {
+        CRC32C crc = new CRC32C();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * 주어진 위치부터 record 를 순서대로 읽는 reader. 깨진 record 나 끝을 만나면 next 가 null 이고 position 은 마지막 온전한 record 뒤에 머문다.
+     */
+    public static final class Reader {
+        private final ByteBuffer source;
+        private final int end;
+        private int position;
+
+        /**
+         * end 는 읽을 수 있는 마지막 위치 (쓰는 중인 segment 에서 아직 쓰이지 않은 영역을 읽지 않도록)
+         */
+        public Reader(ByteBuffer source, int position, int end) {
+            this.source = source;
+            this.position = position;
+            this.end = end;
+        }
+
+        public Reader(ByteBuffer source) {
+            this(source, 0, source.limit());
+        }
+
+        public byte[] next() {
+            if (position >= end) {
+                return null;
+            }
+            byte[] body = readAt(source, position);
+            if (body == null || position + frameLength(body) > end) {
+                return null;
+            }
+            position += frameLength(body);
+            return body;
+        }
+
+        public int position() {
+            return position;
+        }
+    }
+}
@@ -0,0 +1,193 @@
+package click.dailyfeed.kafka.domain.kafka.service;
+
+import click.dailyfeed.kafka.config.KafkaProducerProfile;
+import click.dailyfeed.kafka.config.KafkaProducerProfileTemplates;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.Metric;
+import org.apache.kafka.common.MetricName;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * THROUGHPUT 프로필 producer 의 linger.ms / batch.size 를 관측값으로 조정
+ * - batch 가 거의 꽉 차서 나가면 batch.size 를 키우고, 많이 비어서 나가면 줄인다
+ * - 전송률이 높으면 linger 를 늘려 더 모으고, 낮으면 줄여 지연을 줄인다
+ * 설정을 바꿀 때는 새 ProducerFactory/KafkaTemplate 을 만들어 KafkaProducerProfileTemplates 에서 한 번에 교체하고,
+ * 이전 producer 는 close-delay-ms 뒤에 flush 한 다음 닫는다 (교체 직전에 template 을 받아간 send 가 끝날 시간을 준다).
+ * producer 재생성 비용이 있으므로 min-apply-interval-ms 이내에는 다시 적용하지 않는다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "infrastructure.kafka.producer.adaptive.enabled", havingValue = "true")
+public class AdaptiveProducerTuner {
+    private static final int MIN_BATCH_SIZE = 16384;
+    private static final int MAX_BATCH_SIZE = 1048576;
+    private static final int MIN_LINGER_MS = 5;
+    private static final int MAX_LINGER_MS = 200;
+
+    private final KafkaProducerProfileTemplates kafkaProducerProfileTemplates;
+    private final long intervalMs;
+    private final long closeDelayMs;
+    private final long minApplyIntervalMs;
+    private final double highSendRate;
+    private final double lowSendRate;
+
+    // scheduler 스레드에서만 변경
+    private ProducerFactory<String, Object> producerFactory;
+    // 이 클래스가 만든 factory 인지 (bean 으로 등록된 최초 factory 는 컨테이너가 닫는다)
+    private boolean ownsProducerFactory;
+    private int batchSize;
+    private int lingerMs;
+    private long lastAppliedAt;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-adaptive-producer-tuner");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AdaptiveProducerTuner(
+            @Qualifier("throughputProducerFactory") ProducerFactory<String, Object> producerFactory,
+            KafkaProducerProfileTemplates kafkaProducerProfileTemplates,
+            @Value("${infrastructure.kafka.producer.adaptive.interval-ms:30000}") long intervalMs,
+            @Value("${infrastructure.kafka.producer.adaptive.close-delay-ms:10000}") long closeDelayMs,
+            @Value("${infrastructure.kafka.producer.adaptive.min-apply-interval-ms:300000}") long minApplyIntervalMs,
+            @Value("${infrastructure.kafka.producer.adaptive.high-send-rate:5000}") double highSendRate,
+            @Value("${infrastructure.kafka.producer.adaptive.low-send-rate:200}") double lowSendRate
+    ) {
+        this.producerFactory = producerFactory;
+        this.kafkaProducerProfileTemplates = kafkaProducerProfileTemplates;
+        this.intervalMs = intervalMs;
+        this.closeDelayMs = closeDelayMs;
+        this.minApplyIntervalMs = minApplyIntervalMs;
+        this.highSendRate = highSendRate;
+        this.lowSendRate = lowSendRate;
+
+        Map<String, Object> configs = producerFactory.getConfigurationProperties();
+        this.batchSize = Integer.parseInt(configs.get(ProducerConfig.BATCH_SIZE_CONFIG).toString());
+        this.lingerMs = Integer.parseInt(configs.get(ProducerConfig.LINGER_MS_CONFIG).toString());
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::tune, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (ownsProducerFactory && producerFactory instanceof DisposableBean disposable) {
+            try {
+                disposable.destroy();
+            } catch (Exception e) {
+                log.warn("Failed to close tuned throughput producer: {}", e.getMessage());
+            }
+        }
+    }
+
+    private void tune() {
+        try {
+            Map<MetricName, ? extends Metric> metrics =
+                    kafkaProducerProfileTemplates.templateFor(KafkaProducerProfile.THROUGHPUT).metrics();
+            double batchSizeAvg = metricValue(metrics, "batch-size-avg");
+            double sendRate = metricValue(metrics, "record-send-rate");
+            if (Double.isNaN(batchSizeAvg) || Double.isNaN(sendRate) || sendRate <= 0) {
+                return;
+            }
+
+            int nextBatchSize = batchSize;
+            double fillRatio = batchSizeAvg / batchSize;
+            if (fillRatio > 0.9) {
+                nextBatchSize = Math.min(batchSize * 2, MAX_BATCH_SIZE);
+            } else if (fillRatio < 0.3) {
+                nextBatchSize = Math.max(batchSize / 2, MIN_BATCH_SIZE);
+            }
+
+            int nextLingerMs = lingerMs;
+            if (sendRate > highSendRate) {
+                nextLingerMs = Math.min(lingerMs * 2, MAX_LINGER_MS);
+            } else if (sendRate < lowSendRate) {
+                nextLingerMs = Math.max(lingerMs / 2, MIN_LINGER_MS);
+            }
+
+            if (nextBatchSize == batchSize && nextLingerMs == lingerMs) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            if (now - lastAppliedAt < minApplyIntervalMs) {
+                return;
+            }
+
+            log.info("Tuning throughput producer: batch.size {} -> {}, linger.ms {} -> {} (fill {}, send rate {}/s)",
+                    batchSize, nextBatchSize, lingerMs, nextLingerMs, String.format("%.2f", fillRatio), String.format("%.0f", sendRate));
+            swap(nextBatchSize, nextLingerMs);
+            batchSize = nextBatchSize;
+            lingerMs = nextLingerMs;
+            lastAppliedAt = now;
+        } catch (Exception e) {
+            log.warn("Adaptive producer tuning failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 새 설정의 factory/template 으로 교체한다. 공유 producer 를 바로 닫는 reset() 과 달리,
+     * 진행 중인 send 는 이전 producer 로 끝까지 나가고 이후 send 만 새 producer 를 쓴다.
+     */
+    private void swap(int nextBatchSize, int nextLingerMs) {
+        Map<String, Object> configs = new HashMap<>(producerFactory.getConfigurationProperties());
+        configs.put(ProducerConfig.BATCH_SIZE_CONFIG, nextBatchSize);
+        configs.put(ProducerConfig.LINGER_MS_CONFIG, nextLingerMs);
+        DefaultKafkaProducerFactory<String, Object> nextFactory = new DefaultKafkaProducerFactory<>(configs);
+        producerFactory.getListeners().forEach(nextFactory::addListener);
+
+        KafkaTemplate<String, Object> previousTemplate =
+                kafkaProducerProfileTemplates.replace(KafkaProducerProfile.THROUGHPUT, new KafkaTemplate<>(nextFactory));
+        ProducerFactory<String, Object> previousFactory = producerFactory;
+        boolean ownedPrevious = ownsProducerFactory;
+        producerFactory = nextFactory;
+        ownsProducerFactory = true;
+
+        scheduler.schedule(() -> closeDrained(previousTemplate, previousFactory, ownedPrevious), closeDelayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void closeDrained(KafkaTemplate<String, Object> template, ProducerFactory<String, Object> factory, boolean owned) {
+        try {
+            // 아직 accumulator 에 남은 레코드를 보낸 뒤 닫는다
+            template.flush();
+            if (owned && factory instanceof DisposableBean disposable) {
+                disposable.destroy();
+            } else {
+                // bean factory 는 destroy 하면 컨테이너 종료 시 다시 닫히므로 producer 만 닫는다
+                factory.reset();
+            }
+        } catch (Exception e) {
+            log.warn("Failed to close previous throughput producer: {}", e.getMessage());
+        }
+    }
+
+    private double metricValue(Map<MetricName, ? extends Metric> metrics, String name) {
+        for (Map.Entry<MetricName, ? extends Metric> entry : metrics.entrySet()) {
+            MetricName metricName = entry.getKey();
+            if ("producer-metrics".equals(metricName.group()) && name.equals(metricName.name())) {
+                Object value = entry.getValue().metricValue();
+                return value instanceof Number number ? number.doubleValue() : Double.NaN;
+            }
+        }
+        return Double.NaN;
+    }
+}
@@ -1,45 +1,149 @@
 package click.dailyfeed.kafka.domain.kafka.service;
 
+import click.dailyfeed.kafka.config.KafkaProducerProfile;
+import click.dailyfeed.kafka.config.KafkaProducerProfileTemplates;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpool;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpooledException;
+import click.dailyfeed.kafka.domain.kafka.topic.DateBasedTopicRolloverCoordinator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.concurrent.CompletableFuture;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class KafkaHelper {
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final Clock kafkaClock;
+    private final KafkaProducerProfileTemplates kafkaProducerProfileTemplates;
+    private final KafkaSupportMetrics kafkaSupportMetrics;
+    private final KafkaSendLogger kafkaSendLogger;
+    private final ObjectProvider<KafkaPublishSpool> kafkaPublishSpool;
+    private final DateBasedTopicRolloverCoordinator dateBasedTopicRolloverCoordinator;
 
     public <T> void send(String topicName, String key, T payload) {
-        kafkaTemplate.send(topicName, key, payload)
-                .whenComplete((result, throwable) -> {
-                    if (throwable != null) {
-                        log.error("Failed to send post activity event to topic: {}, key: {}",
-                                topicName, key, throwable);
-                    } else {
-                        log.info("Successfully sent post activity event to topic: {}, postId: {}",
-                                topicName, key);
-                    }
-                });
+        sendPlain(topicName, key, payload);
     }
 
     public void sendPlain(String topicName, String key, Object payload) {
-        kafkaTemplate.send(topicName, key, payload)
-                .whenComplete((result, throwable) -> {
-                    if (throwable != null) {
-                        log.error("Failed to send post activity event to topic: {}, key: {}",
-                                topicName, key, throwable);
-                    } else {
-                        log.info("Successfully sent post activity event to topic: {}, postId: {}",
-                                topicName, key);
-                    }
-                });
+        long startedAt = kafkaSupportMetrics.publishStarted();
+        try {
+            sendOrSpool(kafkaTemplate, topicName, key, payload)
+                    .whenComplete((result, throwable) -> {
+                        kafkaSupportMetrics.publishCompleted(startedAt, throwable);
+                        kafkaSendLogger.onComplete(topicName, key, throwable);
+                    });
+        } catch (RuntimeException e) {
+            kafkaSupportMetrics.publishCompleted(startedAt, e);
+            throw e;
+        }
+    }
+
+    /**
+     * 지정한 producer 프로필(KafkaProducerProfile)의 template 으로 전송
+     */
+    public <T> CompletableFuture<SendResult<String, Object>> send(KafkaProducerProfile profile, String topicName, String key, T payload) {
+        return sendOrSpool(kafkaProducerProfileTemplates.templateFor(profile), topicName, key, payload)
+                .whenComplete((result, throwable) -> kafkaSendLogger.onComplete(topicName, key, throwable));
+    }
+
+    /**
+     * 레코드 단위 로그 없이 전송하고 결과 future 를 그대로 돌려준다.
+     * 배치 발행처럼 호출 측에서 결과를 모아 한 번에 기록하는 경우에 사용
+     * 실패 처리를 호출 측이 하므로 spool 에는 기록하지 않는다.
+     */
+    public CompletableFuture<SendResult<String, Object>> sendAsync(String topicName, String key, Object payload) {
+        try {
+            return doSend(kafkaTemplate, topicName, key, payload);
+        } catch (Exception e) {
+            // buffer 부족, 직렬화 실패 등 send 호출 시점의 예외도 future 로 전달
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    public CompletableFuture<SendResult<String, Object>> sendAsync(KafkaProducerProfile profile, String topicName, String key, Object payload) {
+        try {
+            return doSend(kafkaProducerProfileTemplates.templateFor(profile), topicName, key, payload);
+        } catch (Exception e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * spool 이 켜져 있으면 send 호출 시점의 예외(buffer 부족, metadata 대기 초과)와 전송 실패 모두 로컬 spool 에 기록한다.
+     * spool 에 기록된 경우 future 는 KafkaPublishSpooledException 으로 끝난다.
+     */
+    private CompletableFuture<SendResult<String, Object>> sendOrSpool(KafkaTemplate<String, Object> template, String topicName, String key, Object payload) {
+        KafkaPublishSpool spool = kafkaPublishSpool.getIfAvailable();
+        if (spool == null) {
+            return doSend(template, topicName, key, payload);
+        }
+
+        CompletableFuture<SendResult<String, Object>> sent;
+        try {
+            sent = doSend(template, topicName, key, payload);
+        } catch (RuntimeException e) {
+            if (!spool.append(topicName, key, payload)) {
+                throw e;
+            }
+            return CompletableFuture.failedFuture(new KafkaPublishSpooledException(topicName, e));
+        }
+
+        CompletableFuture<SendResult<String, Object>> result = new CompletableFuture<>();
+        sent.whenComplete((sendResult, throwable) -> {
+            if (throwable == null) {
+                result.complete(sendResult);
+                return;
+            }
+            // producer I/O 스레드이므로 디스크 기록은 spool writer 에 넘긴다
+            spool.appendAsync(topicName, key, payload).whenComplete((appended, appendError) -> {
+                if (Boolean.TRUE.equals(appended)) {
+                    result.completeExceptionally(new KafkaPublishSpooledException(topicName, throwable));
+                } else {
+                    result.completeExceptionally(throwable);
+                }
+            });
+        });
+        return result;
+    }
+
+    /**
+     * 모든 전송 경로가 거치는 send 호출
+     * - send 호출 시점의 예외와 전송 실패를 원인별로 한 번씩만 카운트한다 (호출 시점 예외는 그대로 다시 던진다)
+     * - send 호출이 블로킹된 시간(metadata 대기 등)을 rollover coordinator 에 알린다
+     */
+    private CompletableFuture<SendResult<String, Object>> doSend(KafkaTemplate<String, Object> template, String topicName, String key, Object payload) {
+        long startedAt = System.nanoTime();
+        CompletableFuture<SendResult<String, Object>> sent;
+        try {
+            sent = template.send(topicName, key, payload);
+        } catch (RuntimeException e) {
+            kafkaSupportMetrics.recordSendError(e);
+            throw e;
+        } finally {
+            dateBasedTopicRolloverCoordinator.onSend(topicName, System.nanoTime() - startedAt);
+        }
+        sent.whenComplete((result, throwable) -> {
+            if (throwable != null) {
+                kafkaSupportMetrics.recordSendError(throwable);
+            }
+        });
+        return sent;
     }
 
     public LocalDateTime currentDateTime() {
-        return LocalDateTime.now();
+        return LocalDateTime.now(kafkaClock);
+    }
+
+    public long currentEpochMillis() {
+        return kafkaClock.millis();
     }
 }
@@ -0,0 +1,161 @@
+package click.dailyfeed.kafka.domain.kafka.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * KafkaHelper send callback 의 로그 기록
+ * - VERBOSE : 기존과 같이 성공은 건마다 INFO, 실패는 건마다 ERROR(stack trace 포함)
+ * - SUMMARY : 성공은 토픽별 카운터에만 더하고 summary-interval-ms 마다 요약 한 줄을 남긴다.
+ *             실패는 (토픽, 예외 클래스) 단위로 failure-log-interval-ms 에 한 번만 stack trace 를 남기고,
+ *             그 사이에 억제된 건수는 다음 로그에 함께 기록한다.
+ * callback 은 producer I/O 스레드에서 실행되므로 SUMMARY 모드에서는 카운터 증가 외의 작업을 하지 않는다.
+ */
+@Slf4j
+@Component
+public class KafkaSendLogger {
+    public enum Mode {
+        VERBOSE, SUMMARY
+    }
+
+    private record FailureKey(String topicName, Class<? extends Throwable> type) {
+    }
+
+    private static final class FailureState {
+        private final AtomicLong lastLoggedAt = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder suppressed = new LongAdder();
+    }
+
+    private final Mode mode;
+    private final long summaryIntervalMs;
+    private final long failureLogIntervalNanos;
+
+    private final Map<String, LongAdder> successCounts = new ConcurrentHashMap<>();
+    private final Map<FailureKey, FailureState> failures = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-send-log-summary");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public KafkaSendLogger(
+            @Value("${infrastructure.kafka.producer.callback-log.mode:VERBOSE}") Mode mode,
+            @Value("${infrastructure.kafka.producer.callback-log.summary-interval-ms:60000}") long summaryIntervalMs,
+            @Value("${infrastructure.kafka.producer.callback-log.failure-log-interval-ms:10000}") long failureLogIntervalMs
+    ) {
+        this.mode = mode;
+        this.summaryIntervalMs = summaryIntervalMs;
+        this.failureLogIntervalNanos = TimeUnit.MILLISECONDS.toNanos(failureLogIntervalMs);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (mode == Mode.SUMMARY) {
+            scheduler.scheduleWithFixedDelay(this::logSummary, summaryIntervalMs, summaryIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        if (mode == Mode.SUMMARY) {
+            // 종료 직전까지 쌓인 카운트를 남긴다
+            logSummary();
+        }
+    }
+
+    /**
+     * KafkaTemplate.send(...).whenComplete 에서 호출
+     */
+    public void onComplete(String topicName, String key, Throwable throwable) {
+        if (mode == Mode.VERBOSE) {
+            if (throwable != null) {
+                log.error("Failed to send post activity event to topic: {}, key: {}", topicName, key, throwable);
+            } else {
+                log.info("Successfully sent post activity event to topic: {}, postId: {}", topicName, key);
+            }
+            return;
+        }
+
+        if (throwable == null) {
+            successCounts.computeIfAbsent(topicName, ignored -> new LongAdder()).increment();
+            return;
+        }
+        onFailure(topicName, key, throwable);
+    }
+
+    private void onFailure(String topicName, String key, Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        FailureState state = failures.computeIfAbsent(new FailureKey(topicName, cause.getClass()), ignored -> new FailureState());
+
+        long now = System.nanoTime();
+        long lastLoggedAt = state.lastLoggedAt.get();
+        boolean due = lastLoggedAt == Long.MIN_VALUE || now - lastLoggedAt >= failureLogIntervalNanos;
+        if (!due || !state.lastLoggedAt.compareAndSet(lastLoggedAt, now)) {
+            state.suppressed.increment();
+            return;
+        }
+
+        long suppressed = state.suppressed.sumThenReset();
+        if (suppressed > 0) {
+            log.error("Failed to send post activity event to topic: {}, key: {} ({} similar failures suppressed)",
+                    topicName, key, suppressed, throwable);
+        } else {
+            log.error("Failed to send post activity event to topic: {}, key: {}", topicName, key, throwable);
+        }
+    }
+
+    private void logSummary() {
+        try {
+            Map<String, Long> sent = new TreeMap<>();
+            successCounts.forEach((topicName, count) -> {
+                long value = count.sumThenReset();
+                if (value > 0) {
+                    sent.put(topicName, value);
+                } else {
+                    // 지난 날짜 토픽처럼 더 이상 쓰지 않는 카운터는 정리
+                    successCounts.remove(topicName, count);
+                }
+            });
+            if (!sent.isEmpty()) {
+                log.info("Sent events in the last {} ms: {}", summaryIntervalMs, sent);
+            }
+
+            // 다음 실패가 오지 않아 아직 기록되지 않은 억제 건수를 요약으로 남긴다
+            long now = System.nanoTime();
+            failures.forEach((failureKey, state) -> {
+                long suppressed = state.suppressed.sumThenReset();
+                if (suppressed > 0) {
+                    log.warn("Suppressed {} send failures to topic: {} ({})",
+                            suppressed, failureKey.topicName(), failureKey.type().getName());
+                } else if (now - state.lastLoggedAt.get() >= failureLogIntervalNanos) {
+                    failures.remove(failureKey, state);
+                }
+            });
+        } catch (Exception e) {
+            log.warn("Failed to log send summary: {}", e.getMessage());
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof CompletionException || throwable instanceof ExecutionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        // KafkaProducerException 등 spring-kafka 래퍼는 원인 예외로 묶는다
+        if (throwable.getClass().getName().startsWith("org.springframework.kafka") && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+}
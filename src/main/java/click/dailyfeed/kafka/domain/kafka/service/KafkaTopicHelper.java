@@ -1,27 +1,25 @@
 package click.dailyfeed.kafka.domain.kafka.service;
 
 
+import click.dailyfeed.kafka.domain.kafka.topic.KafkaTopicRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.kafka.clients.admin.AdminClient;
 import org.apache.kafka.clients.admin.DescribeTopicsResult;
-import org.apache.kafka.clients.admin.NewTopic;
 import org.apache.kafka.clients.admin.TopicDescription;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.kafka.core.KafkaAdmin;
 import org.springframework.stereotype.Component;
 
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
 
 @Slf4j
 @RequiredArgsConstructor
 @Component
 public class KafkaTopicHelper {
-    private final KafkaAdmin kafkaAdmin;
     private final AdminClient adminClient;
+    private final KafkaTopicRegistry kafkaTopicRegistry;
 
     @Value("${infrastructure.kafka.default.producer.partition:6}")
     private int partitions;
@@ -32,66 +30,27 @@ public class KafkaTopicHelper {
     @Value("${infrastructure.kafka.default.producer.retention-ms:604800000}")
     private long retentionMs;
 
-    @Value("${infrastructure.kafka.default.producer.operation-timeout-seconds:604800000}")
+    @Value("${infrastructure.kafka.default.producer.operation-timeout-seconds:30}")
     private long operationTimeoutSeconds;
 
-    // 생성된 토픽을 캐시하여 중복 생성 방지
-    private final Map<String, Boolean> createdTopics = new ConcurrentHashMap<>();
-
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
 
     /**
      * 토픽이 존재하지 않으면 동적으로 생성
+     * 존재 여부는 KafkaTopicRegistry 의 메모리 캐시로 판단하고, 생성은 백그라운드로 요청만 하므로 호출 스레드는 대기하지 않는다.
      */
     public void createTopicIfNotExists(String topicName) {
-        if (createdTopics.containsKey(topicName)) {
-            log.debug("Topic {} already created in cache", topicName);
+        if (kafkaTopicRegistry.exists(topicName)) {
+            log.debug("Topic {} already exists in registry", topicName);
             return;
         }
 
-        try {
-            // 토픽 존재 여부 확인
-            if (isTopicExists(topicName)) {
-                createdTopics.put(topicName, true);
-                log.info("Topic {} already exists", topicName);
-                return;
-            }
-
-            // 토픽 생성
-            NewTopic newTopic = new NewTopic(topicName, partitions, replicationFactor);
-
-            // 토픽 설정 추가
-            newTopic.configs(Map.of(
-                    "retention.ms", String.valueOf(retentionMs),
-                    "cleanup.policy", "delete",
-                    "compression.type", "lz4"
-            ));
-
-            kafkaAdmin.createOrModifyTopics(newTopic);
-            createdTopics.put(topicName, true);
-
-            log.info("Successfully created topic: {} with {} partitions",
-                    topicName, partitions);
-
-        } catch (Exception e) {
-            log.error("Failed to create topic: {}", topicName, e);
-            throw new RuntimeException("Topic creation failed: " + topicName, e);
-        }
-    }
-
-    /**
-     * 토픽 존재 여부 확인
-     */
-    private boolean isTopicExists(String topicName) {
-        try {
-            DescribeTopicsResult result = adminClient.describeTopics(Collections.singletonList(topicName));
-            Map<String, TopicDescription> topicDescriptions =
-                    result.allTopicNames().get(operationTimeoutSeconds, TimeUnit.SECONDS);
-            return topicDescriptions.containsKey(topicName);
-        } catch (Exception e) {
-            log.debug("Topic {} does not exist or error occurred: {}", topicName, e.getMessage());
-            return false;
-        }
+        kafkaTopicRegistry.ensureTopics(List.of(topicName))
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        log.error("Failed to create topic: {}", topicName, throwable);
+                    }
+                });
     }
 
     /**
@@ -135,15 +94,10 @@ public class KafkaTopicHelper {
     }
 
     /**
-     * 모든 토픽 목록 조회
+     * 모든 토픽 목록 조회 (registry 캐시 기준)
      */
     public Set<String> listAllTopics() {
-        try {
-            return adminClient.listTopics().names().get(operationTimeoutSeconds, TimeUnit.SECONDS);
-        } catch (Exception e) {
-            log.error("Failed to list topics: {}", e.getMessage());
-            return Collections.emptySet();
-        }
+        return kafkaTopicRegistry.knownTopics();
     }
 
     /**
@@ -159,7 +113,7 @@ public class KafkaTopicHelper {
      * 캐시 초기화 (테스트용)
      */
     public void clearCache() {
-        createdTopics.clear();
+        kafkaTopicRegistry.clear();
     }
 
     /**
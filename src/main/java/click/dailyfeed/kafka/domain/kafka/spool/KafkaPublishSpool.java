@@ -0,0 +1,344 @@
+package click.dailyfeed.kafka.domain.kafka.spool;
+
+import click.dailyfeed.kafka.domain.kafka.record.KafkaRecordCodec;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Kafka 로 보내지 못한 레코드를 로컬 디스크에 남겨두는 append-only spool
+ * - 고정 크기 segment 파일을 memory-map 해 CRC 가 붙은 record 로 기록한다 (SpoolSegment)
+ * - drainer 는 오래된 segment 부터 원래 토픽으로 재전송하고, 전송이 모두 확인된 닫힌 segment 는 삭제한다.
+ *   재전송 도중 실패하면 확인된 위치부터 다음 주기에 다시 시도한다 (at-least-once)
+ *   확인된 위치는 segment 별 checkpoint 파일에 남겨, 재시작 후에도 그 위치부터 이어서 보낸다
+ * - 전체 segment 크기가 max-disk-bytes 를 넘게 되면 더 받지 않는다
+ * - producer I/O 스레드의 콜백에서는 appendAsync 로 writer 스레드에 넘긴다 (queue-capacity 를 넘으면 거절)
+ * - directory 는 재시작 후에도 유지되는 경로여야 하므로 기본값 없이 반드시 지정한다
+ * record body 는 KafkaRecordCodec 형식으로 저장하고, 재전송 시 같은 타입으로 복원해 template 의 serializer 를 그대로 탄다.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "infrastructure.kafka.spool.enabled", havingValue = "true")
+public class KafkaPublishSpool {
+    public enum FsyncPolicy {
+        // OS 에 맡긴다 (프로세스 장애에는 안전, 호스트 장애 시 최근 기록 유실 가능)
+        NONE,
+        // fsync-interval-ms 마다 현재 segment 를 force
+        INTERVAL,
+        // record 마다 force
+        ALWAYS
+    }
+
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaRecordCodec kafkaRecordCodec;
+    private final Path directory;
+    private final int segmentSizeBytes;
+    private final long maxDiskBytes;
+    private final FsyncPolicy fsyncPolicy;
+    private final long fsyncIntervalMs;
+    private final long drainIntervalMs;
+    private final int drainBatchSize;
+    private final long sendTimeoutMs;
+    private final ThreadPoolExecutor writer;
+
+    private final Object lock = new Object();
+    private final Deque<SpoolSegment> sealedSegments = new ArrayDeque<>();
+    private SpoolSegment activeSegment;
+    private long nextSequence;
+
+    private final AtomicLong spooled = new AtomicLong();
+    private final AtomicLong replayed = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong discarded = new AtomicLong();
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "kafka-publish-spool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public KafkaPublishSpool(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            KafkaRecordCodec kafkaRecordCodec,
+            @Value("${infrastructure.kafka.spool.directory:}") String directory,
+            @Value("${infrastructure.kafka.spool.segment-size-bytes:67108864}") int segmentSizeBytes,
+            @Value("${infrastructure.kafka.spool.max-disk-bytes:1073741824}") long maxDiskBytes,
+            @Value("${infrastructure.kafka.spool.fsync-policy:INTERVAL}") FsyncPolicy fsyncPolicy,
+            @Value("${infrastructure.kafka.spool.fsync-interval-ms:1000}") long fsyncIntervalMs,
+            @Value("${infrastructure.kafka.spool.drain-interval-ms:5000}") long drainIntervalMs,
+            @Value("${infrastructure.kafka.spool.drain-batch-size:500}") int drainBatchSize,
+            @Value("${infrastructure.kafka.spool.send-timeout-ms:30000}") long sendTimeoutMs,
+            @Value("${infrastructure.kafka.spool.queue-capacity:10000}") int queueCapacity
+    ) {
+        if (directory == null || directory.isBlank()) {
+            throw new IllegalStateException("infrastructure.kafka.spool.directory must be set to a persistent path when the spool is enabled");
+        }
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaRecordCodec = kafkaRecordCodec;
+        this.directory = Paths.get(directory);
+        this.segmentSizeBytes = segmentSizeBytes;
+        this.maxDiskBytes = maxDiskBytes;
+        this.fsyncPolicy = fsyncPolicy;
+        this.fsyncIntervalMs = fsyncIntervalMs;
+        this.drainIntervalMs = drainIntervalMs;
+        this.drainBatchSize = drainBatchSize;
+        this.sendTimeoutMs = sendTimeoutMs;
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+            Thread thread = new Thread(runnable, "kafka-publish-spool-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PostConstruct
+    public void start() throws IOException {
+        Files.createDirectories(directory);
+        recover();
+        scheduler.scheduleWithFixedDelay(this::drain, drainIntervalMs, drainIntervalMs, TimeUnit.MILLISECONDS);
+        if (fsyncPolicy == FsyncPolicy.INTERVAL) {
+            scheduler.scheduleWithFixedDelay(this::forceActive, fsyncIntervalMs, fsyncIntervalMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        // 이미 넘겨받은 record 는 기록하고 닫는다
+        writer.shutdown();
+        try {
+            if (!writer.awaitTermination(sendTimeoutMs, TimeUnit.MILLISECONDS)) {
+                log.warn("Spool writer did not finish, {} queued records are lost", writer.getQueue().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        // 남은 segment 는 디스크에 두고 다음 기동 시 재전송한다
+        forceActive();
+    }
+
+    /**
+     * writer 스레드에서 append 한다. producer 콜백처럼 블로킹하면 안 되는 스레드에서 사용
+     * 대기열이 가득 차면 기록하지 않고 false 로 끝난다.
+     */
+    public CompletableFuture<Boolean> appendAsync(String topicName, String key, Object payload) {
+        try {
+            return CompletableFuture.supplyAsync(() -> append(topicName, key, payload), writer);
+        } catch (RejectedExecutionException e) {
+            rejected.incrementAndGet();
+            log.error("Spool writer queue is full, dropping record topic: {}, key: {}", topicName, key);
+            return CompletableFuture.completedFuture(false);
+        }
+    }
+
+    /**
+     * 레코드를 spool 에 기록. 직렬화에 실패하거나 디스크 한도를 넘으면 false
+     */
+    public boolean append(String topicName, String key, Object payload) {
+        byte[] body;
+        try {
+            body = kafkaRecordCodec.encode(topicName, key, payload);
+        } catch (Exception e) {
+            rejected.incrementAndGet();
+            log.error("Failed to encode record for spool, topic: {}, key: {}", topicName, key, e);
+            return false;
+        }
+
+        synchronized (lock) {
+            try {
+                if (activeSegment == null || !activeSegment.append(body)) {
+                    if (!roll() || !activeSegment.append(body)) {
+                        rejected.incrementAndGet();
+                        return false;
+                    }
+                }
+                if (fsyncPolicy == FsyncPolicy.ALWAYS) {
+                    activeSegment.force();
+                }
+            } catch (IOException e) {
+                rejected.incrementAndGet();
+                log.error("Failed to write spool segment in {}", directory, e);
+                return false;
+            }
+        }
+        spooled.incrementAndGet();
+        return true;
+    }
+
+    public long getSpooled() {
+        return spooled.get();
+    }
+
+    public long getReplayed() {
+        return replayed.get();
+    }
+
+    public long getRejected() {
+        return rejected.get();
+    }
+
+    public long getDiscarded() {
+        return discarded.get();
+    }
+
+    public int pendingSegments() {
+        synchronized (lock) {
+            return sealedSegments.size() + (activeSegment != null && !activeSegment.isEmpty() ? 1 : 0);
+        }
+    }
+
+    public long diskUsageBytes() {
+        synchronized (lock) {
+            return segmentCount() * (long) segmentSizeBytes;
+        }
+    }
+
+    /// segment 관리 (lock 안에서 호출)
+    private boolean roll() throws IOException {
+        if (activeSegment != null) {
+            if (activeSegment.isEmpty()) {
+                // 빈 segment 에도 들어가지 않는 record 는 segment-size-bytes 보다 크다
+                return false;
+            }
+            seal();
+        }
+        if ((segmentCount() + 1) * (long) segmentSizeBytes > maxDiskBytes) {
+            return false;
+        }
+        activeSegment = SpoolSegment.create(directory, nextSequence++, segmentSizeBytes);
+        return true;
+    }
+
+    private void seal() {
+        activeSegment.force();
+        sealedSegments.addLast(activeSegment);
+        activeSegment = null;
+    }
+
+    private int segmentCount() {
+        return sealedSegments.size() + (activeSegment != null ? 1 : 0);
+    }
+
+    private void forceActive() {
+        synchronized (lock) {
+            if (activeSegment != null) {
+                activeSegment.force();
+            }
+        }
+    }
+
+    private void recover() throws IOException {
+        List<Path> paths;
+        List<Path> checkpoints;
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> all = files.toList();
+            paths = all.stream().filter(SpoolSegment::isSegmentFile).sorted().toList();
+            checkpoints = all.stream().filter(path -> path.getFileName().toString().endsWith(SpoolSegment.CHECKPOINT_SUFFIX)).toList();
+        }
+        // segment 를 지운 직후 죽어 checkpoint 만 남은 경우
+        for (Path checkpoint : checkpoints) {
+            if (paths.stream().map(SpoolSegment::checkpointPath).noneMatch(checkpoint::equals)) {
+                Files.deleteIfExists(checkpoint);
+            }
+        }
+        synchronized (lock) {
+            for (Path path : paths) {
+                SpoolSegment segment = SpoolSegment.open(path);
+                sealedSegments.addLast(segment);
+                nextSequence = Math.max(nextSequence, segment.sequence() + 1);
+            }
+        }
+        if (!paths.isEmpty()) {
+            log.info("Recovered {} spool segments from {}", paths.size(), directory);
+        }
+    }
+
+    /// drain
+    private void drain() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                SpoolSegment head;
+                boolean sealed;
+                synchronized (lock) {
+                    head = sealedSegments.peekFirst();
+                    sealed = head != null;
+                    if (head == null) {
+                        // 닫힌 segment 가 없으면 쓰고 있는 segment 를 이어서 재전송 (segment 는 닫지 않는다)
+                        head = activeSegment;
+                    }
+                }
+                if (head == null || !replay(head) || !sealed) {
+                    return;
+                }
+
+                synchronized (lock) {
+                    sealedSegments.pollFirst();
+                }
+                head.delete();
+                log.info("Replayed and removed spool segment {}", head.sequence());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Spool drain failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * segment 의 나머지 record 를 모두 전송했으면 true, 전송 실패로 중단했으면 false
+     */
+    private boolean replay(SpoolSegment segment) throws InterruptedException {
+        while (true) {
+            SpoolSegment.Batch batch;
+            synchronized (lock) {
+                batch = segment.readFromReplayPosition(drainBatchSize);
+            }
+            if (batch.bodies().isEmpty()) {
+                return true;
+            }
+
+            List<CompletableFuture<?>> futures = new ArrayList<>(batch.bodies().size());
+            for (byte[] body : batch.bodies()) {
+                try {
+                    KafkaRecordCodec.StoredRecord record = kafkaRecordCodec.decode(ByteBuffer.wrap(body));
+                    futures.add(kafkaTemplate.send(record.topicName(), record.key(), record.payload()));
+                } catch (IOException | ClassNotFoundException e) {
+                    // 복원할 수 없는 record 는 재시도해도 같으므로 버린다
+                    discarded.incrementAndGet();
+                    log.error("Discarding undecodable spool record in segment {}", segment.sequence(), e);
+                } catch (Exception e) {
+                    futures.add(CompletableFuture.failedFuture(e));
+                    break;
+                }
+            }
+
+            try {
+                CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException | TimeoutException e) {
+                log.warn("Kafka is not available yet, spool replay paused at segment {}: {}", segment.sequence(), e.getMessage());
+                return false;
+            }
+
+            synchronized (lock) {
+                segment.advanceReplayPosition(batch.nextPosition());
+            }
+            replayed.addAndGet(futures.size());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package click.dailyfeed.kafka.domain.kafka.spool;
+
+/**
+ * Kafka 전송에는 실패했지만 로컬 spool 에 기록되어 이후 재전송될 예정임을 나타낸다.
+ * 이 예외로 끝난 future 는 호출 측에서 DLQ 등으로 다시 옮길 필요가 없다.
+ */
+public class KafkaPublishSpooledException extends RuntimeException {
+    public KafkaPublishSpooledException(String topicName, Throwable cause) {
+        super("Send to topic " + topicName + " failed, record was spooled to local disk", cause);
+    }
+}
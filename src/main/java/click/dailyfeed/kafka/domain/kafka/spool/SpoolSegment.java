@@ -0,0 +1,175 @@
+package click.dailyfeed.kafka.domain.kafka.spool;
+
+import click.dailyfeed.kafka.domain.kafka.record.RecordFrames;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 고정 크기로 memory-map 한 spool segment 파일 하나
+ * record 형식은 RecordFrames 를 따른다. 파일은 생성 시 0 으로 채워지므로 길이 0 을 만나면 segment 끝으로 본다.
+ * CRC 가 맞지 않는 record(쓰는 도중 프로세스가 죽은 경우)를 만나면 그 지점 이후는 읽지 않는다.
+ * 전송을 확인한 위치(replayPosition)는 segment 옆의 checkpoint 파일(spool-{sequence}.ckpt)에 [위치 int][~위치 int] 로 남겨,
+ * 재시작 후 이미 보낸 record 를 처음부터 다시 보내지 않는다. checkpoint 가 깨졌거나 record 경계가 아니면 처음부터 다시 보낸다 (at-least-once).
+ */
+final class SpoolSegment {
+    static final String FILE_PREFIX = "spool-";
+    static final String FILE_SUFFIX = ".seg";
+    static final String CHECKPOINT_SUFFIX = ".ckpt";
+    private static final int CHECKPOINT_BYTES = 8;
+
+    record Batch(List<byte[]> bodies, int nextPosition) {
+    }
+
+    private final long sequence;
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final Path checkpointPath;
+    private final FileChannel checkpointChannel;
+    private final MappedByteBuffer checkpoint;
+    private int writePosition;
+    // drainer 가 전송을 확인한 위치
+    private int replayPosition;
+
+    private SpoolSegment(long sequence, Path path, FileChannel channel, MappedByteBuffer buffer,
+                         Path checkpointPath, FileChannel checkpointChannel) throws IOException {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.checkpointPath = checkpointPath;
+        this.checkpointChannel = checkpointChannel;
+        this.checkpoint = checkpointChannel.map(FileChannel.MapMode.READ_WRITE, 0, CHECKPOINT_BYTES);
+    }
+
+    static SpoolSegment create(Path directory, long sequence, int size) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", FILE_PREFIX, sequence, FILE_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // 이전에 지운 segment 의 checkpoint 가 남아 있을 수 있으므로 비우고 시작한다
+        Path checkpointPath = checkpointPath(path);
+        FileChannel checkpointChannel = FileChannel.open(checkpointPath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new SpoolSegment(sequence, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, size),
+                checkpointPath, checkpointChannel);
+    }
+
+    /**
+     * 재시작 시 남아 있는 segment 를 다시 연다. 쓰기 위치는 마지막 정상 record 뒤로, 재전송 위치는 checkpoint 로 잡는다.
+     */
+    static SpoolSegment open(Path path) throws IOException {
+        String fileName = path.getFileName().toString();
+        long sequence = Long.parseLong(fileName.substring(FILE_PREFIX.length(), fileName.length() - FILE_SUFFIX.length()));
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        Path checkpointPath = checkpointPath(path);
+        FileChannel checkpointChannel = FileChannel.open(checkpointPath,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        SpoolSegment segment = new SpoolSegment(sequence, path, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size()),
+                checkpointPath, checkpointChannel);
+        segment.writePosition = segment.scanEnd();
+        segment.replayPosition = segment.recoverReplayPosition();
+        return segment;
+    }
+
+    static boolean isSegmentFile(Path path) {
+        String fileName = path.getFileName().toString();
+        return fileName.startsWith(FILE_PREFIX) && fileName.endsWith(FILE_SUFFIX);
+    }
+
+    long sequence() {
+        return sequence;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    boolean isEmpty() {
+        return writePosition == 0;
+    }
+
+    /**
+     * 남은 공간이 부족하면 false (호출 측에서 다음 segment 로 넘긴다)
+     */
+    boolean append(byte[] body) {
+        if (writePosition + RecordFrames.frameLength(body) > buffer.capacity()) {
+            return false;
+        }
+        RecordFrames.write(buffer, writePosition, body);
+        writePosition += RecordFrames.frameLength(body);
+        return true;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * replayPosition 부터 최대 maxRecords 개의 record body 를 읽는다
+     * 쓰는 중인 segment 도 읽을 수 있도록 append 와 같은 lock 안에서 호출한다.
+     */
+    Batch readFromReplayPosition(int maxRecords) {
+        List<byte[]> bodies = new ArrayList<>(maxRecords);
+        RecordFrames.Reader reader = new RecordFrames.Reader(buffer, replayPosition, writePosition);
+        byte[] body;
+        while (bodies.size() < maxRecords && (body = reader.next()) != null) {
+            bodies.add(body);
+        }
+        return new Batch(bodies, reader.position());
+    }
+
+    /**
+     * 전송을 확인한 위치를 옮기고 checkpoint 에 기록한다
+     * 위치를 나중에 써서, 쓰는 도중 죽으면 두 값이 맞지 않아 처음부터 다시 보내게 한다.
+     */
+    void advanceReplayPosition(int position) {
+        this.replayPosition = position;
+        checkpoint.putInt(4, ~position);
+        checkpoint.putInt(0, position);
+        checkpoint.force();
+    }
+
+    void delete() throws IOException {
+        // MappedByteBuffer 는 GC 시점에 해제된다. Linux 에서는 매핑 중에도 파일 삭제가 가능하다
+        // segment 를 먼저 지운다. checkpoint 만 남으면 같은 sequence 의 segment 를 만들 때 비운다
+        channel.close();
+        Files.deleteIfExists(path);
+        checkpointChannel.close();
+        Files.deleteIfExists(checkpointPath);
+    }
+
+    static Path checkpointPath(Path segmentPath) {
+        String fileName = segmentPath.getFileName().toString();
+        return segmentPath.resolveSibling(fileName.substring(0, fileName.length() - FILE_SUFFIX.length()) + CHECKPOINT_SUFFIX);
+    }
+
+    private int scanEnd() {
+        RecordFrames.Reader reader = new RecordFrames.Reader(buffer);
+        while (reader.next() != null) {
+            // 마지막 온전한 record 까지
+        }
+        return reader.position();
+    }
+
+    /**
+     * checkpoint 의 위치가 온전하고 record 경계이면 그 위치, 아니면 0
+     */
+    private int recoverReplayPosition() {
+        int position = checkpoint.getInt(0);
+        if (position != ~checkpoint.getInt(4) || position <= 0 || position > writePosition) {
+            return 0;
+        }
+        RecordFrames.Reader reader = new RecordFrames.Reader(buffer, 0, writePosition);
+        while (reader.position() < position && reader.next() != null) {
+            // position 에 닿거나 넘을 때까지
+        }
+        return reader.position() == position ? position : 0;
+    }
+}
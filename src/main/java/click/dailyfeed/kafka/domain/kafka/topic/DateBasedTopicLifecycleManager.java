@@ -0,0 +1,289 @@
+package click.dailyfeed.kafka.domain.kafka.topic;
+
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import click.dailyfeed.kafka.domain.kafka.lock.RedisLeaseLock;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.*;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.config.ConfigResource;
+import org.apache.kafka.common.config.TopicConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.*;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 날짜 기반 토픽 수명 관리
+ * - N 일 앞까지의 토픽을 미리 생성 (파티션 수는 직전 날짜 토픽의 처리량으로 결정)
+ *   이미 만들어 둔 내일 이후 토픽도 파티션이 부족하면 늘린다 (아직 레코드가 없으므로 key 순서에 영향 없음)
+ * - 보존 기간이 지난 토픽은 삭제(DELETE)하거나 compact 로 전환(COMPACT)
+ *   토픽 이름이 prefix 로 시작하고 yyyyMMdd 로 끝나면 대상 (retry-yyyyMMdd, post-read-aggregate-yyyyMMdd 포함)
+ * - 여러 pod 중 Redis lock 을 잡은 하나만 실행하고, 단계마다 lock TTL 을 갱신한다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "infrastructure.kafka.topic-lifecycle.enabled", havingValue = "true")
+public class DateBasedTopicLifecycleManager {
+    private static final String LOCK_KEY = "kafka:topic-lifecycle:leader";
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final Pattern TRAILING_DATE = Pattern.compile("(\\d{8})$");
+
+    public enum ExpiredTopicAction {
+        DELETE, COMPACT, NONE
+    }
+
+    private final AdminClient adminClient;
+    private final KafkaTopicRegistry kafkaTopicRegistry;
+    private final RedisLeaseLock leaseLock;
+    private final Clock kafkaClock;
+
+    private final int daysAhead;
+    private final int retentionDays;
+    private final ExpiredTopicAction expiredTopicAction;
+    private final long targetRecordsPerPartition;
+    private final int maxPartitions;
+    private final long intervalMs;
+    private final long operationTimeoutSeconds;
+    // DateBasedTopicType prefix 와 read-aggregation topic-prefix
+    private final List<String> expirablePrefixes;
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-topic-lifecycle");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DateBasedTopicLifecycleManager(
+            AdminClient adminClient,
+            KafkaTopicRegistry kafkaTopicRegistry,
+            StringRedisTemplate stringRedisTemplate,
+            Clock kafkaClock,
+            @Value("${infrastructure.kafka.topic-lifecycle.days-ahead:3}") int daysAhead,
+            @Value("${infrastructure.kafka.topic-lifecycle.retention-days:7}") int retentionDays,
+            @Value("${infrastructure.kafka.topic-lifecycle.expired-action:DELETE}") ExpiredTopicAction expiredTopicAction,
+            @Value("${infrastructure.kafka.topic-lifecycle.target-records-per-partition:5000000}") long targetRecordsPerPartition,
+            @Value("${infrastructure.kafka.topic-lifecycle.max-partitions:24}") int maxPartitions,
+            @Value("${infrastructure.kafka.topic-lifecycle.interval-ms:600000}") long intervalMs,
+            @Value("${infrastructure.kafka.topic-lifecycle.lock-ttl-ms:120000}") long lockTtlMs,
+            @Value("${infrastructure.kafka.default.producer.operation-timeout-seconds:30}") long operationTimeoutSeconds,
+            @Value("${infrastructure.kafka.read-aggregation.topic-prefix:member-activity-post-read-aggregate-}") String readAggregateTopicPrefix
+    ) {
+        this.adminClient = adminClient;
+        this.kafkaTopicRegistry = kafkaTopicRegistry;
+        this.kafkaClock = kafkaClock;
+        this.daysAhead = daysAhead;
+        this.retentionDays = retentionDays;
+        this.expiredTopicAction = expiredTopicAction;
+        this.targetRecordsPerPartition = targetRecordsPerPartition;
+        this.maxPartitions = maxPartitions;
+        this.intervalMs = intervalMs;
+        this.operationTimeoutSeconds = operationTimeoutSeconds;
+        List<String> prefixes = new ArrayList<>();
+        for (DateBasedTopicType topicType : DateBasedTopicType.values()) {
+            prefixes.add(topicType.getTopicPrefix());
+        }
+        prefixes.add(readAggregateTopicPrefix);
+        this.expirablePrefixes = List.copyOf(prefixes);
+        // 갱신 사이의 admin 호출 몇 번(각 operation-timeout)보다는 길게 잡는다
+        this.leaseLock = new RedisLeaseLock(stringRedisTemplate, LOCK_KEY,
+                Math.max(lockTtlMs, TimeUnit.SECONDS.toMillis(operationTimeoutSeconds) * 4));
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler.scheduleWithFixedDelay(this::runIfLeader, 0, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void runIfLeader() {
+        // lock 은 짧게 잡고 단계마다 갱신해, 오래 걸리는 실행 도중 만료되지 않으면서도 리더가 죽으면 곧 다른 pod 가 이어받는다
+        if (!leaseLock.tryAcquire()) {
+            log.debug("Topic lifecycle lock is held by another instance");
+            return;
+        }
+
+        try {
+            LocalDate today = LocalDate.now(kafkaClock);
+            kafkaTopicRegistry.refresh().get(operationTimeoutSeconds, TimeUnit.SECONDS);
+            renewLock();
+            precreate(today);
+            renewLock();
+            expire(today);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Topic lifecycle run failed", e);
+        } finally {
+            leaseLock.release();
+        }
+    }
+
+    /**
+     * lock 이 아직 이 인스턴스 것이면 TTL 을 다시 늘린다. 잃었으면 이번 실행을 중단한다.
+     */
+    private void renewLock() {
+        if (!leaseLock.renew()) {
+            throw new IllegalStateException("Topic lifecycle lock was lost, aborting this run");
+        }
+    }
+
+    private void precreate(LocalDate today) throws Exception {
+        Map<String, Integer> topicPartitions = new LinkedHashMap<>();
+        Map<String, Integer> futurePartitions = new LinkedHashMap<>();
+        for (DateBasedTopicType topicType : DateBasedTopicType.values()) {
+            int partitions = partitionsFor(topicType, today.minusDays(1));
+            renewLock();
+            for (int day = 0; day <= daysAhead; day++) {
+                String topicName = topicType.generateTopicName(today.plusDays(day).atStartOfDay());
+                topicPartitions.put(topicName, partitions);
+                if (day > 0 && kafkaTopicRegistry.exists(topicName)) {
+                    futurePartitions.put(topicName, partitions);
+                }
+            }
+        }
+        kafkaTopicRegistry.ensureTopics(topicPartitions).get(operationTimeoutSeconds, TimeUnit.SECONDS);
+        growPartitions(futurePartitions);
+    }
+
+    /**
+     * 이전 실행에서 미리 만든 내일 이후 토픽의 파티션이 새로 계산한 수보다 적으면 늘린다.
+     * 파티션은 줄일 수 없으므로 더 많은 경우는 그대로 둔다. 오늘 토픽은 이미 레코드가 있어 key 순서가 바뀌므로 제외한다.
+     */
+    private void growPartitions(Map<String, Integer> topicPartitions) throws Exception {
+        if (topicPartitions.isEmpty()) {
+            return;
+        }
+        Map<String, TopicDescription> descriptions = adminClient.describeTopics(topicPartitions.keySet())
+                .allTopicNames().get(operationTimeoutSeconds, TimeUnit.SECONDS);
+
+        Map<String, NewPartitions> increases = new LinkedHashMap<>();
+        descriptions.forEach((topicName, description) -> {
+            int wanted = topicPartitions.get(topicName);
+            if (description.partitions().size() < wanted) {
+                increases.put(topicName, NewPartitions.increaseTo(wanted));
+            }
+        });
+        if (increases.isEmpty()) {
+            return;
+        }
+        renewLock();
+        adminClient.createPartitions(increases).all().get(operationTimeoutSeconds, TimeUnit.SECONDS);
+        log.info("Increased partitions of pre-created topics: {}", increases.keySet());
+    }
+
+    /**
+     * 직전 날짜 토픽에 쌓인 레코드 수로 파티션 수를 결정 (기본 파티션 수 ~ maxPartitions)
+     */
+    private int partitionsFor(DateBasedTopicType topicType, LocalDate observedDate) {
+        int defaultPartitions = kafkaTopicRegistry.getDefaultPartitions();
+        String observedTopic = topicType.generateTopicName(observedDate.atStartOfDay());
+        if (!kafkaTopicRegistry.exists(observedTopic)) {
+            return defaultPartitions;
+        }
+
+        try {
+            TopicDescription description = adminClient.describeTopics(List.of(observedTopic))
+                    .allTopicNames().get(operationTimeoutSeconds, TimeUnit.SECONDS).get(observedTopic);
+            Map<TopicPartition, OffsetSpec> earliest = new HashMap<>();
+            Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+            description.partitions().forEach(partitionInfo -> {
+                TopicPartition partition = new TopicPartition(observedTopic, partitionInfo.partition());
+                earliest.put(partition, OffsetSpec.earliest());
+                latest.put(partition, OffsetSpec.latest());
+            });
+
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> start =
+                    adminClient.listOffsets(earliest).all().get(operationTimeoutSeconds, TimeUnit.SECONDS);
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> end =
+                    adminClient.listOffsets(latest).all().get(operationTimeoutSeconds, TimeUnit.SECONDS);
+
+            long records = 0;
+            for (TopicPartition partition : end.keySet()) {
+                records += end.get(partition).offset() - start.get(partition).offset();
+            }
+
+            int partitions = (int) Math.min(maxPartitions, Math.max(defaultPartitions,
+                    (records + targetRecordsPerPartition - 1) / targetRecordsPerPartition));
+            log.info("Observed {} records in {}, next topics get {} partitions", records, observedTopic, partitions);
+            return partitions;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return defaultPartitions;
+        } catch (Exception e) {
+            log.warn("Failed to observe throughput of {}: {}", observedTopic, e.getMessage());
+            return defaultPartitions;
+        }
+    }
+
+    private void expire(LocalDate today) throws Exception {
+        if (expiredTopicAction == ExpiredTopicAction.NONE) {
+            return;
+        }
+
+        LocalDate cutoff = today.minusDays(retentionDays);
+        List<String> expiredTopics = new ArrayList<>();
+        for (String topicName : kafkaTopicRegistry.knownTopics()) {
+            if (!hasDateBasedPrefix(topicName)) {
+                continue;
+            }
+            Matcher matcher = TRAILING_DATE.matcher(topicName);
+            if (!matcher.find()) {
+                continue;
+            }
+            try {
+                LocalDate date = LocalDate.parse(matcher.group(1), DATE_FORMATTER);
+                if (date.isBefore(cutoff)) {
+                    expiredTopics.add(topicName);
+                }
+            } catch (DateTimeParseException e) {
+                // 날짜가 아닌 8자리 숫자로 끝나는 토픽은 건너뜀
+            }
+        }
+
+        if (expiredTopics.isEmpty()) {
+            return;
+        }
+
+        renewLock();
+        if (expiredTopicAction == ExpiredTopicAction.DELETE) {
+            adminClient.deleteTopics(expiredTopics).all().get(operationTimeoutSeconds, TimeUnit.SECONDS);
+            kafkaTopicRegistry.forget(expiredTopics);
+            log.info("Deleted expired topics: {}", expiredTopics);
+            return;
+        }
+
+        Map<ConfigResource, Collection<AlterConfigOp>> compactConfigs = new HashMap<>();
+        AlterConfigOp compact = new AlterConfigOp(
+                new ConfigEntry(TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_COMPACT), AlterConfigOp.OpType.SET);
+        expiredTopics.forEach(topicName ->
+                compactConfigs.put(new ConfigResource(ConfigResource.Type.TOPIC, topicName), List.of(compact)));
+        adminClient.incrementalAlterConfigs(compactConfigs).all().get(operationTimeoutSeconds, TimeUnit.SECONDS);
+        log.info("Switched expired topics to compaction: {}", expiredTopics);
+    }
+
+    private boolean hasDateBasedPrefix(String topicName) {
+        for (String prefix : expirablePrefixes) {
+            if (topicName.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
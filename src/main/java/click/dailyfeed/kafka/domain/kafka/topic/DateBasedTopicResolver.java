@@ -1,13 +1,144 @@
 package click.dailyfeed.kafka.domain.kafka.topic;
 
 import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.EnumMap;
 
 @Component
 public class DateBasedTopicResolver {
+    private final Clock kafkaClock;
+    private final ZoneId zoneId;
+    // 이벤트 시각이 현재 시각보다 이만큼 넘게 앞서 있으면(시계가 틀어진 producer 등) 현재 시각 + 이 값으로 잘라 캐시를 넘긴다
+    private final long maxFutureSkewMs;
+
+    // 오늘 날짜의 토픽명 캐시. 자정이 지나면 통째로 교체된다.
+    private volatile DailyTopicNames current;
+    // 자정 전에 미리 만들어 둔 다음 날짜 캐시 (prepare)
+    private volatile DailyTopicNames prepared;
+
+    public DateBasedTopicResolver(
+            Clock kafkaClock,
+            @Value("${infrastructure.kafka.topic-resolver.max-future-skew-ms:300000}") long maxFutureSkewMs
+    ) {
+        this.kafkaClock = kafkaClock;
+        this.zoneId = kafkaClock.getZone();
+        this.maxFutureSkewMs = maxFutureSkewMs;
+        this.current = DailyTopicNames.of(LocalDate.now(kafkaClock), zoneId);
+    }
+
     public String resolveDateBasedTopicName(DateBasedTopicType topicType, LocalDateTime createdAt) {
+        DailyTopicNames names = current;
+        LocalDate date = createdAt.toLocalDate();
+        if (names.date.equals(date)) {
+            return names.topicNames.get(topicType);
+        }
+        if (date.isAfter(names.date)) {
+            LocalDate latest = toLocalDate(kafkaClock.millis() + maxFutureSkewMs);
+            if (date.isAfter(latest)) {
+                date = latest;
+            }
+            return date.isAfter(names.date) ? rollover(date).topicNames.get(topicType) : names.topicNames.get(topicType);
+        }
         return topicType.generateTopicName(createdAt);
     }
+
+    /**
+     * epoch millis 기준 토픽명 조회
+     * 오늘 날짜라면 volatile read 한 번으로 끝나고, LocalDateTime 을 만들지 않는다.
+     * 현재 시각 + max-future-skew-ms 보다 앞선 시각은 그 시각으로 잘라서, 틀어진 시계 하나가 캐시를 며칠 뒤로 넘기지 못하게 한다.
+     */
+    public String resolve(DateBasedTopicType topicType, long epochMillis) {
+        DailyTopicNames names = current;
+        if (epochMillis >= names.startMillis && epochMillis < names.endMillis) {
+            return names.topicNames.get(topicType);
+        }
+        if (epochMillis >= names.endMillis) {
+            long clamped = Math.min(epochMillis, kafkaClock.millis() + maxFutureSkewMs);
+            if (clamped < names.endMillis) {
+                return names.topicNames.get(topicType);
+            }
+            return rollover(toLocalDate(clamped)).topicNames.get(topicType);
+        }
+        // 어제 이전 이벤트(DLQ 재처리 등)는 캐시하지 않고 그대로 계산
+        return topicType.generateTopicName(LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), zoneId));
+    }
+
+    /**
+     * 다음 날짜의 토픽명을 미리 계산해 두어 자정 교체 시 포맷팅 비용이 없도록 한다.
+     */
+    public void prepare(LocalDate date) {
+        if (date.isAfter(current.date)) {
+            prepared = DailyTopicNames.of(date, zoneId);
+        }
+    }
+
+    /**
+     * 지정한 날짜로 캐시를 즉시 교체 (자정 rollover 용, skew 제한을 적용하지 않는다)
+     */
+    public void switchTo(LocalDate date) {
+        rollover(date);
+    }
+
+    /**
+     * 현재 캐시된 날짜
+     */
+    public LocalDate currentDate() {
+        return current.date;
+    }
+
+    private LocalDate toLocalDate(long epochMillis) {
+        return Instant.ofEpochMilli(epochMillis).atZone(zoneId).toLocalDate();
+    }
+
+    private DailyTopicNames rollover(LocalDate date) {
+        synchronized (this) {
+            DailyTopicNames names = current;
+            if (!date.isAfter(names.date)) {
+                // 다른 스레드가 이미 교체함
+                return names.date.equals(date) ? names : DailyTopicNames.of(date, zoneId);
+            }
+            DailyTopicNames next = prepared;
+            if (next == null || !next.date.equals(date)) {
+                next = DailyTopicNames.of(date, zoneId);
+            }
+            current = next;
+            prepared = null;
+            return next;
+        }
+    }
+
+    private static final class DailyTopicNames {
+        private final LocalDate date;
+        private final long startMillis;
+        private final long endMillis;
+        private final EnumMap<DateBasedTopicType, String> topicNames;
+
+        private DailyTopicNames(LocalDate date, long startMillis, long endMillis, EnumMap<DateBasedTopicType, String> topicNames) {
+            this.date = date;
+            this.startMillis = startMillis;
+            this.endMillis = endMillis;
+            this.topicNames = topicNames;
+        }
+
+        private static DailyTopicNames of(LocalDate date, ZoneId zoneId) {
+            LocalDateTime startOfDay = date.atStartOfDay();
+            EnumMap<DateBasedTopicType, String> topicNames = new EnumMap<>(DateBasedTopicType.class);
+            for (DateBasedTopicType topicType : DateBasedTopicType.values()) {
+                topicNames.put(topicType, topicType.generateTopicName(startOfDay));
+            }
+            return new DailyTopicNames(
+                    date,
+                    date.atStartOfDay(zoneId).toInstant().toEpochMilli(),
+                    date.plusDays(1).atStartOfDay(zoneId).toInstant().toEpochMilli(),
+                    topicNames
+            );
+        }
+    }
 }
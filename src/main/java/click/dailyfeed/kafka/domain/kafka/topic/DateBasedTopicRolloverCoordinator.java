@@ -0,0 +1,173 @@
+package click.dailyfeed.kafka.domain.kafka.topic;
+
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import click.dailyfeed.kafka.config.KafkaProducerProfileTemplates;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 자정 토픽 전환 조정
+ * - 자정 warmup-lead-ms 전에 다음 날짜 토픽을 보장하고, producer 의 partitionsFor 를 호출해 metadata 를 미리 받아둔다.
+ *   (새 토픽에 대한 첫 send 가 metadata fetch 로 블로킹되지 않도록)
+ *   producer 는 metadata.max.idle.ms 동안 쓰지 않은 토픽의 metadata 를 버리므로, lead 는 그 절반 이하로 제한한다.
+ * - 다음 날짜 토픽명을 DateBasedTopicResolver 에 미리 계산해 두고, 자정에 한 번에 교체한다.
+ * - 자정 이후 새 날짜 토픽으로의 첫 실제 send 호출이 블로킹된 시간(rollover latency)을 KafkaHelper 가 알려주면 기록해,
+ *   warmup 이 효과가 있었는지 확인할 수 있게 한다.
+ */
+@Slf4j
+@Component
+public class DateBasedTopicRolloverCoordinator {
+    // ProducerConfig.METADATA_MAX_IDLE_CONFIG 기본값
+    private static final long DEFAULT_METADATA_MAX_IDLE_MS = 300_000;
+    private static final DateTimeFormatter DATE_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    // 기본 template + 프로필별 template (각각 별도의 producer metadata 를 가진다)
+    // 프로필 template 은 AdaptiveProducerTuner 가 교체할 수 있으므로 매번 새로 조회한다
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final KafkaProducerProfileTemplates kafkaProducerProfileTemplates;
+    private final KafkaTopicRegistry kafkaTopicRegistry;
+    private final DateBasedTopicResolver dateBasedTopicResolver;
+    private final Clock kafkaClock;
+    private final long warmupLeadMs;
+
+    private volatile long lastWarmupMillis = -1;
+    private volatile long lastRolloverLatencyMillis = -1;
+    // 자정 교체 후 아직 첫 send 를 보지 못한 날짜의 토픽 suffix (yyyyMMdd)
+    private final AtomicReference<String> awaitingFirstSend = new AtomicReference<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-topic-rollover");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DateBasedTopicRolloverCoordinator(
+            KafkaTemplate<String, Object> kafkaTemplate,
+            KafkaProducerProfileTemplates kafkaProducerProfileTemplates,
+            KafkaTopicRegistry kafkaTopicRegistry,
+            DateBasedTopicResolver dateBasedTopicResolver,
+            Clock kafkaClock,
+            @Value("${infrastructure.kafka.topic-rollover.warmup-lead-ms:60000}") long warmupLeadMs
+    ) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaProducerProfileTemplates = kafkaProducerProfileTemplates;
+        this.kafkaTopicRegistry = kafkaTopicRegistry;
+        this.dateBasedTopicResolver = dateBasedTopicResolver;
+        this.kafkaClock = kafkaClock;
+
+        long maxLeadMs = minMetadataMaxIdleMs(kafkaTemplates()) / 2;
+        if (warmupLeadMs > maxLeadMs) {
+            log.warn("warmup-lead-ms {} is too close to producer metadata.max.idle.ms, using {}", warmupLeadMs, maxLeadMs);
+        }
+        this.warmupLeadMs = Math.min(warmupLeadMs, maxLeadMs);
+    }
+
+    private List<KafkaTemplate<String, Object>> kafkaTemplates() {
+        List<KafkaTemplate<String, Object>> templates = new ArrayList<>();
+        templates.add(kafkaTemplate);
+        templates.addAll(kafkaProducerProfileTemplates.all());
+        return templates;
+    }
+
+    private static long minMetadataMaxIdleMs(List<KafkaTemplate<String, Object>> kafkaTemplates) {
+        long min = DEFAULT_METADATA_MAX_IDLE_MS;
+        for (KafkaTemplate<String, Object> kafkaTemplate : kafkaTemplates) {
+            Object configured = kafkaTemplate.getProducerFactory().getConfigurationProperties()
+                    .get(ProducerConfig.METADATA_MAX_IDLE_CONFIG);
+            if (configured != null) {
+                min = Math.min(min, Long.parseLong(configured.toString()));
+            }
+        }
+        return min;
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduleNext();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    public long getLastWarmupMillis() {
+        return lastWarmupMillis;
+    }
+
+    public long getLastRolloverLatencyMillis() {
+        return lastRolloverLatencyMillis;
+    }
+
+    long getWarmupLeadMs() {
+        return warmupLeadMs;
+    }
+
+    /**
+     * KafkaHelper 가 send 호출마다 알려준다. 교체 후 새 날짜 토픽으로의 첫 호출만 rollover latency 로 기록한다.
+     */
+    public void onSend(String topicName, long blockedNanos) {
+        String suffix = awaitingFirstSend.get();
+        if (suffix == null || !topicName.endsWith(suffix) || !awaitingFirstSend.compareAndSet(suffix, null)) {
+            return;
+        }
+        lastRolloverLatencyMillis = TimeUnit.NANOSECONDS.toMillis(blockedNanos);
+        log.info("First send to {} after rollover blocked {} ms", topicName, lastRolloverLatencyMillis);
+    }
+
+    private void scheduleNext() {
+        long now = kafkaClock.millis();
+        LocalDate tomorrow = LocalDate.now(kafkaClock).plusDays(1);
+        long midnight = tomorrow.atStartOfDay(kafkaClock.getZone()).toInstant().toEpochMilli();
+        long warmupAt = Math.max(now, midnight - warmupLeadMs);
+
+        scheduler.schedule(() -> warmup(tomorrow), warmupAt - now, TimeUnit.MILLISECONDS);
+        scheduler.schedule(() -> rollover(tomorrow), midnight - now, TimeUnit.MILLISECONDS);
+    }
+
+    private void warmup(LocalDate date) {
+        long startedAt = System.nanoTime();
+        try {
+            kafkaTopicRegistry.ensureDailyTopics(date).get(warmupLeadMs, TimeUnit.MILLISECONDS);
+            for (DateBasedTopicType topicType : DateBasedTopicType.values()) {
+                String topicName = topicType.generateTopicName(date.atStartOfDay());
+                kafkaTemplates().forEach(template -> template.partitionsFor(topicName));
+            }
+            dateBasedTopicResolver.prepare(date);
+            lastWarmupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+            log.info("Warmed producer metadata for {} topics in {} ms", date, lastWarmupMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Failed to warm producer metadata for {} topics", date, e);
+        }
+    }
+
+    void rollover(LocalDate date) {
+        try {
+            dateBasedTopicResolver.switchTo(date);
+            // 직접 partitionsFor 를 부르면 그 호출이 metadata 를 받아와 버리므로, 실제 첫 send 를 기다린다
+            awaitingFirstSend.set(date.format(DATE_SUFFIX));
+            log.info("Rolled over date based topics to {}", date);
+        } catch (Exception e) {
+            log.error("Failed to roll over date based topics to {}", date, e);
+        } finally {
+            scheduleNext();
+        }
+    }
+}
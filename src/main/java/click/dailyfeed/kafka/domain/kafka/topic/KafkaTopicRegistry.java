@@ -0,0 +1,245 @@
+package click.dailyfeed.kafka.domain.kafka.topic;
+
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.config.TopicConfig;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * 토픽 존재 여부를 공유하는 registry
+ * - 시작 시 listTopics 한 번으로 전체 토픽 목록을 적재하고, 이후 백그라운드에서 주기적으로 다시 적재한다.
+ *   목록은 불변 Set 이며 갱신할 때는 새 Set 을 만들어 참조만 교체하므로, 조회 중에 일부만 반영된 목록이 보이지 않는다.
+ * - exists 는 메모리 조회만 하므로 발행 경로에서 admin 호출을 기다리지 않는다.
+ * - 없는 토픽은 모아서 createTopics 한 번으로 생성하며, 결과는 future 로 돌려준다.
+ */
+@Slf4j
+@Component
+public class KafkaTopicRegistry {
+    private final AdminClient adminClient;
+    private final int partitions;
+    private final short replicationFactor;
+    private final long retentionMs;
+    private final long refreshIntervalMs;
+
+    private volatile Set<String> knownTopics = Set.of();
+    // 이 인스턴스가 생성해 목록에 추가한 토픽 → 추가 시각(nanoTime). 그 이전에 보낸 listTopics 결과로 지워지지 않게 한다
+    private final Map<String, Long> localAdds = new ConcurrentHashMap<>();
+    // 생성 요청이 진행 중인 토픽 (중복 createTopics 방지)
+    private final Map<String, CompletableFuture<Void>> pendingCreations = new ConcurrentHashMap<>();
+    private final CompletableFuture<Void> initialLoad = new CompletableFuture<>();
+
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "kafka-topic-registry");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public KafkaTopicRegistry(
+            AdminClient adminClient,
+            @Value("${infrastructure.kafka.default.producer.partition:6}") int partitions,
+            @Value("${infrastructure.kafka.default.producer.replication-factor:2}") short replicationFactor,
+            @Value("${infrastructure.kafka.default.producer.retention-ms:604800000}") long retentionMs,
+            @Value("${infrastructure.kafka.topic-registry.refresh-interval-ms:60000}") long refreshIntervalMs
+    ) {
+        this.adminClient = adminClient;
+        this.partitions = partitions;
+        this.replicationFactor = replicationFactor;
+        this.retentionMs = retentionMs;
+        this.refreshIntervalMs = refreshIntervalMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        refresh().whenComplete((ignored, throwable) -> {
+            if (throwable != null) {
+                initialLoad.completeExceptionally(throwable);
+            } else {
+                initialLoad.complete(null);
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::refresh, refreshIntervalMs, refreshIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * 토픽 존재 여부 (메모리 조회만, 블로킹 없음)
+     */
+    public boolean exists(String topicName) {
+        return knownTopics.contains(topicName);
+    }
+
+    public Set<String> knownTopics() {
+        return knownTopics;
+    }
+
+    /**
+     * 최초 listTopics 적재 완료 시점
+     */
+    public CompletableFuture<Void> initialLoad() {
+        return initialLoad;
+    }
+
+    /**
+     * listTopics 한 번으로 목록을 새로 만들어 교체
+     * listTopics 요청 이후에 이 인스턴스가 생성한 토픽은 응답에 없을 수 있으므로 유지한다.
+     */
+    public CompletableFuture<Void> refresh() {
+        long requestedAt = System.nanoTime();
+        return toCompletableFuture(adminClient.listTopics().names())
+                .thenAccept(names -> {
+                    synchronized (this) {
+                        Set<String> next = new HashSet<>(names);
+                        localAdds.forEach((topicName, addedAt) -> {
+                            if (addedAt - requestedAt >= 0) {
+                                next.add(topicName);
+                            }
+                        });
+                        localAdds.values().removeIf(addedAt -> addedAt - requestedAt < 0);
+                        knownTopics = Collections.unmodifiableSet(next);
+                    }
+                })
+                .whenComplete((ignored, throwable) -> {
+                    if (throwable != null) {
+                        log.warn("Failed to refresh topic registry: {}", throwable.getMessage());
+                    }
+                });
+    }
+
+    /**
+     * 주어진 날짜와 다음 날짜의 모든 DateBasedTopicType 토픽을 보장
+     */
+    public CompletableFuture<Void> ensureDailyTopics(LocalDate date) {
+        List<String> topicNames = new ArrayList<>();
+        for (LocalDate day : List.of(date, date.plusDays(1))) {
+            for (DateBasedTopicType topicType : DateBasedTopicType.values()) {
+                topicNames.add(topicType.generateTopicName(day.atStartOfDay()));
+            }
+        }
+        return ensureTopics(topicNames);
+    }
+
+    public CompletableFuture<Void> ensureTopics(Collection<String> topicNames) {
+        Map<String, Integer> topicPartitions = new LinkedHashMap<>();
+        topicNames.forEach(topicName -> topicPartitions.put(topicName, partitions));
+        return ensureTopics(topicPartitions);
+    }
+
+    /**
+     * 토픽별 파티션 수를 지정해 없는 토픽만 생성 (이미 있는 토픽의 파티션 수는 바꾸지 않는다)
+     */
+    public CompletableFuture<Void> ensureTopics(Map<String, Integer> topicPartitions) {
+        return initialLoad
+                .exceptionally(throwable -> null) // 목록 적재에 실패해도 생성은 시도 (이미 있으면 TopicExistsException 으로 처리)
+                .thenCompose(ignored -> createMissing(topicPartitions));
+    }
+
+    private CompletableFuture<Void> createMissing(Map<String, Integer> topicPartitions) {
+        List<NewTopic> newTopics = new ArrayList<>();
+        List<CompletableFuture<Void>> waits = new ArrayList<>();
+        Map<String, CompletableFuture<Void>> ours = new HashMap<>();
+
+        for (Map.Entry<String, Integer> entry : topicPartitions.entrySet()) {
+            String topicName = entry.getKey();
+            if (knownTopics.contains(topicName)) {
+                continue;
+            }
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> existing = pendingCreations.putIfAbsent(topicName, mine);
+            if (existing != null) {
+                waits.add(existing);
+                continue;
+            }
+            ours.put(topicName, mine);
+            waits.add(mine);
+            newTopics.add(newTopic(topicName, entry.getValue()));
+        }
+
+        if (!newTopics.isEmpty()) {
+            Map<String, KafkaFuture<Void>> results = adminClient.createTopics(newTopics).values();
+            results.forEach((topicName, future) -> future.whenComplete((ignored, throwable) -> {
+                CompletableFuture<Void> mine = ours.get(topicName);
+                pendingCreations.remove(topicName, mine);
+                if (throwable == null || unwrap(throwable) instanceof TopicExistsException) {
+                    add(topicName);
+                    if (throwable == null) {
+                        log.info("Created topic: {}", topicName);
+                    }
+                    mine.complete(null);
+                } else {
+                    log.error("Failed to create topic: {}", topicName, throwable);
+                    mine.completeExceptionally(throwable);
+                }
+            }));
+        }
+
+        return CompletableFuture.allOf(waits.toArray(new CompletableFuture[0]));
+    }
+
+    public NewTopic newTopic(String topicName, int partitions) {
+        NewTopic newTopic = new NewTopic(topicName, partitions, replicationFactor);
+        newTopic.configs(Map.of(
+                TopicConfig.RETENTION_MS_CONFIG, String.valueOf(retentionMs),
+                TopicConfig.CLEANUP_POLICY_CONFIG, TopicConfig.CLEANUP_POLICY_DELETE
+        ));
+        return newTopic;
+    }
+
+    public int getDefaultPartitions() {
+        return partitions;
+    }
+
+    /**
+     * 삭제된 토픽을 즉시 반영
+     */
+    public synchronized void forget(Collection<String> topicNames) {
+        Set<String> next = new HashSet<>(knownTopics);
+        next.removeAll(topicNames);
+        topicNames.forEach(localAdds::remove);
+        knownTopics = Collections.unmodifiableSet(next);
+    }
+
+    /**
+     * 캐시 초기화 (테스트용)
+     */
+    public synchronized void clear() {
+        localAdds.clear();
+        knownTopics = Set.of();
+    }
+
+    private synchronized void add(String topicName) {
+        localAdds.put(topicName, System.nanoTime());
+        if (knownTopics.contains(topicName)) {
+            return;
+        }
+        Set<String> next = new HashSet<>(knownTopics);
+        next.add(topicName);
+        knownTopics = Collections.unmodifiableSet(next);
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        while ((throwable instanceof ExecutionException || throwable instanceof CompletionException)
+                && throwable.getCause() != null) {
+            throwable = throwable.getCause();
+        }
+        return throwable;
+    }
+
+    private static <T> CompletableFuture<T> toCompletableFuture(KafkaFuture<T> kafkaFuture) {
+        return kafkaFuture.toCompletionStage().toCompletableFuture();
+    }
+}
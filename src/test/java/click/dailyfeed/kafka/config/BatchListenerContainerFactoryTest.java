@@ -0,0 +1,124 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.listener.BatchAcknowledgingMessageListener;
+import org.springframework.kafka.listener.BatchMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static click.dailyfeed.kafka.config.EmbeddedKafkaTestSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+@EmbeddedKafka(partitions = 1)
+class BatchListenerContainerFactoryTest {
+    private static final int RECORDS = 600;
+
+    @Test
+    void batchModeCommitsOncePerPolledBatch(EmbeddedKafkaBroker broker) throws Exception {
+        String topic = "member-activity-batch-commit";
+        createTopic(broker, topic, 3);
+        produce(template(broker), topic, 0, RECORDS);
+
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                kafkaConfig(broker, "batch").memberActivityBatchKafkaListenerContainerFactory();
+        consumeFromEarliest(factory, "batch-commit-group");
+
+        AtomicInteger received = new AtomicInteger();
+        AtomicInteger acknowledgements = new AtomicInteger();
+        ConcurrentMessageListenerContainer<String, MemberActivityTransportDto.MemberActivityEvent> container = factory.createContainer(topic);
+        container.setupMessageListener((BatchAcknowledgingMessageListener<String, MemberActivityTransportDto.MemberActivityEvent>) (records, ack) -> {
+            received.addAndGet(records.size());
+            acknowledgements.incrementAndGet();
+            ack.acknowledge();
+        });
+
+        container.start();
+        try {
+            await().atMost(Duration.ofSeconds(30))
+                    .until(() -> committedTotal(broker, "batch-commit-group", topic, 3) == RECORDS);
+        } finally {
+            container.stop();
+        }
+
+        assertThat(received.get()).isEqualTo(RECORDS);
+        // poll(최대 100건) 당 acknowledge 한 번 = 커밋 한 번
+        assertThat(acknowledgements.get()).isLessThanOrEqualTo(RECORDS / 10);
+    }
+
+    @Test
+    void nackRedeliversFromTheFailingIndexOnly(EmbeddedKafkaBroker broker) throws Exception {
+        String topic = "member-activity-batch-nack";
+        createTopic(broker, topic, 1);
+        produce(template(broker), topic, 0, RECORDS);
+
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                kafkaConfig(broker, "batch").memberActivityBatchKafkaListenerContainerFactory();
+        consumeFromEarliest(factory, "batch-nack-group");
+
+        long poisonMemberId = 250;
+        AtomicBoolean failedOnce = new AtomicBoolean();
+        Map<Long, Integer> deliveries = new ConcurrentHashMap<>();
+        ConcurrentMessageListenerContainer<String, MemberActivityTransportDto.MemberActivityEvent> container = factory.createContainer(topic);
+        container.setupMessageListener((BatchAcknowledgingMessageListener<String, MemberActivityTransportDto.MemberActivityEvent>) (records, ack) -> {
+            for (int index = 0; index < records.size(); index++) {
+                long memberId = records.get(index).value().getMemberId();
+                if (memberId == poisonMemberId && failedOnce.compareAndSet(false, true)) {
+                    ack.nack(index, Duration.ofMillis(50));
+                    return;
+                }
+                deliveries.merge(memberId, 1, Integer::sum);
+            }
+            ack.acknowledge();
+        });
+
+        container.start();
+        try {
+            await().atMost(Duration.ofSeconds(30))
+                    .until(() -> committedTotal(broker, "batch-nack-group", topic, 1) == RECORDS);
+        } finally {
+            container.stop();
+        }
+
+        assertThat(failedOnce).isTrue();
+        assertThat(deliveries).hasSize(RECORDS);
+        // 실패 index 이전 레코드는 커밋되어 다시 오지 않는다
+        assertThat(deliveries.values()).allMatch(count -> count == 1);
+    }
+
+    @Test
+    void coalesceModeCommitsWithoutListenerAcknowledgement(EmbeddedKafkaBroker broker) throws Exception {
+        String topic = "member-activity-batch-coalesce";
+        createTopic(broker, topic, 3);
+        produce(template(broker), topic, 0, RECORDS);
+
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                kafkaConfig(broker, "coalesce").memberActivityBatchKafkaListenerContainerFactory();
+        consumeFromEarliest(factory, "batch-coalesce-group");
+
+        AtomicInteger received = new AtomicInteger();
+        ConcurrentMessageListenerContainer<String, MemberActivityTransportDto.MemberActivityEvent> container = factory.createContainer(topic);
+        container.setupMessageListener((BatchMessageListener<String, MemberActivityTransportDto.MemberActivityEvent>) records ->
+                received.addAndGet(records.size()));
+
+        container.start();
+        try {
+            // ack-count(200) 또는 ack-time(500ms) 에 도달하면 컨테이너가 모아서 커밋
+            await().atMost(Duration.ofSeconds(30))
+                    .until(() -> committedTotal(broker, "batch-coalesce-group", topic, 3) == RECORDS);
+        } finally {
+            container.stop();
+        }
+
+        assertThat(received.get()).isEqualTo(RECORDS);
+    }
+}
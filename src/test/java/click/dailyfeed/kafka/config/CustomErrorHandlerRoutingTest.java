@@ -0,0 +1,125 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.kafka.domain.activity.redis.MemberActivityEventDLQBuffer;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import click.dailyfeed.kafka.domain.kafka.topic.KafkaTopicRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.listener.AcknowledgingMessageListener;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static click.dailyfeed.kafka.config.EmbeddedKafkaTestSupport.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@EmbeddedKafka(partitions = 1)
+class CustomErrorHandlerRoutingTest {
+    private static final String TOPIC = "member-activity-20261018";
+    private static final String RETRY_TOPIC = "member-activity-retry-20261018";
+    private static final int PARTITIONS = 3;
+    private static final int RECORDS = 300;
+    private static final int MAX_ATTEMPTS = 3;
+    // 일시 오류가 계속되는 레코드(retry 토픽으로)와 영구 오류 레코드(바로 DLQ 로)
+    private static final long TRANSIENT_POISON_MEMBER_ID = 42;
+    private static final long PERSISTENT_POISON_MEMBER_ID = 137;
+
+    @Test
+    void healthyRecordsKeepFlowingWhilePoisonRecordsAreRoutedAway(EmbeddedKafkaBroker broker) throws Exception {
+        createTopic(broker, TOPIC, PARTITIONS);
+        createTopic(broker, RETRY_TOPIC, 1);
+        produce(template(broker), TOPIC, 0, RECORDS);
+
+        Set<Long> dlqMemberIds = ConcurrentHashMap.newKeySet();
+        MemberActivityEventDLQBuffer dlqBuffer = mock(MemberActivityEventDLQBuffer.class);
+        when(dlqBuffer.write(any())).thenAnswer(invocation -> {
+            dlqMemberIds.add(invocation.<MemberActivityTransportDto.MemberActivityMessage>getArgument(0).getEvent().getMemberId());
+            return CompletableFuture.completedFuture(null);
+        });
+        KafkaTopicRegistry kafkaTopicRegistry = mock(KafkaTopicRegistry.class);
+        when(kafkaTopicRegistry.exists(anyString())).thenReturn(true);
+
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", new SimpleMeterRegistry());
+        CustomErrorHandler handler = new CustomErrorHandler(template(broker), kafkaTopicRegistry, dlqBuffer,
+                new KafkaSupportMetrics(beanFactory.getBeanProvider(MeterRegistry.class)), Clock.systemDefaultZone(),
+                MAX_ATTEMPTS, 50, 200, 2.0, 0, true, 2, 10_000);
+
+        ConcurrentKafkaListenerContainerFactory<String, MemberActivityTransportDto.MemberActivityEvent> factory =
+                kafkaConfig(broker, "batch").memberActivityKafkaListenerContainerFactory(handler);
+        consumeFromEarliest(factory, "poison-routing-group");
+
+        Map<Long, Integer> deliveries = new ConcurrentHashMap<>();
+        ConcurrentMessageListenerContainer<String, MemberActivityTransportDto.MemberActivityEvent> container = factory.createContainer(TOPIC);
+        container.setupMessageListener((AcknowledgingMessageListener<String, MemberActivityTransportDto.MemberActivityEvent>) (record, ack) -> {
+            long memberId = record.value().getMemberId();
+            deliveries.merge(memberId, 1, Integer::sum);
+            if (memberId == TRANSIENT_POISON_MEMBER_ID) {
+                throw new IllegalStateException("downstream unavailable");
+            }
+            if (memberId == PERSISTENT_POISON_MEMBER_ID) {
+                throw new IllegalArgumentException("bad activity");
+            }
+            ack.acknowledge();
+        });
+
+        container.start();
+        try {
+            // poison 레코드도 retry 토픽/DLQ 로 넘긴 뒤 커밋되므로 모든 파티션이 끝까지 간다
+            await().atMost(Duration.ofSeconds(30))
+                    .until(() -> committedTotal(broker, "poison-routing-group", TOPIC, PARTITIONS) == RECORDS);
+        } finally {
+            container.stop();
+        }
+
+        // 정상 레코드는 poison 뒤에 있던 것까지 모두 한 번씩만 처리된다
+        assertThat(deliveries).hasSize(RECORDS);
+        assertThat(deliveries).allSatisfy((memberId, count) -> {
+            if (memberId == TRANSIENT_POISON_MEMBER_ID) {
+                assertThat(count).isEqualTo(MAX_ATTEMPTS);
+            } else {
+                assertThat(count).isEqualTo(1);
+            }
+        });
+        assertThat(dlqMemberIds).containsExactly(PERSISTENT_POISON_MEMBER_ID);
+
+        ConsumerRecord<String, byte[]> retried = readSingleRecord(broker, RETRY_TOPIC);
+        assertThat(retried.key()).isEqualTo(String.valueOf(TRANSIENT_POISON_MEMBER_ID));
+        assertThat(new String(retried.headers().lastHeader(CustomErrorHandler.RETRY_ATTEMPT_HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo("1");
+        assertThat(new String(retried.headers().lastHeader(CustomErrorHandler.RETRY_ORIGINAL_TOPIC_HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo(TOPIC);
+    }
+
+    private static ConsumerRecord<String, byte[]> readSingleRecord(EmbeddedKafkaBroker broker, String topic) {
+        Map<String, Object> props = KafkaTestUtils.consumerProps("poison-routing-reader", "false", broker);
+        try (Consumer<String, byte[]> consumer =
+                     new DefaultKafkaConsumerFactory<>(props, new StringDeserializer(), new ByteArrayDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, topic);
+            return KafkaTestUtils.getSingleRecord(consumer, topic, Duration.ofSeconds(10));
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import click.dailyfeed.kafka.domain.activity.redis.MemberActivityEventDLQBuffer;
+import click.dailyfeed.kafka.domain.kafka.consumer.CrossDayTopicSubscription;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import click.dailyfeed.kafka.domain.kafka.topic.KafkaTopicRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.apache.kafka.common.record.TimestampType;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomErrorHandlerTest {
+    private static final String TOPIC = "member-activity-20261018";
+    private static final int MAX_ATTEMPTS = 3;
+    private static final int MAX_RETRY_TOPIC_ATTEMPTS = 2;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+    private final KafkaTopicRegistry kafkaTopicRegistry = mock(KafkaTopicRegistry.class);
+    private final MemberActivityEventDLQBuffer dlqBuffer = mock(MemberActivityEventDLQBuffer.class);
+
+    @Test
+    void retryTopicOfInsertsRetryBeforeDateAndIsIdempotent() {
+        assertThat(CustomErrorHandler.retryTopicOf(TOPIC)).isEqualTo("member-activity-retry-20261018");
+        assertThat(CustomErrorHandler.retryTopicOf("member-activity-retry-20261018")).isEqualTo("member-activity-retry-20261018");
+        assertThat(CustomErrorHandler.retryTopicOf("post-activity")).isEqualTo("post-activity-retry");
+        assertThat(CustomErrorHandler.retryTopicOf("post-activity-retry")).isEqualTo("post-activity-retry");
+    }
+
+    @Test
+    void retryTopicsMatchOnlyTheRetrySubscriptionPattern() {
+        for (DateBasedTopicType type : DateBasedTopicType.values()) {
+            String topic = type.generateTopicName(LocalDateTime.of(2026, 10, 18, 0, 0));
+            String retryTopic = CustomErrorHandler.retryTopicOf(topic);
+
+            assertThat(Pattern.matches(CrossDayTopicSubscription.retryTopicPattern(type), retryTopic)).isTrue();
+            assertThat(Pattern.matches(CrossDayTopicSubscription.topicPattern(type), retryTopic)).isFalse();
+            assertThat(Pattern.matches(CrossDayTopicSubscription.retryTopicPattern(type), topic)).isFalse();
+        }
+    }
+
+    @Test
+    void poisonRecordCyclesThroughRetryTopicThenLandsInDLQ() {
+        CustomErrorHandler handler = handler(true);
+        givenRetryTopicSendsSucceed();
+        when(dlqBuffer.write(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        ConsumerRecord<String, Object> record = record(TOPIC, new RecordHeaders());
+        List<String> topics = new ArrayList<>();
+        for (int pass = 0; pass <= MAX_RETRY_TOPIC_ATTEMPTS; pass++) {
+            topics.add(record.topic());
+            // 같은 offset 을 max-attempts - 1 번 다시 받은 뒤 넘긴다
+            for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+                assertThat(handler.handleOne(new IllegalStateException("redis down"), record, null, null)).isFalse();
+            }
+            assertThat(handler.handleOne(new IllegalStateException("redis down"), record, null, null)).isTrue();
+            if (pass < MAX_RETRY_TOPIC_ATTEMPTS) {
+                record = forwarded(pass + 1);
+            }
+        }
+
+        assertThat(topics).containsExactly(TOPIC, "member-activity-retry-20261018", "member-activity-retry-20261018");
+        verify(kafkaTemplate, times(MAX_RETRY_TOPIC_ATTEMPTS)).send(any(ProducerRecord.class));
+        verify(dlqBuffer).write(any());
+        assertThat(errors("dlq")).isEqualTo(1);
+        assertThat(errors("retry-topic")).isEqualTo(MAX_RETRY_TOPIC_ATTEMPTS);
+    }
+
+    @Test
+    void exhaustedRecordGoesStraightToDLQWhenRetryTopicDisabled() {
+        CustomErrorHandler handler = handler(false);
+        when(dlqBuffer.write(any())).thenReturn(CompletableFuture.completedFuture(null));
+        ConsumerRecord<String, Object> record = record(TOPIC, new RecordHeaders());
+
+        for (int attempt = 1; attempt < MAX_ATTEMPTS; attempt++) {
+            assertThat(handler.handleOne(new IllegalStateException("redis down"), record, null, null)).isFalse();
+        }
+        assertThat(handler.handleOne(new IllegalStateException("redis down"), record, null, null)).isTrue();
+
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+        verify(dlqBuffer).write(any());
+    }
+
+    @Test
+    void persistentErrorSkipsInPlaceRetries() {
+        CustomErrorHandler handler = handler(true);
+        when(dlqBuffer.write(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        assertThat(handler.handleOne(new IllegalArgumentException("bad"), record(TOPIC, new RecordHeaders()), null, null)).isTrue();
+
+        verify(dlqBuffer).write(any());
+        verify(kafkaTemplate, never()).send(any(ProducerRecord.class));
+    }
+
+    @Test
+    void redeliversWhenDLQIsFull() {
+        CustomErrorHandler handler = handler(false);
+        when(dlqBuffer.write(any())).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("Member activity DLQ buffer is full")));
+
+        assertThat(handler.handleOne(new IllegalArgumentException("bad"), record(TOPIC, new RecordHeaders()), null, null)).isFalse();
+        assertThat(errors("route-failed")).isEqualTo(1);
+    }
+
+    @Test
+    void redeliversWhenDLQWriteIsNotConfirmedInTime() {
+        CustomErrorHandler handler = handler(false);
+        // Redis/spool 어디에도 기록되지 않은 채 route-timeout-ms 가 지난다
+        when(dlqBuffer.write(any())).thenReturn(new CompletableFuture<>());
+
+        assertThat(handler.handleOne(new IllegalArgumentException("bad"), record(TOPIC, new RecordHeaders()), null, null)).isFalse();
+        assertThat(errors("route-failed")).isEqualTo(1);
+        assertThat(meterRegistry.find("dailyfeed.kafka.consumer.errors").tag("action", "dlq").counter()).isNull();
+    }
+
+    private CustomErrorHandler handler(boolean retryTopicEnabled) {
+        return new CustomErrorHandler(kafkaTemplate, kafkaTopicRegistry, dlqBuffer, new KafkaSupportMetrics(provider(meterRegistry)),
+                Clock.systemDefaultZone(), MAX_ATTEMPTS, 0, 0, 2.0, 0, retryTopicEnabled, MAX_RETRY_TOPIC_ATTEMPTS, 1000);
+    }
+
+    private void givenRetryTopicSendsSucceed() {
+        when(kafkaTopicRegistry.exists(anyString())).thenReturn(true);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+    }
+
+    /**
+     * 마지막으로 retry 토픽에 보낸 레코드를 consumer 가 다시 받은 것처럼 만든다
+     */
+    @SuppressWarnings("unchecked")
+    private ConsumerRecord<String, Object> forwarded(int sends) {
+        ArgumentCaptor<ProducerRecord<String, Object>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(sends)).send(captor.capture());
+        ProducerRecord<String, Object> sent = captor.getValue();
+        assertThat(new String(sent.headers().lastHeader(CustomErrorHandler.RETRY_ATTEMPT_HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo(String.valueOf(sends));
+        assertThat(new String(sent.headers().lastHeader(CustomErrorHandler.RETRY_ORIGINAL_TOPIC_HEADER).value(), StandardCharsets.UTF_8))
+                .isEqualTo(TOPIC);
+        return new ConsumerRecord<>(sent.topic(), 0, sends, 0L, TimestampType.CREATE_TIME, -1, -1,
+                sent.key(), sent.value(), sent.headers(), Optional.empty());
+    }
+
+    private static ConsumerRecord<String, Object> record(String topic, RecordHeaders headers) {
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransportDto.MemberActivityEvent.builder()
+                .memberActivityType(MemberActivityType.POST_READ)
+                .memberId(1L)
+                .postId(2L)
+                .createdAt(LocalDateTime.of(2026, 10, 18, 12, 0))
+                .build();
+        return new ConsumerRecord<>(topic, 0, 0L, 0L, TimestampType.CREATE_TIME, -1, -1, "1", event, headers, Optional.empty());
+    }
+
+    private double errors(String action) {
+        return meterRegistry.get("dailyfeed.kafka.consumer.errors").tag("action", action).counters().stream()
+                .mapToDouble(counter -> counter.count())
+                .sum();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<MeterRegistry> provider(MeterRegistry meterRegistry) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(meterRegistry);
+        return provider;
+    }
+}
@@ -0,0 +1,96 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * EmbeddedKafka 로 KafkaConfig 의 listener factory 를 직접 띄우는 테스트용 도구
+ * 스프링 컨텍스트 없이 @Value 필드만 채워 KafkaConfig 를 만들고, 토픽 생성/발행/커밋 offset 조회를 돕는다.
+ */
+final class EmbeddedKafkaTestSupport {
+
+    private EmbeddedKafkaTestSupport() {
+    }
+
+    static KafkaConfig kafkaConfig(EmbeddedKafkaBroker broker, String batchCommitMode) {
+        KafkaConfig config = new KafkaConfig();
+        ReflectionTestUtils.setField(config, "bootstrapServers", broker.getBrokersAsString());
+        ReflectionTestUtils.setField(config, "kafkaUser", "");
+        ReflectionTestUtils.setField(config, "kafkaPassword", "");
+        ReflectionTestUtils.setField(config, "saslProtocol", "PLAINTEXT");
+        ReflectionTestUtils.setField(config, "saslMechanism", "PLAIN");
+        ReflectionTestUtils.setField(config, "memberActivityWireFormat", "json");
+        ReflectionTestUtils.setField(config, "batchCommitMode", batchCommitMode);
+        ReflectionTestUtils.setField(config, "batchAckCount", 200);
+        ReflectionTestUtils.setField(config, "batchAckTimeMs", 500L);
+        return config;
+    }
+
+    /**
+     * 테스트마다 group 을 분리하고, 컨테이너가 뜨기 전에 발행한 레코드부터 읽도록 한다
+     */
+    static void consumeFromEarliest(ConcurrentKafkaListenerContainerFactory<String, ?> factory, String groupId) {
+        ((DefaultKafkaConsumerFactory<String, ?>) factory.getConsumerFactory()).updateConfigs(Map.of(
+                ConsumerConfig.GROUP_ID_CONFIG, groupId,
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, 100
+        ));
+    }
+
+    static void createTopic(EmbeddedKafkaBroker broker, String topic, int partitions) {
+        broker.addTopics(new NewTopic(topic, partitions, (short) 1));
+    }
+
+    static KafkaTemplate<String, Object> template(EmbeddedKafkaBroker broker) {
+        Map<String, Object> props = KafkaTestUtils.producerProps(broker);
+        props.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        props.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, MemberActivityEventSerializer.class);
+        return new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(props));
+    }
+
+    /**
+     * memberId 를 fromMemberId 부터 하나씩 늘린 POST_READ 이벤트 count 건을 발행 (key 도 memberId)
+     */
+    static void produce(KafkaTemplate<String, Object> template, String topic, long fromMemberId, int count) {
+        for (long memberId = fromMemberId; memberId < fromMemberId + count; memberId++) {
+            template.send(topic, String.valueOf(memberId), event(memberId));
+        }
+        template.flush();
+    }
+
+    static MemberActivityTransportDto.MemberActivityEvent event(long memberId) {
+        return MemberActivityTransportDto.MemberActivityEvent.builder()
+                .memberActivityType(MemberActivityType.POST_READ)
+                .memberId(memberId)
+                .postId(memberId * 10)
+                .createdAt(LocalDateTime.of(2026, 10, 18, 12, 0))
+                .build();
+    }
+
+    /**
+     * group 이 topic 의 모든 파티션에 커밋한 offset 합계
+     */
+    static long committedTotal(EmbeddedKafkaBroker broker, String groupId, String topic, int partitions) throws Exception {
+        long total = 0;
+        for (int partition = 0; partition < partitions; partition++) {
+            OffsetAndMetadata offset = KafkaTestUtils.getCurrentOffset(broker.getBrokersAsString(), groupId, topic, partition);
+            total += offset == null ? 0 : offset.offset();
+        }
+        return total;
+    }
+}
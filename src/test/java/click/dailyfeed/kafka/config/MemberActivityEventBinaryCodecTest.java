@@ -0,0 +1,81 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MemberActivityEventBinaryCodecTest {
+
+    @Test
+    void roundTripsAllFields() {
+        for (MemberActivityType type : MemberActivityType.values()) {
+            MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransportDto.MemberActivityEvent.builder()
+                    .memberActivityType(type)
+                    .memberId(Long.MAX_VALUE)
+                    .postId(123_456_789L)
+                    .commentId(1L)
+                    .createdAt(LocalDateTime.of(2026, 10, 18, 23, 59, 59, 999_000_000))
+                    .build();
+
+            assertSameEvent(MemberActivityEventBinaryCodec.decode(MemberActivityEventBinaryCodec.encode(event)), event);
+        }
+    }
+
+    @Test
+    void roundTripsMissingFieldsAndPreEpochDates() {
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransportDto.MemberActivityEvent.builder()
+                .memberId(0L)
+                .createdAt(LocalDateTime.of(1960, 1, 1, 0, 0))
+                .build();
+
+        MemberActivityTransportDto.MemberActivityEvent decoded =
+                MemberActivityEventBinaryCodec.decode(MemberActivityEventBinaryCodec.encode(event));
+
+        assertSameEvent(decoded, event);
+        assertThat(decoded.getPostId()).isNull();
+        assertThat(decoded.getMemberActivityType()).isNull();
+    }
+
+    @Test
+    void encodesSmallIdsCompactly() {
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransportDto.MemberActivityEvent.builder()
+                .memberActivityType(MemberActivityType.POST_READ)
+                .memberId(100L)
+                .postId(200L)
+                .build();
+
+        // version + flags + type(1) + memberId(1) + postId(2)
+        assertThat(MemberActivityEventBinaryCodec.encode(event)).hasSize(6);
+    }
+
+    @Test
+    void rejectsTruncatedAndUnknownVersionPayloads() {
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransportDto.MemberActivityEvent.builder()
+                .memberId(Long.MAX_VALUE)
+                .build();
+        byte[] encoded = MemberActivityEventBinaryCodec.encode(event);
+
+        assertThatThrownBy(() -> MemberActivityEventBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 1)))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> MemberActivityEventBinaryCodec.decode(new byte[]{9, 0}))
+                .isInstanceOf(SerializationException.class);
+        assertThatThrownBy(() -> MemberActivityEventBinaryCodec.decode(new byte[]{MemberActivityEventBinaryCodec.VERSION_1}))
+                .isInstanceOf(SerializationException.class);
+    }
+
+    private static void assertSameEvent(MemberActivityTransportDto.MemberActivityEvent actual,
+                                        MemberActivityTransportDto.MemberActivityEvent expected) {
+        assertThat(actual.getMemberActivityType()).isEqualTo(expected.getMemberActivityType());
+        assertThat(actual.getMemberId()).isEqualTo(expected.getMemberId());
+        assertThat(actual.getPostId()).isEqualTo(expected.getPostId());
+        assertThat(actual.getCommentId()).isEqualTo(expected.getCommentId());
+        assertThat(actual.getCreatedAt()).isEqualTo(expected.getCreatedAt());
+    }
+}
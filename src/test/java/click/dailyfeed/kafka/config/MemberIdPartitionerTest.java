@@ -0,0 +1,166 @@
+package click.dailyfeed.kafka.config;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import org.apache.kafka.common.Cluster;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.utils.Utils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MemberIdPartitionerTest {
+    private static final String TOPIC = "member-activity-20261018";
+    private static final int PARTITIONS = 12;
+
+    private final Cluster cluster = cluster(TOPIC, PARTITIONS);
+
+    @Test
+    void sendsEveryActivityOfAMemberToTheSamePartition() {
+        MemberIdPartitioner partitioner = partitioner(Integer.MAX_VALUE, null);
+
+        for (long memberId = 1; memberId <= 200; memberId++) {
+            Set<Integer> partitions = new HashSet<>();
+            for (MemberActivityType type : MemberActivityType.values()) {
+                partitions.add(partition(partitioner, event(memberId, type)));
+            }
+            assertThat(partitions).hasSize(1);
+            assertThat(partitions.iterator().next()).isBetween(0, PARTITIONS - 1);
+        }
+    }
+
+    @Test
+    void spreadsMembersEvenlyAcrossPartitions() {
+        MemberIdPartitionSkewReport report = new MemberIdPartitionSkewReport();
+        MemberIdPartitioner partitioner = partitioner(Integer.MAX_VALUE, report);
+
+        for (long memberId = 1; memberId <= 120_000; memberId++) {
+            partition(partitioner, event(memberId, MemberActivityType.POST_READ));
+        }
+
+        assertThat(report.snapshot().get(TOPIC)).hasSize(PARTITIONS);
+        assertThat(report.skew(TOPIC)).isLessThan(1.05);
+        assertThat(report.getHotSpreads()).isZero();
+    }
+
+    @Test
+    void spreadsHotMemberOverConsecutivePartitionsOnceOverThreshold() {
+        MemberIdPartitionSkewReport report = new MemberIdPartitionSkewReport();
+        MemberIdPartitioner partitioner = partitioner(10, report);
+        MemberActivityTransportDto.MemberActivityEvent hot = event(42L, MemberActivityType.POST_READ);
+
+        int base = partition(partitioner, hot);
+        for (int i = 1; i < 10; i++) {
+            assertThat(partition(partitioner, hot)).isEqualTo(base);
+        }
+
+        List<Integer> spread = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            spread.add(partition(partitioner, hot));
+        }
+        assertThat(new HashSet<>(spread)).containsExactlyInAnyOrder(
+                base, (base + 1) % PARTITIONS, (base + 2) % PARTITIONS, (base + 3) % PARTITIONS);
+        assertThat(report.getHotSpreads()).isEqualTo(8);
+
+        // 다른 회원은 영향을 받지 않는다
+        MemberActivityTransportDto.MemberActivityEvent cold = event(43L, MemberActivityType.POST_READ);
+        assertThat(partition(partitioner, cold)).isEqualTo(partition(partitioner(10, null), cold));
+    }
+
+    @Test
+    void fallsBackToMurmur2ForOtherValues() {
+        MemberIdPartitioner partitioner = partitioner(Integer.MAX_VALUE, null);
+        byte[] keyBytes = "post-7".getBytes(StandardCharsets.UTF_8);
+
+        int partition = partitioner.partition(TOPIC, "post-7", keyBytes, "payload", null, cluster);
+
+        assertThat(partition).isEqualTo(Utils.toPositive(Utils.murmur2(keyBytes)) % PARTITIONS);
+        // memberId 가 없는 이벤트도 key 해시로
+        MemberActivityTransportDto.MemberActivityEvent anonymous = MemberActivityTransportDto.MemberActivityEvent.builder().build();
+        assertThat(partitioner.partition(TOPIC, "post-7", keyBytes, anonymous, null, cluster)).isEqualTo(partition);
+    }
+
+    @Test
+    void sendsNullKeyRecordsInBatchesToOnePartitionAtATime() {
+        MemberIdPartitioner partitioner = partitioner(Integer.MAX_VALUE, null);
+        partitioner.configure(Map.of(MemberIdPartitioner.NULL_KEY_BATCH_RECORDS_CONFIG, 3));
+
+        List<Integer> partitions = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            partitions.add(partitioner.partition(TOPIC, null, null, "payload", null, cluster));
+        }
+
+        assertThat(partitions).containsExactly(0, 0, 0, 1, 1, 1, 2, 2, 2);
+        // 토픽마다 따로 센다
+        String otherTopic = "member-activity-20261019";
+        assertThat(partitioner.partition(otherTopic, null, null, "payload", null, cluster(otherTopic, PARTITIONS))).isZero();
+    }
+
+    @Test
+    void startsCountingAgainInNewWindow() throws InterruptedException {
+        long windowMs = 200;
+        MemberIdPartitioner partitioner = partitioner(10, null);
+        partitioner.configure(Map.of(MemberIdPartitioner.HOT_WINDOW_MS_CONFIG, windowMs));
+        MemberActivityTransportDto.MemberActivityEvent hot = event(42L, MemberActivityType.POST_READ);
+        int base = partition(partitioner(Integer.MAX_VALUE, null), hot);
+
+        // hot 으로 판정될 때까지 (window 경계를 지나면 다시 세므로 넉넉히)
+        boolean spread = false;
+        for (int i = 0; i < 1_000 && !spread; i++) {
+            spread = partition(partitioner, hot) != base;
+        }
+        assertThat(spread).isTrue();
+
+        Thread.sleep(windowMs * 2);
+
+        // 새 window 에서는 hot-threshold 건까지 다시 기본 파티션으로
+        for (int i = 0; i < 10; i++) {
+            assertThat(partition(partitioner, hot)).isEqualTo(base);
+        }
+    }
+
+    private int partition(MemberIdPartitioner partitioner, MemberActivityTransportDto.MemberActivityEvent event) {
+        String key = String.valueOf(event.getMemberId());
+        return partitioner.partition(TOPIC, key, key.getBytes(StandardCharsets.UTF_8), event, null, cluster);
+    }
+
+    private static MemberIdPartitioner partitioner(int hotThreshold, MemberIdPartitionSkewReport report) {
+        Map<String, Object> configs = new HashMap<>();
+        configs.put(MemberIdPartitioner.HOT_THRESHOLD_CONFIG, hotThreshold);
+        // window 가 바뀌지 않도록 (테스트 도중 sketch 초기화 방지)
+        configs.put(MemberIdPartitioner.HOT_WINDOW_MS_CONFIG, Long.MAX_VALUE);
+        configs.put(MemberIdPartitioner.HOT_SPREAD_CONFIG, 4);
+        if (report != null) {
+            configs.put(MemberIdPartitioner.SKEW_REPORT_CONFIG, report);
+        }
+        MemberIdPartitioner partitioner = new MemberIdPartitioner();
+        partitioner.configure(configs);
+        return partitioner;
+    }
+
+    private static MemberActivityTransportDto.MemberActivityEvent event(long memberId, MemberActivityType type) {
+        return MemberActivityTransportDto.MemberActivityEvent.builder()
+                .memberActivityType(type)
+                .memberId(memberId)
+                .postId(memberId * 31)
+                .build();
+    }
+
+    private static Cluster cluster(String topic, int partitions) {
+        Node node = new Node(0, "localhost", 9092);
+        List<PartitionInfo> infos = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            infos.add(new PartitionInfo(topic, i, node, new Node[]{node}, new Node[]{node}));
+        }
+        return new Cluster("test", List.of(node), infos, Set.of(), Set.of());
+    }
+}
@@ -0,0 +1,91 @@
+package click.dailyfeed.kafka.domain.activity.aggregate;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadAggregateTableTest {
+
+    @Test
+    void countsReadsAndTracksFirstAndLastAt() {
+        ReadAggregateTable table = new ReadAggregateTable(4);
+
+        assertThat(table.add(7, 100, 0, 2_000)).isTrue();
+        assertThat(table.add(7, 100, 0, 1_000)).isTrue();
+        assertThat(table.add(7, 100, 0, 3_000)).isTrue();
+        assertThat(table.add(8, 100, 0, 5_000)).isTrue();
+
+        Map<String, long[]> entries = entries(table);
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(entries.get("7:100")).containsExactly(3, 1_000, 3_000);
+        assertThat(entries.get("8:100")).containsExactly(1, 5_000, 5_000);
+    }
+
+    @Test
+    void mergeCombinesCountsAndWidensRange() {
+        ReadAggregateTable table = new ReadAggregateTable(4);
+        table.add(0, 100, 0, 2_000);
+
+        assertThat(table.merge(0, 100, 0, 5, 1_000, 1_500)).isTrue();
+        assertThat(table.merge(0, 200, 0, 3, 4_000, 6_000)).isTrue();
+
+        Map<String, long[]> entries = entries(table);
+        assertThat(entries.get("0:100")).containsExactly(6, 1_000, 2_000);
+        assertThat(entries.get("0:200")).containsExactly(3, 4_000, 6_000);
+    }
+
+    @Test
+    void keepsWindowsApartForSameKey() {
+        ReadAggregateTable table = new ReadAggregateTable(4);
+        table.add(7, 100, 0, 1_000);
+        table.add(7, 100, 10_000, 12_000);
+        // 앞 window 의 발행 실패로 다시 넣은 집계는 뒤 window 에 섞이지 않는다
+        assertThat(table.merge(7, 100, 0, 4, 2_000, 9_000)).isTrue();
+
+        Map<String, long[]> entries = entries(table);
+        assertThat(table.size()).isEqualTo(2);
+        assertThat(entries.get("7:100")).containsExactly(5, 1_000, 9_000);
+        assertThat(entries.get("7:100@10000")).containsExactly(1, 12_000, 12_000);
+    }
+
+    @Test
+    void rejectsNewKeysOnceFullButKeepsCountingExistingOnes() {
+        ReadAggregateTable table = new ReadAggregateTable(2);
+        table.add(0, 1, 0, 1);
+        table.add(0, 2, 0, 1);
+
+        assertThat(table.isFull()).isTrue();
+        assertThat(table.add(0, 3, 0, 1)).isFalse();
+        assertThat(table.merge(0, 3, 0, 2, 1, 1)).isFalse();
+        assertThat(table.add(0, 2, 0, 2)).isTrue();
+        assertThat(entries(table).get("0:2")).containsExactly(2, 1, 2);
+    }
+
+    @Test
+    void clearEmptiesTableForReuse() {
+        ReadAggregateTable table = new ReadAggregateTable(2);
+        table.add(0, 1, 0, 1);
+        table.add(0, 2, 0, 1);
+
+        table.clear();
+
+        assertThat(table.size()).isZero();
+        assertThat(entries(table)).isEmpty();
+        assertThat(table.add(0, 3, 0, 1)).isTrue();
+        // 비운 뒤 같은 key 를 다시 넣으면 이전 조회 수/시각이 남지 않는다
+        assertThat(table.add(0, 1, 0, 9)).isTrue();
+        assertThat(entries(table)).containsOnlyKeys("0:3", "0:1");
+        assertThat(entries(table).get("0:3")).containsExactly(1, 1, 1);
+        assertThat(entries(table).get("0:1")).containsExactly(1, 9, 9);
+    }
+
+    private static Map<String, long[]> entries(ReadAggregateTable table) {
+        Map<String, long[]> entries = new HashMap<>();
+        table.forEach((firstKey, secondKey, window, count, firstAt, lastAt) ->
+                entries.put(firstKey + ":" + secondKey + (window != 0 ? "@" + window : ""), new long[]{count, firstAt, lastAt}));
+        return entries;
+    }
+}
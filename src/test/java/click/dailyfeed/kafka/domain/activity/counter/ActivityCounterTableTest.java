@@ -0,0 +1,73 @@
+package click.dailyfeed.kafka.domain.activity.counter;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ActivityCounterTableTest {
+    private static final int TYPES = 4;
+
+    @Test
+    void accumulatesDeltasPerPostWindowAndType() {
+        ActivityCounterTable table = new ActivityCounterTable(8, TYPES);
+
+        table.add(100, 1, 0, 1);
+        table.add(100, 1, 0, 2);
+        table.add(100, 1, 3, 1);
+        table.add(100, 2, 0, 5);
+        table.add(200, 1, 1, -1);
+
+        assertThat(table.size()).isEqualTo(3);
+        assertThat(deltas(table)).containsOnly(
+                Map.entry("100@1#0", 3L),
+                Map.entry("100@1#3", 1L),
+                Map.entry("100@2#0", 5L),
+                Map.entry("200@1#1", -1L));
+    }
+
+    @Test
+    void skipsZeroDeltas() {
+        ActivityCounterTable table = new ActivityCounterTable(8, TYPES);
+        table.add(100, 0, 2, 1);
+        table.add(100, 0, 2, -1);
+
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(deltas(table)).isEmpty();
+    }
+
+    @Test
+    void rejectsNewKeysOnceFullButKeepsCountingExistingOnes() {
+        ActivityCounterTable table = new ActivityCounterTable(2, TYPES);
+        table.add(1, 0, 0, 1);
+        table.add(2, 0, 0, 1);
+
+        assertThat(table.isFull()).isTrue();
+        assertThat(table.add(3, 0, 0, 1)).isFalse();
+        // 같은 postId 라도 window 가 다르면 새 key
+        assertThat(table.add(1, 1, 0, 1)).isFalse();
+        assertThat(table.add(1, 0, 1, 4)).isTrue();
+        assertThat(deltas(table)).containsEntry("1@0#1", 4L);
+    }
+
+    @Test
+    void clearResetsKeysAndDeltas() {
+        ActivityCounterTable table = new ActivityCounterTable(2, TYPES);
+        table.add(1, 0, 0, 7);
+        table.add(2, 0, 0, 1);
+
+        table.clear();
+        table.add(2, 0, 1, 1);
+
+        assertThat(table.size()).isEqualTo(1);
+        assertThat(deltas(table)).containsOnly(Map.entry("2@0#1", 1L));
+    }
+
+    private static Map<String, Long> deltas(ActivityCounterTable table) {
+        Map<String, Long> deltas = new HashMap<>();
+        table.forEach((postId, window, typeOrdinal, delta) -> deltas.put(postId + "@" + window + "#" + typeOrdinal, delta));
+        return deltas;
+    }
+}
@@ -0,0 +1,83 @@
+package click.dailyfeed.kafka.domain.activity.counter;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.core.HashOperations;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberActivityCounterEngineTest {
+    private static final String TOPIC = "member-activity-20261018";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+    private static final long FLUSH_INTERVAL_MS = 500;
+
+    private final StringRedisTemplate stringRedisTemplate = mock(StringRedisTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final HashOperations<String, Object, Object> hashOperations = mock(HashOperations.class);
+    private final Consumer<?, ?> consumer = mock(Consumer.class);
+
+    @Test
+    void failedScheduledFlushIsNotResentButRewoundOnTheConsumerThread() throws Exception {
+        doReturn(hashOperations).when(stringRedisTemplate).opsForHash();
+        // 할당 시에는 스냅샷이 없고, 실패한 flush 뒤에 다시 읽으면 EXEC 가 반영되어 offset 3 이 기록되어 있다
+        when(hashOperations.multiGet(anyString(), anyCollection())).thenReturn(Arrays.asList((Object) null), List.of("3"));
+        when(stringRedisTemplate.executePipelined(any(RedisCallback.class))).thenThrow(new IllegalStateException("EXEC reply lost"));
+        when(consumer.assignment()).thenReturn(Set.of(PARTITION));
+        when(consumer.position(PARTITION)).thenReturn(0L);
+        MemberActivityCounterEngine engine = new MemberActivityCounterEngine(stringRedisTemplate, Clock.systemDefaultZone(),
+                "activity:counter:", "counter-group", FLUSH_INTERVAL_MS, 100, 3_600_000, 86_400_000, 7);
+
+        engine.onPartitionsAssigned(consumer, List.of(PARTITION));
+        engine.onMessages(records(0, 3), consumer);
+        assertThat(engine.pendingEntries()).isEqualTo(1);
+
+        Thread.sleep(FLUSH_INTERVAL_MS + 100);
+        engine.flushIfDue();
+        assertThat(engine.getFailedFlushes()).isEqualTo(1);
+
+        // 스케줄러는 반영 여부를 모르는 증가분을 다시 보내지 않는다
+        Thread.sleep(FLUSH_INTERVAL_MS + 100);
+        engine.flushIfDue();
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+
+        // 다음 레코드가 오면 consumer 스레드가 반영된 스냅샷 위치로 되감고, 받은 레코드는 세지 않는다
+        engine.onMessages(records(3, 2), consumer);
+
+        verify(consumer).seek(PARTITION, 3L);
+        verify(consumer, never()).seek(PARTITION, 0L);
+        assertThat(engine.pendingEntries()).isZero();
+        assertThat(engine.getCountedEvents()).isEqualTo(3);
+        verify(stringRedisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    private static List<ConsumerRecord<String, MemberActivityTransportDto.MemberActivityEvent>> records(long fromOffset, int count) {
+        return LongStream.range(fromOffset, fromOffset + count)
+                .mapToObj(offset -> new ConsumerRecord<>(TOPIC, 0, offset, "1", MemberActivityTransportDto.MemberActivityEvent.builder()
+                        .memberActivityType(MemberActivityType.POST_READ)
+                        .memberId(1L)
+                        .postId(7L)
+                        .build()))
+                .toList();
+    }
+}
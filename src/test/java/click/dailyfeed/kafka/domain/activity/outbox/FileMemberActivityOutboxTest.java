@@ -0,0 +1,134 @@
+package click.dailyfeed.kafka.domain.activity.outbox;
+
+import click.dailyfeed.kafka.domain.kafka.record.KafkaRecordCodec;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FileMemberActivityOutboxTest {
+    private static final String TOPIC = "member-activity-20261018";
+
+    private final KafkaRecordCodec codec = new KafkaRecordCodec(new ObjectMapper(), new String[]{"click.dailyfeed"});
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void recoversEntriesAndSequenceAfterRestart() throws Exception {
+        FileMemberActivityOutbox outbox = outbox(1024 * 1024);
+        outbox.append(TOPIC, "1", "a");
+        outbox.append(TOPIC, null, "b");
+        outbox.append(TOPIC, "3", "c");
+        outbox.close();
+
+        FileMemberActivityOutbox reopened = outbox(1024 * 1024);
+
+        assertThat(reopened.readAfter(0, 10)).containsExactly(
+                new MemberActivityOutbox.Entry(1, TOPIC, "1", "a"),
+                new MemberActivityOutbox.Entry(2, TOPIC, null, "b"),
+                new MemberActivityOutbox.Entry(3, TOPIC, "3", "c"));
+        assertThat(reopened.append(TOPIC, "4", "d")).isTrue();
+        assertThat(reopened.readAfter(3, 10)).extracting(MemberActivityOutbox.Entry::sequence).containsExactly(4L);
+    }
+
+    @Test
+    void deletesSegmentsOnceFullyTruncated() throws Exception {
+        // record 하나가 segment 크기를 넘으므로 항목마다 새 segment
+        FileMemberActivityOutbox outbox = outbox(64);
+        for (int i = 1; i <= 5; i++) {
+            outbox.append(TOPIC, String.valueOf(i), "payload-" + i);
+        }
+        assertThat(outbox.segmentCount()).isEqualTo(5);
+
+        outbox.truncateThrough(3);
+
+        assertThat(outbox.segmentCount()).isEqualTo(2);
+        assertThat(segmentFiles()).hasSize(2);
+        assertThat(outbox.readAfter(0, 10)).extracting(MemberActivityOutbox.Entry::sequence).containsExactly(4L, 5L);
+        outbox.close();
+
+        assertThat(outbox(64).readAfter(0, 10)).extracting(MemberActivityOutbox.Entry::sequence).containsExactly(4L, 5L);
+    }
+
+    @Test
+    void dropsTornRecordAtTailOnRecovery() throws Exception {
+        FileMemberActivityOutbox outbox = outbox(1024 * 1024);
+        outbox.append(TOPIC, "1", "a");
+        outbox.append(TOPIC, "2", "b");
+        outbox.close();
+        Path segment = segmentFiles().get(0);
+        long intactSize = Files.size(segment);
+        // 길이만 기록되고 body 가 끊긴 record
+        Files.write(segment, new byte[]{0, 0, 0, 40, 1, 2, 3, 4, 5}, StandardOpenOption.APPEND);
+
+        FileMemberActivityOutbox reopened = outbox(1024 * 1024);
+
+        assertThat(Files.size(segment)).isEqualTo(intactSize);
+        assertThat(reopened.append(TOPIC, "3", "c")).isTrue();
+        reopened.close();
+        assertThat(outbox(1024 * 1024).readAfter(0, 10)).extracting(MemberActivityOutbox.Entry::payload)
+                .containsExactly("a", "b", "c");
+    }
+
+    @Test
+    void groupCommitsConcurrentAppendsAndRecoversThemInSequenceOrder() throws Exception {
+        FileMemberActivityOutbox outbox = outbox(1024 * 1024);
+        outbox.start();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Boolean>> appends = IntStream.range(0, 80)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> outbox.append(TOPIC, String.valueOf(i), "payload-" + i), executor))
+                    .toList();
+
+            assertThat(appends).allSatisfy(append -> assertThat(append.get()).isTrue());
+        } finally {
+            executor.shutdown();
+        }
+        // force 된 항목만 relay 에 보이고, sequence 순서를 지킨다
+        assertThat(outbox.readAfter(0, 100)).extracting(MemberActivityOutbox.Entry::sequence)
+                .containsExactlyElementsOf(LongStream.rangeClosed(1, 80).boxed().toList());
+        outbox.close();
+
+        assertThat(outbox(1024 * 1024).readAfter(0, 100)).hasSize(80);
+    }
+
+    @Test
+    void rejectsEntriesOverCapacity() throws IOException {
+        FileMemberActivityOutbox outbox = new FileMemberActivityOutbox(codec, directory.toString(), 1, 1024, false, 1_000);
+
+        assertThat(outbox.append(TOPIC, "1", "a")).isTrue();
+        assertThat(outbox.append(TOPIC, "2", "b")).isFalse();
+        assertThat(outbox.size()).isEqualTo(1);
+    }
+
+    @Test
+    void requiresDirectory() {
+        assertThatThrownBy(() -> new FileMemberActivityOutbox(codec, "", 10, 1024, true, 1_000))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private FileMemberActivityOutbox outbox(long segmentSizeBytes) throws IOException {
+        return new FileMemberActivityOutbox(codec, directory.toString(), 100, segmentSizeBytes, true, 5_000);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().toList();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package click.dailyfeed.kafka.domain.activity.outbox;
+
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.ProducerFencedException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaOperations;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberActivityOutboxRelayTest {
+    private static final String WATERMARK_TOPIC = "member-activity-outbox-watermark";
+    private static final String RELAY_ID = "relay-0";
+    private static final TopicPartition WATERMARK_PARTITION = new TopicPartition(WATERMARK_TOPIC, 0);
+
+    private final InMemoryMemberActivityOutbox outbox = new InMemoryMemberActivityOutbox(100);
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, Object> template = mock(KafkaTemplate.class);
+    @SuppressWarnings("unchecked")
+    private final KafkaOperations<String, Object> operations = mock(KafkaOperations.class);
+    @SuppressWarnings("unchecked")
+    private final ConsumerFactory<String, String> consumerFactory = mock(ConsumerFactory.class);
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, String> consumer = mock(Consumer.class);
+    private final AdminClient adminClient = mock(AdminClient.class);
+
+    private MemberActivityOutboxRelay relay;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (relay != null) {
+            relay.shutdown();
+        }
+    }
+
+    @Test
+    void relaysBatchAndWatermarkInOneTransaction() throws Exception {
+        givenWatermarkTopic(List.of());
+        givenTransactionsSucceed();
+        relay = relay(2);
+        relay.start();
+        outbox.append("member-activity-20261018", "1", "a");
+        outbox.append("member-activity-20261018", "2", "b");
+        outbox.append("member-activity-20261018", "3", "c");
+
+        relay.relay();
+
+        InOrder order = inOrder(operations);
+        order.verify(operations).send("member-activity-20261018", "1", "a");
+        order.verify(operations).send("member-activity-20261018", "2", "b");
+        order.verify(operations).send(WATERMARK_TOPIC, RELAY_ID, 2L);
+        order.verify(operations).send("member-activity-20261018", "3", "c");
+        order.verify(operations).send(WATERMARK_TOPIC, RELAY_ID, 3L);
+        assertThat(relay.getWatermark()).isEqualTo(3);
+        assertThat(relay.getRelayed()).isEqualTo(3);
+        assertThat(outbox.size()).isZero();
+    }
+
+    @Test
+    void keepsEntriesWhenTransactionAborts() throws Exception {
+        givenWatermarkTopic(List.of());
+        relay = relay(10);
+        relay.start();
+        outbox.append("member-activity-20261018", "1", "a");
+        doThrow(new ProducerFencedException("fenced")).when(template).executeInTransaction(any());
+
+        relay.relay();
+
+        assertThat(relay.getWatermark()).isZero();
+        assertThat(relay.getFailedTransactions()).isEqualTo(1);
+        assertThat(outbox.readAfter(0, 10)).extracting(MemberActivityOutbox.Entry::sequence).containsExactly(1L);
+
+        // 다음 주기에 같은 항목부터 다시 보낸다
+        givenTransactionsSucceed();
+        relay.relay();
+
+        verify(operations).send("member-activity-20261018", "1", "a");
+        assertThat(relay.getWatermark()).isEqualTo(1);
+        assertThat(outbox.size()).isZero();
+    }
+
+    @Test
+    void resumesFromCommittedWatermarkOfItsOwnRelayId() throws Exception {
+        outbox.append("member-activity-20261018", "1", "a");
+        outbox.append("member-activity-20261018", "2", "b");
+        givenWatermarkTopic(List.of(
+                new ConsumerRecord<>(WATERMARK_TOPIC, 0, 0, RELAY_ID, "1"),
+                new ConsumerRecord<>(WATERMARK_TOPIC, 0, 1, "relay-1", "7")));
+        givenTransactionsSucceed();
+        relay = relay(10);
+
+        relay.start();
+
+        assertThat(relay.getWatermark()).isEqualTo(1);
+        // 이미 커밋된 1 은 정리되고, 2 만 발행된다
+        assertThat(outbox.size()).isEqualTo(1);
+        relay.relay();
+        verify(operations, never()).send("member-activity-20261018", "1", "a");
+        verify(operations).send("member-activity-20261018", "2", "b");
+        assertThat(relay.getWatermark()).isEqualTo(2);
+
+        outbox.truncateThrough(Long.MAX_VALUE);
+        outbox.append("member-activity-20261018", "3", "c");
+        assertThat(outbox.readAfter(0, 10)).extracting(MemberActivityOutbox.Entry::sequence).containsExactly(3L);
+    }
+
+    @Test
+    void failsStartupWhenWatermarkTopicIsNotReadToTheEndInTime() {
+        givenWatermarkTopic(List.of());
+        // 기록은 하나 있지만 poll 이 계속 비어 position 이 움직이지 않는다
+        when(consumer.endOffsets(anyCollection())).thenReturn(Map.of(WATERMARK_PARTITION, 1L));
+        when(consumer.poll(any(Duration.class))).thenReturn(ConsumerRecords.empty());
+        relay = relay(10);
+
+        assertThatThrownBy(() -> relay.start())
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("Timed out reading outbox watermark");
+        assertThat(relay.getWatermark()).isZero();
+    }
+
+    @Test
+    void requiresStableRelayId() {
+        assertThatThrownBy(() -> new MemberActivityOutboxRelay(outbox, template, consumerFactory, adminClient,
+                " ", WATERMARK_TOPIC, (short) 1, 10, 60_000, 1))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    private MemberActivityOutboxRelay relay(int batchSize) {
+        // 주기 실행이 끼어들지 않도록 간격을 길게 두고 relay() 를 직접 호출한다
+        return new MemberActivityOutboxRelay(outbox, template, consumerFactory, adminClient,
+                RELAY_ID, WATERMARK_TOPIC, (short) 1, batchSize, 60_000, 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenTransactionsSucceed() {
+        doAnswer(invocation -> ((KafkaOperations.OperationsCallback<String, Object, Object>) invocation.getArgument(0)).doInOperations(operations))
+                .when(template).executeInTransaction(any());
+    }
+
+    private void givenWatermarkTopic(List<ConsumerRecord<String, String>> records) {
+        CreateTopicsResult createTopicsResult = mock(CreateTopicsResult.class);
+        when(createTopicsResult.all()).thenReturn(KafkaFuture.completedFuture(null));
+        when(adminClient.createTopics(anyCollection())).thenReturn(createTopicsResult);
+
+        when(consumerFactory.createConsumer()).thenReturn(consumer);
+        when(consumer.endOffsets(anyCollection())).thenReturn(Map.of(WATERMARK_PARTITION, (long) records.size()));
+        if (records.isEmpty()) {
+            when(consumer.position(WATERMARK_PARTITION)).thenReturn(0L);
+        } else {
+            when(consumer.position(WATERMARK_PARTITION)).thenReturn(0L, (long) records.size());
+            when(consumer.poll(any(Duration.class))).thenReturn(new ConsumerRecords<>(Map.of(WATERMARK_PARTITION, records)));
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package click.dailyfeed.kafka.domain.activity.publisher;
+
+import click.dailyfeed.code.domain.activity.factory.MemberActivityTransferDtoFactory;
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import click.dailyfeed.kafka.config.KafkaProducerProfile;
+import click.dailyfeed.kafka.domain.activity.redis.MemberActivityEventDLQBuffer;
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import click.dailyfeed.kafka.domain.kafka.service.KafkaHelper;
+import click.dailyfeed.kafka.domain.kafka.spool.KafkaPublishSpool;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.common.errors.InterruptException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class MemberActivityPublishQueueTest {
+    private static final String TOPIC = "member-activity-20261018";
+    // 테스트에서는 COMMENT_READ 만 LOW, POST_READ 는 HIGH 로 둔다
+    private static final MemberActivityType HIGH = MemberActivityType.POST_READ;
+    private static final MemberActivityType LOW = MemberActivityType.COMMENT_READ;
+
+    private final KafkaHelper kafkaHelper = mock(KafkaHelper.class);
+    private final MemberActivityEventDLQBuffer dlqBuffer = mock(MemberActivityEventDLQBuffer.class);
+    private final KafkaPublishSpool spool = mock(KafkaPublishSpool.class);
+    private final List<Long> spilledMemberIds = new CopyOnWriteArrayList<>();
+    private MemberActivityPublishQueue queue;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (queue != null) {
+            queue.shutdown();
+        }
+    }
+
+    @Test
+    void lowPriorityIsSampledAboveThresholdAndShedWhenFull() {
+        // capacity 10, threshold 0.5, sample-rate 0 → 5 건까지만 받고 나머지는 버린다
+        queue = newQueue(10, 10, 0.0, 1_000);
+
+        int accepted = 0;
+        for (int i = 0; i < 20; i++) {
+            if (queue.offer(LOW, TOPIC, message(LOW, i))) {
+                accepted++;
+            }
+        }
+
+        assertThat(accepted).isEqualTo(5);
+        assertThat(queue.depth(MemberActivityPublishQueue.Priority.LOW)).isEqualTo(5);
+        assertThat(queue.getShed(LOW)).isEqualTo(15);
+        verify(dlqBuffer, never()).offer(any());
+    }
+
+    @Test
+    void highPrioritySpillsToDlqBufferWhenFull() {
+        queue = newQueue(2, 10, 1.0, 1_000);
+        when(dlqBuffer.offer(any())).thenReturn(true);
+
+        assertThat(queue.offer(HIGH, TOPIC, message(HIGH, 1))).isTrue();
+        assertThat(queue.offer(HIGH, TOPIC, message(HIGH, 2))).isTrue();
+        assertThat(queue.offer(HIGH, TOPIC, message(HIGH, 3))).isFalse();
+
+        assertThat(queue.getSpilled(HIGH)).isEqualTo(1);
+        verify(dlqBuffer).offer(any());
+        verify(spool, never()).append(any(), any(), any());
+    }
+
+    @Test
+    void spillFallsBackToSpoolWhenDlqBufferIsFull() {
+        queue = newQueue(1, 10, 1.0, 1_000);
+        when(dlqBuffer.offer(any())).thenReturn(false);
+        when(spool.append(any(), any(), any())).thenReturn(true);
+
+        queue.offer(HIGH, TOPIC, message(HIGH, 1));
+        queue.offer(HIGH, TOPIC, message(HIGH, 2));
+
+        verify(spool).append(any(), any(), any());
+        assertThat(queue.getLost()).isZero();
+    }
+
+    @Test
+    void shutdownSendsQueuedEventsBeforeDeadline() throws InterruptedException {
+        queue = newQueue(100, 100, 1.0, 5_000);
+        when(kafkaHelper.send(any(KafkaProducerProfile.class), any(), any(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        for (int i = 0; i < 10; i++) {
+            queue.offer(HIGH, TOPIC, message(HIGH, i));
+        }
+        queue.start();
+        queue.shutdown();
+
+        verify(kafkaHelper, times(10)).send(any(KafkaProducerProfile.class), any(), any(), any());
+        assertThat(queue.getSpilled(HIGH)).isZero();
+        assertThat(queue.depth(MemberActivityPublishQueue.Priority.HIGH)).isZero();
+    }
+
+    @Test
+    void shutdownInterruptsBlockedSendAndSpillsEachRemainingEventOnceInOrder() throws InterruptedException {
+        queue = newQueue(100, 100, 1.0, 200);
+        CountDownLatch sendStarted = new CountDownLatch(1);
+        // producer buffer 가 가득 찬 상황: send 가 max.block.ms 동안 막혀 있다가 인터럽트되면 InterruptException
+        when(kafkaHelper.send(any(KafkaProducerProfile.class), any(), any(), any())).thenAnswer(invocation -> {
+            sendStarted.countDown();
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(60));
+            } catch (InterruptedException e) {
+                throw new InterruptException(e);
+            }
+            return CompletableFuture.completedFuture(null);
+        });
+        when(dlqBuffer.offer(any())).thenAnswer(invocation -> {
+            MemberActivityTransportDto.MemberActivityMessage message = invocation.getArgument(0);
+            spilledMemberIds.add(message.getEvent().getMemberId());
+            return true;
+        });
+
+        for (long memberId = 0; memberId < 5; memberId++) {
+            queue.offer(HIGH, TOPIC, message(HIGH, memberId));
+        }
+        queue.start();
+        assertThat(sendStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        long startedAt = System.nanoTime();
+        queue.shutdown();
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(5_000);
+        // 막혀 있던 0 번은 send 실패로, 나머지는 drainer 가 큐 순서대로 한 번씩 spill
+        assertThat(spilledMemberIds).containsExactly(0L, 1L, 2L, 3L, 4L);
+        assertThat(queue.getSpilled(HIGH)).isEqualTo(5);
+        verify(kafkaHelper, times(1)).send(any(KafkaProducerProfile.class), any(), any(), any());
+    }
+
+    private MemberActivityPublishQueue newQueue(int highCapacity, int lowCapacity, double sampleRate, long shutdownTimeoutMs) {
+        StaticListableBeanFactory beanFactory = new StaticListableBeanFactory();
+        beanFactory.addBean("meterRegistry", new SimpleMeterRegistry());
+        beanFactory.addBean("kafkaPublishSpool", spool);
+        return new MemberActivityPublishQueue(
+                kafkaHelper,
+                new MemberActivityProducerProfileRouter(new MemberActivityType[0]),
+                dlqBuffer,
+                beanFactory.getBeanProvider(KafkaPublishSpool.class),
+                new KafkaSupportMetrics(beanFactory.getBeanProvider(MeterRegistry.class)),
+                highCapacity,
+                lowCapacity,
+                new MemberActivityType[]{LOW},
+                0.5,
+                sampleRate,
+                shutdownTimeoutMs
+        );
+    }
+
+    private static MemberActivityTransportDto.MemberActivityMessage message(MemberActivityType type, long memberId) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, 18, 12, 0);
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransportDto.MemberActivityEvent.builder()
+                .memberActivityType(type)
+                .memberId(memberId)
+                .postId(memberId * 10)
+                .createdAt(createdAt)
+                .build();
+        return MemberActivityTransferDtoFactory.newMemberActivityMessage(event, type, createdAt);
+    }
+}
@@ -0,0 +1,117 @@
+package click.dailyfeed.kafka.domain.activity.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisKeyCommands;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.BitSet;
+import java.util.Deque;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class KafkaMessageKeyDeduplicatorTest {
+    private static final Duration EXPIRE_IN = Duration.ofHours(1);
+
+    @SuppressWarnings("unchecked")
+    private final RedisTemplate<String, String> redisTemplate = mock(RedisTemplate.class);
+    private final KafkaMessageKeyMemberActivityRedisService redisService = mock(KafkaMessageKeyMemberActivityRedisService.class);
+    private final RedisConnection connection = mock(RedisConnection.class);
+    private final RedisStringCommands stringCommands = mock(RedisStringCommands.class);
+    private final RedisKeyCommands keyCommands = mock(RedisKeyCommands.class);
+    // executePipelined 호출마다 돌려줄 SET NX 결과
+    private final Deque<List<Object>> pipelineResults = new ArrayDeque<>();
+
+    private KafkaMessageKeyDeduplicator deduplicator;
+
+    @BeforeEach
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void setUp() {
+        when(redisTemplate.getKeySerializer()).thenReturn((RedisSerializer) StringRedisSerializer.UTF_8);
+        when(redisTemplate.getValueSerializer()).thenReturn((RedisSerializer) StringRedisSerializer.UTF_8);
+        when(redisService.redisKey(anyString())).thenAnswer(invocation -> "kafka:" + invocation.getArgument(0));
+        when(connection.stringCommands()).thenReturn(stringCommands);
+        when(connection.keyCommands()).thenReturn(keyCommands);
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            // callback 을 mock connection 에 실행해 실제로 보낸 명령을 검증할 수 있게 한다
+            invocation.<RedisCallback<Object>>getArgument(0).doInRedis(connection);
+            return pipelineResults.isEmpty() ? List.of() : pipelineResults.poll();
+        });
+
+        deduplicator = new KafkaMessageKeyDeduplicator(redisTemplate, redisService, 100, 600);
+    }
+
+    @Test
+    void nearCacheHitSkipsRedis() {
+        pipelineResults.add(List.of(true, true));
+        assertThat(deduplicator.checkAndMark(List.of("a", "b"), EXPIRE_IN).isEmpty()).isTrue();
+
+        pipelineResults.add(List.of(true));
+        BitSet duplicates = deduplicator.checkAndMark(List.of("a", "c"), EXPIRE_IN);
+
+        assertThat(duplicates.get(0)).isTrue();
+        assertThat(duplicates.get(1)).isFalse();
+        assertThat(deduplicator.getNearCacheHits()).isEqualTo(1);
+        // "a" 는 두 번째 batch 에서 Redis 로 보내지 않는다: a, b, c 세 번만 SET NX
+        verify(stringCommands, times(3)).set(any(byte[].class), any(byte[].class), any(Expiration.class), any(RedisStringCommands.SetOption.class));
+    }
+
+    @Test
+    void duplicateWithinBatchIsMarkedWithoutRedis() {
+        pipelineResults.add(List.of(true));
+
+        BitSet duplicates = deduplicator.checkAndMark(List.of("a", "a"), EXPIRE_IN);
+
+        assertThat(duplicates.get(0)).isFalse();
+        assertThat(duplicates.get(1)).isTrue();
+        verify(stringCommands, times(1)).set(any(byte[].class), any(byte[].class), any(Expiration.class), any(RedisStringCommands.SetOption.class));
+    }
+
+    @Test
+    void redisSetNxFalseIsDuplicate() {
+        // 다른 consumer 가 이미 기록한 key
+        pipelineResults.add(List.of(false, true));
+
+        BitSet duplicates = deduplicator.checkAndMark(List.of("a", "b"), EXPIRE_IN);
+
+        assertThat(duplicates.get(0)).isTrue();
+        assertThat(duplicates.get(1)).isFalse();
+        assertThat(deduplicator.getRedisDuplicates()).isEqualTo(1);
+        assertThat(deduplicator.getDuplicates()).isEqualTo(1);
+        assertThat(deduplicator.getChecked()).isEqualTo(2);
+    }
+
+    @Test
+    void releaseDeletesKeyAndInvalidatesNearCache() {
+        pipelineResults.add(List.of(true));
+        deduplicator.checkAndMark(List.of("a"), EXPIRE_IN);
+
+        deduplicator.release(List.of("a"));
+
+        verify(keyCommands).del("kafka:a".getBytes(StandardCharsets.UTF_8));
+
+        // 재전달된 레코드는 near-cache 에 걸리지 않고 Redis 에 다시 기록되어 처리 대상이 된다
+        pipelineResults.add(List.of(true));
+        BitSet duplicates = deduplicator.checkAndMark(List.of("a"), EXPIRE_IN);
+
+        assertThat(duplicates.get(0)).isFalse();
+        assertThat(deduplicator.getNearCacheHits()).isZero();
+        verify(stringCommands, times(2)).set(any(byte[].class), any(byte[].class), any(Expiration.class), any(RedisStringCommands.SetOption.class));
+    }
+}
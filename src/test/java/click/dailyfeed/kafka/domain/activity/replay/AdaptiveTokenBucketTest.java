@@ -0,0 +1,112 @@
+package click.dailyfeed.kafka.domain.activity.replay;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdaptiveTokenBucketTest {
+
+    @Test
+    void clampsInitialRateToBounds() {
+        assertThat(new AdaptiveTokenBucket(5, 10, 100).getRate()).isEqualTo(10);
+        assertThat(new AdaptiveTokenBucket(500, 10, 100).getRate()).isEqualTo(100);
+    }
+
+    @Test
+    void halvesOnPressureDownToMinRate() {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(100, 10, 1000);
+
+        bucket.onPressure();
+        assertThat(bucket.getRate()).isEqualTo(50);
+
+        for (int i = 0; i < 10; i++) {
+            bucket.onPressure();
+        }
+        assertThat(bucket.getRate()).isEqualTo(10);
+    }
+
+    @Test
+    void increasesAdditivelyUpToMaxRate() {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(100, 10, 1000);
+
+        bucket.onSuccess();
+        // maxRate / 20 씩 증가
+        assertThat(bucket.getRate()).isEqualTo(150);
+
+        for (int i = 0; i < 100; i++) {
+            bucket.onSuccess();
+        }
+        assertThat(bucket.getRate()).isEqualTo(1000);
+    }
+
+    @Test
+    void acquireWithinBurstDoesNotWait() throws InterruptedException {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(1000, 10, 1000);
+
+        long startedAt = System.nanoTime();
+        bucket.acquire(500);
+        bucket.acquire(500);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(200);
+    }
+
+    @Test
+    void acquireBeyondBurstWaitsForRefill() throws InterruptedException {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(100, 10, 100);
+        bucket.acquire(100);
+
+        long startedAt = System.nanoTime();
+        // 100/s 에서 20 개는 약 200ms
+        bucket.acquire(20);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isBetween(150L, 2000L);
+    }
+
+    @Test
+    void pressureDropsBankedTokensToNewRate() throws InterruptedException {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(100, 10, 100);
+        bucket.onPressure();
+        // 남은 토큰이 새 rate(50) 로 잘린다
+        bucket.acquire(50);
+
+        long startedAt = System.nanoTime();
+        // 50/s 에서 10 개는 약 200ms
+        bucket.acquire(10);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isGreaterThanOrEqualTo(150L);
+    }
+
+    @Test
+    void rejectsNonPositiveMinRate() {
+        assertThatThrownBy(() -> new AdaptiveTokenBucket(1, 0, 10)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new AdaptiveTokenBucket(1, 10, 5)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void capsPermitsAtBucketCapacity() throws InterruptedException {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(50, 10, 100);
+
+        long startedAt = System.nanoTime();
+        // 용량(50)보다 많이 요청하면 용량만큼만 받고 바로 돌아온다
+        assertThat(bucket.acquire(200)).isEqualTo(50);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isLessThan(200);
+    }
+
+    @Test
+    void subOnePermitRateStillGrantsOnePermit() throws InterruptedException {
+        AdaptiveTokenBucket bucket = new AdaptiveTokenBucket(0.5, 0.5, 100);
+
+        // 용량은 최소 1 개이므로 rate 가 1 미만이어도 무한 대기하지 않는다
+        assertThat(bucket.acquire(100)).isEqualTo(1);
+
+        long startedAt = System.nanoTime();
+        // 0.5/s 에서 다음 1 개는 약 2초
+        assertThat(bucket.acquire(1)).isEqualTo(1);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt)).isBetween(1500L, 4000L);
+    }
+}
@@ -0,0 +1,86 @@
+package click.dailyfeed.kafka.domain.activity.table;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongKeyTableTest {
+
+    @Test
+    void returnsSameSlotForSameKeyAndDistinctSlotsOtherwise() {
+        LongKeyTable table = new LongKeyTable(8);
+
+        int slot = table.slotOf(7, 100, 0);
+
+        assertThat(slot).isBetween(0, table.capacity() - 1);
+        assertThat(table.slotOf(7, 100, 0)).isEqualTo(slot);
+        // key 의 세 자리 중 하나만 달라도 다른 key
+        Set<Integer> slots = new HashSet<>(List.of(slot, table.slotOf(8, 100, 0), table.slotOf(7, 101, 0), table.slotOf(7, 100, 1)));
+        assertThat(slots).hasSize(4);
+        assertThat(table.size()).isEqualTo(4);
+    }
+
+    @Test
+    void keepsCapacityAtLeastTwiceMaxEntries() {
+        assertThat(new LongKeyTable(1).capacity()).isEqualTo(4);
+        assertThat(new LongKeyTable(1_000).capacity()).isEqualTo(2_048);
+        assertThat(new LongKeyTable(1_024).capacity()).isEqualTo(2_048);
+    }
+
+    @Test
+    void rejectsNewKeysOnceFullButFindsExistingOnes() {
+        LongKeyTable table = new LongKeyTable(2);
+        int first = table.slotOf(0, 1, 0);
+        table.slotOf(0, 2, 0);
+
+        assertThat(table.isFull()).isTrue();
+        assertThat(table.slotOf(0, 3, 0)).isEqualTo(LongKeyTable.FULL);
+        assertThat(table.slotOf(0, 1, 5)).isEqualTo(LongKeyTable.FULL);
+        assertThat(table.slotOf(0, 1, 0)).isEqualTo(first);
+        assertThat(table.size()).isEqualTo(2);
+    }
+
+    @Test
+    void clearEmptiesKeysForReuse() {
+        LongKeyTable table = new LongKeyTable(2);
+        table.slotOf(0, 1, 0);
+        table.slotOf(0, 2, 0);
+
+        table.clear();
+
+        assertThat(table.size()).isZero();
+        assertThat(table.isFull()).isFalse();
+        List<long[]> keys = new ArrayList<>();
+        table.forEach((slot, firstKey, secondKey, window) -> keys.add(new long[]{firstKey, secondKey, window}));
+        assertThat(keys).isEmpty();
+        assertThat(table.slotOf(0, 3, 0)).isNotEqualTo(LongKeyTable.FULL);
+    }
+
+    @Test
+    void keepsCollidingKeysApartAndVisitsEachSlotOnce() {
+        // 두 자리를 맞바꾼 key 와 window 만 다른 key 를 섞어 probe 충돌을 만든다
+        LongKeyTable table = new LongKeyTable(3_000);
+        for (long n = 0; n < 1_000; n++) {
+            table.slotOf(42, n, 0);
+            table.slotOf(n, 42, 0);
+            table.slotOf(0, 42, n);
+        }
+
+        Set<String> keys = new HashSet<>();
+        Set<Integer> slots = new HashSet<>();
+        table.forEach((slot, firstKey, secondKey, window) -> {
+            assertThat(table.slotOf(firstKey, secondKey, window)).isEqualTo(slot);
+            slots.add(slot);
+            keys.add(firstKey + ":" + secondKey + "@" + window);
+        });
+        // (42, 42, 0) 과 (0, 42, 0) 은 두 번씩 넣었다
+        assertThat(table.size()).isEqualTo(2_998);
+        assertThat(keys).hasSize(2_998);
+        assertThat(slots).hasSize(2_998);
+    }
+}
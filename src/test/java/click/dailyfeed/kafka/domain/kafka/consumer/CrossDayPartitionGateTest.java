@@ -0,0 +1,123 @@
+package click.dailyfeed.kafka.domain.kafka.consumer;
+
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class CrossDayPartitionGateTest {
+    private static final long MAX_HOLD_MS = 60_000;
+    // 2026-10-18 00:10 (Asia/Seoul)
+    private static final Instant NOW = Instant.parse("2026-10-17T15:10:00Z");
+
+    private static final TopicPartition EXPIRED = new TopicPartition("member-activity-20261016", 0);
+    private static final TopicPartition YESTERDAY = new TopicPartition("member-activity-20261017", 0);
+    private static final TopicPartition TODAY = new TopicPartition("member-activity-20261018", 0);
+    private static final TopicPartition NOT_DATED = new TopicPartition("post-activity", 0);
+
+    private final MutableClock clock = new MutableClock(NOW, ZoneId.of("Asia/Seoul"));
+    private final CrossDayTopicSubscription subscription = new CrossDayTopicSubscription(clock, 2, MAX_HOLD_MS, 1_000);
+    private final MessageListenerContainer container = mock(MessageListenerContainer.class);
+    private final CrossDayPartitionGate<String> gate = new CrossDayPartitionGate<>(subscription, container);
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, String> consumer = mock(Consumer.class);
+
+    @Test
+    void alwaysPausesTopicsOlderThanActiveDays() {
+        givenLag(YESTERDAY, 0);
+
+        assign(EXPIRED, YESTERDAY, TODAY, NOT_DATED);
+
+        verify(container).pausePartition(EXPIRED);
+        verify(container, never()).pausePartition(YESTERDAY);
+        verify(container, never()).pausePartition(TODAY);
+        verify(container, never()).pausePartition(NOT_DATED);
+        assertThat(gate.pausedCount()).isEqualTo(1);
+    }
+
+    @Test
+    void holdsTodayUntilYesterdayIsDrained() {
+        givenLag(YESTERDAY, 5);
+        assign(YESTERDAY, TODAY);
+
+        verify(container).pausePartition(TODAY);
+        verify(container, never()).pausePartition(YESTERDAY);
+
+        // 아직 lag 이 남은 레코드는 재평가하지 않는다
+        gate.afterRecord(record(YESTERDAY), consumer);
+        verify(container, never()).resumePartition(TODAY);
+
+        givenLag(YESTERDAY, 0);
+        gate.afterRecord(record(YESTERDAY), consumer);
+
+        verify(container).resumePartition(TODAY);
+        assertThat(gate.pausedCount()).isZero();
+    }
+
+    @Test
+    void holdsTodayWhileYesterdayLagIsUnknown() {
+        when(consumer.assignment()).thenReturn(Set.of(YESTERDAY, TODAY));
+        when(consumer.currentLag(YESTERDAY)).thenReturn(OptionalLong.empty());
+
+        gate.onPartitionsAssigned(consumer, List.of(YESTERDAY, TODAY));
+
+        verify(container).pausePartition(TODAY);
+    }
+
+    @Test
+    void releasesHoldAfterMaxHoldAndDoesNotHoldAgainTheSameDay() {
+        givenLag(YESTERDAY, 5);
+        assign(YESTERDAY, TODAY);
+        verify(container).pausePartition(TODAY);
+
+        clock.advance(Duration.ofMillis(MAX_HOLD_MS));
+        gate.evaluate();
+        verify(container, never()).resumePartition(TODAY);
+
+        clock.advance(Duration.ofMillis(1));
+        gate.evaluate();
+        verify(container).resumePartition(TODAY);
+
+        // 전날 lag 이 그대로여도 같은 날에는 다시 pause 하지 않는다
+        clock.advance(Duration.ofMinutes(5));
+        gate.refreshLags(consumer);
+        verify(container, times(1)).pausePartition(TODAY);
+        assertThat(gate.pausedCount()).isZero();
+    }
+
+    @Test
+    void resumesTodayWhenYesterdayPartitionIsRevoked() {
+        givenLag(YESTERDAY, 5);
+        assign(YESTERDAY, TODAY);
+        verify(container).pausePartition(TODAY);
+
+        gate.onPartitionsRevokedAfterCommit(consumer, List.of(YESTERDAY));
+
+        verify(container).resumePartition(TODAY);
+        assertThat(gate.pausedCount()).isZero();
+    }
+
+    private void assign(TopicPartition... partitions) {
+        when(consumer.assignment()).thenReturn(Set.of(partitions));
+        gate.onPartitionsAssigned(consumer, List.of(partitions));
+    }
+
+    private void givenLag(TopicPartition partition, long lag) {
+        when(consumer.currentLag(partition)).thenReturn(OptionalLong.of(lag));
+    }
+
+    private static ConsumerRecord<String, String> record(TopicPartition partition) {
+        return new ConsumerRecord<>(partition.topic(), partition.partition(), 0L, "1", "payload");
+    }
+}
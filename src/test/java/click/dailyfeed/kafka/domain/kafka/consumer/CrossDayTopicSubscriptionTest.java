@@ -0,0 +1,124 @@
+package click.dailyfeed.kafka.domain.kafka.consumer;
+
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConcurrentMessageListenerContainer;
+import org.springframework.kafka.listener.MessageListenerContainer;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class CrossDayTopicSubscriptionTest {
+    private static final long CHECK_INTERVAL_MS = 20;
+    // 2026-10-18 23:59 (Asia/Seoul)
+    private static final Instant NOW = Instant.parse("2026-10-18T14:59:00Z");
+
+    private static final TopicPartition YESTERDAY = new TopicPartition("member-activity-20261017", 0);
+    private static final TopicPartition TODAY = new TopicPartition("member-activity-20261018", 0);
+    private static final TopicPartition TOMORROW = new TopicPartition("member-activity-20261019", 0);
+
+    private final MutableClock clock = new MutableClock(NOW, ZoneId.of("Asia/Seoul"));
+    private final CrossDayTopicSubscription subscription = new CrossDayTopicSubscription(clock, 2, 600_000, CHECK_INTERVAL_MS);
+    @SuppressWarnings("unchecked")
+    private final Consumer<String, String> consumer = mock(Consumer.class);
+
+    @AfterEach
+    void tearDown() {
+        subscription.shutdown();
+    }
+
+    @Test
+    void topicPatternMatchesDateTopicsOfItsTypeOnly() {
+        String topic = DateBasedTopicType.MEMBER_ACTIVITY.generateTopicName(LocalDateTime.of(2026, 10, 18, 0, 0));
+
+        assertThat(Pattern.matches(CrossDayTopicSubscription.topicPattern("MEMBER_ACTIVITY"), topic)).isTrue();
+        assertThat(Pattern.matches(CrossDayTopicSubscription.topicPattern(DateBasedTopicType.MEMBER_ACTIVITY), topic + "1")).isFalse();
+        for (DateBasedTopicType other : DateBasedTopicType.values()) {
+            if (other != DateBasedTopicType.MEMBER_ACTIVITY && !topic.startsWith(other.getTopicPrefix())) {
+                assertThat(Pattern.matches(CrossDayTopicSubscription.topicPattern(other), topic)).isFalse();
+            }
+        }
+    }
+
+    @Test
+    void dateOfReadsTrailingDateOnly() {
+        assertThat(subscription.today()).isEqualTo(LocalDate.of(2026, 10, 18));
+        assertThat(subscription.dateOf("member-activity-20261017")).isEqualTo(LocalDate.of(2026, 10, 17));
+        assertThat(subscription.dateOf("member-activity-retry-20261017")).isEqualTo(LocalDate.of(2026, 10, 17));
+        assertThat(subscription.dateOf("post-activity")).isNull();
+        assertThat(subscription.dateOf("member-activity-20261399")).isNull();
+    }
+
+    @Test
+    void configureAttachesGateToEveryContainer() {
+        ConcurrentMessageListenerContainer<String, String> container = configuredContainer();
+
+        assertThat(container.getContainerProperties().getConsumerRebalanceListener()).isInstanceOf(CrossDayPartitionGate.class);
+        assertThat(container.getContainerProperties().getIdleEventInterval()).isEqualTo(CHECK_INTERVAL_MS);
+    }
+
+    @Test
+    void idleEventRefreshesLagsOfItsContainerGate() {
+        ConcurrentMessageListenerContainer<String, String> container = configuredContainer();
+        CrossDayPartitionGate<?> gate = (CrossDayPartitionGate<?>) container.getContainerProperties().getConsumerRebalanceListener();
+        when(consumer.assignment()).thenReturn(Set.of(YESTERDAY, TODAY));
+        when(consumer.currentLag(YESTERDAY)).thenReturn(OptionalLong.of(3));
+        gate.onPartitionsAssigned(consumer, List.of(YESTERDAY, TODAY));
+        assertThat(subscription.getPausedPartitions()).isEqualTo(1);
+
+        // 레코드가 들어오지 않아도 idle 이벤트에서 전날 lag 을 다시 읽는다
+        when(consumer.currentLag(YESTERDAY)).thenReturn(OptionalLong.of(0));
+        subscription.onIdle(idleEvent(container));
+
+        assertThat(subscription.getPausedPartitions()).isZero();
+        // 다른 컨테이너의 idle 이벤트는 무시한다
+        subscription.onIdle(idleEvent(mock(MessageListenerContainer.class)));
+    }
+
+    @Test
+    void holdsNewDayTopicsOnceTheDayRollsOver() {
+        ConcurrentMessageListenerContainer<String, String> container = configuredContainer();
+        CrossDayPartitionGate<?> gate = (CrossDayPartitionGate<?>) container.getContainerProperties().getConsumerRebalanceListener();
+        when(consumer.assignment()).thenReturn(Set.of(TODAY, TOMORROW));
+        gate.onPartitionsAssigned(consumer, List.of(TODAY, TOMORROW));
+        assertThat(subscription.getPausedPartitions()).isZero();
+
+        // 자정이 지나면 20261018 이 전날이 되고, 그 lag 을 확인하기 전까지 20261019 를 pause 한다
+        subscription.start();
+        clock.advance(Duration.ofMinutes(2));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> subscription.getPausedPartitions() == 1);
+        assertThat(subscription.today()).isEqualTo(LocalDate.of(2026, 10, 19));
+    }
+
+    private ConcurrentMessageListenerContainer<String, String> configuredContainer() {
+        ConcurrentKafkaListenerContainerFactory<String, String> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        factory.setConsumerFactory(new DefaultKafkaConsumerFactory<>(Map.of(ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, "localhost:9092")));
+        subscription.configure(factory);
+        return factory.createContainer(TODAY.topic());
+    }
+
+    private ListenerContainerIdleEvent idleEvent(MessageListenerContainer container) {
+        return new ListenerContainerIdleEvent(container, container, CHECK_INTERVAL_MS, "cross-day-0", List.of(YESTERDAY, TODAY), consumer, false);
+    }
+}
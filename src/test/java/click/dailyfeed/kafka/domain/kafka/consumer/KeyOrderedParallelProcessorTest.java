@@ -0,0 +1,88 @@
+package click.dailyfeed.kafka.domain.kafka.consumer;
+
+import click.dailyfeed.kafka.domain.kafka.metrics.KafkaSupportMetrics;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class KeyOrderedParallelProcessorTest {
+    private static final String TOPIC = "member-activity-20261018";
+    private static final TopicPartition PARTITION = new TopicPartition(TOPIC, 0);
+
+    private final KeyOrderedParallelProcessor processor =
+            new KeyOrderedParallelProcessor(mock(KafkaSupportMetrics.class), 1, 100, 100);
+
+    @AfterEach
+    void tearDown() {
+        processor.shutdown();
+    }
+
+    @Test
+    void commitsWholeBatchWhenAllRecordsComplete() {
+        Consumer<?, ?> consumer = mock(Consumer.class);
+
+        processor.process(records(3), consumer, record -> { });
+
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(3)));
+        verify(consumer, never()).seek(any(TopicPartition.class), anyLong());
+    }
+
+    @Test
+    void skipsLaterRecordsOfFailedKeyAndSeeksToFailure() {
+        Consumer<?, ?> consumer = mock(Consumer.class);
+
+        processor.process(records(3), consumer, record -> {
+            if (record.offset() == 1) {
+                throw new IllegalStateException("boom");
+            }
+        });
+
+        verify(consumer).commitSync(Map.of(PARTITION, new OffsetAndMetadata(1)));
+        verify(consumer).seek(PARTITION, 1L);
+    }
+
+    @Test
+    void cancelsQueuedRecordsOnTimeoutBeforeSeeking() throws Exception {
+        Consumer<?, ?> consumer = mock(Consumer.class);
+        AtomicInteger handled = new AtomicInteger();
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        processor.process(records(3), consumer, record -> {
+            handled.incrementAndGet();
+            if (record.offset() == 0) {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                    throw e;
+                }
+            }
+        });
+
+        // 멈춘 레코드는 drain 후 interrupt 되고, 뒤에 대기하던 레코드는 seek 이후에도 실행되지 않는다
+        assertThat(interrupted.await(1, TimeUnit.SECONDS)).isTrue();
+        verify(consumer).seek(PARTITION, 0L);
+        verify(consumer, never()).commitSync(anyMap());
+        Thread.sleep(200);
+        assertThat(handled.get()).isEqualTo(1);
+    }
+
+    private static List<ConsumerRecord<String, String>> records(int count) {
+        return LongStream.range(0, count)
+                .mapToObj(offset -> new ConsumerRecord<>(TOPIC, 0, offset, "member-1", "v" + offset))
+                .toList();
+    }
+}
@@ -0,0 +1,38 @@
+package click.dailyfeed.kafka.domain.kafka.consumer;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * 테스트에서 직접 움직이는 Clock (Clock.fixed 와 같지만 advance 로 시간을 보낼 수 있다)
+ */
+final class MutableClock extends Clock {
+    private final ZoneId zone;
+    private volatile Instant instant;
+
+    MutableClock(Instant instant, ZoneId zone) {
+        this.instant = instant;
+        this.zone = zone;
+    }
+
+    void advance(Duration duration) {
+        instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return zone;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        return new MutableClock(instant, zone);
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
@@ -0,0 +1,79 @@
+package click.dailyfeed.kafka.domain.kafka.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.BufferExhaustedException;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.kafka.core.KafkaProducerException;
+
+import java.util.concurrent.CompletionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class KafkaSupportMetricsTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final KafkaSupportMetrics metrics = new KafkaSupportMetrics(provider(meterRegistry));
+
+    @Test
+    void countsBufferExhaustionOnceUnderSendErrors() {
+        metrics.recordSendError(new BufferExhaustedException("pool full"));
+        metrics.recordSendError(new TimeoutException("metadata not available"));
+
+        assertThat(meterRegistry.find("dailyfeed.kafka.producer.buffer.exhausted").counter()).isNull();
+        assertThat(errors("buffer-exhausted")).isEqualTo(1);
+        assertThat(errors("timeout")).isEqualTo(1);
+        assertThat(errors("other")).isZero();
+    }
+
+    @Test
+    void unwrapsCompletionAndProducerExceptions() {
+        ProducerRecord<String, Object> record = new ProducerRecord<>("member-activity-20261018", "key", "value");
+        metrics.recordSendError(new CompletionException(
+                new KafkaProducerException(record, "send failed", new BufferExhaustedException("pool full"))));
+        metrics.recordSendError(new CompletionException(
+                new KafkaProducerException(record, "send failed", new TimeoutException("expired in accumulator"))));
+        metrics.recordSendError(new KafkaProducerException(record, "send failed", new RecordTooLargeException("too large")));
+
+        assertThat(errors("buffer-exhausted")).isEqualTo(1);
+        assertThat(errors("timeout")).isEqualTo(1);
+        assertThat(errors("other")).isEqualTo(1);
+    }
+
+    @Test
+    void recordsUntypedPublishLatencyAndFailures() {
+        long startedAt = metrics.publishStarted();
+        metrics.publishCompleted(startedAt, new IllegalStateException("boom"));
+
+        assertThat(meterRegistry.get("dailyfeed.kafka.publish.latency").tag("topic.type", "none").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dailyfeed.kafka.publish.failures").tag("topic.type", "none").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dailyfeed.kafka.publish.in-flight").gauge().value()).isZero();
+    }
+
+    @Test
+    void publishesPercentileHistogramOnlyOnAggregateTimer() {
+        metrics.publishCompleted(metrics.publishStarted(), null);
+
+        assertThat(meterRegistry.get("dailyfeed.kafka.publish.latency.histogram").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("dailyfeed.kafka.publish.latency.histogram").timer().takeSnapshot().histogramCounts()).isNotEmpty();
+        assertThat(meterRegistry.get("dailyfeed.kafka.publish.latency").tag("topic.type", "none").timer()
+                .takeSnapshot().histogramCounts()).isEmpty();
+    }
+
+    private double errors(String reason) {
+        return meterRegistry.get("dailyfeed.kafka.producer.send.errors").tag("reason", reason).counter().count();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static ObjectProvider<MeterRegistry> provider(MeterRegistry meterRegistry) {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getIfAvailable(any())).thenReturn(meterRegistry);
+        return provider;
+    }
+}
@@ -0,0 +1,68 @@
+package click.dailyfeed.kafka.domain.kafka.record;
+
+import click.dailyfeed.code.domain.activity.transport.MemberActivityTransportDto;
+import click.dailyfeed.code.domain.activity.type.MemberActivityType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InvalidClassException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KafkaRecordCodecTest {
+    private static final String TOPIC = "member-activity-20261018";
+
+    private final KafkaRecordCodec codec = new KafkaRecordCodec(new ObjectMapper(), new String[]{" click.dailyfeed ", ""});
+
+    @Test
+    void roundTripsTrustedPayloadWithAndWithoutKey() throws Exception {
+        MemberActivityTransportDto.MemberActivityEvent event = MemberActivityTransportDto.MemberActivityEvent.builder()
+                .memberActivityType(MemberActivityType.POST_READ)
+                .memberId(1L)
+                .postId(7L)
+                .build();
+
+        KafkaRecordCodec.StoredRecord decoded = codec.decode(ByteBuffer.wrap(codec.encode(TOPIC, "1", event)));
+
+        assertThat(decoded.topicName()).isEqualTo(TOPIC);
+        assertThat(decoded.key()).isEqualTo("1");
+        assertThat(decoded.payload()).isInstanceOf(MemberActivityTransportDto.MemberActivityEvent.class);
+        assertThat(((MemberActivityTransportDto.MemberActivityEvent) decoded.payload()).getPostId()).isEqualTo(7L);
+        assertThat(codec.decode(ByteBuffer.wrap(codec.encode(TOPIC, null, "payload"))))
+                .isEqualTo(new KafkaRecordCodec.StoredRecord(TOPIC, null, "payload"));
+    }
+
+    @Test
+    void leavesPrefixForCallerHeader() throws Exception {
+        byte[] body = codec.encode(Long.BYTES, TOPIC, "1", 42L);
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        buffer.putLong(0, 9L);
+
+        assertThat(buffer.getLong()).isEqualTo(9L);
+        assertThat(codec.decode(buffer)).isEqualTo(new KafkaRecordCodec.StoredRecord(TOPIC, "1", 42L));
+    }
+
+    @Test
+    void rejectsPayloadTypeOutsideTrustedPackagesBeforeLoadingIt() throws Exception {
+        byte[] body = codec.encode(TOPIC, "1", new ArrayList<>(List.of("a")));
+
+        assertThatThrownBy(() -> codec.decode(ByteBuffer.wrap(body)))
+                .isInstanceOf(InvalidClassException.class)
+                .hasMessageContaining(ArrayList.class.getName());
+    }
+
+    @Test
+    void rejectsMalformedBody() throws Exception {
+        byte[] body = codec.encode(TOPIC, "1", "payload");
+
+        assertThatThrownBy(() -> codec.decode(ByteBuffer.wrap(Arrays.copyOf(body, body.length - 3))))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Malformed record body");
+    }
+}
@@ -0,0 +1,153 @@
+package click.dailyfeed.kafka.domain.kafka.spool;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SpoolSegmentTest {
+    private static final int SEGMENT_SIZE = 4096;
+    // [길이 int][CRC int]
+    private static final int HEADER = 8;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void reopensAllCompleteRecords() throws IOException {
+        SpoolSegment segment = SpoolSegment.create(directory, 7, SEGMENT_SIZE);
+        segment.append(bytes("first"));
+        segment.append(bytes("second"));
+        segment.force();
+
+        SpoolSegment reopened = SpoolSegment.open(path(7));
+
+        assertThat(reopened.sequence()).isEqualTo(7);
+        assertThat(bodies(reopened.readFromReplayPosition(10))).containsExactly("first", "second");
+    }
+
+    @Test
+    void stopsAtTornRecordWithCorruptedBody() throws IOException {
+        SpoolSegment segment = SpoolSegment.create(directory, 1, SEGMENT_SIZE);
+        segment.append(bytes("complete"));
+        segment.append(bytes("torn-record"));
+        segment.force();
+        // 두 번째 record 의 body 일부만 디스크에 반영된 상황
+        writeAt(path(1), HEADER + "complete".length() + HEADER + 3, new byte[]{0, 0, 0});
+
+        SpoolSegment reopened = SpoolSegment.open(path(1));
+
+        assertThat(bodies(reopened.readFromReplayPosition(10))).containsExactly("complete");
+    }
+
+    @Test
+    void stopsAtRecordWithLengthBeyondCapacity() throws IOException {
+        SpoolSegment segment = SpoolSegment.create(directory, 2, SEGMENT_SIZE);
+        segment.append(bytes("complete"));
+        segment.force();
+        writeAt(path(2), HEADER + "complete".length(), ByteBuffer.allocate(4).putInt(SEGMENT_SIZE * 2).array());
+
+        SpoolSegment reopened = SpoolSegment.open(path(2));
+
+        assertThat(bodies(reopened.readFromReplayPosition(10))).containsExactly("complete");
+    }
+
+    @Test
+    void resumesFromReplayPositionAndRejectsOverflow() throws IOException {
+        SpoolSegment segment = SpoolSegment.create(directory, 3, 64);
+        assertThat(segment.append(bytes("a".repeat(20)))).isTrue();
+        assertThat(segment.append(bytes("b".repeat(20)))).isTrue();
+        // 남은 공간(64 - 56) 보다 큰 record
+        assertThat(segment.append(bytes("c"))).isFalse();
+
+        SpoolSegment.Batch first = segment.readFromReplayPosition(1);
+        assertThat(bodies(first)).containsExactly("a".repeat(20));
+        segment.advanceReplayPosition(first.nextPosition());
+
+        assertThat(bodies(segment.readFromReplayPosition(10))).containsExactly("b".repeat(20));
+    }
+
+    @Test
+    void reopenResumesFromPersistedReplayPosition() throws IOException {
+        SpoolSegment segment = SpoolSegment.create(directory, 5, SEGMENT_SIZE);
+        segment.append(bytes("sent"));
+        segment.append(bytes("pending"));
+        segment.force();
+        segment.advanceReplayPosition(segment.readFromReplayPosition(1).nextPosition());
+
+        SpoolSegment reopened = SpoolSegment.open(path(5));
+
+        assertThat(bodies(reopened.readFromReplayPosition(10))).containsExactly("pending");
+    }
+
+    @Test
+    void replaysFromStartWhenCheckpointIsTornOrNotAtRecordBoundary() throws IOException {
+        SpoolSegment segment = SpoolSegment.create(directory, 6, SEGMENT_SIZE);
+        segment.append(bytes("first"));
+        segment.append(bytes("second"));
+        segment.force();
+        segment.advanceReplayPosition(segment.readFromReplayPosition(1).nextPosition());
+        // 위치만 쓰이고 검증값은 이전 그대로인 checkpoint
+        writeAt(SpoolSegment.checkpointPath(path(6)), 0, ByteBuffer.allocate(4).putInt(3).array());
+
+        assertThat(bodies(SpoolSegment.open(path(6)).readFromReplayPosition(10))).containsExactly("first", "second");
+
+        // 검증값은 맞지만 record 중간을 가리키는 checkpoint
+        writeAt(SpoolSegment.checkpointPath(path(6)), 0, ByteBuffer.allocate(8).putInt(3).putInt(~3).array());
+
+        assertThat(bodies(SpoolSegment.open(path(6)).readFromReplayPosition(10))).containsExactly("first", "second");
+    }
+
+    @Test
+    void deleteRemovesCheckpointAndRecreatedSegmentStartsFromBeginning() throws IOException {
+        SpoolSegment segment = SpoolSegment.create(directory, 8, SEGMENT_SIZE);
+        segment.append(bytes("old"));
+        segment.advanceReplayPosition(segment.readFromReplayPosition(1).nextPosition());
+        segment.delete();
+
+        assertThat(path(8)).doesNotExist();
+        assertThat(SpoolSegment.checkpointPath(path(8))).doesNotExist();
+
+        SpoolSegment recreated = SpoolSegment.create(directory, 8, SEGMENT_SIZE);
+        recreated.append(bytes("new"));
+        recreated.force();
+
+        assertThat(bodies(SpoolSegment.open(path(8)).readFromReplayPosition(10))).containsExactly("new");
+    }
+
+    @Test
+    void emptySegmentReadsNothing() throws IOException {
+        SpoolSegment.create(directory, 4, SEGMENT_SIZE).force();
+
+        SpoolSegment reopened = SpoolSegment.open(path(4));
+
+        assertThat(reopened.isEmpty()).isTrue();
+        assertThat(reopened.readFromReplayPosition(10).bodies()).isEmpty();
+    }
+
+    private Path path(long sequence) {
+        return directory.resolve(String.format("%s%020d%s", SpoolSegment.FILE_PREFIX, sequence, SpoolSegment.FILE_SUFFIX));
+    }
+
+    private static void writeAt(Path path, long position, byte[] bytes) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(bytes), position);
+        }
+    }
+
+    private static byte[] bytes(String value) {
+        return value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<String> bodies(SpoolSegment.Batch batch) {
+        return batch.bodies().stream().map(body -> new String(body, StandardCharsets.UTF_8)).toList();
+    }
+}
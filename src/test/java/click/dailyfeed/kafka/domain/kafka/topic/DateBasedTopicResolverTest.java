@@ -0,0 +1,56 @@
+package click.dailyfeed.kafka.domain.kafka.topic;
+
+import click.dailyfeed.code.global.kafka.type.DateBasedTopicType;
+import org.junit.jupiter.api.Test;
+
+import java.time.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DateBasedTopicResolverTest {
+    private static final ZoneId ZONE = ZoneId.of("Asia/Seoul");
+    private static final long SKEW_MS = 300_000;
+
+    @Test
+    void clampsFarFutureTimestampsToTheCurrentDay() {
+        DateBasedTopicResolver resolver = resolverAt(LocalDateTime.of(2026, 10, 18, 12, 0));
+        long threeDaysAhead = epochMillis(LocalDateTime.of(2026, 10, 21, 9, 0));
+
+        assertThat(resolver.resolve(DateBasedTopicType.MEMBER_ACTIVITY, threeDaysAhead))
+                .isEqualTo(topicOf(LocalDate.of(2026, 10, 18)));
+        assertThat(resolver.resolveDateBasedTopicName(DateBasedTopicType.MEMBER_ACTIVITY, LocalDateTime.of(2026, 10, 21, 9, 0)))
+                .isEqualTo(topicOf(LocalDate.of(2026, 10, 18)));
+        assertThat(resolver.currentDate()).isEqualTo(LocalDate.of(2026, 10, 18));
+    }
+
+    @Test
+    void rollsOverWithinTheAllowedSkewBeforeMidnight() {
+        DateBasedTopicResolver resolver = resolverAt(LocalDateTime.of(2026, 10, 18, 23, 58));
+        long afterMidnight = epochMillis(LocalDateTime.of(2026, 10, 19, 0, 1));
+
+        assertThat(resolver.resolve(DateBasedTopicType.MEMBER_ACTIVITY, afterMidnight))
+                .isEqualTo(topicOf(LocalDate.of(2026, 10, 19)));
+        assertThat(resolver.currentDate()).isEqualTo(LocalDate.of(2026, 10, 19));
+    }
+
+    @Test
+    void switchToIsNotLimitedBySkew() {
+        DateBasedTopicResolver resolver = resolverAt(LocalDateTime.of(2026, 10, 18, 12, 0));
+
+        resolver.switchTo(LocalDate.of(2026, 10, 19));
+
+        assertThat(resolver.currentDate()).isEqualTo(LocalDate.of(2026, 10, 19));
+    }
+
+    private static DateBasedTopicResolver resolverAt(LocalDateTime now) {
+        return new DateBasedTopicResolver(Clock.fixed(now.atZone(ZONE).toInstant(), ZONE), SKEW_MS);
+    }
+
+    private static long epochMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    private static String topicOf(LocalDate date) {
+        return DateBasedTopicType.MEMBER_ACTIVITY.generateTopicName(date.atStartOfDay());
+    }
+}
@@ -0,0 +1,65 @@
+package click.dailyfeed.kafka.domain.kafka.topic;
+
+import click.dailyfeed.kafka.config.KafkaProducerProfileTemplates;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class DateBasedTopicRolloverCoordinatorTest {
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-18T14:55:00Z"), ZoneId.of("Asia/Seoul"));
+
+    private final DateBasedTopicResolver dateBasedTopicResolver = mock(DateBasedTopicResolver.class);
+
+    @Test
+    void keepsWarmupLeadWellUnderMetadataMaxIdle() {
+        assertThat(coordinator(Map.of(), 300_000).getWarmupLeadMs()).isEqualTo(150_000);
+        assertThat(coordinator(Map.of(ProducerConfig.METADATA_MAX_IDLE_CONFIG, 60_000), 300_000).getWarmupLeadMs()).isEqualTo(30_000);
+        assertThat(coordinator(Map.of(), 60_000).getWarmupLeadMs()).isEqualTo(60_000);
+    }
+
+    @Test
+    void recordsFirstRealSendToNewDateAfterRollover() {
+        DateBasedTopicRolloverCoordinator coordinator = coordinator(Map.of(), 60_000);
+        coordinator.onSend("member-activity-20261019", TimeUnit.MILLISECONDS.toNanos(5));
+        assertThat(coordinator.getLastRolloverLatencyMillis()).isEqualTo(-1);
+
+        coordinator.rollover(LocalDate.of(2026, 10, 19));
+        verify(dateBasedTopicResolver).switchTo(LocalDate.of(2026, 10, 19));
+
+        // 이전 날짜 토픽으로의 send 는 무시
+        coordinator.onSend("member-activity-20261018", TimeUnit.MILLISECONDS.toNanos(7));
+        assertThat(coordinator.getLastRolloverLatencyMillis()).isEqualTo(-1);
+
+        coordinator.onSend("member-activity-20261019", TimeUnit.MILLISECONDS.toNanos(42));
+        assertThat(coordinator.getLastRolloverLatencyMillis()).isEqualTo(42);
+
+        // 두 번째 send 는 덮어쓰지 않는다
+        coordinator.onSend("member-activity-20261019", TimeUnit.MILLISECONDS.toNanos(1));
+        assertThat(coordinator.getLastRolloverLatencyMillis()).isEqualTo(42);
+    }
+
+    @SuppressWarnings("unchecked")
+    private DateBasedTopicRolloverCoordinator coordinator(Map<String, Object> producerConfigs, long warmupLeadMs) {
+        ProducerFactory<String, Object> producerFactory = mock(ProducerFactory.class);
+        when(producerFactory.getConfigurationProperties()).thenReturn(producerConfigs);
+        KafkaTemplate<String, Object> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.getProducerFactory()).thenReturn(producerFactory);
+        KafkaProducerProfileTemplates profileTemplates = mock(KafkaProducerProfileTemplates.class);
+        when(profileTemplates.all()).thenReturn(List.of());
+
+        return new DateBasedTopicRolloverCoordinator(kafkaTemplate, profileTemplates, mock(KafkaTopicRegistry.class),
+                dateBasedTopicResolver, CLOCK, warmupLeadMs);
+    }
+}